@@ -0,0 +1,207 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark;
+
+import org.jgrapht.*;
+
+import java.util.*;
+
+/**
+ * Reproducible graphs used by the benchmarks.
+ *
+ * <p>
+ * The graphs are generated once as primitive edge lists, so that the cost of the generation is not
+ * part of any measurement and the very same graph can be loaded into every backend. Vertices are
+ * the integers $0, \dots, n-1$.
+ */
+public final class BenchmarkGraphs
+{
+    /**
+     * The seed used by all benchmarks.
+     */
+    public static final long SEED = 17;
+
+    private BenchmarkGraphs()
+    {
+    }
+
+    /**
+     * A list of weighted arcs.
+     */
+    public static final class EdgeList
+    {
+        private final int vertices;
+        private final int[] sources;
+        private final int[] targets;
+        private final double[] weights;
+
+        EdgeList(int vertices, int[] sources, int[] targets, double[] weights)
+        {
+            this.vertices = vertices;
+            this.sources = sources;
+            this.targets = targets;
+            this.weights = weights;
+        }
+
+        /**
+         * Get the number of vertices.
+         *
+         * @return the number of vertices
+         */
+        public int vertexCount()
+        {
+            return vertices;
+        }
+
+        /**
+         * Get the number of edges.
+         *
+         * @return the number of edges
+         */
+        public int edgeCount()
+        {
+            return sources.length;
+        }
+
+        /**
+         * Get the edge sources.
+         *
+         * @return the edge sources
+         */
+        public int[] getSources()
+        {
+            return sources;
+        }
+
+        /**
+         * Get the edge targets.
+         *
+         * @return the edge targets
+         */
+        public int[] getTargets()
+        {
+            return targets;
+        }
+
+        /**
+         * Get the edge weights.
+         *
+         * @return the edge weights
+         */
+        public double[] getWeights()
+        {
+            return weights;
+        }
+
+        /**
+         * Add all vertices and edges to a graph. Weights are set only if the graph is weighted.
+         *
+         * @param graph the graph
+         * @param <E> the graph edge type
+         * @return the graph
+         */
+        public <E> Graph<Integer, E> populate(Graph<Integer, E> graph)
+        {
+            for (int v = 0; v < vertices; v++) {
+                graph.addVertex(v);
+            }
+            boolean weighted = graph.getType().isWeighted();
+            for (int i = 0; i < sources.length; i++) {
+                E e = graph.addEdge(sources[i], targets[i]);
+                if (weighted && e != null) {
+                    graph.setEdgeWeight(e, weights[i]);
+                }
+            }
+            return graph;
+        }
+    }
+
+    /**
+     * Generate a random graph with a fixed number of edges. Loops are excluded, multiple edges are
+     * possible. Weights are uniform in $[1, 100)$.
+     *
+     * @param vertices the number of vertices
+     * @param edges the number of edges
+     * @param seed the seed
+     * @return the edge list
+     */
+    public static EdgeList random(int vertices, int edges, long seed)
+    {
+        if (vertices < 2) {
+            throw new IllegalArgumentException("At least two vertices required");
+        }
+        Random rng = new Random(seed);
+        int[] sources = new int[edges];
+        int[] targets = new int[edges];
+        double[] weights = new double[edges];
+        for (int i = 0; i < edges; i++) {
+            int u = rng.nextInt(vertices);
+            int v = rng.nextInt(vertices - 1);
+            sources[i] = u;
+            targets[i] = v >= u ? v + 1 : v;
+            weights[i] = 1.0 + 99.0 * rng.nextDouble();
+        }
+        return new EdgeList(vertices, sources, targets, weights);
+    }
+
+    /**
+     * Generate a square grid with arcs in both directions between neighboring cells, which is a
+     * rough model of a road network. Weights are uniform in $[1, 100)$ and independent for the two
+     * directions.
+     *
+     * @param vertices the requested number of vertices, rounded down to a square
+     * @param seed the seed
+     * @return the edge list
+     */
+    public static EdgeList grid(int vertices, long seed)
+    {
+        int side = Math.max(2, (int) Math.sqrt(vertices));
+        int n = side * side;
+        int m = 4 * side * (side - 1);
+        Random rng = new Random(seed);
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        int i = 0;
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int u = r * side + c;
+                if (c + 1 < side) {
+                    i = addPair(sources, targets, weights, i, u, u + 1, rng);
+                }
+                if (r + 1 < side) {
+                    i = addPair(sources, targets, weights, i, u, u + side, rng);
+                }
+            }
+        }
+        return new EdgeList(n, sources, targets, weights);
+    }
+
+    private static int addPair(
+        int[] sources, int[] targets, double[] weights, int i, int u, int v, Random rng)
+    {
+        sources[i] = u;
+        targets[i] = v;
+        weights[i++] = 1.0 + 99.0 * rng.nextDouble();
+        sources[i] = v;
+        targets[i] = u;
+        weights[i++] = 1.0 + 99.0 * rng.nextDouble();
+        return i;
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.clique.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Maximal clique enumeration on sparse random graphs with ten edges per vertex. Each benchmark
+ * iterates over all maximal cliques.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MaximalCliqueBenchmark
+{
+    @Param({ "5000", "20000" })
+    public int vertices;
+
+    private Graph<Integer, DefaultEdge> graph;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = BenchmarkGraphs
+            .random(vertices, 10 * vertices, BenchmarkGraphs.SEED)
+            .populate(new SimpleGraph<>(DefaultEdge.class));
+    }
+
+    @Benchmark
+    public int degeneracyBronKerbosch()
+    {
+        return count(new DegeneracyBronKerboschCliqueFinder<>(graph));
+    }
+
+    @Benchmark
+    public int bitsetDegeneracyBronKerbosch()
+    {
+        return count(new ParallelDegeneracyBronKerboschCliqueFinder<>(graph));
+    }
+
+    @Benchmark
+    public int parallelDegeneracyBronKerbosch()
+    {
+        return count(
+            new ParallelDegeneracyBronKerboschCliqueFinder<>(graph, ForkJoinPool.commonPool()));
+    }
+
+    private int count(Iterable<Set<Integer>> cliques)
+    {
+        int count = 0;
+        for (Set<Integer> clique : cliques) {
+            count += clique.size();
+        }
+        return count;
+    }
+
+}
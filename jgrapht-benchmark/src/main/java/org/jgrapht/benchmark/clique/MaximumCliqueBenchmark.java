@@ -0,0 +1,83 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.clique.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Maximum clique computations on dense random graphs, where the vertices are joined with
+ * probability one half. The baseline takes the largest of all maximal cliques.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MaximumCliqueBenchmark
+{
+    @Param({ "200", "500" })
+    public int vertices;
+
+    private Graph<Integer, DefaultEdge> graph;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Random rng = new Random(BenchmarkGraphs.SEED);
+        graph = new SimpleGraph<>(DefaultEdge.class);
+        for (int v = 0; v < vertices; v++) {
+            graph.addVertex(v);
+        }
+        for (int u = 0; u < vertices; u++) {
+            for (int v = u + 1; v < vertices; v++) {
+                if (rng.nextBoolean()) {
+                    graph.addEdge(u, v);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int largestMaximalClique()
+    {
+        return new PivotBronKerboschCliqueFinder<>(graph).maximumIterator().next().size();
+    }
+
+    @Benchmark
+    public int branchAndBound()
+    {
+        return new BranchAndBoundMaxCliqueFinder<>(graph).getClique().size();
+    }
+
+    @Benchmark
+    public int parallelBranchAndBound()
+    {
+        return new BranchAndBoundMaxCliqueFinder<>(graph, ForkJoinPool.commonPool())
+            .getClique()
+            .size();
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Weakly and strongly connected components on a sparse random directed graph, which has one giant
+ * strongly connected component and many small ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConnectivityBenchmark
+{
+    @Param({ "100000", "1000000" })
+    public int vertices;
+
+    @Param({ "2" })
+    public int averageDegree;
+
+    private Graph<Integer, DefaultWeightedEdge> graph;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = BenchmarkGraphs
+            .random(vertices, vertices * averageDegree, BenchmarkGraphs.SEED)
+            .populate(new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+    }
+
+    @Benchmark
+    public List<Set<Integer>> connectivityInspector()
+    {
+        return new ConnectivityInspector<>(graph).connectedSets();
+    }
+
+    @Benchmark
+    public List<Set<Integer>> parallelConnectivityInspectorSequential()
+    {
+        return new ParallelConnectivityInspector<>(graph, null).connectedSets();
+    }
+
+    @Benchmark
+    public List<Set<Integer>> parallelConnectivityInspector()
+    {
+        return new ParallelConnectivityInspector<>(graph, ForkJoinPool.commonPool())
+            .connectedSets();
+    }
+
+    @Benchmark
+    public List<Set<Integer>> gabow()
+    {
+        return new GabowStrongConnectivityInspector<>(graph).stronglyConnectedSets();
+    }
+
+    @Benchmark
+    public List<Set<Integer>> kosaraju()
+    {
+        return new KosarajuStrongConnectivityInspector<>(graph).stronglyConnectedSets();
+    }
+
+    @Benchmark
+    public List<Set<Integer>> parallelStrongConnectivitySequential()
+    {
+        return new ParallelStrongConnectivityInspector<>(graph, null).stronglyConnectedSets();
+    }
+
+    @Benchmark
+    public List<Set<Integer>> parallelStrongConnectivity()
+    {
+        return new ParallelStrongConnectivityInspector<>(graph, ForkJoinPool.commonPool())
+            .stronglyConnectedSets();
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Link flaps on a sparse random undirected graph. Each operation removes an edge, asks whether its
+ * endpoints are still connected and adds the edge back, with the connectivity inspector attached
+ * as a listener to the graph.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DynamicConnectivityBenchmark
+{
+    @Param({ "10000", "100000" })
+    public int vertices;
+
+    @Param({ "2" })
+    public int averageDegree;
+
+    private ListenableGraph<Integer, DefaultEdge> dynamicGraph;
+    private DynamicConnectivityInspector<Integer, DefaultEdge> dynamicInspector;
+    private ListenableGraph<Integer, DefaultEdge> staticGraph;
+    private ConnectivityInspector<Integer, DefaultEdge> staticInspector;
+    private int[] sources;
+    private int[] targets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchmarkGraphs.EdgeList edges =
+            BenchmarkGraphs.random(vertices, vertices * averageDegree / 2, BenchmarkGraphs.SEED);
+        sources = edges.getSources();
+        targets = edges.getTargets();
+
+        dynamicGraph = new DefaultListenableGraph<>(new Pseudograph<>(DefaultEdge.class));
+        edges.populate(dynamicGraph);
+        dynamicInspector = new DynamicConnectivityInspector<>(dynamicGraph);
+        dynamicGraph.addGraphListener(dynamicInspector);
+
+        staticGraph = new DefaultListenableGraph<>(new Pseudograph<>(DefaultEdge.class));
+        edges.populate(staticGraph);
+        staticInspector = new ConnectivityInspector<>(staticGraph);
+        staticGraph.addGraphListener(staticInspector);
+    }
+
+    @Benchmark
+    public boolean dynamicConnectivityInspector()
+    {
+        int i = nextEdge();
+        dynamicGraph.removeEdge(sources[i], targets[i]);
+        boolean connected = dynamicInspector.pathExists(sources[i], targets[i]);
+        dynamicGraph.addEdge(sources[i], targets[i]);
+        return connected;
+    }
+
+    @Benchmark
+    public boolean connectivityInspector()
+    {
+        int i = nextEdge();
+        staticGraph.removeEdge(sources[i], targets[i]);
+        boolean connected = staticInspector.pathExists(sources[i], targets[i]);
+        staticGraph.addEdge(sources[i], targets[i]);
+        return connected;
+    }
+
+    private int nextEdge()
+    {
+        int i = next;
+        next = (next + 7919) % sources.length;
+        return i;
+    }
+
+}
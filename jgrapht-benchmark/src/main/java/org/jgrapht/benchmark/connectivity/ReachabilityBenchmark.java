@@ -0,0 +1,106 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.traverse.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Reachability queries on a sparse random digraph with two arcs per vertex. The query benchmarks
+ * answer a fixed batch of random queries, either with a prebuilt reachability index or with one
+ * breadth-first search per query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReachabilityBenchmark
+{
+    private static final int QUERIES = 1000;
+
+    @Param({ "1000", "10000" })
+    public int vertices;
+
+    private Graph<Integer, DefaultEdge> graph;
+    private ReachabilityIndex<Integer, DefaultEdge> index;
+    private int[] sources;
+    private int[] targets;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = BenchmarkGraphs
+            .random(vertices, 2 * vertices, BenchmarkGraphs.SEED)
+            .populate(new DirectedPseudograph<>(DefaultEdge.class));
+        index = new ReachabilityIndex<>(graph);
+
+        Random rng = new Random(BenchmarkGraphs.SEED);
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = rng.nextInt(vertices);
+            targets[i] = rng.nextInt(vertices);
+        }
+    }
+
+    @Benchmark
+    public ReachabilityIndex<Integer, DefaultEdge> buildIndex()
+    {
+        return new ReachabilityIndex<>(graph);
+    }
+
+    @Benchmark
+    public int indexQueries()
+    {
+        int count = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            if (index.reaches(sources[i], targets[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int breadthFirstSearchQueries()
+    {
+        int count = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            Integer target = targets[i];
+            BreadthFirstIterator<Integer, DefaultEdge> it =
+                new BreadthFirstIterator<>(graph, sources[i]);
+            while (it.hasNext()) {
+                if (it.next().equals(target)) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+}
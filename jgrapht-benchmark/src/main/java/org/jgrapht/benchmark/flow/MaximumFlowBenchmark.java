@@ -0,0 +1,128 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.flow.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Maximum flow algorithms on a random directed graph with capacities in $[1, 100)$. Each
+ * invocation computes the flow between a fixed set of source and sink pairs. The
+ * {@code arrayPushRelabelReused} benchmark measures the queries alone, on a solver whose residual
+ * graph was built during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MaximumFlowBenchmark
+{
+    private static final int PAIRS = 4;
+
+    @Param({ "random", "grid" })
+    public String topology;
+
+    @Param({ "1000", "10000" })
+    public int vertices;
+
+    @Param({ "8" })
+    public int averageDegree;
+
+    private Graph<Integer, DefaultWeightedEdge> graph;
+    private int[] sources;
+    private int[] sinks;
+    private ArrayPushRelabelMFImpl<Integer, DefaultWeightedEdge> reusable;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchmarkGraphs.EdgeList edges = topology.equals("grid")
+            ? BenchmarkGraphs.grid(vertices, BenchmarkGraphs.SEED)
+            : BenchmarkGraphs.random(vertices, vertices * averageDegree, BenchmarkGraphs.SEED);
+        graph = edges.populate(new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+
+        Random rng = new Random(BenchmarkGraphs.SEED);
+        sources = new int[PAIRS];
+        sinks = new int[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            sources[i] = rng.nextInt(edges.vertexCount());
+            do {
+                sinks[i] = rng.nextInt(edges.vertexCount());
+            } while (sinks[i] == sources[i]);
+        }
+        reusable = new ArrayPushRelabelMFImpl<>(graph);
+    }
+
+    private double run(MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> algorithm)
+    {
+        double sum = 0d;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += algorithm.getMaximumFlowValue(sources[i], sinks[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double edmondsKarp()
+    {
+        return run(new EdmondsKarpMFImpl<>(graph));
+    }
+
+    @Benchmark
+    public double pushRelabel()
+    {
+        return run(new PushRelabelMFImpl<>(graph));
+    }
+
+    @Benchmark
+    public double dinic()
+    {
+        return run(new DinicMFImpl<>(graph));
+    }
+
+    @Benchmark
+    public double arrayPushRelabelHighestLabel()
+    {
+        return run(new ArrayPushRelabelMFImpl<>(graph));
+    }
+
+    @Benchmark
+    public double arrayPushRelabelFifo()
+    {
+        return run(
+            new ArrayPushRelabelMFImpl<>(
+                graph, ArrayPushRelabelMFImpl.SelectionRule.FIFO,
+                ArrayPushRelabelMFImpl.DEFAULT_EPSILON));
+    }
+
+    @Benchmark
+    public double arrayPushRelabelReused()
+    {
+        return run(reusable);
+    }
+
+}
@@ -0,0 +1,261 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.graph;
+
+import com.google.common.graph.*;
+import org.jgrapht.Graph;
+import org.jgrapht.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.guava.*;
+import org.jgrapht.opt.graph.fastutil.*;
+import org.jgrapht.opt.graph.sparse.*;
+import org.jgrapht.traverse.*;
+import org.jgrapht.util.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Construction and traversal benchmarks for the graph backends. Every backend holds the same
+ * directed graph with parallel edges, either a random graph or a grid.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphBackendBenchmark
+{
+    private static final int QUERIES = 100000;
+
+    /**
+     * The graph backends under test.
+     */
+    public enum Backend
+    {
+        /**
+         * {@link DefaultGraphSpecificsStrategy}
+         */
+        DEFAULT,
+        /**
+         * {@link FastLookupGraphSpecificsStrategy}
+         */
+        FAST_LOOKUP,
+        /**
+         * {@link FastutilMapGraph} without fast lookups
+         */
+        FASTUTIL,
+        /**
+         * {@link FastutilMapGraph} with fast lookups
+         */
+        FASTUTIL_FAST_LOOKUP,
+        /**
+         * {@link FastutilMapIntVertexGraph} with fast lookups
+         */
+        FASTUTIL_INT_VERTEX,
+        /**
+         * {@link MutableNetworkAdapter} over a Guava network
+         */
+        GUAVA,
+        /**
+         * {@link SparseIntDirectedWeightedGraph}, immutable
+         */
+        SPARSE;
+
+        /**
+         * Create a graph of this backend holding the given edges.
+         *
+         * @param edges the edges
+         * @return the graph
+         */
+        public Graph<Integer, ?> create(BenchmarkGraphs.EdgeList edges)
+        {
+            GraphType type = DefaultGraphType.directedPseudograph().asWeighted();
+            switch (this) {
+            case DEFAULT:
+                return edges.populate(
+                    new StrategyGraph(type, new DefaultGraphSpecificsStrategy<>()));
+            case FAST_LOOKUP:
+                return edges.populate(
+                    new StrategyGraph(type, new FastLookupGraphSpecificsStrategy<>()));
+            case FASTUTIL:
+                return edges.populate(
+                    new FastutilMapGraph<>(
+                        null, SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER, type, false));
+            case FASTUTIL_FAST_LOOKUP:
+                return edges.populate(
+                    new FastutilMapGraph<>(
+                        null, SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER, type, true));
+            case FASTUTIL_INT_VERTEX:
+                return edges.populate(
+                    new FastutilMapIntVertexGraph<>(
+                        null, SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER, type, true));
+            case GUAVA:
+                MutableNetwork<Integer, DefaultEdge> network = NetworkBuilder
+                    .directed().allowsParallelEdges(true).allowsSelfLoops(true).build();
+                return edges.populate(
+                    new MutableNetworkAdapter<>(
+                        network, null, SupplierUtil.DEFAULT_EDGE_SUPPLIER));
+            case SPARSE:
+                return new SparseIntDirectedWeightedGraph(
+                    edges.vertexCount(), edges.getSources(), edges.getTargets(),
+                    edges.getWeights());
+            default:
+                throw new IllegalArgumentException("Unknown backend " + this);
+            }
+        }
+    }
+
+    /**
+     * Graph with a configurable specifics strategy.
+     */
+    private static class StrategyGraph
+        extends
+        AbstractBaseGraph<Integer, DefaultWeightedEdge>
+    {
+        private static final long serialVersionUID = 1L;
+
+        StrategyGraph(
+            GraphType type, GraphSpecificsStrategy<Integer, DefaultWeightedEdge> strategy)
+        {
+            super(null, SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER, type, strategy);
+        }
+    }
+
+    @Param({ "DEFAULT", "FAST_LOOKUP", "FASTUTIL", "FASTUTIL_FAST_LOOKUP", "FASTUTIL_INT_VERTEX",
+        "GUAVA", "SPARSE" })
+    public Backend backend;
+
+    @Param({ "random", "grid" })
+    public String topology;
+
+    @Param({ "100000" })
+    public int vertices;
+
+    @Param({ "8" })
+    public int averageDegree;
+
+    private BenchmarkGraphs.EdgeList edges;
+    private Graph<Integer, ?> graph;
+    private int[] querySources;
+    private int[] queryTargets;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        if (topology.equals("grid")) {
+            edges = BenchmarkGraphs.grid(vertices, BenchmarkGraphs.SEED);
+        } else {
+            edges = BenchmarkGraphs
+                .random(vertices, vertices * averageDegree, BenchmarkGraphs.SEED);
+        }
+        graph = backend.create(edges);
+
+        // half of the queries hit an existing edge
+        Random rng = new Random(BenchmarkGraphs.SEED);
+        int n = edges.vertexCount();
+        querySources = new int[QUERIES];
+        queryTargets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            if (i % 2 == 0) {
+                int k = rng.nextInt(edges.edgeCount());
+                querySources[i] = edges.getSources()[k];
+                queryTargets[i] = edges.getTargets()[k];
+            } else {
+                querySources[i] = rng.nextInt(n);
+                queryTargets[i] = rng.nextInt(n);
+            }
+        }
+    }
+
+    @Benchmark
+    public Graph<Integer, ?> construct()
+    {
+        return backend.create(edges);
+    }
+
+    @Benchmark
+    public double outgoingEdges()
+    {
+        return sumOutgoing(graph);
+    }
+
+    private static <E> double sumOutgoing(Graph<Integer, E> g)
+    {
+        double sum = 0d;
+        for (Integer v : g.vertexSet()) {
+            for (E e : g.outgoingEdgesOf(v)) {
+                sum += g.getEdgeTarget(e) + g.getEdgeWeight(e);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int incomingDegrees()
+    {
+        int sum = 0;
+        for (Integer v : graph.vertexSet()) {
+            sum += graph.inDegreeOf(v);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int containsEdge()
+    {
+        int found = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            if (graph.containsEdge(querySources[i], queryTargets[i])) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int edgeSet()
+    {
+        return sumSources(graph);
+    }
+
+    private static <E> int sumSources(Graph<Integer, E> g)
+    {
+        int sum = 0;
+        for (E e : g.edgeSet()) {
+            sum += g.getEdgeSource(e);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int breadthFirst()
+    {
+        int count = 0;
+        Iterator<Integer> it = new BreadthFirstIterator<>(graph, 0);
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        return count;
+    }
+
+}
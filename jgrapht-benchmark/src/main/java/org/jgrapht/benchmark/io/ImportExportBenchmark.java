@@ -0,0 +1,170 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.io;
+
+import org.jgrapht.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.io.*;
+import org.jgrapht.util.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+/**
+ * Export and import of a weighted directed random graph in several formats. The input documents
+ * of the importers are produced once per trial and kept in memory, except for the memory mapped
+ * binary import which reads a temporary file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImportExportBenchmark
+{
+    @Param({ "10000", "100000" })
+    public int vertices;
+
+    @Param({ "8" })
+    public int averageDegree;
+
+    private Graph<Integer, DefaultWeightedEdge> graph;
+    private byte[] graphML;
+    private byte[] csv;
+    private byte[] binary;
+    private File binaryFile;
+
+    @Setup(Level.Trial)
+    public void setup()
+        throws ExportException, IOException
+    {
+        graph = BenchmarkGraphs
+            .random(vertices, vertices * averageDegree, BenchmarkGraphs.SEED)
+            .populate(new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+        graphML = exportGraphML().toByteArray();
+        csv = exportCSV().toByteArray();
+        binary = exportBinary().toByteArray();
+        binaryFile = File.createTempFile("jgrapht-benchmark", ".bin");
+        Files.write(binaryFile.toPath(), binary);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        if (binaryFile != null) {
+            binaryFile.delete();
+        }
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> createTarget()
+    {
+        return new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream exportGraphML()
+        throws ExportException
+    {
+        GraphMLExporter<Integer, DefaultWeightedEdge> exporter = new GraphMLExporter<>();
+        exporter.setExportEdgeWeights(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.exportGraph(graph, out);
+        return out;
+    }
+
+    @Benchmark
+    public Graph<Integer, DefaultWeightedEdge> importSimpleGraphML()
+        throws ImportException
+    {
+        SimpleGraphMLImporter<Integer, DefaultWeightedEdge> importer =
+            new SimpleGraphMLImporter<>();
+        importer.setSchemaValidation(false);
+        Graph<Integer, DefaultWeightedEdge> target = createTarget();
+        importer.importGraph(target, new ByteArrayInputStream(graphML));
+        return target;
+    }
+
+    @Benchmark
+    public Graph<Integer, DefaultWeightedEdge> importStreamingGraphML()
+        throws ImportException
+    {
+        Graph<Integer, DefaultWeightedEdge> target = createTarget();
+        new StreamingGraphMLImporter<Integer, DefaultWeightedEdge>()
+            .importGraph(target, new ByteArrayInputStream(graphML));
+        return target;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream exportCSV()
+        throws ExportException
+    {
+        CSVExporter<Integer, DefaultWeightedEdge> exporter =
+            new CSVExporter<>(CSVFormat.EDGE_LIST);
+        exporter.setParameter(CSVFormat.Parameter.EDGE_WEIGHTS, true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.exportGraph(graph, out);
+        return out;
+    }
+
+    @Benchmark
+    public Graph<Integer, DefaultWeightedEdge> importCSV()
+        throws ImportException
+    {
+        CSVImporter<Integer, DefaultWeightedEdge> importer = new CSVImporter<>(
+            (id, attributes) -> Integer.valueOf(id),
+            (from, to, label, attributes) -> new DefaultWeightedEdge(), CSVFormat.EDGE_LIST);
+        importer.setParameter(CSVFormat.Parameter.EDGE_WEIGHTS, true);
+        Graph<Integer, DefaultWeightedEdge> target = createTarget();
+        importer.importGraph(target, new ByteArrayInputStream(csv));
+        return target;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream exportBinary()
+        throws ExportException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinaryGraphExporter<Integer, DefaultWeightedEdge>().exportGraph(graph, out);
+        return out;
+    }
+
+    @Benchmark
+    public Graph<Integer, DefaultWeightedEdge> importBinaryStream()
+        throws ImportException
+    {
+        Graph<Integer, DefaultWeightedEdge> target = createTarget();
+        new BinaryGraphImporter<Integer, DefaultWeightedEdge>()
+            .importGraph(target, new ByteArrayInputStream(binary));
+        return target;
+    }
+
+    @Benchmark
+    public Graph<Integer, DefaultWeightedEdge> importBinaryMapped()
+        throws ImportException
+    {
+        Graph<Integer, DefaultWeightedEdge> target = createTarget();
+        new BinaryGraphImporter<Integer, DefaultWeightedEdge>().importGraph(target, binaryFile);
+        return target;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.isomorphism.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Deduplication of small random graphs up to isomorphism. Each graph has eight vertices and ten
+ * edges, so many of the graphs are isomorphic. The canonical labeling benchmark collects the
+ * certificates in a hash set, the baseline tests every graph with VF2 against one representative
+ * of each class found so far.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CanonicalLabelingBenchmark
+{
+    @Param({ "1000", "10000" })
+    public int graphs;
+
+    private List<Graph<Integer, DefaultEdge>> input;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        input = new ArrayList<>(graphs);
+        for (int i = 0; i < graphs; i++) {
+            input.add(
+                BenchmarkGraphs
+                    .random(8, 10, BenchmarkGraphs.SEED + i)
+                    .populate(new SimpleGraph<>(DefaultEdge.class)));
+        }
+    }
+
+    @Benchmark
+    public int canonicalLabeling()
+    {
+        Set<CanonicalLabeling.Certificate> classes = new HashSet<>();
+        for (Graph<Integer, DefaultEdge> g : input) {
+            classes.add(new CanonicalLabeling<>(g).getCertificate());
+        }
+        return classes.size();
+    }
+
+    @Benchmark
+    public int pairwiseVF2()
+    {
+        List<Graph<Integer, DefaultEdge>> classes = new ArrayList<>();
+        for (Graph<Integer, DefaultEdge> g : input) {
+            boolean found = false;
+            for (Graph<Integer, DefaultEdge> r : classes) {
+                if (r.edgeSet().size() == g.edgeSet().size()
+                    && new VF2GraphIsomorphismInspector<>(r, g).isomorphismExists())
+                {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                classes.add(g);
+            }
+        }
+        return classes.size();
+    }
+
+}
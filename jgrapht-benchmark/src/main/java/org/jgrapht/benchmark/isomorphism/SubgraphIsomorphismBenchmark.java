@@ -0,0 +1,123 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.isomorphism.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Subgraph isomorphism on a sparse random digraph with three arcs per vertex. The pattern is the
+ * subgraph induced by six vertices around vertex 0. The enumeration benchmarks build the first
+ * mappings, and the counting benchmarks count all mappings sequentially and in parallel. All
+ * benchmarks include the construction of the inspector.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubgraphIsomorphismBenchmark
+{
+    private static final int MAPPINGS = 10000;
+
+    @Param({ "10000", "200000" })
+    public int vertices;
+
+    private Graph<Integer, DefaultEdge> graph;
+    private Graph<Integer, DefaultEdge> pattern;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = BenchmarkGraphs
+            .random(vertices, 3 * vertices, BenchmarkGraphs.SEED)
+            .populate(new DefaultDirectedGraph<>(DefaultEdge.class));
+
+        List<Integer> ball = new ArrayList<>();
+        ball.add(0);
+        for (int i = 0; i < ball.size() && ball.size() < 6; i++) {
+            for (Integer v : Graphs.neighborListOf(graph, ball.get(i))) {
+                if (ball.size() < 6 && !ball.contains(v)) {
+                    ball.add(v);
+                }
+            }
+        }
+        pattern = new DefaultDirectedGraph<>(DefaultEdge.class);
+        for (int i = 0; i < ball.size(); i++) {
+            pattern.addVertex(i);
+        }
+        for (int i = 0; i < ball.size(); i++) {
+            for (int j = 0; j < ball.size(); j++) {
+                if (graph.containsEdge(ball.get(i), ball.get(j))) {
+                    pattern.addEdge(i, j);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int vf2CachedEdges()
+    {
+        return countMappings(new VF2SubgraphIsomorphismInspector<>(graph, pattern, true));
+    }
+
+    @Benchmark
+    public int vf2UncachedEdges()
+    {
+        return countMappings(new VF2SubgraphIsomorphismInspector<>(graph, pattern, false));
+    }
+
+    @Benchmark
+    public long vf2CountAll()
+    {
+        return new VF2SubgraphIsomorphismInspector<>(graph, pattern).countMappings(null);
+    }
+
+    @Benchmark
+    public long vf2ParallelCountAll()
+    {
+        return new VF2SubgraphIsomorphismInspector<>(graph, pattern)
+            .countMappings(ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public long vf2ParallelStreamAll()
+    {
+        return new VF2SubgraphIsomorphismInspector<>(graph, pattern)
+            .getMappingStream().parallel().count();
+    }
+
+    private int countMappings(VF2SubgraphIsomorphismInspector<Integer, DefaultEdge> inspector)
+    {
+        int count = 0;
+        Iterator<GraphMapping<Integer, DefaultEdge>> it = inspector.getMappings();
+        while (count < MAPPINGS && it.hasNext()) {
+            it.next();
+            count++;
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,30 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+/**
+ * JMH benchmarks for graph backends, algorithms and importers/exporters.
+ *
+ * <p>
+ * The benchmarks are packaged as an executable jar. Build it with
+ * {@code mvn package -pl jgrapht-benchmark -am -DskipTests} and run all benchmarks with
+ * {@code java -jar jgrapht-benchmark/target/benchmarks.jar}, or a subset by passing a regular
+ * expression such as {@code ShortestPathBenchmark}. The size of the generated graphs is a
+ * benchmark parameter and can be changed from the command line, e.g.
+ * {@code -p vertices=1000000}. All graphs are generated from fixed seeds so that numbers are
+ * comparable between runs and versions.
+ */
+package org.jgrapht.benchmark;
@@ -0,0 +1,90 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.scoring.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Core decomposition of a sparse random simple graph, computed from scratch and maintained under
+ * single edge updates. The update benchmark removes an edge and adds it back.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CorenessBenchmark
+{
+    @Param({ "100000", "1000000" })
+    public int vertices;
+
+    @Param({ "10" })
+    public int averageDegree;
+
+    private Graph<Integer, DefaultEdge> graph;
+    private ListenableGraph<Integer, DefaultEdge> listenableGraph;
+    private List<DefaultEdge> edges;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchmarkGraphs.EdgeList edgeList = BenchmarkGraphs
+            .random(vertices, vertices * averageDegree / 2, BenchmarkGraphs.SEED);
+        graph = edgeList.populate(new SimpleGraph<>(DefaultEdge.class));
+
+        listenableGraph =
+            new DefaultListenableGraph<>(edgeList.populate(new SimpleGraph<>(DefaultEdge.class)));
+        listenableGraph.addGraphListener(new DynamicCoreness<>(listenableGraph));
+        edges = new ArrayList<>(listenableGraph.edgeSet());
+    }
+
+    @Benchmark
+    public int coreness()
+    {
+        return new Coreness<>(graph).getDegeneracy();
+    }
+
+    @Benchmark
+    public int parallelCoreness()
+    {
+        return new Coreness<>(graph, ForkJoinPool.commonPool()).getDegeneracy();
+    }
+
+    @Benchmark
+    public DefaultEdge dynamicCorenessUpdate()
+    {
+        DefaultEdge e = edges.get(next);
+        Integer u = listenableGraph.getEdgeSource(e);
+        Integer v = listenableGraph.getEdgeTarget(e);
+        listenableGraph.removeEdge(e);
+        e = listenableGraph.addEdge(u, v);
+        edges.set(next, e);
+        next = (next + 7919) % edges.size();
+        return e;
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.scoring.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Vertex scoring algorithms on a random directed graph. The parallel variants run on the common
+ * pool when {@code parallel} is set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringBenchmark
+{
+    @Param({ "1000", "5000" })
+    public int vertices;
+
+    @Param({ "8" })
+    public int averageDegree;
+
+    @Param({ "false", "true" })
+    public boolean parallel;
+
+    private Graph<Integer, DefaultWeightedEdge> graph;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = BenchmarkGraphs
+            .random(vertices, vertices * averageDegree, BenchmarkGraphs.SEED)
+            .populate(new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+        pool = parallel ? ForkJoinPool.commonPool() : null;
+    }
+
+    @Benchmark
+    public Map<Integer, Double> pageRank()
+    {
+        return new PageRank<>(
+            graph, PageRank.DAMPING_FACTOR_DEFAULT, PageRank.MAX_ITERATIONS_DEFAULT,
+            PageRank.TOLERANCE_DEFAULT, null, null, pool).getScores();
+    }
+
+    @Benchmark
+    public Map<Integer, Double> betweennessCentralityPivots()
+    {
+        return new BetweennessCentrality<>(
+            graph, false, pool, 64, new Random(BenchmarkGraphs.SEED)).getScores();
+    }
+
+    @Benchmark
+    public Map<Integer, Double> closenessCentrality()
+    {
+        return new ClosenessCentrality<>(graph).getScores();
+    }
+
+    @Benchmark
+    public Map<Integer, Double> harmonicCentrality()
+    {
+        return new HarmonicCentrality<>(graph).getScores();
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.scoring.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Triangle counting and clustering coefficients on a sparse random undirected graph.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TriangleCountBenchmark
+{
+    @Param({ "100000", "1000000" })
+    public int vertices;
+
+    @Param({ "10" })
+    public int averageDegree;
+
+    private Graph<Integer, DefaultEdge> graph;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = BenchmarkGraphs
+            .random(vertices, vertices * averageDegree / 2, BenchmarkGraphs.SEED)
+            .populate(new Pseudograph<>(DefaultEdge.class));
+    }
+
+    @Benchmark
+    public long numberOfTrianglesSequential()
+    {
+        return new TriangleCount<>(graph, null).getNumberOfTriangles();
+    }
+
+    @Benchmark
+    public long numberOfTriangles()
+    {
+        return new TriangleCount<>(graph).getNumberOfTriangles();
+    }
+
+    @Benchmark
+    public Map<Integer, Long> vertexTriangles()
+    {
+        return new TriangleCount<>(graph).getScores();
+    }
+
+    @Benchmark
+    public double averageClusteringCoefficient()
+    {
+        return new ClusteringCoefficient<>(graph).getAverageClusteringCoefficient();
+    }
+
+}
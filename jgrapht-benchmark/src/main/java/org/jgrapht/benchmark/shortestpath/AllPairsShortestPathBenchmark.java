@@ -0,0 +1,102 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+/**
+ * All-pairs shortest path computations on random graphs with four edges per vertex. Each
+ * benchmark computes the complete distance table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AllPairsShortestPathBenchmark
+{
+    @Param({ "500", "1000", "2000" })
+    public int vertices;
+
+    private Graph<Integer, DefaultWeightedEdge> graph;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = BenchmarkGraphs
+            .random(vertices, 4 * vertices, BenchmarkGraphs.SEED)
+            .populate(new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+    }
+
+    @Benchmark
+    public int floydWarshall()
+    {
+        return new FloydWarshallShortestPaths<>(graph).getShortestPathsCount();
+    }
+
+    @Benchmark
+    public int blockedFloydWarshall()
+    {
+        return new BlockedFloydWarshallShortestPaths<>(graph).getShortestPathsCount();
+    }
+
+    @Benchmark
+    public int parallelBlockedFloydWarshall()
+    {
+        return new BlockedFloydWarshallShortestPaths<>(graph, ForkJoinPool.commonPool())
+            .getShortestPathsCount();
+    }
+
+    @Benchmark
+    public int parallelBlockedFloydWarshallSinglePrecision()
+    {
+        return new BlockedFloydWarshallShortestPaths<>(
+            graph, ForkJoinPool.commonPool(), true,
+            BlockedFloydWarshallShortestPaths.DEFAULT_BLOCK_SIZE).getShortestPathsCount();
+    }
+
+    @Benchmark
+    public double johnson()
+    {
+        return pathWeightSum(new JohnsonShortestPaths<>(graph));
+    }
+
+    @Benchmark
+    public double parallelJohnson()
+    {
+        return pathWeightSum(new JohnsonShortestPaths<>(graph, ForkJoinPool.commonPool()));
+    }
+
+    private double pathWeightSum(ShortestPathAlgorithm<Integer, DefaultWeightedEdge> alg)
+    {
+        double sum = 0d;
+        for (int v = 0; v < vertices; v += 97) {
+            sum += alg.getPathWeight(0, v);
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Contraction hierarchy preprocessing and queries. The benchmark uses grids only, since random
+ * graphs without any locality are a worst case for contraction and not a realistic input.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContractionHierarchyBenchmark
+{
+    private static final int QUERIES = 16;
+
+    @Param({ "10000", "100000" })
+    public int vertices;
+
+    private Graph<Integer, DefaultWeightedEdge> graph;
+    private ContractionHierarchyShortestPath<Integer, DefaultWeightedEdge> query;
+    private int[] sources;
+    private int[] targets;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchmarkGraphs.EdgeList edges = BenchmarkGraphs.grid(vertices, BenchmarkGraphs.SEED);
+        graph = edges.populate(new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+        query = new ContractionHierarchyShortestPath<>(graph);
+
+        Random rng = new Random(BenchmarkGraphs.SEED);
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = rng.nextInt(edges.vertexCount());
+            targets[i] = rng.nextInt(edges.vertexCount());
+        }
+    }
+
+    @Benchmark
+    public double query()
+    {
+        return ShortestPathBenchmark.run(query, sources, targets);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public ContractionHierarchy<Integer, DefaultWeightedEdge> precomputation()
+    {
+        return new ContractionHierarchyPrecomputation<>(graph).computeContractionHierarchy();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public ContractionHierarchy<Integer, DefaultWeightedEdge> parallelPrecomputation()
+    {
+        return new ContractionHierarchyPrecomputation<>(graph, ForkJoinPool.commonPool())
+            .computeContractionHierarchy();
+    }
+
+}
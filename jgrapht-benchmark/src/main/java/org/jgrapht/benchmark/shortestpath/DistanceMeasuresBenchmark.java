@@ -0,0 +1,73 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.scoring.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Unweighted distance measures on a random undirected graph. The measures run on the multi-source
+ * breadth-first search, the weighted variants in {@code ScoringBenchmark} use one Dijkstra search
+ * per vertex.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DistanceMeasuresBenchmark
+{
+    @Param({ "10000", "100000" })
+    public int vertices;
+
+    private Graph<Integer, DefaultEdge> graph;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = BenchmarkGraphs
+            .random(vertices, 4 * vertices, BenchmarkGraphs.SEED)
+            .populate(new Pseudograph<>(DefaultEdge.class));
+    }
+
+    @Benchmark
+    public double diameter()
+    {
+        return GraphMetrics.getDiameter(graph);
+    }
+
+    @Benchmark
+    public double radius()
+    {
+        return GraphMetrics.getRadius(graph);
+    }
+
+    @Benchmark
+    public Map<Integer, Double> harmonicCentrality()
+    {
+        return new HarmonicCentrality<>(graph).getScores();
+    }
+
+}
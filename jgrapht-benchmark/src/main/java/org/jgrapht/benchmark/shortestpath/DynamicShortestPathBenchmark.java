@@ -0,0 +1,107 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Maintenance of the shortest path trees of many sources on a grid while single edge weights
+ * change. Each invocation changes the weight of one edge and reads one distance from every tree,
+ * either from trees which are updated incrementally or from trees which are recomputed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DynamicShortestPathBenchmark
+{
+    @Param({ "10000" })
+    public int vertices;
+
+    @Param({ "100" })
+    public int trackedSources;
+
+    private ListenableGraph<Integer, DefaultWeightedEdge> graph;
+    private RamalingamRepsShortestPaths<Integer, DefaultWeightedEdge> ramalingamReps;
+    private List<DefaultWeightedEdge> edges;
+    private Graph<Integer, DefaultWeightedEdge> staticGraph;
+    private List<DefaultWeightedEdge> staticEdges;
+    private List<Integer> sources;
+    private Random rng;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchmarkGraphs.EdgeList edgeList = BenchmarkGraphs.grid(vertices, BenchmarkGraphs.SEED);
+        graph = new DefaultListenableGraph<>(
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+        edgeList.populate(graph);
+        edges = new ArrayList<>(graph.edgeSet());
+        staticGraph = edgeList
+            .populate(new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+        staticEdges = new ArrayList<>(staticGraph.edgeSet());
+
+        rng = new Random(BenchmarkGraphs.SEED);
+        sources = new ArrayList<>();
+        for (int i = 0; i < trackedSources; i++) {
+            sources.add(rng.nextInt(edgeList.vertexCount()));
+        }
+        ramalingamReps = new RamalingamRepsShortestPaths<>(graph, sources);
+        graph.addGraphListener(ramalingamReps);
+    }
+
+    @Benchmark
+    public double ramalingamReps()
+    {
+        changeWeight(graph, edges);
+        double sum = 0d;
+        for (Integer s : sources) {
+            sum += ramalingamReps.getPathWeight(s, 0);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double dijkstra()
+    {
+        changeWeight(staticGraph, staticEdges);
+        double sum = 0d;
+        DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra =
+            new DijkstraShortestPath<>(staticGraph);
+        for (Integer s : sources) {
+            sum += dijkstra.getPaths(s).getWeight(0);
+        }
+        return sum;
+    }
+
+    private void changeWeight(Graph<Integer, DefaultWeightedEdge> g, List<DefaultWeightedEdge> es)
+    {
+        DefaultWeightedEdge e = es.get(rng.nextInt(es.size()));
+        g.setEdgeWeight(e, 1.0 + 99.0 * rng.nextDouble());
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.benchmark.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.benchmark.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Point-to-point shortest path queries on a weighted directed graph. The query pairs are fixed
+ * and each invocation answers all of them.
+ *
+ * @see ContractionHierarchyBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShortestPathBenchmark
+{
+    private static final int QUERIES = 16;
+
+    @Param({ "random", "grid" })
+    public String topology;
+
+    @Param({ "10000", "100000" })
+    public int vertices;
+
+    @Param({ "4" })
+    public int averageDegree;
+
+    private Graph<Integer, DefaultWeightedEdge> graph;
+    private int[] sources;
+    private int[] targets;
+
+    private ShortestPathAlgorithm<Integer, DefaultWeightedEdge> dijkstra;
+    private ShortestPathAlgorithm<Integer, DefaultWeightedEdge> bidirectionalDijkstra;
+    private ShortestPathAlgorithm<Integer, DefaultWeightedEdge> intDijkstra;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchmarkGraphs.EdgeList edges = topology.equals("grid")
+            ? BenchmarkGraphs.grid(vertices, BenchmarkGraphs.SEED)
+            : BenchmarkGraphs.random(vertices, vertices * averageDegree, BenchmarkGraphs.SEED);
+        graph = edges.populate(new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+
+        Random rng = new Random(BenchmarkGraphs.SEED);
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = rng.nextInt(edges.vertexCount());
+            targets[i] = rng.nextInt(edges.vertexCount());
+        }
+
+        dijkstra = new DijkstraShortestPath<>(graph);
+        bidirectionalDijkstra = new BidirectionalDijkstraShortestPath<>(graph);
+        intDijkstra = new IntDijkstraShortestPath<>(graph);
+    }
+
+    static double run(
+        ShortestPathAlgorithm<Integer, DefaultWeightedEdge> algorithm, int[] sources,
+        int[] targets)
+    {
+        double sum = 0d;
+        for (int i = 0; i < sources.length; i++) {
+            double weight = algorithm.getPathWeight(sources[i], targets[i]);
+            if (weight < Double.POSITIVE_INFINITY) {
+                sum += weight;
+            }
+        }
+        return sum;
+    }
+
+    private double run(ShortestPathAlgorithm<Integer, DefaultWeightedEdge> algorithm)
+    {
+        return run(algorithm, sources, targets);
+    }
+
+    @Benchmark
+    public double dijkstra()
+    {
+        return run(dijkstra);
+    }
+
+    @Benchmark
+    public double bidirectionalDijkstra()
+    {
+        return run(bidirectionalDijkstra);
+    }
+
+    @Benchmark
+    public double intDijkstra()
+    {
+        return run(intDijkstra);
+    }
+
+}
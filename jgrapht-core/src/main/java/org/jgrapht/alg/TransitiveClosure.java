@@ -26,6 +26,10 @@ import java.util.*;
 /**
  * Constructs the transitive closure of the input graph.
  *
+ * <p>
+ * The closure may have quadratically many edges. To answer reachability queries without adding any
+ * edges, use {@link org.jgrapht.alg.connectivity.ReachabilityIndex} instead.
+ *
  * @author Vinayak R. Borkar
  */
 public class TransitiveClosure
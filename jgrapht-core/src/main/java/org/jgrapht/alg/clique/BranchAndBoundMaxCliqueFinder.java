@@ -0,0 +1,431 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Calculates a <a href = "http://mathworld.wolfram.com/MaximumClique.html">maximum cardinality
+ * clique</a> of an undirected graph by branch and bound.
+ *
+ * <p>
+ * The implementation is the bitset algorithm BBMC of
+ * <ul>
+ * <li>P. San Segundo, D. Rodríguez-Losada and A. Jiménez. An exact bit-parallel algorithm for the
+ * maximum clique problem. Computers &amp; Operations Research, 38(2):571--581, 2011.</li>
+ * </ul>
+ * which follows the algorithms MCQ and MCS of Tomita et al. Every node of the search greedily
+ * colors its candidate vertices, and the number of colors bounds the size of any clique among
+ * them. Vertices are branched on in decreasing order of their color, and a node is pruned as soon
+ * as the current clique plus the color of the next vertex cannot beat the best clique found. The
+ * vertices are numbered in reverse degeneracy order, the adjacency matrix and the candidate sets
+ * are {@code long[]} bitsets, and the coloring only records the vertices whose color can still
+ * lead to an improvement.
+ *
+ * <p>
+ * If a {@link ForkJoinPool} is given, the branches of the root of the search are explored in
+ * parallel. All threads share the size of the best clique found, which is used for pruning.
+ *
+ * <p>
+ * The running time is exponential in the worst case. The memory used is $O(n^2)$ bits for the
+ * adjacency matrix, where $n$ is the number of vertices, so the algorithm is intended for dense
+ * graphs with up to several thousand vertices. A timeout can be set using the constructor
+ * parameters, in which case the best clique found so far is returned.
+ *
+ * <p>
+ * Self-loops and multiple edges are ignored.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class BranchAndBoundMaxCliqueFinder<V, E>
+    implements
+    CliqueAlgorithm<V>
+{
+    private final Graph<V, E> graph;
+    private final ForkJoinPool pool;
+    private final long nanos;
+
+    private Clique<V> maximumClique;
+    private boolean timeLimitReached;
+
+    /**
+     * Constructs a new sequential clique finder.
+     *
+     * @param graph the input graph; must be undirected
+     */
+    public BranchAndBoundMaxCliqueFinder(Graph<V, E> graph)
+    {
+        this(graph, null);
+    }
+
+    /**
+     * Constructs a new clique finder.
+     *
+     * @param graph the input graph; must be undirected
+     * @param pool the pool to use, or null for sequential execution
+     */
+    public BranchAndBoundMaxCliqueFinder(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this(graph, pool, 0L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Constructs a new clique finder.
+     *
+     * @param graph the input graph; must be undirected
+     * @param pool the pool to use, or null for sequential execution
+     * @param timeout the maximum time to wait, if zero no timeout
+     * @param unit the time unit of the timeout argument
+     */
+    public BranchAndBoundMaxCliqueFinder(
+        Graph<V, E> graph, ForkJoinPool pool, long timeout, TimeUnit unit)
+    {
+        this.graph = GraphTests.requireUndirected(graph);
+        this.pool = pool;
+        if (timeout == 0L) {
+            this.nanos = Long.MAX_VALUE;
+        } else {
+            this.nanos = unit.toNanos(timeout);
+        }
+        if (this.nanos < 1L) {
+            throw new IllegalArgumentException("Invalid timeout, must be positive");
+        }
+    }
+
+    /**
+     * Computes a maximum clique of the graph. If the time limit is reached, the largest clique
+     * found so far is returned.
+     *
+     * @return a maximum clique
+     */
+    @Override
+    public Clique<V> getClique()
+    {
+        lazyComputeMaximumClique();
+        return maximumClique;
+    }
+
+    /**
+     * Check whether the computation has stopped due to a time limit, in which case the returned
+     * clique may not be maximum.
+     *
+     * @return true if the computation has stopped due to a time limit, false otherwise
+     */
+    public boolean isTimeLimitReached()
+    {
+        lazyComputeMaximumClique();
+        return timeLimitReached;
+    }
+
+    private void lazyComputeMaximumClique()
+    {
+        if (maximumClique != null) {
+            return;
+        }
+
+        long nanosTimeLimit;
+        try {
+            nanosTimeLimit = Math.addExact(System.nanoTime(), nanos);
+        } catch (ArithmeticException ignore) {
+            nanosTimeLimit = Long.MAX_VALUE;
+        }
+
+        IntGraphSnapshot<V, E> snapshot = new IntGraphSnapshot<>(graph);
+        int[] offsets = snapshot.getOutOffsets();
+        int[] targets = snapshot.getOutTargets();
+        int n = snapshot.vertexCount();
+        int[] order = new int[n];
+        int[] rank = new int[n];
+        snapshot.degeneracyOrdering(order, rank);
+
+        // number the vertices in reverse degeneracy order, so that the densest core comes first
+        int words = (n + 63) >>> 6;
+        long[][] rows = new long[n][words];
+        for (int v = 0; v < n; v++) {
+            int i = n - 1 - rank[v];
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                int u = targets[a];
+                if (u != v) {
+                    int j = n - 1 - rank[u];
+                    rows[i][j >>> 6] |= 1L << j;
+                }
+            }
+        }
+
+        Search search = new Search(n, words, rows, nanosTimeLimit);
+        search.run(pool);
+
+        Set<V> clique = new HashSet<>();
+        for (int i : search.best) {
+            clique.add(snapshot.getVertex(order[n - 1 - i]));
+        }
+        maximumClique = new CliqueImpl<>(clique);
+        timeLimitReached = search.timeout.get();
+    }
+
+    /**
+     * The branch and bound search on the bitset adjacency matrix.
+     */
+    private static class Search
+    {
+        private final int n;
+        private final int words;
+        private final long[][] rows;
+        private final long nanosTimeLimit;
+        private final AtomicInteger bestSize;
+        private final AtomicBoolean timeout;
+        private int[] best;
+
+        Search(int n, int words, long[][] rows, long nanosTimeLimit)
+        {
+            this.n = n;
+            this.words = words;
+            this.rows = rows;
+            this.nanosTimeLimit = nanosTimeLimit;
+            this.bestSize = new AtomicInteger();
+            this.timeout = new AtomicBoolean();
+            this.best = new int[0];
+        }
+
+        void run(ForkJoinPool pool)
+        {
+            if (n == 0) {
+                return;
+            }
+
+            // a greedy clique as initial lower bound
+            int[] greedy = new int[n];
+            int size = 0;
+            long[] candidates = rows[0].clone();
+            greedy[size++] = 0;
+            for (int v = nextBit(candidates, 0); v >= 0; v = nextBit(candidates, v + 1)) {
+                greedy[size++] = v;
+                for (int w = 0; w < words; w++) {
+                    candidates[w] &= rows[v][w];
+                }
+            }
+            record(greedy, size);
+
+            // color the root and explore its branches independently
+            long[] all = new long[words];
+            for (int v = 0; v < n; v++) {
+                all[v >>> 6] |= 1L << v;
+            }
+            Worker root = new Worker();
+            int[] vertices = new int[n];
+            int[] colors = new int[n];
+            int len = root.colorSort(all, 0, vertices, colors);
+
+            ConcurrencyUtil.parallelFor(pool, 0, len, (from, to) -> {
+                Worker worker = new Worker();
+                for (int t = from; t < to && !timeout.get(); t++) {
+                    worker.branchRoot(vertices, colors, len, len - 1 - t);
+                }
+            });
+        }
+
+        private synchronized void record(int[] clique, int size)
+        {
+            if (size > bestSize.get()) {
+                best = Arrays.copyOf(clique, size);
+                bestSize.set(size);
+            }
+        }
+
+        private int nextBit(long[] bits, int from)
+        {
+            int w = from >>> 6;
+            if (w >= words) {
+                return -1;
+            }
+            long word = bits[w] & (-1L << from);
+            while (true) {
+                if (word != 0L) {
+                    return (w << 6) + Long.numberOfTrailingZeros(word);
+                }
+                if (++w == words) {
+                    return -1;
+                }
+                word = bits[w];
+            }
+        }
+
+        /**
+         * The scratch space of one thread.
+         */
+        private class Worker
+        {
+            private final int[] clique = new int[n];
+            private final long[] uncolored = new long[words];
+            private final long[] colorClass = new long[words];
+            private long[][] candidateStack = new long[8][];
+            private int[][] vertexStack = new int[8][];
+            private int[][] colorStack = new int[8][];
+
+            /**
+             * Explore the $i$-th branch of the root, whose candidates are the neighbors of its
+             * vertex which are not branched on before it.
+             */
+            void branchRoot(int[] vertices, int[] colors, int len, int i)
+            {
+                if (colors[i] <= bestSize.get()) {
+                    return;
+                }
+                int v = vertices[i];
+                long[] p = candidates(1);
+                System.arraycopy(rows[v], 0, p, 0, words);
+                for (int j = i + 1; j < len; j++) {
+                    int u = vertices[j];
+                    p[u >>> 6] &= ~(1L << u);
+                }
+                clique[0] = v;
+                if (isEmpty(p)) {
+                    record(clique, 1);
+                } else {
+                    expand(1);
+                }
+            }
+
+            private void expand(int size)
+            {
+                if (nanosTimeLimit - System.nanoTime() < 0) {
+                    timeout.set(true);
+                }
+                if (timeout.get()) {
+                    return;
+                }
+
+                long[] p = candidateStack[size];
+                int count = 0;
+                for (int w = 0; w < words; w++) {
+                    count += Long.bitCount(p[w]);
+                }
+                int[] vertices = vertexStack(size, count);
+                int[] colors = colorStack[size];
+                int len = colorSort(p, size, vertices, colors);
+
+                for (int i = len - 1; i >= 0; i--) {
+                    if (size + colors[i] <= bestSize.get()) {
+                        return;
+                    }
+                    int v = vertices[i];
+                    long[] next = candidates(size + 1);
+                    boolean empty = true;
+                    for (int w = 0; w < words; w++) {
+                        next[w] = p[w] & rows[v][w];
+                        empty &= next[w] == 0L;
+                    }
+                    clique[size] = v;
+                    if (empty) {
+                        record(clique, size + 1);
+                    } else {
+                        expand(size + 1);
+                        if (timeout.get()) {
+                            return;
+                        }
+                    }
+                    p[v >>> 6] &= ~(1L << v);
+                }
+            }
+
+            /**
+             * Greedily color the candidates in increasing order of their number. Only the
+             * vertices whose color can improve the best clique are recorded, in nondecreasing
+             * order of their color.
+             *
+             * @return the number of recorded vertices
+             */
+            int colorSort(long[] p, int size, int[] vertices, int[] colors)
+            {
+                int minColor = Math.max(1, bestSize.get() - size + 1);
+                System.arraycopy(p, 0, uncolored, 0, words);
+                int len = 0;
+                int color = 0;
+                int first = 0;
+                while (first < words) {
+                    if (uncolored[first] == 0L) {
+                        first++;
+                        continue;
+                    }
+                    color++;
+                    System.arraycopy(uncolored, first, colorClass, first, words - first);
+                    for (int w = first; w < words; w++) {
+                        while (colorClass[w] != 0L) {
+                            int v = (w << 6) + Long.numberOfTrailingZeros(colorClass[w]);
+                            long[] row = rows[v];
+                            colorClass[w] &= ~row[w] & ~(1L << v);
+                            for (int x = w + 1; x < words; x++) {
+                                colorClass[x] &= ~row[x];
+                            }
+                            uncolored[w] &= ~(1L << v);
+                            if (color >= minColor) {
+                                vertices[len] = v;
+                                colors[len] = color;
+                                len++;
+                            }
+                        }
+                    }
+                }
+                return len;
+            }
+
+            private long[] candidates(int size)
+            {
+                if (size >= candidateStack.length) {
+                    candidateStack = Arrays.copyOf(candidateStack, 2 * size);
+                }
+                if (candidateStack[size] == null) {
+                    candidateStack[size] = new long[words];
+                }
+                return candidateStack[size];
+            }
+
+            private int[] vertexStack(int size, int count)
+            {
+                if (size >= vertexStack.length) {
+                    vertexStack = Arrays.copyOf(vertexStack, 2 * size);
+                    colorStack = Arrays.copyOf(colorStack, 2 * size);
+                }
+                if (vertexStack[size] == null || vertexStack[size].length < count) {
+                    vertexStack[size] = new int[count];
+                    colorStack[size] = new int[count];
+                }
+                return vertexStack[size];
+            }
+
+            private boolean isEmpty(long[] bits)
+            {
+                for (long word : bits) {
+                    if (word != 0L) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+    }
+
+}
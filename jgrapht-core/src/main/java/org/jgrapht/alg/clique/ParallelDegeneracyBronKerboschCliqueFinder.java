@@ -0,0 +1,516 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Parallel Bron-Kerbosch maximal clique enumeration algorithm with pivot and degeneracy ordering.
+ *
+ * <p>
+ * Like {@link DegeneracyBronKerboschCliqueFinder}, the algorithm follows
+ * <ul>
+ * <li>David Eppstein, Maarten Löffler and Darren Strash. Listing All Maximal Cliques in Sparse
+ * Graphs in Near-Optimal Time. Algorithms and Computation: 21st International Symposium (ISSAC),
+ * 403--414, 2010.</li>
+ * </ul>
+ * and runs one independent subproblem for every vertex $v$ of a degeneracy ordering: it lists the
+ * maximal cliques containing $v$ and otherwise only later vertices of the ordering. Since $v$ has
+ * at most $d$ later neighbors, where $d$ is the degeneracy of the graph, every subproblem is small
+ * and usually dense. It is therefore solved on a local adjacency matrix of {@code long} bitsets,
+ * with the candidate and exclusion sets as bitsets and the pivot rule of Tomita et al. Earlier
+ * neighbors of $v$ without a later neighbor of $v$ cannot extend any clique of the subproblem and
+ * are dropped from the exclusion set.
+ *
+ * <p>
+ * If a {@link ForkJoinPool} is given, consecutive subproblems are grouped into tasks which are
+ * executed by the pool. Cliques are streamed lazily: {@link #iterator()} only keeps a bounded
+ * number of tasks in flight, and returns the cliques task by task in the order of the degeneracy
+ * ordering. Hence the order of the cliques does not depend on the pool, and the memory used is
+ * independent of the total number of cliques. Every call of {@link #iterator()} restarts the
+ * enumeration, and {@link #maximumIterator()} only keeps the maximum cliques.
+ *
+ * <p>
+ * A timeout can be set using the constructor parameters. If the time limit is reached, the
+ * iterator returns the cliques found so far.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see DegeneracyBronKerboschCliqueFinder
+ */
+public class ParallelDegeneracyBronKerboschCliqueFinder<V, E>
+    extends
+    BaseBronKerboschCliqueFinder<V, E>
+{
+    /**
+     * Minimum total degree of the subproblems of a task.
+     */
+    private static final int TASK_WORK = 4096;
+    /**
+     * Number of tasks in flight per thread of the pool.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new sequential clique finder.
+     *
+     * @param graph the input graph; must be simple and undirected
+     */
+    public ParallelDegeneracyBronKerboschCliqueFinder(Graph<V, E> graph)
+    {
+        this(graph, null);
+    }
+
+    /**
+     * Constructs a new clique finder.
+     *
+     * @param graph the input graph; must be simple and undirected
+     * @param pool the pool to use, or null for sequential execution
+     */
+    public ParallelDegeneracyBronKerboschCliqueFinder(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this(graph, pool, 0L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Constructs a new clique finder.
+     *
+     * @param graph the input graph; must be simple and undirected
+     * @param pool the pool to use, or null for sequential execution
+     * @param timeout the maximum time to wait, if zero no timeout
+     * @param unit the time unit of the timeout argument
+     */
+    public ParallelDegeneracyBronKerboschCliqueFinder(
+        Graph<V, E> graph, ForkJoinPool pool, long timeout, TimeUnit unit)
+    {
+        super(graph, timeout, unit);
+        this.pool = pool;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The cliques are computed lazily while iterating.
+     *
+     * @throws IllegalArgumentException if the graph is not simple or not undirected
+     */
+    @Override
+    public Iterator<Set<V>> iterator()
+    {
+        return new CliqueIterator();
+    }
+
+    /**
+     * Create an iterator which returns only the maximum cliques of a graph. The iterator
+     * enumerates all maximal cliques but keeps only the largest ones found.
+     *
+     * @return an iterator which returns only the maximum cliques of a graph
+     * @throws IllegalArgumentException if the graph is not simple or not undirected
+     */
+    @Override
+    public Iterator<Set<V>> maximumIterator()
+    {
+        List<Set<V>> maximum = new ArrayList<>();
+        int size = 0;
+        for (Iterator<Set<V>> it = iterator(); it.hasNext();) {
+            Set<V> clique = it.next();
+            if (clique.size() > size) {
+                maximum.clear();
+                size = clique.size();
+            }
+            if (clique.size() == size) {
+                maximum.add(clique);
+            }
+        }
+        maxSize = size;
+        return maximum.iterator();
+    }
+
+    /**
+     * Lazily execute the enumeration algorithm and collect all maximal cliques.
+     */
+    @Override
+    protected void lazyRun()
+    {
+        if (allMaximalCliques == null) {
+            List<Set<V>> cliques = new ArrayList<>();
+            for (Iterator<Set<V>> it = iterator(); it.hasNext();) {
+                Set<V> clique = it.next();
+                cliques.add(clique);
+                maxSize = Math.max(maxSize, clique.size());
+            }
+            allMaximalCliques = cliques;
+        }
+    }
+
+    /**
+     * An iterator which runs the subproblems range by range.
+     */
+    private class CliqueIterator
+        implements
+        Iterator<Set<V>>
+    {
+        private final IntGraphSnapshot<V, E> snapshot;
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] order;
+        private final int[] rank;
+        private final int[] rangeStarts;
+        private final long nanosTimeLimit;
+        private final AtomicBoolean timeout;
+
+        private final Deque<ForkJoinTask<List<Set<V>>>> pending;
+        private final int window;
+        private int nextRange;
+        private Iterator<Set<V>> current;
+
+        CliqueIterator()
+        {
+            GraphTests.requireUndirected(graph);
+            if (!GraphTests.isSimple(graph)) {
+                throw new IllegalArgumentException("Graph must be simple");
+            }
+            long limit;
+            try {
+                limit = Math.addExact(System.nanoTime(), nanos);
+            } catch (ArithmeticException ignore) {
+                limit = Long.MAX_VALUE;
+            }
+            this.nanosTimeLimit = limit;
+            this.timeout = new AtomicBoolean();
+            timeLimitReached = false;
+
+            this.snapshot = new IntGraphSnapshot<>(graph);
+            this.offsets = snapshot.getOutOffsets();
+            this.targets = snapshot.getOutTargets();
+            int n = snapshot.vertexCount();
+            this.order = new int[n];
+            this.rank = new int[n];
+            snapshot.degeneracyOrdering(order, rank);
+
+            // group consecutive subproblems until their total degree is large enough
+            List<Integer> starts = new ArrayList<>();
+            int work = TASK_WORK;
+            for (int i = 0; i < n; i++) {
+                if (work >= TASK_WORK) {
+                    starts.add(i);
+                    work = 0;
+                }
+                work += 1 + offsets[order[i] + 1] - offsets[order[i]];
+            }
+            starts.add(n);
+            this.rangeStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+
+            this.pending = new ArrayDeque<>();
+            this.window = pool == null ? 0 : TASKS_PER_THREAD * pool.getParallelism();
+            this.current = Collections.emptyIterator();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (!current.hasNext()) {
+                if (pool == null) {
+                    if (nextRange + 1 >= rangeStarts.length || timeout.get()) {
+                        timeLimitReached = timeout.get();
+                        return false;
+                    }
+                    current = solveRange(nextRange++).iterator();
+                    continue;
+                }
+                while (pending.size() < window && nextRange + 1 < rangeStarts.length
+                    && !timeout.get())
+                {
+                    int r = nextRange++;
+                    pending.add(pool.submit(() -> solveRange(r)));
+                }
+                if (pending.isEmpty()) {
+                    timeLimitReached = timeout.get();
+                    return false;
+                }
+                current = pending.poll().join().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Set<V> next()
+        {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private List<Set<V>> solveRange(int r)
+        {
+            List<Set<V>> cliques = new ArrayList<>();
+            for (int i = rangeStarts[r]; i < rangeStarts[r + 1] && !timeout.get(); i++) {
+                new Subproblem(i, cliques).solve();
+            }
+            return cliques;
+        }
+
+        /**
+         * The maximal cliques which contain the $i$-th vertex of the ordering and otherwise only
+         * later vertices. Local vertices $0, \dots, p-1$ are the later neighbors and the remaining
+         * local vertices the earlier neighbors.
+         */
+        private class Subproblem
+        {
+            private final int vertex;
+            private final List<Set<V>> cliques;
+
+            private final int[] later;
+            private final int[] earlier;
+            private final int p;
+            private int pWords;
+            private int kWords;
+            private long[][] rows;
+            private long[][] pStack;
+            private long[][] xStack;
+            private long[][] candidateStack;
+            private int[] clique;
+            private boolean stopped;
+
+            Subproblem(int i, List<Set<V>> cliques)
+            {
+                this.vertex = order[i];
+                this.cliques = cliques;
+
+                int deg = offsets[vertex + 1] - offsets[vertex];
+                int[] l = new int[deg];
+                int[] e = new int[deg];
+                int lc = 0;
+                int ec = 0;
+                for (int a = offsets[vertex]; a < offsets[vertex + 1]; a++) {
+                    int u = targets[a];
+                    if (rank[u] > i) {
+                        l[lc++] = u;
+                    } else {
+                        e[ec++] = u;
+                    }
+                }
+                this.later = Arrays.copyOf(l, lc);
+                this.earlier = Arrays.copyOf(e, ec);
+                this.p = lc;
+            }
+
+            void solve()
+            {
+                if (p == 0) {
+                    if (earlier.length == 0) {
+                        report(0);
+                    }
+                    return;
+                }
+                Arrays.sort(later);
+                Arrays.sort(earlier);
+
+                // keep the earlier neighbors which are adjacent to a later neighbor
+                boolean[] keep = new boolean[earlier.length];
+                int kept = 0;
+                for (int w : later) {
+                    for (int a = offsets[w]; a < offsets[w + 1]; a++) {
+                        int x = Arrays.binarySearch(earlier, targets[a]);
+                        if (x >= 0 && !keep[x]) {
+                            keep[x] = true;
+                            kept++;
+                        }
+                    }
+                }
+                int[] xs = new int[kept];
+                for (int x = 0, j = 0; x < earlier.length; x++) {
+                    if (keep[x]) {
+                        xs[j++] = earlier[x];
+                    }
+                }
+                int k = p + kept;
+                pWords = words(p);
+                kWords = words(k);
+
+                // later neighbors have full rows, earlier neighbors only their later neighbors
+                rows = new long[k][];
+                for (int a = 0; a < p; a++) {
+                    rows[a] = new long[kWords];
+                }
+                for (int b = p; b < k; b++) {
+                    rows[b] = new long[pWords];
+                }
+                for (int a = 0; a < p; a++) {
+                    int w = later[a];
+                    for (int arc = offsets[w]; arc < offsets[w + 1]; arc++) {
+                        int u = targets[arc];
+                        int b = Arrays.binarySearch(later, u);
+                        if (b >= 0) {
+                            set(rows[a], b);
+                        } else if ((b = Arrays.binarySearch(xs, u)) >= 0) {
+                            set(rows[a], p + b);
+                            set(rows[p + b], a);
+                        }
+                    }
+                }
+                pStack = new long[p + 1][];
+                xStack = new long[p + 1][];
+                candidateStack = new long[p + 1][];
+                clique = new int[p];
+                long[] pSet = stackP(0);
+                for (int a = 0; a < p; a++) {
+                    set(pSet, a);
+                }
+                long[] xSet = stackX(0);
+                for (int b = p; b < k; b++) {
+                    set(xSet, b);
+                }
+                expand(0);
+            }
+
+            private void expand(int depth)
+            {
+                long[] pSet = pStack[depth];
+                long[] xSet = xStack[depth];
+                if (isEmpty(pSet)) {
+                    if (isEmpty(xSet)) {
+                        report(depth);
+                    }
+                    return;
+                }
+                if (nanosTimeLimit - System.nanoTime() < 0) {
+                    timeout.set(true);
+                }
+                if (timeout.get()) {
+                    stopped = true;
+                    return;
+                }
+
+                // the pivot maximizes the number of candidates among its neighbors
+                int pivot = -1;
+                int best = -1;
+                for (int w = 0; w < kWords; w++) {
+                    long word = xSet[w] | (w < pWords ? pSet[w] : 0L);
+                    while (word != 0L) {
+                        int u = (w << 6) + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                        int c = 0;
+                        for (int j = 0; j < pWords; j++) {
+                            c += Long.bitCount(pSet[j] & rows[u][j]);
+                        }
+                        if (c > best) {
+                            best = c;
+                            pivot = u;
+                        }
+                    }
+                }
+
+                long[] candidates = candidateStack[depth];
+                if (candidates == null) {
+                    candidates = candidateStack[depth] = new long[pWords];
+                }
+                for (int j = 0; j < pWords; j++) {
+                    candidates[j] = pSet[j] & ~rows[pivot][j];
+                }
+
+                for (int w = 0; w < pWords; w++) {
+                    while (candidates[w] != 0L) {
+                        int v = (w << 6) + Long.numberOfTrailingZeros(candidates[w]);
+                        candidates[w] &= candidates[w] - 1;
+
+                        long[] row = rows[v];
+                        long[] nextP = stackP(depth + 1);
+                        long[] nextX = stackX(depth + 1);
+                        for (int j = 0; j < pWords; j++) {
+                            nextP[j] = pSet[j] & row[j];
+                        }
+                        for (int j = 0; j < kWords; j++) {
+                            nextX[j] = xSet[j] & row[j];
+                        }
+                        clique[depth] = v;
+                        expand(depth + 1);
+                        if (stopped) {
+                            return;
+                        }
+
+                        clear(pSet, v);
+                        set(xSet, v);
+                    }
+                }
+            }
+
+            private void report(int size)
+            {
+                Set<V> result = new HashSet<>();
+                result.add(snapshot.getVertex(vertex));
+                for (int j = 0; j < size; j++) {
+                    result.add(snapshot.getVertex(later[clique[j]]));
+                }
+                cliques.add(result);
+            }
+
+            private long[] stackP(int depth)
+            {
+                if (pStack[depth] == null) {
+                    pStack[depth] = new long[pWords];
+                }
+                return pStack[depth];
+            }
+
+            private long[] stackX(int depth)
+            {
+                if (xStack[depth] == null) {
+                    xStack[depth] = new long[kWords];
+                }
+                return xStack[depth];
+            }
+        }
+    }
+
+    private static int words(int bits)
+    {
+        return (bits + 63) >>> 6;
+    }
+
+    private static void set(long[] bits, int i)
+    {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    private static void clear(long[] bits, int i)
+    {
+        bits[i >>> 6] &= ~(1L << i);
+    }
+
+    private static boolean isEmpty(long[] bits)
+    {
+        for (long word : bits) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -135,6 +135,11 @@ public class ConnectivityInspector<V, E>
     @Override
     public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
     {
+        if (connectedSets == null) {
+            // the cached results were invalidated by an earlier removal
+            init();
+            return;
+        }
         V source = e.getEdgeSource();
         V target = e.getEdgeTarget();
         Set<V> sourceSet = connectedSetOf(source);
@@ -185,6 +190,9 @@ public class ConnectivityInspector<V, E>
     @Override
     public void vertexAdded(GraphVertexChangeEvent<V> e)
     {
+        if (connectedSets == null) {
+            return;
+        }
         Set<V> component = new HashSet<>();
         component.add(e.getVertex());
         connectedSets.add(component);
@@ -0,0 +1,671 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.event.*;
+
+import java.util.*;
+
+/**
+ * Fully dynamic connectivity which follows the mutations of a graph.
+ *
+ * <p>
+ * The inspector maintains the connected components of an undirected graph, or the weakly connected
+ * components of a directed graph, under edge insertions and deletions using the algorithm of Holm,
+ * de Lichtenberg and Thorup described in: J. Holm, K. de Lichtenberg and M. Thorup.
+ * Poly-logarithmic deterministic fully-dynamic algorithms for connectivity, minimum spanning tree,
+ * 2-edge, and biconnectivity. Journal of the ACM, 48(4):723–760, 2001.
+ *
+ * <p>
+ * Every edge is assigned a level which only increases over time. For each level $i$ the inspector
+ * keeps a spanning forest $F_i$ of the edges with level at least $i$, stored as Euler tours in
+ * randomized balanced search trees. When a spanning tree edge is deleted, the smaller of the two
+ * resulting trees is searched for a replacement edge level by level, and every edge which is
+ * examined without success is pushed one level up. Since a tree at level $i$ has at most $n/2^i$
+ * vertices, an edge moves up at most $\log_2 n$ times, which pays for the search. Insertions and
+ * deletions take amortized $O(\log^2 n)$ time and {@link #pathExists(Object, Object)} takes
+ * $O(\log n)$ time, all in expectation.
+ *
+ * <p>
+ * The inspector reads the graph once at construction time and afterwards learns about changes only
+ * through the {@link GraphListener} interface. It must therefore be added as a listener to the
+ * inspected graph, for example a {@link org.jgrapht.graph.DefaultListenableGraph}, before the graph
+ * is modified. Self-loops are ignored as they do not affect connectivity. The inspector is not
+ * thread-safe.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ConnectivityInspector
+ */
+public class DynamicConnectivityInspector<V, E>
+    implements
+    GraphListener<V, E>
+{
+    private final Map<V, VertexEntry> vertices;
+    private final Map<E, EdgeEntry> edges;
+    private int components;
+    private long seed;
+
+    // results of split
+    private Node splitLeft;
+    private Node splitRight;
+
+    /**
+     * Create a new inspector for the current state of a graph.
+     *
+     * @param graph the graph
+     */
+    public DynamicConnectivityInspector(Graph<V, E> graph)
+    {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        this.vertices = new HashMap<>();
+        this.edges = new HashMap<>();
+        this.seed = 0x2545F4914F6CDD1DL;
+        for (V v : graph.vertexSet()) {
+            addVertex(v);
+        }
+        for (E e : graph.edgeSet()) {
+            addEdge(e, graph.getEdgeSource(e), graph.getEdgeTarget(e));
+        }
+    }
+
+    /**
+     * Test whether two vertices are in the same connected component (undirected graph), or in the
+     * same weakly connected component (directed graph).
+     *
+     * @param sourceVertex one end of the path
+     * @param targetVertex another end of the path
+     * @return true if and only if there is a path between the two vertices
+     * @throws IllegalArgumentException if one of the vertices is not in the graph
+     */
+    public boolean pathExists(V sourceVertex, V targetVertex)
+    {
+        VertexEntry u = entryOf(sourceVertex);
+        VertexEntry v = entryOf(targetVertex);
+        if (u == v) {
+            return true;
+        }
+        Node x = u.nodeAt(0);
+        Node y = v.nodeAt(0);
+        return x != null && y != null && root(x) == root(y);
+    }
+
+    /**
+     * Test if the graph is connected. An empty graph is not considered connected.
+     *
+     * @return true if and only if the graph is connected
+     */
+    public boolean isConnected()
+    {
+        return components == 1;
+    }
+
+    /**
+     * Get the number of connected components (undirected graph), or weakly connected components
+     * (directed graph).
+     *
+     * @return the number of components
+     */
+    public int getNumberOfComponents()
+    {
+        return components;
+    }
+
+    /**
+     * Get the vertices of the component which contains a vertex. This method takes time linear in
+     * the size of the component.
+     *
+     * @param vertex the vertex
+     * @return the vertices of the component which contains the vertex
+     * @throws IllegalArgumentException if the vertex is not in the graph
+     */
+    @SuppressWarnings("unchecked")
+    public Set<V> connectedSetOf(V vertex)
+    {
+        Node x = entryOf(vertex).nodeAt(0);
+        if (x == null) {
+            return Collections.singleton(vertex);
+        }
+        Node r = root(x);
+        Set<V> result = new HashSet<>(2 * r.vertices);
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(r);
+        while (!stack.isEmpty()) {
+            Node n = stack.pop();
+            if (n.vertex != null) {
+                result.add((V) n.vertex.vertex);
+            }
+            if (n.left != null) {
+                stack.push(n.left);
+            }
+            if (n.right != null) {
+                stack.push(n.right);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        addEdge(e.getEdge(), e.getEdgeSource(), e.getEdgeTarget());
+    }
+
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        removeEdge(e.getEdge());
+    }
+
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        addVertex(e.getVertex());
+    }
+
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        VertexEntry x = vertices.get(e.getVertex());
+        if (x == null) {
+            return;
+        }
+        if (x.degree > 0) {
+            // the edges were removed without notification
+            List<E> touching = new ArrayList<>();
+            for (Map.Entry<E, EdgeEntry> entry : edges.entrySet()) {
+                if (entry.getValue().u == x || entry.getValue().v == x) {
+                    touching.add(entry.getKey());
+                }
+            }
+            for (E edge : touching) {
+                removeEdge(edge);
+            }
+        }
+        vertices.remove(e.getVertex());
+        components--;
+    }
+
+    private void addVertex(V v)
+    {
+        if (!vertices.containsKey(v)) {
+            vertices.put(v, new VertexEntry(v));
+            components++;
+        }
+    }
+
+    private void addEdge(E e, V source, V target)
+    {
+        if (edges.containsKey(e)) {
+            return;
+        }
+        VertexEntry u = entryOf(source);
+        VertexEntry v = entryOf(target);
+        if (u == v) {
+            return;
+        }
+        EdgeEntry f = new EdgeEntry(u, v);
+        edges.put(e, f);
+        u.degree++;
+        v.degree++;
+        if (root(node(u, 0)) == root(node(v, 0))) {
+            addNonTreeEdge(f, 0);
+        } else {
+            f.tree = true;
+            link(f, 0);
+            components--;
+        }
+    }
+
+    private void removeEdge(E e)
+    {
+        EdgeEntry f = edges.remove(e);
+        if (f == null) {
+            return;
+        }
+        f.u.degree--;
+        f.v.degree--;
+        if (!f.tree) {
+            removeNonTreeEdge(f, f.level);
+            return;
+        }
+        for (int i = 0; i <= f.level; i++) {
+            cut(f, i);
+        }
+        if (!replace(f.u, f.v, f.level)) {
+            components++;
+        }
+    }
+
+    /**
+     * Search for a replacement of a deleted tree edge, starting at the level of the deleted edge.
+     */
+    private boolean replace(VertexEntry u, VertexEntry v, int level)
+    {
+        for (int i = level; i >= 0; i--) {
+            Node ru = root(node(u, i));
+            Node rv = root(node(v, i));
+            Node small = ru.vertices <= rv.vertices ? ru : rv;
+
+            // push the tree edges of the smaller tree one level up
+            Node arc;
+            while ((arc = findTreeMark(small)) != null) {
+                arc.treeMark = false;
+                updateToRoot(arc);
+                EdgeEntry f = arc.edge;
+                f.level = i + 1;
+                link(f, i + 1);
+            }
+
+            // every non-tree edge leaving the smaller tree is a replacement, the others go up
+            Node x;
+            while ((x = findNonTreeMark(small)) != null) {
+                VertexEntry a = x.vertex;
+                Iterator<EdgeEntry> it = a.nonTreeEdges.get(i).iterator();
+                while (it.hasNext()) {
+                    EdgeEntry f = it.next();
+                    it.remove();
+                    VertexEntry b = f.u == a ? f.v : f.u;
+                    b.nonTreeEdges.get(i).remove(f);
+                    updateNonTreeMark(b, i);
+                    if (root(node(b, i)) != small) {
+                        updateNonTreeMark(a, i);
+                        f.tree = true;
+                        for (int j = 0; j <= i; j++) {
+                            link(f, j);
+                        }
+                        return true;
+                    }
+                    addNonTreeEdge(f, i + 1);
+                }
+                updateNonTreeMark(a, i);
+            }
+        }
+        return false;
+    }
+
+    private void addNonTreeEdge(EdgeEntry f, int level)
+    {
+        f.level = level;
+        f.u.nonTreeEdgesAt(level).add(f);
+        f.v.nonTreeEdgesAt(level).add(f);
+        updateNonTreeMark(f.u, level);
+        updateNonTreeMark(f.v, level);
+    }
+
+    private void removeNonTreeEdge(EdgeEntry f, int level)
+    {
+        f.u.nonTreeEdgesAt(level).remove(f);
+        f.v.nonTreeEdgesAt(level).remove(f);
+        updateNonTreeMark(f.u, level);
+        updateNonTreeMark(f.v, level);
+    }
+
+    private void updateNonTreeMark(VertexEntry x, int level)
+    {
+        boolean mark = !x.nonTreeEdgesAt(level).isEmpty();
+        Node n = node(x, level);
+        if (n.nonTreeMark != mark) {
+            n.nonTreeMark = mark;
+            updateToRoot(n);
+        }
+    }
+
+    /**
+     * Join the Euler tours of the two endpoints of an edge at some level.
+     */
+    private void link(EdgeEntry f, int level)
+    {
+        Node forward = new Node(null, f, nextPriority());
+        Node backward = new Node(null, f, nextPriority());
+        forward.treeMark = f.level == level;
+        forward.update();
+        f.setArcs(level, forward, backward);
+
+        Node ru = reroot(node(f.u, level));
+        Node rv = reroot(node(f.v, level));
+        merge(merge(ru, forward), merge(rv, backward));
+    }
+
+    /**
+     * Split the Euler tour at the two arcs of an edge. The part between the arcs becomes a tour of
+     * its own, the parts before and after are joined.
+     */
+    private void cut(EdgeEntry f, int level)
+    {
+        Node a = f.arcs[2 * level];
+        Node b = f.arcs[2 * level + 1];
+        f.arcs[2 * level] = null;
+        f.arcs[2 * level + 1] = null;
+
+        Node r = root(a);
+        int i = index(a);
+        int j = index(b);
+        if (i > j) {
+            int tmp = i;
+            i = j;
+            j = tmp;
+        }
+        split(r, j + 1);
+        Node tail = splitRight;
+        split(splitLeft, j);
+        split(splitLeft, i + 1);
+        Node middle = splitRight;
+        split(splitLeft, i);
+        Node head = splitLeft;
+        merge(head, tail);
+        if (middle != null) {
+            middle.parent = null;
+        }
+    }
+
+    /**
+     * Rotate an Euler tour so that it starts at a node.
+     */
+    private Node reroot(Node n)
+    {
+        Node r = root(n);
+        int k = index(n);
+        if (k == 0) {
+            return r;
+        }
+        split(r, k);
+        return merge(splitRight, splitLeft);
+    }
+
+    private Node node(VertexEntry x, int level)
+    {
+        Node n = x.nodeAt(level);
+        if (n == null) {
+            n = new Node(x, null, nextPriority());
+            x.setNode(level, n);
+        }
+        return n;
+    }
+
+    private VertexEntry entryOf(V v)
+    {
+        VertexEntry x = vertices.get(v);
+        if (x == null) {
+            throw new IllegalArgumentException("no such vertex in graph: " + v);
+        }
+        return x;
+    }
+
+    private int nextPriority()
+    {
+        // xorshift
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (int) (seed >>> 32);
+    }
+
+    /*
+     * Treap operations. Nodes are ordered by their position in the Euler tour, not by a key.
+     */
+
+    private static Node root(Node n)
+    {
+        while (n.parent != null) {
+            n = n.parent;
+        }
+        return n;
+    }
+
+    private static int size(Node n)
+    {
+        return n == null ? 0 : n.size;
+    }
+
+    private static int index(Node n)
+    {
+        int k = size(n.left);
+        while (n.parent != null) {
+            if (n.parent.right == n) {
+                k += size(n.parent.left) + 1;
+            }
+            n = n.parent;
+        }
+        return k;
+    }
+
+    private static void updateToRoot(Node n)
+    {
+        while (n != null) {
+            n.update();
+            n = n.parent;
+        }
+    }
+
+    private static Node merge(Node a, Node b)
+    {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            a.right.parent = a;
+            a.update();
+            return a;
+        } else {
+            b.left = merge(a, b.left);
+            b.left.parent = b;
+            b.update();
+            return b;
+        }
+    }
+
+    /**
+     * Split a tree into its first k nodes and the rest. The two roots are stored in
+     * {@link #splitLeft} and {@link #splitRight}.
+     */
+    private void split(Node t, int k)
+    {
+        splitRec(t, k);
+        if (splitLeft != null) {
+            splitLeft.parent = null;
+        }
+        if (splitRight != null) {
+            splitRight.parent = null;
+        }
+    }
+
+    private void splitRec(Node t, int k)
+    {
+        if (t == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        int leftSize = size(t.left);
+        if (leftSize < k) {
+            splitRec(t.right, k - leftSize - 1);
+            t.right = splitLeft;
+            if (splitLeft != null) {
+                splitLeft.parent = t;
+            }
+            t.update();
+            splitLeft = t;
+        } else {
+            splitRec(t.left, k);
+            t.left = splitRight;
+            if (splitRight != null) {
+                splitRight.parent = t;
+            }
+            t.update();
+            splitRight = t;
+        }
+    }
+
+    private static Node findTreeMark(Node t)
+    {
+        if (!t.anyTreeMark) {
+            return null;
+        }
+        while (true) {
+            if (t.left != null && t.left.anyTreeMark) {
+                t = t.left;
+            } else if (t.treeMark) {
+                return t;
+            } else {
+                t = t.right;
+            }
+        }
+    }
+
+    private static Node findNonTreeMark(Node t)
+    {
+        if (!t.anyNonTreeMark) {
+            return null;
+        }
+        while (true) {
+            if (t.left != null && t.left.anyNonTreeMark) {
+                t = t.left;
+            } else if (t.nonTreeMark) {
+                return t;
+            } else {
+                t = t.right;
+            }
+        }
+    }
+
+    /**
+     * A vertex together with its occurrences in the forests and its non-tree edges per level.
+     */
+    private static class VertexEntry
+    {
+        final Object vertex;
+        Node[] nodes;
+        final List<Set<EdgeEntry>> nonTreeEdges;
+        int degree;
+
+        VertexEntry(Object vertex)
+        {
+            this.vertex = vertex;
+            this.nodes = new Node[1];
+            this.nonTreeEdges = new ArrayList<>(1);
+        }
+
+        Node nodeAt(int level)
+        {
+            return level < nodes.length ? nodes[level] : null;
+        }
+
+        void setNode(int level, Node n)
+        {
+            if (level >= nodes.length) {
+                nodes = Arrays.copyOf(nodes, Math.max(level + 1, 2 * nodes.length));
+            }
+            nodes[level] = n;
+        }
+
+        Set<EdgeEntry> nonTreeEdgesAt(int level)
+        {
+            while (nonTreeEdges.size() <= level) {
+                nonTreeEdges.add(new LinkedHashSet<>());
+            }
+            return nonTreeEdges.get(level);
+        }
+    }
+
+    /**
+     * An edge with its level. Tree edges keep their two arcs for every level up to their own.
+     */
+    private static class EdgeEntry
+    {
+        final VertexEntry u;
+        final VertexEntry v;
+        int level;
+        boolean tree;
+        Node[] arcs;
+
+        EdgeEntry(VertexEntry u, VertexEntry v)
+        {
+            this.u = u;
+            this.v = v;
+            this.arcs = new Node[2];
+        }
+
+        void setArcs(int level, Node forward, Node backward)
+        {
+            if (2 * level + 1 >= arcs.length) {
+                arcs = Arrays.copyOf(arcs, Math.max(2 * level + 2, 2 * arcs.length));
+            }
+            arcs[2 * level] = forward;
+            arcs[2 * level + 1] = backward;
+        }
+    }
+
+    /**
+     * An element of an Euler tour, either a vertex occurrence or one direction of a tree edge.
+     */
+    private static class Node
+    {
+        final VertexEntry vertex;
+        final EdgeEntry edge;
+        final int priority;
+        Node left;
+        Node right;
+        Node parent;
+
+        // own marks
+        boolean treeMark;
+        boolean nonTreeMark;
+
+        // subtree aggregates
+        int size;
+        int vertices;
+        boolean anyTreeMark;
+        boolean anyNonTreeMark;
+
+        Node(VertexEntry vertex, EdgeEntry edge, int priority)
+        {
+            this.vertex = vertex;
+            this.edge = edge;
+            this.priority = priority;
+            update();
+        }
+
+        void update()
+        {
+            size = 1;
+            vertices = vertex != null ? 1 : 0;
+            anyTreeMark = treeMark;
+            anyNonTreeMark = nonTreeMark;
+            if (left != null) {
+                size += left.size;
+                vertices += left.vertices;
+                anyTreeMark |= left.anyTreeMark;
+                anyNonTreeMark |= left.anyNonTreeMark;
+            }
+            if (right != null) {
+                size += right.size;
+                vertices += right.vertices;
+                anyTreeMark |= right.anyTreeMark;
+                anyNonTreeMark |= right.anyNonTreeMark;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Computes the connected components of an undirected graph, or the weakly connected components of
+ * a directed graph, in parallel.
+ *
+ * <p>
+ * The arcs of an {@link IntGraphSnapshot} of the graph are processed in parallel by a lock-free
+ * union-find structure, as described in: R. J. Anderson and H. Woll. Wait-free Parallel Algorithms
+ * for the Union-Find Problem. STOC 1991. Roots are linked by a single compare-and-set, always from
+ * the larger to the smaller vertex index, which rules out cycles, and finds use path halving. The
+ * computation needs no recursion and no hash maps apart from the snapshot.
+ *
+ * <p>
+ * The computation is performed once, on first use, and the results are cached. Later modifications
+ * of the graph are not reflected. The resulting list of components does not depend on the pool;
+ * components are ordered by their first vertex in the iteration order of the vertex set.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ConnectivityInspector
+ */
+public class ParallelConnectivityInspector<V, E>
+{
+    private final Graph<V, E> graph;
+    private final ForkJoinPool pool;
+
+    private IntGraphSnapshot<V, E> snapshot;
+    private int[] componentOf;
+    private List<Set<V>> connectedSets;
+
+    /**
+     * Creates a connectivity inspector for the specified graph which uses the common pool.
+     *
+     * @param graph the graph
+     * @throws NullPointerException in case the graph is null
+     */
+    public ParallelConnectivityInspector(Graph<V, E> graph)
+    {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a connectivity inspector for the specified graph.
+     *
+     * @param graph the graph
+     * @param pool the pool to use for the parallel computation, or null in order to compute
+     *        sequentially
+     * @throws NullPointerException in case the graph is null
+     */
+    public ParallelConnectivityInspector(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.pool = pool;
+    }
+
+    /**
+     * Test if the inspected graph is connected. When the inspected graph is directed, this method
+     * returns true if and only if the graph is weakly connected. An empty graph is not considered
+     * connected.
+     *
+     * @return true if and only if the inspected graph is connected
+     */
+    public boolean isConnected()
+    {
+        return connectedSets().size() == 1;
+    }
+
+    /**
+     * Returns the set of all vertices that are in the same connected component as the specified
+     * vertex.
+     *
+     * @param vertex the vertex
+     * @return the connected component of the vertex
+     * @throws IllegalArgumentException if the vertex is not in the graph
+     */
+    public Set<V> connectedSetOf(V vertex)
+    {
+        List<Set<V>> sets = connectedSets();
+        return sets.get(componentOf[snapshot.getIndex(vertex)]);
+    }
+
+    /**
+     * Returns a list of sets, where each set contains all vertices that are in the same connected
+     * component. All graph vertices occur in exactly one set.
+     *
+     * @return the connected components
+     */
+    public List<Set<V>> connectedSets()
+    {
+        if (connectedSets == null) {
+            compute();
+        }
+        return connectedSets;
+    }
+
+    /**
+     * Tests whether two vertices lie in the same connected component.
+     *
+     * @param sourceVertex one end of the path
+     * @param targetVertex another end of the path
+     * @return true if a path exists, ignoring the direction of arcs in directed graphs
+     * @throws IllegalArgumentException if any of the vertices is not in the graph
+     */
+    public boolean pathExists(V sourceVertex, V targetVertex)
+    {
+        connectedSets();
+        return componentOf[snapshot.getIndex(sourceVertex)] == componentOf[snapshot
+            .getIndex(targetVertex)];
+    }
+
+    private void compute()
+    {
+        snapshot = new IntGraphSnapshot<>(graph);
+        int n = snapshot.vertexCount();
+        int[] offsets = snapshot.getOutOffsets();
+        int[] targets = snapshot.getOutTargets();
+
+        AtomicIntegerArray parent = new AtomicIntegerArray(n);
+        ConcurrencyUtil.parallelFor(pool, 0, n, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                parent.set(v, v);
+            }
+        });
+        ConcurrencyUtil.parallelFor(pool, 0, n, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                    union(parent, v, targets[k]);
+                }
+            }
+        });
+
+        // number the components in vertex order
+        componentOf = new int[n];
+        int[] roots = new int[n];
+        ConcurrencyUtil.parallelFor(pool, 0, n, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                roots[v] = find(parent, v);
+            }
+        });
+        int[] rootToComponent = new int[n];
+        Arrays.fill(rootToComponent, -1);
+        List<Set<V>> sets = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            int root = roots[v];
+            if (rootToComponent[root] == -1) {
+                rootToComponent[root] = sets.size();
+                sets.add(new HashSet<>());
+            }
+            int c = rootToComponent[root];
+            componentOf[v] = c;
+            sets.get(c).add(snapshot.getVertex(v));
+        }
+        connectedSets = sets;
+    }
+
+    private static int find(AtomicIntegerArray parent, int x)
+    {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) {
+                return x;
+            }
+            int gp = parent.get(p);
+            if (gp != p) {
+                // path halving, a failed attempt only means somebody else shortened the path
+                parent.compareAndSet(x, p, gp);
+            }
+            x = gp;
+        }
+    }
+
+    private static void union(AtomicIntegerArray parent, int a, int b)
+    {
+        while (true) {
+            a = find(parent, a);
+            b = find(parent, b);
+            if (a == b) {
+                return;
+            }
+            if (a < b) {
+                int tmp = a;
+                a = b;
+                b = tmp;
+            }
+            if (parent.compareAndSet(a, a, b)) {
+                return;
+            }
+        }
+    }
+
+}
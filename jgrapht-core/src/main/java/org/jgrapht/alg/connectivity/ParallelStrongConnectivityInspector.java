@@ -0,0 +1,415 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Computes the strongly connected components of a directed graph in parallel.
+ *
+ * <p>
+ * The implementation follows the Multistep method described in: G. M. Slota, S. Rajamanickam and
+ * K. Madduri. BFS and Coloring-based Parallel Algorithms for Strongly Connected Components and
+ * Related Problems. IPDPS 2014. The algorithm works on an {@link IntGraphSnapshot} of the graph
+ * and proceeds in three phases:
+ * <ol>
+ * <li>trimming: vertices without incoming or outgoing arcs inside the remaining graph form
+ * singleton components and are removed, repeatedly,</li>
+ * <li>forward-backward search: the component of a pivot with large in- and out-degree, which in
+ * real-world graphs is usually the giant component, is computed as the intersection of the sets
+ * of vertices reachable from and reaching the pivot,</li>
+ * <li>coloring: the largest vertex index is propagated along the arcs of the remaining graph until
+ * a fixed point is reached. Each vertex which keeps its own color is the root of a component,
+ * which consists of the vertices of its color that reach it. These components are removed and
+ * the coloring is repeated until no vertex is left.</li>
+ * </ol>
+ * Every phase runs in parallel on the supplied {@link ForkJoinPool}. The worst-case running time
+ * is $O(|V| (|V|+|E|))$, but on typical graphs the number of coloring rounds is small and the
+ * running time is close to linear.
+ *
+ * <p>
+ * The resulting list of components does not depend on the pool. Components are ordered by their
+ * first vertex in the iteration order of the vertex set.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see GabowStrongConnectivityInspector
+ * @see KosarajuStrongConnectivityInspector
+ */
+public class ParallelStrongConnectivityInspector<V, E>
+    extends
+    AbstractStrongConnectivityInspector<V, E>
+{
+    private static final int UNASSIGNED = -1;
+
+    private final ForkJoinPool pool;
+
+    private IntGraphSnapshot<V, E> snapshot;
+    private AtomicIntegerArray component;
+
+    /**
+     * Constructor which uses the common pool.
+     *
+     * @param graph the graph to inspect
+     * @throws NullPointerException in case the graph is null
+     * @throws IllegalArgumentException in case the graph is not directed
+     */
+    public ParallelStrongConnectivityInspector(Graph<V, E> graph)
+    {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param graph the graph to inspect
+     * @param pool the pool to use for the parallel computation, or null in order to compute
+     *        sequentially
+     * @throws NullPointerException in case the graph is null
+     * @throws IllegalArgumentException in case the graph is not directed
+     */
+    public ParallelStrongConnectivityInspector(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        super(graph);
+        this.pool = pool;
+    }
+
+    @Override
+    public List<Set<V>> stronglyConnectedSets()
+    {
+        if (stronglyConnectedSets == null) {
+            snapshot = new IntGraphSnapshot<>(graph, true);
+            int n = snapshot.vertexCount();
+            component = new AtomicIntegerArray(n);
+            for (int v = 0; v < n; v++) {
+                component.set(v, UNASSIGNED);
+            }
+
+            int[] active = trim();
+            if (active.length > 0) {
+                forwardBackward(active);
+                active = remaining(active);
+            }
+            if (active.length > 0) {
+                AtomicIntegerArray color = new AtomicIntegerArray(n);
+                while (active.length > 0) {
+                    color(active, color);
+                    active = remaining(active);
+                }
+            }
+
+            // group by representative, in vertex order
+            List<Set<V>> sets = new ArrayList<>();
+            int[] setIndex = new int[n];
+            Arrays.fill(setIndex, -1);
+            for (int v = 0; v < n; v++) {
+                int rep = component.get(v);
+                if (setIndex[rep] == -1) {
+                    setIndex[rep] = sets.size();
+                    sets.add(new HashSet<>());
+                }
+                sets.get(setIndex[rep]).add(snapshot.getVertex(v));
+            }
+            stronglyConnectedSets = sets;
+            snapshot = null;
+            component = null;
+        }
+        return stronglyConnectedSets;
+    }
+
+    /**
+     * Remove, repeatedly, all vertices which have no incoming or no outgoing arcs from or to
+     * other remaining vertices. Each of them forms a singleton component.
+     *
+     * @return the vertices which remain
+     */
+    private int[] trim()
+    {
+        int n = snapshot.vertexCount();
+        int[] outOffsets = snapshot.getOutOffsets();
+        int[] outTargets = snapshot.getOutTargets();
+        int[] inOffsets = snapshot.getInOffsets();
+        int[] inSources = snapshot.getInSources();
+
+        AtomicIntegerArray inCount = new AtomicIntegerArray(n);
+        AtomicIntegerArray outCount = new AtomicIntegerArray(n);
+        int[] initial = new int[n];
+        AtomicInteger frontierSize = new AtomicInteger();
+        ConcurrencyUtil.parallelFor(pool, 0, n, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int in = countNonLoops(v, inOffsets, inSources);
+                int out = countNonLoops(v, outOffsets, outTargets);
+                inCount.set(v, in);
+                outCount.set(v, out);
+                if (in == 0 || out == 0) {
+                    component.set(v, v);
+                    initial[frontierSize.getAndIncrement()] = v;
+                }
+            }
+        });
+
+        int[] frontier = initial;
+        int[] next = new int[n];
+        AtomicInteger nextSize = new AtomicInteger();
+        int size = frontierSize.get();
+        while (size > 0) {
+            final int[] current = frontier;
+            final int[] target = next;
+            nextSize.set(0);
+            ConcurrencyUtil.parallelFor(pool, 0, size, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int v = current[i];
+                    for (int k = outOffsets[v]; k < outOffsets[v + 1]; k++) {
+                        int w = outTargets[k];
+                        if (w != v && inCount.decrementAndGet(w) == 0
+                            && component.compareAndSet(w, UNASSIGNED, w))
+                        {
+                            target[nextSize.getAndIncrement()] = w;
+                        }
+                    }
+                    for (int k = inOffsets[v]; k < inOffsets[v + 1]; k++) {
+                        int w = inSources[k];
+                        if (w != v && outCount.decrementAndGet(w) == 0
+                            && component.compareAndSet(w, UNASSIGNED, w))
+                        {
+                            target[nextSize.getAndIncrement()] = w;
+                        }
+                    }
+                }
+            });
+            frontier = target;
+            next = current;
+            size = nextSize.get();
+        }
+
+        int[] all = new int[n];
+        for (int v = 0; v < n; v++) {
+            all[v] = v;
+        }
+        return remaining(all);
+    }
+
+    private static int countNonLoops(int v, int[] offsets, int[] neighbors)
+    {
+        int count = 0;
+        for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+            if (neighbors[k] != v) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Compute the component of a pivot as the intersection of its forward and backward reachable
+     * sets.
+     *
+     * @param active the unassigned vertices
+     */
+    private void forwardBackward(int[] active)
+    {
+        int[] outOffsets = snapshot.getOutOffsets();
+        int[] inOffsets = snapshot.getInOffsets();
+
+        int pivot = selectPivot(active, outOffsets, inOffsets);
+
+        // forward search marks with 1, backward search claims marked vertices
+        int n = snapshot.vertexCount();
+        AtomicIntegerArray forward = new AtomicIntegerArray(n);
+        int[] frontier = new int[n];
+        int[] next = new int[n];
+        forward.set(pivot, 1);
+        frontier[0] = pivot;
+        int size = 1;
+        AtomicInteger nextSize = new AtomicInteger();
+        int[] outTargets = snapshot.getOutTargets();
+        while (size > 0) {
+            final int[] current = frontier;
+            final int[] target = next;
+            nextSize.set(0);
+            ConcurrencyUtil.parallelFor(pool, 0, size, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int v = current[i];
+                    for (int k = outOffsets[v]; k < outOffsets[v + 1]; k++) {
+                        int w = outTargets[k];
+                        if (forward.get(w) == 0 && component.get(w) == UNASSIGNED
+                            && forward.compareAndSet(w, 0, 1))
+                        {
+                            target[nextSize.getAndIncrement()] = w;
+                        }
+                    }
+                }
+            });
+            frontier = target;
+            next = current;
+            size = nextSize.get();
+        }
+
+        component.set(pivot, pivot);
+        frontier[0] = pivot;
+        size = 1;
+        int[] inSources = snapshot.getInSources();
+        while (size > 0) {
+            final int[] current = frontier;
+            final int[] target = next;
+            nextSize.set(0);
+            ConcurrencyUtil.parallelFor(pool, 0, size, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int v = current[i];
+                    for (int k = inOffsets[v]; k < inOffsets[v + 1]; k++) {
+                        int w = inSources[k];
+                        if (forward.get(w) == 1 && component.compareAndSet(w, UNASSIGNED, pivot)) {
+                            target[nextSize.getAndIncrement()] = w;
+                        }
+                    }
+                }
+            });
+            frontier = target;
+            next = current;
+            size = nextSize.get();
+        }
+    }
+
+    private static int selectPivot(int[] active, int[] outOffsets, int[] inOffsets)
+    {
+        int pivot = active[0];
+        long best = -1;
+        for (int v : active) {
+            long score =
+                (long) (outOffsets[v + 1] - outOffsets[v]) * (inOffsets[v + 1] - inOffsets[v]);
+            if (score > best) {
+                best = score;
+                pivot = v;
+            }
+        }
+        return pivot;
+    }
+
+    /**
+     * Run one coloring round on the unassigned vertices and assign the components of all roots.
+     *
+     * @param active the unassigned vertices
+     * @param color the color of each vertex
+     */
+    private void color(int[] active, AtomicIntegerArray color)
+    {
+        int n = snapshot.vertexCount();
+        int[] outOffsets = snapshot.getOutOffsets();
+        int[] outTargets = snapshot.getOutTargets();
+
+        ConcurrencyUtil.parallelFor(pool, 0, active.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                color.set(active[i], active[i]);
+            }
+        });
+
+        // propagate the maximum color forward until a fixed point is reached
+        AtomicIntegerArray queued = new AtomicIntegerArray(n);
+        int[] frontier = Arrays.copyOf(active, Math.max(active.length, 1));
+        int[] next = new int[frontier.length];
+        int size = active.length;
+        AtomicInteger nextSize = new AtomicInteger();
+        int round = 0;
+        while (size > 0) {
+            final int[] current = frontier;
+            final int[] target = next;
+            final int stamp = ++round;
+            nextSize.set(0);
+            ConcurrencyUtil.parallelFor(pool, 0, size, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int v = current[i];
+                    int c = color.get(v);
+                    for (int k = outOffsets[v]; k < outOffsets[v + 1]; k++) {
+                        int w = outTargets[k];
+                        if (component.get(w) != UNASSIGNED) {
+                            continue;
+                        }
+                        int cw = color.get(w);
+                        while (cw < c) {
+                            if (color.compareAndSet(w, cw, c)) {
+                                if (queued.getAndSet(w, stamp) != stamp) {
+                                    target[nextSize.getAndIncrement()] = w;
+                                }
+                                break;
+                            }
+                            cw = color.get(w);
+                        }
+                    }
+                }
+            });
+            frontier = target;
+            next = current;
+            size = nextSize.get();
+        }
+
+        // each root collects the vertices of its color which reach it
+        int rootCount = 0;
+        int[] roots = new int[active.length];
+        for (int v : active) {
+            if (color.get(v) == v) {
+                roots[rootCount++] = v;
+            }
+        }
+        int[] inOffsets = snapshot.getInOffsets();
+        int[] inSources = snapshot.getInSources();
+        ConcurrentLinkedQueue<int[]> queues = new ConcurrentLinkedQueue<>();
+        ConcurrencyUtil.parallelFor(pool, 0, rootCount, (from, to) -> {
+            int[] queue = queues.poll();
+            if (queue == null) {
+                queue = new int[n];
+            }
+            for (int i = from; i < to; i++) {
+                int root = roots[i];
+                component.set(root, root);
+                queue[0] = root;
+                int head = 0;
+                int tail = 1;
+                while (head < tail) {
+                    int v = queue[head++];
+                    for (int k = inOffsets[v]; k < inOffsets[v + 1]; k++) {
+                        int w = inSources[k];
+                        if (color.get(w) == root && component.compareAndSet(w, UNASSIGNED, root)) {
+                            queue[tail++] = w;
+                        }
+                    }
+                }
+            }
+            queues.offer(queue);
+        });
+    }
+
+    private int[] remaining(int[] active)
+    {
+        int count = 0;
+        int[] result = new int[active.length];
+        for (int v : active) {
+            if (component.get(v) == UNASSIGNED) {
+                result[count++] = v;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+}
@@ -0,0 +1,449 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+
+import java.util.*;
+
+/**
+ * An index which answers reachability queries on a graph without modifying it.
+ *
+ * <p>
+ * The index is built on the condensation of the graph, the directed acyclic graph of its strongly
+ * connected components. Vertices in the same component reach each other. The components are
+ * numbered by Tarjan's algorithm, which finishes a component only after all components reachable
+ * from it, so that a component can only reach components with a smaller number. This filter alone
+ * answers about half of all queries negatively.
+ *
+ * <p>
+ * If the condensation is small, the index stores the transitive closure as one bitset per
+ * component, computed by or-ing the bitsets of the successors in reverse topological order, and a
+ * query is a single bit test. Otherwise the index stores a 2-hop labeling computed by pruned
+ * landmark labeling, as described in: Y. Yano, T. Akiba, Y. Iwata and Y. Yoshida. Fast and
+ * scalable reachability queries on graphs by pruned labeling with landmarks and paths. Proceedings
+ * of the 22nd ACM International Conference on Information and Knowledge Management, 1601–1606,
+ * 2013. Every component $c$ gets two sorted lists of landmarks, those reaching $c$ and those
+ * reachable from $c$. A component $u$ reaches a component $v$ if and only if some landmark is
+ * reachable from $u$ and reaches $v$, so a query intersects two short sorted int arrays. The
+ * landmarks are processed in order of decreasing degree, and each breadth-first search from a
+ * landmark is pruned at components for which the labels already answer the query, which keeps the
+ * labels small on real world graphs.
+ *
+ * <p>
+ * In an undirected graph every edge can be traversed in both directions, and the index answers
+ * connectivity queries. The index reflects the graph at construction time and must be rebuilt after
+ * the graph changes.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see org.jgrapht.alg.TransitiveClosure
+ */
+public class ReachabilityIndex<V, E>
+{
+    /**
+     * The largest number of strongly connected components for which the transitive closure is
+     * stored as bitsets. The bitsets of that many components take 8 MB.
+     */
+    public static final int DEFAULT_CLOSURE_THRESHOLD = 8192;
+
+    private final IntGraphSnapshot<V, E> snapshot;
+    private final int[] component;
+    private final int components;
+
+    // transitive closure of the condensation, one bitset per component, or null
+    private long[] closure;
+    private int words;
+
+    // 2-hop labels in compressed sparse row format, or null
+    private int[] outOffsets;
+    private int[] outLabels;
+    private int[] inOffsets;
+    private int[] inLabels;
+
+    /**
+     * Build a reachability index for a graph.
+     *
+     * @param graph the input graph
+     */
+    public ReachabilityIndex(Graph<V, E> graph)
+    {
+        this(graph, DEFAULT_CLOSURE_THRESHOLD);
+    }
+
+    /**
+     * Build a reachability index for a graph.
+     *
+     * @param graph the input graph
+     * @param closureThreshold the largest number of strongly connected components for which the
+     *        transitive closure is stored as bitsets instead of a 2-hop labeling, provided that
+     *        the bitsets fit into a single array
+     */
+    public ReachabilityIndex(Graph<V, E> graph, int closureThreshold)
+    {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        this.snapshot = new IntGraphSnapshot<>(graph);
+        this.component = new int[snapshot.vertexCount()];
+        this.components = computeComponents();
+
+        int[][] condensation = condense();
+        // the bitsets must fit into a single array, whatever the threshold
+        long closureSize = (long) components * ((components + 63) >>> 6);
+        if (components <= closureThreshold && closureSize <= Integer.MAX_VALUE) {
+            computeClosure(condensation[0], condensation[1]);
+        } else {
+            computeLabels(condensation[0], condensation[1], condensation[2], condensation[3]);
+        }
+    }
+
+    /**
+     * Test whether there is a directed path from one vertex to another. Every vertex reaches
+     * itself.
+     *
+     * @param source the source vertex
+     * @param target the target vertex
+     * @return true if the source reaches the target
+     * @throws IllegalArgumentException if one of the vertices is not in the graph
+     */
+    public boolean reaches(V source, V target)
+    {
+        int u = component[snapshot.getIndex(source)];
+        int v = component[snapshot.getIndex(target)];
+        if (u == v) {
+            return true;
+        }
+        if (u < v) {
+            return false;
+        }
+        if (closure != null) {
+            return (closure[u * words + (v >>> 6)] & (1L << v)) != 0;
+        }
+        int i = outOffsets[u];
+        int iEnd = outOffsets[u + 1];
+        int j = inOffsets[v];
+        int jEnd = inOffsets[v + 1];
+        while (i < iEnd && j < jEnd) {
+            int a = outLabels[i];
+            int b = inLabels[j];
+            if (a == b) {
+                return true;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Test whether two vertices are in the same strongly connected component, that is, whether
+     * they reach each other.
+     *
+     * @param u the first vertex
+     * @param v the second vertex
+     * @return true if the two vertices reach each other
+     * @throws IllegalArgumentException if one of the vertices is not in the graph
+     */
+    public boolean isStronglyConnected(V u, V v)
+    {
+        return component[snapshot.getIndex(u)] == component[snapshot.getIndex(v)];
+    }
+
+    /**
+     * Get the number of strongly connected components of the graph.
+     *
+     * @return the number of strongly connected components
+     */
+    public int getNumberOfStronglyConnectedComponents()
+    {
+        return components;
+    }
+
+    /**
+     * Iterative version of Tarjan's algorithm.
+     */
+    private int computeComponents()
+    {
+        int n = snapshot.vertexCount();
+        int[] offsets = snapshot.getOutOffsets();
+        int[] targets = snapshot.getOutTargets();
+
+        int[] index = new int[n];
+        Arrays.fill(index, -1);
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int stackSize = 0;
+        int[] callVertex = new int[n];
+        int[] callArc = new int[n];
+        int counter = 0;
+        int count = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (index[s] != -1) {
+                continue;
+            }
+            int top = 0;
+            callVertex[0] = s;
+            callArc[0] = offsets[s];
+            index[s] = low[s] = counter++;
+            stack[stackSize++] = s;
+            onStack[s] = true;
+
+            while (top >= 0) {
+                int v = callVertex[top];
+                if (callArc[top] < offsets[v + 1]) {
+                    int w = targets[callArc[top]++];
+                    if (index[w] == -1) {
+                        index[w] = low[w] = counter++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        top++;
+                        callVertex[top] = w;
+                        callArc[top] = offsets[w];
+                    } else if (onStack[w] && index[w] < low[v]) {
+                        low[v] = index[w];
+                    }
+                    continue;
+                }
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        component[w] = count;
+                    } while (w != v);
+                    count++;
+                }
+                top--;
+                if (top >= 0) {
+                    int u = callVertex[top];
+                    low[u] = Math.min(low[u], low[v]);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Build the arcs of the condensation without duplicates, in both directions.
+     *
+     * @return the outgoing offsets and targets followed by the incoming offsets and sources
+     */
+    private int[][] condense()
+    {
+        int n = snapshot.vertexCount();
+        int[] offsets = snapshot.getOutOffsets();
+        int[] targets = snapshot.getOutTargets();
+
+        // group the vertices by component
+        int[] vertexOffsets = new int[components + 1];
+        for (int v = 0; v < n; v++) {
+            vertexOffsets[component[v] + 1]++;
+        }
+        for (int c = 0; c < components; c++) {
+            vertexOffsets[c + 1] += vertexOffsets[c];
+        }
+        int[] vertices = new int[n];
+        int[] next = Arrays.copyOf(vertexOffsets, components);
+        for (int v = 0; v < n; v++) {
+            vertices[next[component[v]]++] = v;
+        }
+
+        int[] cOutOffsets = new int[components + 1];
+        int[] cOutTargets = new int[targets.length];
+        int[] inDegree = new int[components + 1];
+        int[] mark = new int[components];
+        Arrays.fill(mark, -1);
+        int size = 0;
+        for (int c = 0; c < components; c++) {
+            for (int i = vertexOffsets[c]; i < vertexOffsets[c + 1]; i++) {
+                int v = vertices[i];
+                for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                    int d = component[targets[a]];
+                    if (d != c && mark[d] != c) {
+                        mark[d] = c;
+                        cOutTargets[size++] = d;
+                        inDegree[d + 1]++;
+                    }
+                }
+            }
+            cOutOffsets[c + 1] = size;
+        }
+
+        int[] cInOffsets = inDegree;
+        for (int c = 0; c < components; c++) {
+            cInOffsets[c + 1] += cInOffsets[c];
+        }
+        int[] cInSources = new int[size];
+        next = Arrays.copyOf(cInOffsets, components);
+        for (int c = 0; c < components; c++) {
+            for (int a = cOutOffsets[c]; a < cOutOffsets[c + 1]; a++) {
+                cInSources[next[cOutTargets[a]]++] = c;
+            }
+        }
+        return new int[][] { cOutOffsets, cOutTargets, cInOffsets, cInSources };
+    }
+
+    /**
+     * Compute one bitset per component. Successors have smaller numbers and are complete when a
+     * component is processed.
+     */
+    private void computeClosure(int[] cOutOffsets, int[] cOutTargets)
+    {
+        words = (components + 63) >>> 6;
+        closure = new long[components * words];
+        for (int c = 0; c < components; c++) {
+            int base = c * words;
+            closure[base + (c >>> 6)] |= 1L << c;
+            for (int a = cOutOffsets[c]; a < cOutOffsets[c + 1]; a++) {
+                int d = cOutTargets[a];
+                int other = d * words;
+                // only words up to the successor can be non-zero
+                int last = d >>> 6;
+                for (int w = 0; w <= last; w++) {
+                    closure[base + w] |= closure[other + w];
+                }
+            }
+        }
+    }
+
+    /**
+     * Pruned landmark labeling. Landmarks are ranked by decreasing degree product, and labels
+     * receive landmark ranks in increasing order, so that they are sorted.
+     */
+    private void computeLabels(
+        int[] cOutOffsets, int[] cOutTargets, int[] cInOffsets, int[] cInSources)
+    {
+        int c = components;
+        Integer[] order = new Integer[c];
+        long[] weight = new long[c];
+        for (int i = 0; i < c; i++) {
+            order[i] = i;
+            weight[i] = (long) (cOutOffsets[i + 1] - cOutOffsets[i] + 1)
+                * (cInOffsets[i + 1] - cInOffsets[i] + 1);
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(weight[b], weight[a]));
+
+        IntList[] out = new IntList[c];
+        IntList[] in = new IntList[c];
+        for (int i = 0; i < c; i++) {
+            out[i] = new IntList();
+            in[i] = new IntList();
+        }
+
+        int[] queue = new int[c];
+        int[] visited = new int[c];
+        Arrays.fill(visited, -1);
+        for (int rank = 0; rank < c; rank++) {
+            int w = order[rank];
+
+            // forward search: w reaches x, so rank enters the in-label of x
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = w;
+            visited[w] = 2 * rank;
+            while (head < tail) {
+                int x = queue[head++];
+                if (intersects(out[w], in[x])) {
+                    continue;
+                }
+                in[x].add(rank);
+                for (int a = cOutOffsets[x]; a < cOutOffsets[x + 1]; a++) {
+                    int y = cOutTargets[a];
+                    if (visited[y] != 2 * rank) {
+                        visited[y] = 2 * rank;
+                        queue[tail++] = y;
+                    }
+                }
+            }
+
+            // backward search: x reaches w, so rank enters the out-label of x
+            head = 0;
+            tail = 0;
+            queue[tail++] = w;
+            visited[w] = 2 * rank + 1;
+            while (head < tail) {
+                int x = queue[head++];
+                if (intersects(out[x], in[w])) {
+                    continue;
+                }
+                out[x].add(rank);
+                for (int a = cInOffsets[x]; a < cInOffsets[x + 1]; a++) {
+                    int y = cInSources[a];
+                    if (visited[y] != 2 * rank + 1) {
+                        visited[y] = 2 * rank + 1;
+                        queue[tail++] = y;
+                    }
+                }
+            }
+        }
+
+        outOffsets = new int[c + 1];
+        inOffsets = new int[c + 1];
+        for (int i = 0; i < c; i++) {
+            outOffsets[i + 1] = outOffsets[i] + out[i].size;
+            inOffsets[i + 1] = inOffsets[i] + in[i].size;
+        }
+        outLabels = new int[outOffsets[c]];
+        inLabels = new int[inOffsets[c]];
+        for (int i = 0; i < c; i++) {
+            System.arraycopy(out[i].data, 0, outLabels, outOffsets[i], out[i].size);
+            System.arraycopy(in[i].data, 0, inLabels, inOffsets[i], in[i].size);
+        }
+    }
+
+    private static boolean intersects(IntList a, IntList b)
+    {
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            int x = a.data[i];
+            int y = b.data[j];
+            if (x == y) {
+                return true;
+            } else if (x < y) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A growable list of ints.
+     */
+    private static class IntList
+    {
+        int[] data = new int[2];
+        int size;
+
+        void add(int x)
+        {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, 2 * size);
+            }
+            data[size++] = x;
+        }
+    }
+
+}
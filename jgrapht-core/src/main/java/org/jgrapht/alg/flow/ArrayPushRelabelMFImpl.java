@@ -0,0 +1,782 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Push-relabel maximum flow on a flat array representation of the residual graph.
+ *
+ * <p>
+ * The implementation follows the two-phase variant of B. V. Cherkassky and A. V. Goldberg. On
+ * Implementing the Push-Relabel Method for the Maximum Flow Problem. Algorithmica 19, 1997. The
+ * first phase computes a maximum preflow, which already determines the value of the maximum flow
+ * and a minimum cut. The second phase returns the excess which cannot reach the sink back to the
+ * source in order to obtain a flow. Active vertices are selected either in FIFO order or by
+ * highest label, and the global relabeling and gap heuristics are applied. The running time is
+ * $O(n^3)$ with FIFO and $O(n^2 \sqrt{m})$ with highest label selection.
+ *
+ * <p>
+ * The residual graph is stored in compressed sparse row format: the arcs leaving each vertex are
+ * contiguous, each edge of the network yields an arc and a reverse arc, and heads, mates and
+ * residual capacities are kept in primitive arrays. The structure is built once, on construction,
+ * and does not reflect later modifications of the network. Any number of maximum flows can then
+ * be computed without further allocations, possibly for different sources and sinks and for
+ * different capacities which are set by {@link #setCapacity(Object, double)} or
+ * {@link #setCapacities(ToDoubleFunction)}. Initially the capacities are the edge weights.
+ *
+ * <p>
+ * For undirected networks every edge can carry flow in both directions up to its capacity.
+ * Self-loops never carry flow.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see PushRelabelMFImpl
+ */
+public class ArrayPushRelabelMFImpl<V, E>
+    implements
+    MaximumFlowAlgorithm<V, E>,
+    MinimumSTCutAlgorithm<V, E>
+{
+    /**
+     * The rule used to select the next active vertex.
+     */
+    public enum SelectionRule
+    {
+        /**
+         * Process the active vertices in first-in first-out order.
+         */
+        FIFO,
+        /**
+         * Process an active vertex with the largest label.
+         */
+        HIGHEST_LABEL
+    }
+
+    /**
+     * Default tolerance used when computing the minimum cut.
+     */
+    public static final double DEFAULT_EPSILON = MaximumFlowAlgorithmBase.DEFAULT_EPSILON;
+
+    // constants of the global relabeling frequency, as in the implementation of Cherkassky and
+    // Goldberg
+    private static final int ALPHA = 6;
+    private static final int BETA = 12;
+    private static final double GLOBAL_UPDATE_FREQUENCY = 0.5;
+
+    private static final int NONE = -1;
+
+    private final Graph<V, E> network;
+    private final boolean directed;
+    private final double epsilon;
+    private final SelectionRule selectionRule;
+    private final VertexToIntegerMapping<V> mapping;
+    private final List<E> edges;
+    private final Map<E, Integer> edgeIndices;
+
+    private final int n;
+    private final int[] offsets;
+    private final int[] heads;
+    private final int[] mates;
+    private final int[] edgeArc;
+    private final double[] capacity;
+    private final double[] residual;
+
+    private final int[] height;
+    private final double[] excess;
+    private final int[] current;
+    private final int[] count;
+    private final int[] activeNext;
+    private final int[] activeHead;
+    private final int[] levelNext;
+    private final int[] levelPrev;
+    private final int[] levelHead;
+    private final int[] queue;
+    private final boolean[] queued;
+    private final int[] bfs;
+
+    private int maxActive;
+    private int maxLevel;
+    private int queueHead;
+    private int queueSize;
+    private long workSinceUpdate;
+
+    private V source;
+    private V sink;
+    private double maxFlowValue = -1;
+    private Map<E, Double> maxFlow;
+    private Set<V> sourcePartition;
+    private Set<V> sinkPartition;
+    private Set<E> cutEdges;
+
+    /**
+     * Construct a new instance using highest label selection.
+     *
+     * @param network the network
+     * @throws IllegalArgumentException if an edge has a negative capacity
+     */
+    public ArrayPushRelabelMFImpl(Graph<V, E> network)
+    {
+        this(network, SelectionRule.HIGHEST_LABEL, DEFAULT_EPSILON);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param network the network
+     * @param selectionRule the rule used to select the next active vertex
+     * @param epsilon tolerance used when computing the minimum cut
+     * @throws IllegalArgumentException if an edge has a negative capacity or epsilon is not
+     *         positive
+     */
+    public ArrayPushRelabelMFImpl(
+        Graph<V, E> network, SelectionRule selectionRule, double epsilon)
+    {
+        this.network = Objects.requireNonNull(network, "Network cannot be null");
+        this.selectionRule = Objects.requireNonNull(selectionRule, "Selection rule cannot be null");
+        if (epsilon <= 0) {
+            throw new IllegalArgumentException("Epsilon must be positive!");
+        }
+        this.epsilon = epsilon;
+        this.directed = network.getType().isDirected();
+        this.mapping = new VertexToIntegerMapping<>(network.vertexSet());
+        this.n = mapping.getIndexList().size();
+        Map<V, Integer> vertexMap = mapping.getVertexMap();
+
+        this.edges = new ArrayList<>(network.edgeSet());
+        int m = edges.size();
+        this.edgeIndices = new HashMap<>(m);
+        this.capacity = new double[m];
+
+        // count the arcs of each vertex, self-loops are dropped
+        int[] tails = new int[m];
+        int[] targets = new int[m];
+        this.offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            E e = edges.get(i);
+            edgeIndices.put(e, i);
+            setCapacity(i, network.getEdgeWeight(e));
+            tails[i] = vertexMap.get(network.getEdgeSource(e));
+            targets[i] = vertexMap.get(network.getEdgeTarget(e));
+            if (tails[i] != targets[i]) {
+                offsets[tails[i] + 1]++;
+                offsets[targets[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int arcs = offsets[n];
+        this.heads = new int[arcs];
+        this.mates = new int[arcs];
+        this.edgeArc = new int[m];
+        this.residual = new double[arcs];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < m; i++) {
+            int u = tails[i];
+            int v = targets[i];
+            if (u == v) {
+                edgeArc[i] = NONE;
+                continue;
+            }
+            int forward = next[u]++;
+            int backward = next[v]++;
+            heads[forward] = v;
+            heads[backward] = u;
+            mates[forward] = backward;
+            mates[backward] = forward;
+            edgeArc[i] = forward;
+        }
+
+        this.height = new int[n];
+        this.excess = new double[n];
+        this.current = new int[n];
+        this.count = new int[n + 1];
+        this.activeNext = new int[n];
+        this.activeHead = new int[n + 1];
+        this.levelNext = new int[n];
+        this.levelPrev = new int[n];
+        this.levelHead = new int[n + 1];
+        this.queue = new int[n];
+        this.queued = new boolean[n];
+        this.bfs = new int[n];
+    }
+
+    /**
+     * Set the capacity of an edge for all subsequent computations.
+     *
+     * @param edge the edge
+     * @param capacity the capacity
+     * @throws IllegalArgumentException if the edge is not in the network or the capacity is
+     *         negative
+     */
+    public void setCapacity(E edge, double capacity)
+    {
+        Integer i = edgeIndices.get(edge);
+        if (i == null) {
+            throw new IllegalArgumentException("Network does not contain edge!");
+        }
+        setCapacity(i, capacity);
+    }
+
+    /**
+     * Set the capacities of all edges for all subsequent computations.
+     *
+     * @param capacities the capacity of each edge
+     * @throws IllegalArgumentException if a capacity is negative
+     */
+    public void setCapacities(ToDoubleFunction<E> capacities)
+    {
+        for (int i = 0; i < edges.size(); i++) {
+            setCapacity(i, capacities.applyAsDouble(edges.get(i)));
+        }
+    }
+
+    private void setCapacity(int i, double value)
+    {
+        if (!(value >= 0)) {
+            throw new IllegalArgumentException("Capacity must be non-negative!");
+        }
+        capacity[i] = value;
+    }
+
+    @Override
+    public MaximumFlow<E> getMaximumFlow(V source, V sink)
+    {
+        calculateMaximumFlow(source, sink);
+        return new MaximumFlowImpl<>(maxFlowValue, getFlowMap());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Unlike {@link #getMaximumFlow(Object, Object)} this method does not create the flow map.
+     */
+    @Override
+    public double getMaximumFlowValue(V source, V sink)
+    {
+        return calculateMaximumFlow(source, sink);
+    }
+
+    /**
+     * Calculate the maximum flow from source to sink using the current capacities.
+     *
+     * @param source source vertex
+     * @param sink sink vertex
+     * @return the value of the maximum flow
+     * @throws IllegalArgumentException if source or sink is not in the network or they are equal
+     */
+    public double calculateMaximumFlow(V source, V sink)
+    {
+        if (!network.containsVertex(source)) {
+            throw new IllegalArgumentException("Network does not contain source!");
+        }
+        if (!network.containsVertex(sink)) {
+            throw new IllegalArgumentException("Network does not contain sink!");
+        }
+        if (source.equals(sink)) {
+            throw new IllegalArgumentException("Source is equal to sink!");
+        }
+        this.source = source;
+        this.sink = sink;
+        this.maxFlow = null;
+        this.sourcePartition = null;
+        this.sinkPartition = null;
+        this.cutEdges = null;
+
+        int s = mapping.getVertexMap().get(source);
+        int t = mapping.getVertexMap().get(sink);
+
+        // reset the residual graph
+        for (int i = 0; i < edgeArc.length; i++) {
+            int a = edgeArc[i];
+            if (a != NONE) {
+                residual[a] = capacity[i];
+                residual[mates[a]] = directed ? 0d : capacity[i];
+            }
+        }
+        Arrays.fill(excess, 0d);
+
+        // saturate the arcs leaving the source
+        for (int a = offsets[s]; a < offsets[s + 1]; a++) {
+            double delta = residual[a];
+            if (delta > 0d) {
+                residual[a] = 0d;
+                residual[mates[a]] += delta;
+                excess[heads[a]] += delta;
+                excess[s] -= delta;
+            }
+        }
+
+        maxPreflow(s, t);
+        maxFlowValue = excess[t];
+        returnExcess(s, t);
+        return maxFlowValue;
+    }
+
+    /**
+     * First phase: push excess towards the sink until no active vertex can reach it.
+     */
+    private void maxPreflow(int s, int t)
+    {
+        globalRelabel(s, t);
+        int m = offsets[n];
+        while (true) {
+            int v = nextActive();
+            if (v == NONE) {
+                break;
+            }
+            discharge(v, t);
+            if (workSinceUpdate * GLOBAL_UPDATE_FREQUENCY > (long) ALPHA * n + m) {
+                globalRelabel(s, t);
+            }
+        }
+    }
+
+    /**
+     * Compute exact labels by a backward breadth-first search from the sink and rebuild the
+     * active and level structures. Vertices which cannot reach the sink get label $n$.
+     */
+    private void globalRelabel(int s, int t)
+    {
+        workSinceUpdate = 0;
+        Arrays.fill(height, n);
+        Arrays.fill(count, 0);
+        Arrays.fill(activeHead, 0, n, NONE);
+        Arrays.fill(levelHead, 0, n, NONE);
+        Arrays.fill(queued, false);
+        queueHead = 0;
+        queueSize = 0;
+        maxActive = -1;
+        maxLevel = 0;
+
+        height[t] = 0;
+        int head = 0;
+        int tail = 0;
+        bfs[tail++] = t;
+        while (head < tail) {
+            int v = bfs[head++];
+            int d = height[v] + 1;
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                int w = heads[a];
+                if (height[w] == n && w != s && residual[mates[a]] > 0d) {
+                    height[w] = d;
+                    bfs[tail++] = w;
+                }
+            }
+        }
+
+        for (int i = 0; i < tail; i++) {
+            int v = bfs[i];
+            current[v] = offsets[v];
+            addToLevel(v);
+        }
+        for (int i = 0; i < tail; i++) {
+            int v = bfs[i];
+            if (v != t && excess[v] > 0d) {
+                activate(v);
+            }
+        }
+    }
+
+    private void addToLevel(int v)
+    {
+        int h = height[v];
+        count[h]++;
+        levelPrev[v] = NONE;
+        levelNext[v] = levelHead[h];
+        if (levelHead[h] != NONE) {
+            levelPrev[levelHead[h]] = v;
+        }
+        levelHead[h] = v;
+        if (h > maxLevel) {
+            maxLevel = h;
+        }
+    }
+
+    private void removeFromLevel(int v)
+    {
+        int h = height[v];
+        count[h]--;
+        if (levelPrev[v] != NONE) {
+            levelNext[levelPrev[v]] = levelNext[v];
+        } else {
+            levelHead[h] = levelNext[v];
+        }
+        if (levelNext[v] != NONE) {
+            levelPrev[levelNext[v]] = levelPrev[v];
+        }
+    }
+
+    private void activate(int v)
+    {
+        if (selectionRule == SelectionRule.FIFO) {
+            if (!queued[v]) {
+                queued[v] = true;
+                queue[(queueHead + queueSize++) % n] = v;
+            }
+        } else {
+            int h = height[v];
+            activeNext[v] = activeHead[h];
+            activeHead[h] = v;
+            if (h > maxActive) {
+                maxActive = h;
+            }
+        }
+    }
+
+    private int nextActive()
+    {
+        if (selectionRule == SelectionRule.FIFO) {
+            while (queueSize > 0) {
+                int v = queue[queueHead];
+                queueHead = (queueHead + 1) % n;
+                queueSize--;
+                queued[v] = false;
+                if (height[v] < n && excess[v] > 0d) {
+                    return v;
+                }
+            }
+            return NONE;
+        }
+        while (maxActive >= 0) {
+            int v = activeHead[maxActive];
+            if (v == NONE) {
+                maxActive--;
+                continue;
+            }
+            activeHead[maxActive] = activeNext[v];
+            if (height[v] == maxActive && excess[v] > 0d) {
+                return v;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Push the excess of a vertex along admissible arcs, relabeling it when there is none left,
+     * until the excess is zero or the vertex cannot reach the sink.
+     */
+    private void discharge(int v, int t)
+    {
+        while (true) {
+            int h = height[v];
+            int end = offsets[v + 1];
+            for (int a = current[v]; a < end; a++) {
+                double r = residual[a];
+                if (r > 0d) {
+                    int w = heads[a];
+                    if (height[w] == h - 1) {
+                        double delta = Math.min(excess[v], r);
+                        residual[a] = r - delta;
+                        residual[mates[a]] += delta;
+                        boolean wasActive = excess[w] > 0d;
+                        excess[w] += delta;
+                        excess[v] -= delta;
+                        if (!wasActive && w != t) {
+                            activate(w);
+                        }
+                        if (excess[v] == 0d) {
+                            current[v] = a;
+                            return;
+                        }
+                    }
+                }
+            }
+
+            // relabel
+            workSinceUpdate += BETA + end - offsets[v];
+            if (count[h] == 1) {
+                gap(h);
+                return;
+            }
+            int newHeight = n;
+            int newCurrent = offsets[v];
+            for (int a = offsets[v]; a < end; a++) {
+                if (residual[a] > 0d && height[heads[a]] + 1 < newHeight) {
+                    newHeight = height[heads[a]] + 1;
+                    newCurrent = a;
+                }
+            }
+            removeFromLevel(v);
+            height[v] = newHeight;
+            if (newHeight >= n) {
+                return;
+            }
+            current[v] = newCurrent;
+            addToLevel(v);
+            if (selectionRule == SelectionRule.FIFO) {
+                // continue discharging later, after the vertices already queued
+                activate(v);
+                return;
+            }
+        }
+    }
+
+    /**
+     * No vertex is left with label h, hence all vertices with label at least h cannot reach the
+     * sink anymore.
+     */
+    private void gap(int h)
+    {
+        for (int level = h; level <= maxLevel; level++) {
+            for (int v = levelHead[level]; v != NONE; v = levelNext[v]) {
+                height[v] = n;
+            }
+            levelHead[level] = NONE;
+            count[level] = 0;
+        }
+        maxLevel = h - 1;
+    }
+
+    /**
+     * Second phase: return the excess of all vertices which cannot reach the sink to the source.
+     * This is a push-relabel computation towards the source which never enters the sink, starting
+     * from exact labels computed by a breadth-first search.
+     */
+    private void returnExcess(int s, int t)
+    {
+        int unreachable = 2 * n;
+        Arrays.fill(height, unreachable);
+        height[s] = 0;
+        int head = 0;
+        int tail = 0;
+        bfs[tail++] = s;
+        while (head < tail) {
+            int v = bfs[head++];
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                int w = heads[a];
+                if (height[w] == unreachable && w != t && residual[mates[a]] > 0d) {
+                    height[w] = height[v] + 1;
+                    bfs[tail++] = w;
+                }
+            }
+        }
+
+        // FIFO discharging, the labels never exceed n since every vertex with excess can reach
+        // the source
+        Arrays.fill(queued, false);
+        queueHead = 0;
+        queueSize = 0;
+        for (int v = 0; v < n; v++) {
+            current[v] = offsets[v];
+            if (v != s && v != t && excess[v] > 0d) {
+                queued[v] = true;
+                queue[(queueHead + queueSize++) % n] = v;
+            }
+        }
+        while (queueSize > 0) {
+            int v = queue[queueHead];
+            queueHead = (queueHead + 1) % n;
+            queueSize--;
+            queued[v] = false;
+
+            while (excess[v] > 0d) {
+                int h = height[v];
+                int end = offsets[v + 1];
+                int a = current[v];
+                for (; a < end; a++) {
+                    double r = residual[a];
+                    int w = heads[a];
+                    if (r > 0d && height[w] == h - 1 && w != t) {
+                        double delta = Math.min(excess[v], r);
+                        residual[a] = r - delta;
+                        residual[mates[a]] += delta;
+                        excess[w] += delta;
+                        excess[v] -= delta;
+                        if (w != s && !queued[w]) {
+                            queued[w] = true;
+                            queue[(queueHead + queueSize++) % n] = w;
+                        }
+                        if (excess[v] == 0d) {
+                            break;
+                        }
+                    }
+                }
+                current[v] = a;
+                if (excess[v] > 0d) {
+                    int newHeight = unreachable;
+                    for (int b = offsets[v]; b < end; b++) {
+                        int w = heads[b];
+                        if (residual[b] > 0d && w != t && height[w] + 1 < newHeight) {
+                            newHeight = height[w] + 1;
+                        }
+                    }
+                    if (newHeight >= unreachable) {
+                        // only possible due to rounding errors, drop the remaining excess
+                        excess[v] = 0d;
+                        break;
+                    }
+                    height[v] = newHeight;
+                    current[v] = offsets[v];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns current source vertex, or <tt>null</tt> if there was no <tt>
+     * calculateMaximumFlow</tt> calls.
+     *
+     * @return current source
+     */
+    public V getCurrentSource()
+    {
+        return source;
+    }
+
+    /**
+     * Returns current sink vertex, or <tt>null</tt> if there was no <tt>
+     * calculateMaximumFlow</tt> calls.
+     *
+     * @return current sink
+     */
+    public V getCurrentSink()
+    {
+        return sink;
+    }
+
+    /**
+     * Returns maximum flow value, that was calculated during last <tt>
+     * calculateMaximumFlow</tt> call.
+     *
+     * @return maximum flow value
+     */
+    public double getMaximumFlowValue()
+    {
+        return maxFlowValue;
+    }
+
+    @Override
+    public Map<E, Double> getFlowMap()
+    {
+        if (maxFlow == null) {
+            maxFlow = new HashMap<>();
+            for (int i = 0; i < edges.size(); i++) {
+                maxFlow.put(edges.get(i), Math.abs(flow(i)));
+            }
+        }
+        return maxFlow;
+    }
+
+    /**
+     * The flow on an edge in the direction from its source to its target, negative if the flow
+     * goes in the other direction.
+     */
+    private double flow(int i)
+    {
+        int a = edgeArc[i];
+        if (a == NONE) {
+            return 0d;
+        }
+        return Math.max(capacity[i] - residual[a], directed ? 0d : -capacity[i]);
+    }
+
+    @Override
+    public V getFlowDirection(E e)
+    {
+        Integer i = edgeIndices.get(e);
+        if (i == null) {
+            throw new IllegalArgumentException(
+                "Cannot query the flow on an edge which does not exist in the input graph!");
+        }
+        if (directed || flow(i) > 0d) {
+            return network.getEdgeTarget(e);
+        }
+        return network.getEdgeSource(e);
+    }
+
+    @Override
+    public double calculateMinCut(V source, V sink)
+    {
+        return calculateMaximumFlow(source, sink);
+    }
+
+    @Override
+    public double getCutCapacity()
+    {
+        return getMaximumFlowValue();
+    }
+
+    @Override
+    public Set<V> getSourcePartition()
+    {
+        if (sourcePartition == null) {
+            // the vertices reachable from the source in the residual graph
+            boolean[] visited = new boolean[n];
+            int s = mapping.getVertexMap().get(source);
+            int head = 0;
+            int tail = 0;
+            bfs[tail++] = s;
+            visited[s] = true;
+            while (head < tail) {
+                int v = bfs[head++];
+                for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                    int w = heads[a];
+                    if (!visited[w] && residual[a] > epsilon) {
+                        visited[w] = true;
+                        bfs[tail++] = w;
+                    }
+                }
+            }
+            sourcePartition = new LinkedHashSet<>();
+            for (int v = 0; v < n; v++) {
+                if (visited[v]) {
+                    sourcePartition.add(mapping.getIndexList().get(v));
+                }
+            }
+        }
+        return sourcePartition;
+    }
+
+    @Override
+    public Set<V> getSinkPartition()
+    {
+        if (sinkPartition == null) {
+            sinkPartition = new LinkedHashSet<>(network.vertexSet());
+            sinkPartition.removeAll(getSourcePartition());
+        }
+        return sinkPartition;
+    }
+
+    @Override
+    public Set<E> getCutEdges()
+    {
+        if (cutEdges == null) {
+            Set<V> p1 = getSourcePartition();
+            cutEdges = new LinkedHashSet<>();
+            for (E e : edges) {
+                boolean sourceIn = p1.contains(network.getEdgeSource(e));
+                boolean targetIn = p1.contains(network.getEdgeTarget(e));
+                if (directed ? sourceIn && !targetIn : sourceIn ^ targetIn) {
+                    cutEdges.add(e);
+                }
+            }
+        }
+        return cutEdges;
+    }
+
+}
@@ -0,0 +1,903 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.color.*;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.*;
+import org.jgrapht.alg.util.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Canonical labeling of a graph by color refinement and individualization.
+ *
+ * <p>
+ * A canonical labeling assigns the labels $0, \dots, n-1$ to the vertices of a graph such that
+ * isomorphic graphs are relabeled into identical graphs. The {@link Certificate} of the relabeled
+ * graph depends only on the isomorphism class of the graph and can be used as a hash map key, so
+ * that a large number of graphs can be deduplicated without any pairwise isomorphism test.
+ *
+ * <p>
+ * The implementation follows the individualization-refinement scheme of nauty and bliss, see B. D.
+ * McKay and A. Piperno. Practical graph isomorphism, II. Journal of Symbolic Computation, 60,
+ * p94--112, 2014. The initial partition is the coarsest stable coloring computed by
+ * {@link ColorRefinementAlgorithm}. The search then repeatedly individualizes a vertex of a
+ * non-singleton cell, the cell of the previous step as long as it is not a singleton and otherwise
+ * the first smallest one, and refines the partition until it is discrete. Every discrete partition
+ * is a candidate labeling, and the candidate with the lexicographically smallest relabeled edge
+ * list is the canonical one. Two candidates with the same relabeled graph yield an automorphism,
+ * which is used to skip all subtrees of the search which are images of explored subtrees. The
+ * partition is modified in place and restored by undoing the recorded changes when the search
+ * backtracks, and the orbits of the automorphisms are maintained incrementally for every node of
+ * the current path.
+ *
+ * <p>
+ * Directed graphs, self-loops and multiple edges are supported, edge weights are ignored. An
+ * optional vertex coloring restricts the isomorphisms to those which preserve the colors. The
+ * running time is exponential in the worst case. Graphs with large automorphism groups, such as
+ * stars or graphs without edges, need a number of search nodes quadratic in the number of vertices
+ * and one leaf per vertex, each of which costs $O(m \log m)$ time for comparing the relabeled edge
+ * lists.
+ *
+ * <p>
+ * Vertices are identified by their index in the iteration order of {@link Graph#vertexSet()} in
+ * {@link #getLabeling()} and {@link #getAutomorphismGenerators()}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class CanonicalLabeling<V, E>
+{
+    private final Graph<V, E> graph;
+    private final Coloring<V> alpha;
+    private final ColorRefinementAlgorithm<V, E> refinement;
+
+    private IntGraphSnapshot<V, E> snapshot;
+    private int n;
+    private boolean directed;
+    private int[] outOffsets;
+    private int[] outTargets;
+    private int[] inOffsets;
+    private int[] inSources;
+    private int codeLength;
+
+    // scratch space of the refinement
+    private int[] count;
+    private int[] cellTouched;
+    private int[] cellMoved;
+    private int[] touched;
+    private int[] touchedCells;
+    private long[] keys;
+    private int[] queue;
+    private boolean[] inQueue;
+    private int queueHead;
+    private int queueSize;
+    private int[] label;
+
+    // state of the search
+    private Partition partition;
+    private int[] path;
+    private int[] explored;
+    private int exploredSize;
+    private long[] firstCode;
+    private int[] firstOrder;
+    private int[] firstPath;
+    private long[] bestCode;
+    private int[] bestOrder;
+    private int[] bestPath;
+    private List<int[]> generators;
+
+    // union-find of the orbits of the automorphisms found below the current node
+    private int[] orbitParent;
+    private int[] orbitSize;
+    private int[] unions;
+    private int unionCount;
+
+    private int[] labeling;
+    private Certificate certificate;
+
+    /**
+     * Construct a new canonical labeling algorithm.
+     *
+     * @param graph the input graph
+     */
+    public CanonicalLabeling(Graph<V, E> graph)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.alpha = null;
+        this.refinement =
+            graph.vertexSet().isEmpty() ? null : new ColorRefinementAlgorithm<>(graph);
+    }
+
+    /**
+     * Construct a new canonical labeling algorithm for a vertex colored graph. Only isomorphisms
+     * which map every vertex to a vertex of the same color are considered.
+     *
+     * @param graph the input graph
+     * @param alpha a surjective coloring of the vertices with colors $0, \dots, k-1$
+     * @throws IllegalArgumentException if the coloring is not a valid surjective coloring of the
+     *         graph
+     */
+    public CanonicalLabeling(Graph<V, E> graph, Coloring<V> alpha)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.alpha = Objects.requireNonNull(alpha, "alpha cannot be null");
+        this.refinement = new ColorRefinementAlgorithm<>(graph, alpha);
+    }
+
+    /**
+     * Get the canonical labeling. Entry $i$ is the canonical label of the $i$-th vertex in the
+     * iteration order of {@link Graph#vertexSet()}.
+     *
+     * @return the canonical labeling
+     */
+    public int[] getLabeling()
+    {
+        lazyComputeLabeling();
+        return labeling.clone();
+    }
+
+    /**
+     * Get the vertices ordered by their canonical label.
+     *
+     * @return the vertices ordered by their canonical label
+     */
+    public List<V> getCanonicalOrder()
+    {
+        lazyComputeLabeling();
+        List<V> order = new ArrayList<>(Collections.nCopies(n, null));
+        for (int v = 0; v < n; v++) {
+            order.set(labeling[v], snapshot.getVertex(v));
+        }
+        return order;
+    }
+
+    /**
+     * Get the certificate of the graph. Two graphs have equal certificates if and only if they are
+     * isomorphic, respecting the vertex colors if any.
+     *
+     * @return the certificate of the graph
+     */
+    public Certificate getCertificate()
+    {
+        lazyComputeLabeling();
+        return certificate;
+    }
+
+    /**
+     * Get the automorphisms found by the search. Each automorphism maps the vertex with index $i$
+     * to the vertex with index $a[i]$. The automorphisms generate a subgroup of the automorphism
+     * group of the graph, and usually the whole group.
+     *
+     * @return the automorphisms found by the search
+     */
+    public List<int[]> getAutomorphismGenerators()
+    {
+        lazyComputeLabeling();
+        List<int[]> result = new ArrayList<>(generators.size());
+        for (int[] g : generators) {
+            result.add(g.clone());
+        }
+        return result;
+    }
+
+    private void lazyComputeLabeling()
+    {
+        if (labeling != null) {
+            return;
+        }
+
+        snapshot = new IntGraphSnapshot<>(graph, true);
+        n = snapshot.vertexCount();
+        directed = graph.getType().isDirected();
+        outOffsets = snapshot.getOutOffsets();
+        outTargets = snapshot.getOutTargets();
+        inOffsets = snapshot.getInOffsets();
+        inSources = snapshot.getInSources();
+        generators = new ArrayList<>();
+
+        codeLength = 0;
+        for (int u = 0; u < n; u++) {
+            for (int a = outOffsets[u]; a < outOffsets[u + 1]; a++) {
+                if (directed || u <= outTargets[a]) {
+                    codeLength++;
+                }
+            }
+        }
+
+        if (n > 0) {
+            count = new int[n];
+            cellTouched = new int[n];
+            cellMoved = new int[n];
+            touched = new int[n];
+            touchedCells = new int[n];
+            keys = new long[n];
+            queue = new int[n];
+            inQueue = new boolean[n];
+            label = new int[n];
+            path = new int[n];
+            explored = new int[n];
+            exploredSize = 0;
+            orbitParent = new int[n];
+            orbitSize = new int[n];
+            for (int v = 0; v < n; v++) {
+                orbitParent[v] = v;
+                orbitSize[v] = 1;
+            }
+            unions = new int[n];
+            unionCount = 0;
+
+            partition = initialPartition();
+            search(0, -1);
+        } else {
+            bestCode = new long[0];
+            bestOrder = new int[0];
+        }
+
+        labeling = new int[n];
+        for (int p = 0; p < n; p++) {
+            labeling[bestOrder[p]] = p;
+        }
+
+        long[] data = new long[3 + n + codeLength];
+        data[0] = n;
+        data[1] = directed ? 1 : 0;
+        data[2] = codeLength;
+        if (alpha != null) {
+            Map<V, Integer> colors = alpha.getColors();
+            for (int p = 0; p < n; p++) {
+                data[3 + p] = colors.get(snapshot.getVertex(bestOrder[p]));
+            }
+        }
+        System.arraycopy(bestCode, 0, data, 3 + n, codeLength);
+        certificate = new Certificate(data);
+
+        // release the search state
+        count = cellTouched = cellMoved = touched = touchedCells = queue = label = path = null;
+        explored = orbitParent = orbitSize = unions = null;
+        keys = null;
+        inQueue = null;
+        partition = null;
+        firstCode = bestCode = null;
+        firstOrder = bestOrder = firstPath = bestPath = null;
+    }
+
+    /**
+     * Build the ordered partition of the stable coloring, ordered by color, and make it equitable
+     * with respect to both edge directions.
+     */
+    private Partition initialPartition()
+    {
+        Coloring<V> coloring = refinement.getColoring();
+        Map<V, Integer> colors = coloring.getColors();
+        int k = coloring.getNumberColors();
+        int[] color = new int[n];
+        int[] start = new int[k + 1];
+        for (int v = 0; v < n; v++) {
+            color[v] = colors.get(snapshot.getVertex(v));
+            start[color[v] + 1]++;
+        }
+        for (int c = 0; c < k; c++) {
+            start[c + 1] += start[c];
+        }
+
+        Partition p = new Partition(n);
+        int[] next = Arrays.copyOf(start, k);
+        for (int v = 0; v < n; v++) {
+            int i = next[color[v]]++;
+            p.order[i] = v;
+            p.pos[v] = i;
+            p.cellOf[v] = start[color[v]];
+        }
+        for (int c = 0; c < k; c++) {
+            if (start[c] < start[c + 1]) {
+                p.cellEnd[start[c]] = start[c + 1];
+                p.cells++;
+                enqueue(start[c]);
+            }
+        }
+        partition = p;
+        refine();
+        return p;
+    }
+
+    /**
+     * Explore the subtree of the search below the current partition. The partition is restored
+     * before returning.
+     *
+     * @param depth the depth of the current node
+     * @param parentTarget the target cell of the parent node, or -1 at the root
+     * @return the depth of the node at which the search continues
+     */
+    private int search(int depth, int parentTarget)
+    {
+        Partition p = partition;
+        int target = targetCell(parentTarget);
+        if (target < 0) {
+            return leaf(depth);
+        }
+
+        /*
+         * The union-find contains the automorphisms found below this node. They fix the path up to
+         * this node, but not necessarily the vertex individualized next, so they are removed while
+         * a child is explored. The automorphisms found below the child also fix the path up to
+         * this node and are kept afterwards.
+         */
+        int end = p.cellEnd[target];
+        int exploredFrom = exploredSize;
+        int next = depth;
+        for (int i = target; i < end && next >= depth; i++) {
+            int v = p.order[i];
+            if (inExploredOrbit(v, exploredFrom)) {
+                continue;
+            }
+
+            int[] saved = removeUnions();
+            int mark = p.mark();
+            path[depth] = v;
+            individualize(v);
+            refine();
+            next = search(depth + 1, target);
+            p.undo(mark);
+            restoreUnions(saved);
+
+            if (exploredSize == explored.length) {
+                explored = Arrays.copyOf(explored, 2 * explored.length);
+            }
+            explored[exploredSize++] = v;
+        }
+        exploredSize = exploredFrom;
+        return Math.min(next, depth);
+    }
+
+    /**
+     * Process a discrete partition.
+     *
+     * @return the depth of the node at which the search continues
+     */
+    private int leaf(int depth)
+    {
+        int[] order = partition.order;
+        long[] code = edgeCode(order);
+        if (firstCode == null) {
+            firstCode = bestCode = code;
+            firstOrder = bestOrder = order.clone();
+            firstPath = bestPath = Arrays.copyOf(path, depth);
+            return depth;
+        }
+
+        /*
+         * An automorphism maps the subtree of the other leaf, below the deepest common ancestor,
+         * onto the subtree of this leaf. The former subtree is completely explored, so the search
+         * can continue at the ancestor.
+         */
+        if (Arrays.equals(code, firstCode)) {
+            addAutomorphism(firstOrder, order);
+            return commonPrefix(firstPath, depth);
+        }
+        int cmp = compare(code, bestCode);
+        if (cmp == 0) {
+            addAutomorphism(bestOrder, order);
+            return commonPrefix(bestPath, depth);
+        }
+        if (cmp < 0) {
+            bestCode = code;
+            bestOrder = order.clone();
+            bestPath = Arrays.copyOf(path, depth);
+        }
+        return depth;
+    }
+
+    /**
+     * Select the cell whose vertices are individualized next. The cell of the parent node is kept
+     * as long as it is not a singleton, which does not require a scan of the partition, and
+     * otherwise the first smallest non-singleton cell is selected.
+     */
+    private int targetCell(int parentTarget)
+    {
+        Partition p = partition;
+        if (parentTarget >= 0 && p.cellEnd[parentTarget] - parentTarget > 1) {
+            return parentTarget;
+        }
+        int target = -1;
+        int targetSize = Integer.MAX_VALUE;
+        for (int s = 0; s < n; s = p.cellEnd[s]) {
+            int size = p.cellEnd[s] - s;
+            if (size > 1 && size < targetSize) {
+                target = s;
+                targetSize = size;
+                if (size == 2) {
+                    break;
+                }
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Split a vertex off its cell. The vertex is moved to the end of the cell, so that the rest of
+     * the cell keeps its position.
+     */
+    private void individualize(int v)
+    {
+        Partition p = partition;
+        int s = p.cellOf[v];
+        int e = p.cellEnd[s];
+        p.swap(p.pos[v], e - 1);
+        p.addCell(s, e - 1, e);
+
+        // the partition was equitable, so the new singleton is the only splitter required
+        enqueue(e - 1);
+    }
+
+    /**
+     * Refine the partition with the queued splitter cells until it is equitable.
+     */
+    private void refine()
+    {
+        Partition p = partition;
+        while (queueSize > 0) {
+            int s = queue[queueHead];
+            queueHead = (queueHead + 1) % n;
+            queueSize--;
+            inQueue[s] = false;
+
+            if (p.cells == n) {
+                continue;
+            }
+            int e = p.cellEnd[s];
+            split(s, e, inOffsets, inSources);
+            if (directed) {
+                split(s, e, outOffsets, outTargets);
+            }
+        }
+    }
+
+    /**
+     * Split all cells by the number of arcs from their vertices into the splitter cell
+     * $[s, e)$. The arcs are given as the reverse adjacency lists.
+     */
+    private void split(int s, int e, int[] offsets, int[] adjacent)
+    {
+        Partition p = partition;
+        int touchedCount = 0;
+        int touchedCellCount = 0;
+        for (int i = s; i < e; i++) {
+            int w = p.order[i];
+            for (int a = offsets[w]; a < offsets[w + 1]; a++) {
+                int u = adjacent[a];
+                if (count[u]++ == 0) {
+                    touched[touchedCount++] = u;
+                    int c = p.cellOf[u];
+                    if (cellTouched[c]++ == 0) {
+                        touchedCells[touchedCellCount++] = c;
+                    }
+                }
+            }
+        }
+
+        // move the touched vertices to the end of their cells
+        for (int i = 0; i < touchedCount; i++) {
+            int u = touched[i];
+            int c = p.cellOf[u];
+            p.swap(p.pos[u], p.cellEnd[c] - ++cellMoved[c]);
+        }
+
+        // split the cells in order of their position, which keeps the refinement canonical
+        Arrays.sort(touchedCells, 0, touchedCellCount);
+        for (int t = 0; t < touchedCellCount; t++) {
+            int c = touchedCells[t];
+            int end = p.cellEnd[c];
+            int from = end - cellTouched[c];
+            cellTouched[c] = 0;
+            cellMoved[c] = 0;
+            if (end - c > 1) {
+                splitCell(c, from, end);
+            }
+        }
+
+        for (int i = 0; i < touchedCount; i++) {
+            count[touched[i]] = 0;
+        }
+    }
+
+    /**
+     * Split the cell $[c, end)$ whose vertices in $[from, end)$ have a positive count.
+     */
+    private void splitCell(int c, int from, int end)
+    {
+        Partition p = partition;
+        p.saveRange(from, end);
+        for (int i = from; i < end; i++) {
+            int u = p.order[i];
+            keys[i] = ((long) count[u] << 32) | u;
+        }
+        Arrays.sort(keys, from, end);
+        for (int i = from; i < end; i++) {
+            int u = (int) keys[i];
+            p.order[i] = u;
+            p.pos[u] = i;
+        }
+
+        // find the largest subcell, the first one in case of ties
+        int largest = c;
+        int largestSize = from - c;
+        int a = from;
+        while (a < end) {
+            int b = nextBoundary(a, end);
+            if (b - a > largestSize) {
+                largest = a;
+                largestSize = b - a;
+            }
+            a = b;
+        }
+        if (largestSize == end - c) {
+            return;
+        }
+
+        boolean queued = inQueue[c];
+        a = from == c ? nextBoundary(c, end) : from;
+        if (!queued && largest != c) {
+            enqueue(c);
+        }
+        while (a < end) {
+            int b = nextBoundary(a, end);
+            p.addCell(c, a, b);
+            if (queued || largest != a) {
+                enqueue(a);
+            }
+            a = b;
+        }
+    }
+
+    private int nextBoundary(int a, int end)
+    {
+        int[] order = partition.order;
+        int k = count[order[a]];
+        int b = a + 1;
+        while (b < end && count[order[b]] == k) {
+            b++;
+        }
+        return b;
+    }
+
+    private void enqueue(int s)
+    {
+        if (!inQueue[s]) {
+            inQueue[s] = true;
+            queue[(queueHead + queueSize) % n] = s;
+            queueSize++;
+        }
+    }
+
+    private boolean inExploredOrbit(int v, int exploredFrom)
+    {
+        if (unionCount == 0) {
+            return false;
+        }
+        int root = find(v);
+        for (int i = exploredFrom; i < exploredSize; i++) {
+            if (find(explored[i]) == root) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int find(int v)
+    {
+        while (orbitParent[v] != v) {
+            v = orbitParent[v];
+        }
+        return v;
+    }
+
+    /**
+     * Merge two orbits. Union by size without path compression keeps the unions reversible.
+     */
+    private void union(int u, int v)
+    {
+        int r1 = find(u);
+        int r2 = find(v);
+        if (r1 == r2) {
+            return;
+        }
+        if (orbitSize[r1] < orbitSize[r2]) {
+            int tmp = r1;
+            r1 = r2;
+            r2 = tmp;
+        }
+        orbitParent[r2] = r1;
+        orbitSize[r1] += orbitSize[r2];
+        unions[unionCount++] = r2;
+    }
+
+    /**
+     * Undo all unions.
+     *
+     * @return the undone unions as pairs of vertices, or null if there were none
+     */
+    private int[] removeUnions()
+    {
+        if (unionCount == 0) {
+            return null;
+        }
+        int[] saved = new int[2 * unionCount];
+        for (int i = unionCount - 1; i >= 0; i--) {
+            int r = unions[i];
+            int parent = orbitParent[r];
+            saved[2 * i] = r;
+            saved[2 * i + 1] = parent;
+            orbitSize[parent] -= orbitSize[r];
+            orbitParent[r] = r;
+        }
+        unionCount = 0;
+        return saved;
+    }
+
+    private void restoreUnions(int[] saved)
+    {
+        if (saved != null) {
+            for (int i = 0; i < saved.length; i += 2) {
+                union(saved[i], saved[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Record the automorphism mapping one leaf to another. It fixes the common prefix of the two
+     * paths, so its orbits are valid at all nodes of the search up to the deepest common ancestor,
+     * which is where the search continues.
+     */
+    private void addAutomorphism(int[] from, int[] to)
+    {
+        int[] g = new int[n];
+        for (int i = 0; i < n; i++) {
+            g[from[i]] = to[i];
+        }
+        generators.add(g);
+        for (int v = 0; v < n; v++) {
+            if (g[v] != v) {
+                union(v, g[v]);
+            }
+        }
+    }
+
+    private int commonPrefix(int[] other, int depth)
+    {
+        int k = 0;
+        while (k < other.length && k < depth && other[k] == path[k]) {
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * Compute the sorted list of the arcs of the graph relabeled by a discrete partition.
+     */
+    private long[] edgeCode(int[] order)
+    {
+        for (int i = 0; i < n; i++) {
+            label[order[i]] = i;
+        }
+        long[] code = new long[codeLength];
+        int k = 0;
+        for (int u = 0; u < n; u++) {
+            long lu = label[u];
+            for (int a = outOffsets[u]; a < outOffsets[u + 1]; a++) {
+                long lv = label[outTargets[a]];
+                if (directed) {
+                    code[k++] = lu * n + lv;
+                } else if (u <= outTargets[a]) {
+                    code[k++] = Math.min(lu, lv) * n + Math.max(lu, lv);
+                }
+            }
+        }
+        Arrays.sort(code);
+        return code;
+    }
+
+    private static int compare(long[] a, long[] b)
+    {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) {
+                return Long.compare(a[i], b[i]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * An ordered partition of the vertex indices. The cell of a vertex is identified by its first
+     * position. All changes are recorded on a trail, so that the search can restore the partition
+     * of a node after exploring its children instead of copying it.
+     */
+    private static class Partition
+    {
+        private static final int SWAP = -1;
+        private static final int ADD_CELL = -2;
+        private static final int RANGE = -3;
+
+        final int[] order;
+        final int[] pos;
+        final int[] cellOf;
+        final int[] cellEnd;
+        int cells;
+
+        private int[] trail;
+        private int trailSize;
+
+        Partition(int n)
+        {
+            this.order = new int[n];
+            this.pos = new int[n];
+            this.cellOf = new int[n];
+            this.cellEnd = new int[n];
+            this.trail = new int[Math.max(16, 2 * n)];
+        }
+
+        /**
+         * Swap the vertices at two positions.
+         */
+        void swap(int i, int j)
+        {
+            if (i == j) {
+                return;
+            }
+            exchange(i, j);
+            push(i);
+            push(j);
+            push(SWAP);
+        }
+
+        /**
+         * Turn the positions $[a, b)$ at the end of cell $c$ into a new cell.
+         */
+        void addCell(int c, int a, int b)
+        {
+            cellEnd[a] = b;
+            for (int i = a; i < b; i++) {
+                cellOf[order[i]] = a;
+            }
+            if (cellEnd[c] > a) {
+                cellEnd[c] = a;
+            }
+            cells++;
+            push(c);
+            push(a);
+            push(ADD_CELL);
+        }
+
+        /**
+         * Save the vertices at the positions $[from, end)$ before they are reordered.
+         */
+        void saveRange(int from, int end)
+        {
+            for (int i = from; i < end; i++) {
+                push(order[i]);
+            }
+            push(from);
+            push(end);
+            push(RANGE);
+        }
+
+        int mark()
+        {
+            return trailSize;
+        }
+
+        /**
+         * Undo all changes since a mark, in reverse order.
+         */
+        void undo(int mark)
+        {
+            while (trailSize > mark) {
+                int type = trail[--trailSize];
+                if (type == SWAP) {
+                    int j = trail[--trailSize];
+                    int i = trail[--trailSize];
+                    exchange(i, j);
+                } else if (type == ADD_CELL) {
+                    int a = trail[--trailSize];
+                    int c = trail[--trailSize];
+                    int b = cellEnd[a];
+                    for (int i = a; i < b; i++) {
+                        cellOf[order[i]] = c;
+                    }
+                    if (cellEnd[c] < b) {
+                        cellEnd[c] = b;
+                    }
+                    cells--;
+                } else {
+                    int end = trail[--trailSize];
+                    int from = trail[--trailSize];
+                    for (int i = end - 1; i >= from; i--) {
+                        int u = trail[--trailSize];
+                        order[i] = u;
+                        pos[u] = i;
+                    }
+                }
+            }
+        }
+
+        private void exchange(int i, int j)
+        {
+            int u = order[i];
+            int v = order[j];
+            order[i] = v;
+            pos[v] = i;
+            order[j] = u;
+            pos[u] = j;
+        }
+
+        private void push(int value)
+        {
+            if (trailSize == trail.length) {
+                trail = Arrays.copyOf(trail, 2 * trail.length);
+            }
+            trail[trailSize++] = value;
+        }
+    }
+
+    /**
+     * The certificate of a graph, which is equal for two graphs if and only if they are
+     * isomorphic. Certificates are immutable and can be used as keys of hash maps.
+     */
+    public static final class Certificate
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = 4727416937525286717L;
+
+        private final long[] data;
+        private final int hash;
+
+        Certificate(long[] data)
+        {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Certificate)) {
+                return false;
+            }
+            Certificate other = (Certificate) o;
+            return hash == other.hash && Arrays.equals(data, other.data);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public String toString()
+        {
+            return Arrays.toString(data);
+        }
+    }
+}
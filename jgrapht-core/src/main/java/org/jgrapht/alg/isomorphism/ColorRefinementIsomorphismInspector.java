@@ -35,6 +35,10 @@ import java.util.*;
  * Systems,doi:10.1007/s00224-016-9686-0, 2016 (color refinement) The complexity of this algorithm
  * is O(|V| + |E| log |V|).
  *
+ * <p>
+ * In order to group a large number of graphs by isomorphism class, compare the certificates of
+ * {@link CanonicalLabeling} instead of testing pairs of graphs.
+ *
  * @param <V> the type of the vertices
  * @param <E> the type of the edges
  *
@@ -25,6 +25,12 @@ import java.util.*;
  * This class represents the order on the graph vertices. There are also some helper-functions for
  * receiving outgoing/incoming edges, etc.
  *
+ * <p>
+ * If edges are cached, the neighbors of each vertex are stored as a sorted int array, which is
+ * computed on first access, and {@link #hasEdge(int, int)} is a binary search in the array of the
+ * source. This takes space linear in the size of the graph, so that large sparse graphs can be
+ * matched.
+ *
  * @param <V> the type of the vertices
  * @param <E> the type of the edges
  */
@@ -39,7 +45,6 @@ class GraphOrdering<V, E>
 
     private int[][] outgoingEdges;
     private int[][] incomingEdges;
-    private Boolean[][] adjMatrix;
 
     private boolean cacheEdges;
 
@@ -47,8 +52,8 @@ class GraphOrdering<V, E>
      * @param graph the graph to be ordered
      * @param orderByDegree should the vertices be ordered by their degree. This speeds up the VF2
      *        algorithm.
-     * @param cacheEdges if true, the class creates a adjacency matrix and two arrays for incoming
-     *        and outgoing edges for fast access.
+     * @param cacheEdges if true, the class caches sorted arrays of the incoming and outgoing
+     *        neighbors of each vertex for fast access.
      */
     public GraphOrdering(Graph<V, E> graph, boolean orderByDegree, boolean cacheEdges)
     {
@@ -67,7 +72,6 @@ class GraphOrdering<V, E>
         if (cacheEdges) {
             outgoingEdges = new int[vertexCount][];
             incomingEdges = new int[vertexCount][];
-            adjMatrix = new Boolean[vertexCount][vertexCount];
         }
 
         Integer i = 0;
@@ -97,7 +101,7 @@ class GraphOrdering<V, E>
      * @param vertexNumber the number which identifies the vertex $v$ in this order.
      *
      * @return the identifying numbers of all vertices which are connected to $v$ by an edge
-     *         outgoing from $v$.
+     *         outgoing from $v$, in increasing order.
      */
     public int[] getOutEdges(int vertexNumber)
     {
@@ -115,6 +119,7 @@ class GraphOrdering<V, E>
             V source = graph.getEdgeSource(edge), target = graph.getEdgeTarget(edge);
             vertexArray[i++] = mapVertexToOrder.get(source.equals(v) ? target : source);
         }
+        Arrays.sort(vertexArray);
 
         if (cacheEdges) {
             outgoingEdges[vertexNumber] = vertexArray;
@@ -127,7 +132,7 @@ class GraphOrdering<V, E>
      * @param vertexNumber the number which identifies the vertex $v$ in this order.
      *
      * @return the identifying numbers of all vertices which are connected to $v$ by an edge
-     *         incoming to $v$.
+     *         incoming to $v$, in increasing order.
      */
     public int[] getInEdges(int vertexNumber)
     {
@@ -145,6 +150,7 @@ class GraphOrdering<V, E>
             V source = graph.getEdgeSource(edge), target = graph.getEdgeTarget(edge);
             vertexArray[i++] = mapVertexToOrder.get(source.equals(v) ? target : source);
         }
+        Arrays.sort(vertexArray);
 
         if (cacheEdges) {
             incomingEdges[vertexNumber] = vertexArray;
@@ -153,6 +159,20 @@ class GraphOrdering<V, E>
         return vertexArray;
     }
 
+    /**
+     * Computes the neighbor arrays of all vertices, if edges are cached. Afterwards this ordering
+     * is not modified any more and can be shared between threads.
+     */
+    public void fillEdgeCache()
+    {
+        if (cacheEdges) {
+            for (int v = 0; v < vertexCount; v++) {
+                getOutEdges(v);
+                getInEdges(v);
+            }
+        }
+    }
+
     /**
      * @param v1Number the number of the first vertex $v_1$
      * @param v2Number the number of the second vertex $v_2$
@@ -161,24 +181,12 @@ class GraphOrdering<V, E>
      */
     public boolean hasEdge(int v1Number, int v2Number)
     {
-        V v1, v2;
-        Boolean containsEdge = null;
-
         if (cacheEdges) {
-            containsEdge = adjMatrix[v1Number][v2Number];
-        }
-
-        if (!cacheEdges || (containsEdge == null)) {
-            v1 = getVertex(v1Number);
-            v2 = getVertex(v2Number);
-            containsEdge = graph.containsEdge(v1, v2);
+            return Arrays.binarySearch(getOutEdges(v1Number), v2Number) >= 0;
         }
 
-        if (cacheEdges && (adjMatrix[v1Number][v2Number] == null)) {
-            adjMatrix[v1Number][v2Number] = containsEdge;
-        }
-
-        return containsEdge;
+        V v1 = getVertex(v1Number), v2 = getVertex(v2Number);
+        return graph.containsEdge(v1, v2);
     }
 
     /**
@@ -38,6 +38,9 @@ abstract class VF2State<V, E>
     protected int coreLen, n1, n2, t1BothLen, t2BothLen, t1InLen, t2InLen, t1OutLen, t2OutLen,
         addedVertex1, addVertex1, addVertex2;
 
+    // range of the first graph's vertices which are tried for the first pair
+    protected int firstFrom, firstTo;
+
     protected GraphOrdering<V, E> g1, g2;
 
     protected Comparator<V> vertexComparator;
@@ -73,6 +76,9 @@ abstract class VF2State<V, E>
         coreLen = 0;
         addedVertex1 = addVertex1 = addVertex2 = NULL_NODE;
 
+        firstFrom = 0;
+        firstTo = n1;
+
         t1BothLen = t2BothLen = t1InLen = t2InLen = t1OutLen = t2OutLen = 0;
     }
 
@@ -111,6 +117,22 @@ abstract class VF2State<V, E>
         addVertex1 = s.addVertex1;
         addVertex2 = s.addVertex2;
         addedVertex1 = s.addedVertex1;
+
+        firstFrom = s.firstFrom;
+        firstTo = s.firstTo;
+    }
+
+    /**
+     * restricts the vertices of the first graph which are tried for the first pair. This splits
+     * the search tree into independent parts.
+     *
+     * @param from the first vertex number, inclusive
+     * @param to the last vertex number, exclusive
+     */
+    public void restrictFirstPair(int from, int to)
+    {
+        firstFrom = from;
+        firstTo = to;
     }
 
     /**
@@ -131,6 +153,11 @@ abstract class VF2State<V, E>
             addVertex1++;
         }
 
+        // no vertex is matched yet, so all vertices in the range are candidates
+        if ((coreLen == 0) && (addVertex1 < firstFrom)) {
+            addVertex1 = firstFrom;
+        }
+
         // check incoming and outgoing edges
         if ((t1BothLen > coreLen) && (t2BothLen > coreLen)) {
             // find minimum for addVertex2 in core2 and t2in/t2out
@@ -142,10 +169,12 @@ abstract class VF2State<V, E>
             }
 
             // find first/next vertex for addVertex1 in core1 and t1in/t1out
+            int[] candidates = candidates1();
+            addVertex1 = nextCandidate(candidates, addVertex1);
             while ((addVertex1 < n1) && ((core1[addVertex1] != NULL_NODE) || (out1[addVertex1] == 0)
                 || (in1[addVertex1] == 0)))
             {
-                addVertex1++;
+                addVertex1 = nextCandidate(candidates, addVertex1 + 1);
             }
         }
 
@@ -158,10 +187,12 @@ abstract class VF2State<V, E>
                 addVertex1 = 0;
             }
 
+            int[] candidates = candidates1();
+            addVertex1 = nextCandidate(candidates, addVertex1);
             while ((addVertex1 < n1)
                 && ((core1[addVertex1] != NULL_NODE) || (out1[addVertex1] == 0)))
             {
-                addVertex1++;
+                addVertex1 = nextCandidate(candidates, addVertex1 + 1);
             }
         }
 
@@ -174,10 +205,12 @@ abstract class VF2State<V, E>
                 addVertex1 = 0;
             }
 
+            int[] candidates = candidates1();
+            addVertex1 = nextCandidate(candidates, addVertex1);
             while ((addVertex1 < n1)
                 && ((core1[addVertex1] != NULL_NODE) || (in1[addVertex1] == 0)))
             {
-                addVertex1++;
+                addVertex1 = nextCandidate(candidates, addVertex1 + 1);
             }
         }
 
@@ -193,28 +226,90 @@ abstract class VF2State<V, E>
             }
         }
 
+        if ((coreLen == 0) && (addVertex1 >= firstTo)) {
+            addVertex1 = n1;
+        }
+
         if ((addVertex1 < n1) && (addVertex2 < n2)) {
-            showLog(
-                "nextPair", "next candidate pair: (" + g1.getVertex(addVertex1) + ", "
-                    + g2.getVertex(addVertex2) + ")");
+            if (DEBUG) {
+                showLog(
+                    "nextPair", "next candidate pair: (" + g1.getVertex(addVertex1) + ", "
+                        + g2.getVertex(addVertex2) + ")");
+            }
             return true;
         }
 
         // there are no more pairs..
-        showLog("nextPair", "no more candidate pairs");
+        if (DEBUG) {
+            showLog("nextPair", "no more candidate pairs");
+        }
 
         addVertex1 = addVertex2 = NULL_NODE;
         return false;
     }
 
+    /**
+     * Every vertex of the first graph which fits addVertex2 is adjacent to the image of each
+     * matched neighbor of addVertex2. The neighbors of the image of such a neighbor are therefore
+     * the only candidates for addVertex1, and the shortest of these sorted arrays is returned. This
+     * keeps the search local in large sparse graphs, where scanning all vertices for the next
+     * candidate would dominate the running time.
+     *
+     * @return the sorted candidates for addVertex1, or null if every vertex is a candidate
+     */
+    private int[] candidates1()
+    {
+        if (addVertex2 >= n2) {
+            return null;
+        }
+        int[] candidates = null;
+        for (int other2 : g2.getInEdges(addVertex2)) {
+            if (core2[other2] != NULL_NODE) {
+                int[] c = g1.getOutEdges(core2[other2]);
+                if ((candidates == null) || (c.length < candidates.length)) {
+                    candidates = c;
+                }
+            }
+        }
+        for (int other2 : g2.getOutEdges(addVertex2)) {
+            if (core2[other2] != NULL_NODE) {
+                int[] c = g1.getInEdges(core2[other2]);
+                if ((candidates == null) || (c.length < candidates.length)) {
+                    candidates = c;
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @param candidates the sorted candidates, or null if every vertex is a candidate
+     * @param v a vertex number of the first graph
+     *
+     * @return the smallest candidate not smaller than v, or n1 if there is none
+     */
+    private int nextCandidate(int[] candidates, int v)
+    {
+        if (candidates == null) {
+            return v;
+        }
+        int pos = Arrays.binarySearch(candidates, v);
+        if (pos < 0) {
+            pos = -pos - 1;
+        }
+        return (pos < candidates.length) ? candidates[pos] : n1;
+    }
+
     /**
      * adds the pair to the current matching.
      */
     public void addPair()
     {
-        showLog(
-            "addPair",
-            "(" + g1.getVertex(addVertex1) + ", " + g2.getVertex(addVertex2) + ") added");
+        if (DEBUG) {
+            showLog(
+                "addPair",
+                "(" + g1.getVertex(addVertex1) + ", " + g2.getVertex(addVertex2) + ") added");
+        }
 
         coreLen++;
         addedVertex1 = addVertex1;
@@ -317,9 +412,11 @@ abstract class VF2State<V, E>
     {
         int addedVertex2 = core1[addedVertex1];
 
-        showLog(
-            "backtrack", "remove (" + g1.getVertex(addedVertex1) + ", " + g2.getVertex(addedVertex2)
-                + ") from the matching");
+        if (DEBUG) {
+            showLog(
+                "backtrack", "remove (" + g1.getVertex(addedVertex1) + ", "
+                    + g2.getVertex(addedVertex2) + ") from the matching");
+        }
 
         if (in1[addedVertex1] == coreLen) {
             in1[addedVertex1] = 0;
@@ -18,8 +18,12 @@
 package org.jgrapht.alg.isomorphism;
 
 import org.jgrapht.*;
+import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.stream.*;
 
 /**
  * This is an implementation of the VF2 algorithm using its feature of detecting subgraph
@@ -47,6 +51,13 @@ import java.util.*;
  * <p>
  * This implementation of the VF2 algorithm does not support graphs with multiple (parallel) edges.
  *
+ * <p>
+ * Besides the sequential iterator, the mappings can be enumerated in parallel through
+ * {@link #getMappingStream()} or counted without building them through
+ * {@link #countMappings(ForkJoinPool, long)}. Both split the search tree by the vertex of the first
+ * graph which the first vertex of the second graph is mapped to. Comparators must be thread-safe
+ * when used in parallel.
+ *
  * @param <V> the type of the vertices
  * @param <E> the type of the edges
  */
@@ -54,6 +65,7 @@ public class VF2SubgraphIsomorphismInspector<V, E>
     extends
     VF2AbstractIsomorphismInspector<V, E>
 {
+    private static final int COUNT_BATCH = 1024;
 
     /**
      * Construct a new VF2 subgraph isomorphism inspector.
@@ -116,4 +128,77 @@ public class VF2SubgraphIsomorphismInspector<V, E>
         return new VF2SubgraphMappingIterator<>(
             ordering1, ordering2, vertexComparator, edgeComparator);
     }
+
+    /**
+     * Get a stream of all mappings, in the same order as {@link #getMappings()}. The stream is
+     * lazy, and short-circuiting operations such as {@link Stream#findAny()} or
+     * {@link Stream#limit(long)} stop the search early. A parallel stream splits the search tree
+     * at its root and explores the parts on the common {@link ForkJoinPool}, or on the pool which
+     * the terminal operation is submitted to.
+     *
+     * @return a stream of all mappings
+     */
+    public Stream<GraphMapping<V, E>> getMappingStream()
+    {
+        return StreamSupport.stream(
+            new VF2SubgraphMappingSpliterator<>(
+                ordering1, ordering2, vertexComparator, edgeComparator, 0, rootCount()),
+            false);
+    }
+
+    /**
+     * Count all mappings without building them.
+     *
+     * @param pool the pool to use, or null for sequential execution
+     * @return the number of mappings
+     */
+    public long countMappings(ForkJoinPool pool)
+    {
+        return countMappings(pool, Long.MAX_VALUE);
+    }
+
+    /**
+     * Count the mappings without building them, and stop as soon as a limit is reached. With a
+     * limit of one, this decides whether a mapping exists.
+     *
+     * @param pool the pool to use, or null for sequential execution
+     * @param limit the largest number of mappings to count
+     * @return the number of mappings, or the limit if there are more
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public long countMappings(ForkJoinPool pool, long limit)
+    {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must be non-negative");
+        }
+        if (pool != null) {
+            ordering1.fillEdgeCache();
+            ordering2.fillEdgeCache();
+        }
+
+        AtomicLong count = new AtomicLong();
+        ConcurrencyUtil.parallelFor(pool, 0, rootCount(), (from, to) -> {
+            VF2SubgraphMappingIterator<V, E> it = new VF2SubgraphMappingIterator<>(
+                ordering1, ordering2, vertexComparator, edgeComparator, from, to);
+            // the shared counter is updated in batches to avoid contention
+            long local = 0;
+            while (count.get() + local < limit && it.matchState() != null) {
+                if (++local == COUNT_BATCH) {
+                    count.addAndGet(local);
+                    local = 0;
+                }
+            }
+            count.addAndGet(local);
+        });
+        return Math.min(count.get(), limit);
+    }
+
+    /**
+     * The number of vertices which the first vertex of the second graph can be mapped to. If the
+     * second graph is empty, there is exactly one mapping, which is found by a single part.
+     */
+    private int rootCount()
+    {
+        return (ordering2.getVertexCount() == 0) ? 1 : ordering1.getVertexCount();
+    }
 }
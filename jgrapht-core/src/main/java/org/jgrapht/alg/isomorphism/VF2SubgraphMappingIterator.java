@@ -32,15 +32,50 @@ class VF2SubgraphMappingIterator<V, E>
     extends
     VF2MappingIterator<V, E>
 {
+    private final int firstFrom, firstTo;
+
     public VF2SubgraphMappingIterator(
         GraphOrdering<V, E> ordering1, GraphOrdering<V, E> ordering2,
         Comparator<V> vertexComparator, Comparator<E> edgeComparator)
+    {
+        this(
+            ordering1, ordering2, vertexComparator, edgeComparator, 0,
+            ordering1.getVertexCount());
+    }
+
+    /**
+     * Iterate over the mappings which map the first vertex of the second graph to a vertex of the
+     * first graph in the range $[firstFrom, firstTo)$.
+     *
+     * @param ordering1 ordering of the first graph
+     * @param ordering2 ordering of the second graph
+     * @param vertexComparator comparator for semantic equivalence of vertices
+     * @param edgeComparator comparator for semantic equivalence of edges
+     * @param firstFrom the first vertex number, inclusive
+     * @param firstTo the last vertex number, exclusive
+     */
+    VF2SubgraphMappingIterator(
+        GraphOrdering<V, E> ordering1, GraphOrdering<V, E> ordering2,
+        Comparator<V> vertexComparator, Comparator<E> edgeComparator, int firstFrom, int firstTo)
     {
         super(ordering1, ordering2, vertexComparator, edgeComparator);
+        this.firstFrom = firstFrom;
+        this.firstTo = firstTo;
     }
 
     @Override
     protected IsomorphicGraphMapping<V, E> match()
+    {
+        VF2State<V, E> s = matchState();
+        return (s == null) ? null : s.getCurrentMapping();
+    }
+
+    /**
+     * Moves to the next mapping without building it.
+     *
+     * @return the state of the next complete matching, or null if there is none
+     */
+    VF2State<V, E> matchState()
     {
         VF2State<V, E> s;
 
@@ -55,9 +90,14 @@ class VF2SubgraphMappingIterator<V, E>
 
             s = new VF2SubgraphIsomorphismState<>(
                 ordering1, ordering2, vertexComparator, edgeComparator);
+            s.restrictFirstPair(firstFrom, firstTo);
 
             if (g2.vertexSet().isEmpty()) {
-                return (hadOneMapping != null) ? null : s.getCurrentMapping();
+                if (hadOneMapping != null) {
+                    return null;
+                }
+                hadOneMapping = true;
+                return s;
             }
         } else {
             stateStack.pop().backtrack();
@@ -73,7 +113,7 @@ class VF2SubgraphMappingIterator<V, E>
 
                     if (s.isGoal()) {
                         stateStack.push(s);
-                        return s.getCurrentMapping();
+                        return s;
                     }
 
                     s.resetAddVertexes();
@@ -0,0 +1,122 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A spliterator over the subgraph isomorphic mappings between two graphs. It is used by the
+ * {@link VF2SubgraphIsomorphismInspector}.
+ *
+ * <p>
+ * The search tree is split at its root: every spliterator owns a range of the vertices of the first
+ * graph which the first vertex of the second graph may be mapped to, and splitting hands off the
+ * first half of the range. Parts of the search are independent, and every part runs the sequential
+ * VF2 algorithm on its own state. The mappings are produced lazily, so that short-circuiting
+ * operations stop the search early.
+ *
+ * @param <V> the type of the vertices
+ * @param <E> the type of the edges
+ */
+class VF2SubgraphMappingSpliterator<V, E>
+    implements
+    Spliterator<GraphMapping<V, E>>
+{
+    private final GraphOrdering<V, E> ordering1, ordering2;
+    private final Comparator<V> vertexComparator;
+    private final Comparator<E> edgeComparator;
+
+    private int from, to;
+    private VF2SubgraphMappingIterator<V, E> iterator;
+    private boolean done;
+
+    /**
+     * @param ordering1 ordering of the first graph
+     * @param ordering2 ordering of the second graph
+     * @param vertexComparator comparator for semantic equivalence of vertices
+     * @param edgeComparator comparator for semantic equivalence of edges
+     * @param from the first vertex number of the root range, inclusive
+     * @param to the last vertex number of the root range, exclusive
+     */
+    VF2SubgraphMappingSpliterator(
+        GraphOrdering<V, E> ordering1, GraphOrdering<V, E> ordering2,
+        Comparator<V> vertexComparator, Comparator<E> edgeComparator, int from, int to)
+    {
+        this.ordering1 = ordering1;
+        this.ordering2 = ordering2;
+        this.vertexComparator = vertexComparator;
+        this.edgeComparator = edgeComparator;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super GraphMapping<V, E>> action)
+    {
+        if (done) {
+            return false;
+        }
+        if (iterator == null) {
+            iterator = new VF2SubgraphMappingIterator<>(
+                ordering1, ordering2, vertexComparator, edgeComparator, from, to);
+        }
+        if (!iterator.hasNext()) {
+            done = true;
+            return false;
+        }
+        action.accept(iterator.next());
+        return true;
+    }
+
+    @Override
+    public Spliterator<GraphMapping<V, E>> trySplit()
+    {
+        if (iterator != null || ordering2.getVertexCount() == 0 || to - from < 2) {
+            return null;
+        }
+
+        // the orderings are shared by all parts and must not be modified concurrently
+        ordering1.fillEdgeCache();
+        ordering2.fillEdgeCache();
+
+        int mid = (from + to) >>> 1;
+        Spliterator<GraphMapping<V, E>> prefix = new VF2SubgraphMappingSpliterator<>(
+            ordering1, ordering2, vertexComparator, edgeComparator, from, mid);
+        from = mid;
+        return prefix;
+    }
+
+    /**
+     * The number of mappings is unknown, so the number of vertices in the root range is used as
+     * estimate.
+     */
+    @Override
+    public long estimateSize()
+    {
+        return done ? 0 : to - from;
+    }
+
+    @Override
+    public int characteristics()
+    {
+        return ORDERED | NONNULL;
+    }
+}
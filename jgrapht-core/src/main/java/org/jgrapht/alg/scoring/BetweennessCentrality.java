@@ -19,9 +19,11 @@ package org.jgrapht.alg.scoring;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Betweenness centrality.
@@ -44,6 +46,19 @@ import java.util.*;
  * respectively, where $n$ is the number of vertices and $m$ the number of edges of the graph. The
  * space complexity is $O(n + m)$.
  *
+ * <p>
+ * The graph is first copied into an {@link IntGraphSnapshot} and every single source computation
+ * runs on primitive arrays which are reused across sources. If a {@link ForkJoinPool} is
+ * supplied, the sources are partitioned into chunks which are processed in parallel. Each thread
+ * accumulates partial scores in its own workspace, which costs $O(n)$ space per thread, and the
+ * partial scores are summed at the end. Since floating point addition is not associative, the
+ * scores of a parallel computation may differ from the sequential ones in the last bits.
+ *
+ * <p>
+ * Optionally the scores can be approximated by running the single source computation from $k$
+ * pivots chosen uniformly at random and extrapolating their contribution by a factor of $n/k$,
+ * as described in U. Brandes and C. Pich. Centrality estimation in large networks. International
+ * Journal of Bifurcation and Chaos, 17(7):2303–2318, 2007.
  * 
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -63,6 +78,18 @@ public class BetweennessCentrality<V, E>
      * Whether to normalize scores
      */
     private final boolean normalize;
+    /**
+     * The pool used to process sources in parallel, or null
+     */
+    private final ForkJoinPool pool;
+    /**
+     * Number of pivots, or zero in order to use all vertices as sources
+     */
+    private final int numberOfPivots;
+    /**
+     * Random number generator used to select the pivots
+     */
+    private final Random rng;
     /**
      * The actual scores
      */
@@ -86,11 +113,58 @@ public class BetweennessCentrality<V, E>
      *        $n$ is the number of vertices of the graph
      */
     public BetweennessCentrality(Graph<V, E> graph, boolean normalize)
+    {
+        this(graph, normalize, null);
+    }
+
+    /**
+     * Construct a new instance which computes the exact scores, processing the sources in
+     * parallel.
+     * 
+     * @param graph the input graph
+     * @param normalize whether to normalize by dividing the closeness by $(n-1) \cdot (n-2)$, where
+     *        $n$ is the number of vertices of the graph
+     * @param pool the pool used to process the sources, or null in order to process them
+     *        sequentially
+     */
+    public BetweennessCentrality(Graph<V, E> graph, boolean normalize, ForkJoinPool pool)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+
+        this.scores = null;
+        this.normalize = normalize;
+        this.pool = pool;
+        this.numberOfPivots = 0;
+        this.rng = null;
+    }
+
+    /**
+     * Construct a new instance which approximates the scores using randomly selected pivots as
+     * sources. If the number of pivots is not smaller than the number of vertices, the exact
+     * scores are computed.
+     * 
+     * @param graph the input graph
+     * @param normalize whether to normalize by dividing the closeness by $(n-1) \cdot (n-2)$, where
+     *        $n$ is the number of vertices of the graph
+     * @param pool the pool used to process the sources, or null in order to process them
+     *        sequentially
+     * @param numberOfPivots the number of pivots
+     * @param rng the random number generator used to select the pivots
+     * @throws IllegalArgumentException if the number of pivots is not positive
+     */
+    public BetweennessCentrality(
+        Graph<V, E> graph, boolean normalize, ForkJoinPool pool, int numberOfPivots, Random rng)
     {
         this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (numberOfPivots <= 0) {
+            throw new IllegalArgumentException("Number of pivots must be positive");
+        }
 
         this.scores = null;
         this.normalize = normalize;
+        this.pool = pool;
+        this.numberOfPivots = numberOfPivots;
+        this.rng = Objects.requireNonNull(rng, "Random number generator cannot be null");
     }
 
     /**
@@ -125,172 +199,183 @@ public class BetweennessCentrality<V, E>
      */
     private void compute()
     {
-        // initialize result container
-        this.scores = new HashMap<>();
-        this.graph.vertexSet().forEach(v -> this.scores.put(v, 0.0));
-
-        // compute for each source
-        this.graph.vertexSet().forEach(this::compute);
-
-        // For undirected graph, divide scores by two as each shortest path
-        // considered twice.
-        if (!this.graph.getType().isDirected()) {
-            this.scores.forEach((v, score) -> this.scores.put(v, score / 2));
-        }
-
-        if (normalize) {
-            int n = this.graph.vertexSet().size();
-            int normalizationFactor = (n - 1) * (n - 2);
-            if (normalizationFactor != 0) {
-                this.scores.forEach((v, score) -> this.scores.put(v, score / normalizationFactor));
+        IntGraphSnapshot<V, E> snapshot = new IntGraphSnapshot<>(graph, true);
+        int n = snapshot.vertexCount();
+        boolean weighted = graph.getType().isWeighted();
+        if (weighted) {
+            for (double w : snapshot.getOutWeights()) {
+                if (w < 0.0) {
+                    throw new IllegalArgumentException("Negative edge weight not allowed");
+                }
             }
         }
-    }
-
-    private void compute(V s)
-    {
-        // initialize
-        ArrayDeque<V> stack = new ArrayDeque<>();
-        Map<V, List<V>> predecessors = new HashMap<>();
-        this.graph.vertexSet().forEach(w -> predecessors.put(w, new ArrayList<>()));
-
-        // Number of shortest paths from s to v
-        Map<V, Double> sigma = new HashMap<>();
-        this.graph.vertexSet().forEach(t -> sigma.put(t, 0.0));
-        sigma.put(s, 1.0);
-
-        // Distance (Weight) of the shortest path from s to v
-        Map<V, Double> distance = new HashMap<>();
-        this.graph.vertexSet().forEach(t -> distance.put(t, Double.POSITIVE_INFINITY));
-        distance.put(s, 0.0);
 
-        MyQueue<V, Double> queue =
-            this.graph.getType().isWeighted() ? new WeightedQueue() : new UnweightedQueue();
-        queue.insert(s, 0.0);
-
-        // 1. compute the length and the number of shortest paths between all s to v
-        while (!queue.isEmpty()) {
-            V v = queue.remove();
-            stack.push(v);
-
-            for (E e : this.graph.outgoingEdgesOf(v)) {
-                V w = Graphs.getOppositeVertex(this.graph, e, v);
-                double eWeight = graph.getEdgeWeight(e);
-                if (eWeight < 0.0) {
-                    throw new IllegalArgumentException("Negative edge weight not allowed");
-                }
-                double d = distance.get(v) + eWeight;
-                // w found for the first time?
-                if (distance.get(w) == Double.POSITIVE_INFINITY) {
-                    queue.insert(w, d);
-                    distance.put(w, d);
-                }
-                // shortest path to w via v?
-                if (distance.get(w) >= d) {
-                    queue.update(w, d);
-                    sigma.put(w, sigma.get(w) + sigma.get(v));
-                    predecessors.get(w).add(v);
-                }
+        // select the sources
+        int[] sources = new int[n];
+        for (int i = 0; i < n; i++) {
+            sources[i] = i;
+        }
+        int k = n;
+        if (numberOfPivots > 0 && numberOfPivots < n) {
+            k = numberOfPivots;
+            for (int i = 0; i < k; i++) {
+                int j = i + rng.nextInt(n - i);
+                int tmp = sources[i];
+                sources[i] = sources[j];
+                sources[j] = tmp;
             }
         }
 
-        // 2. sum all pair dependencies.
-        // The pair-dependency of s and v in w
-        Map<V, Double> dependency = new HashMap<>();
-        this.graph.vertexSet().forEach(v -> dependency.put(v, 0.0));
-        // S returns vertices in order of non-increasing distance from s
-        while (!stack.isEmpty()) {
-            V w = stack.pop();
-            for (V v : predecessors.get(w)) {
-                dependency.put(
-                    v, dependency.get(v) + (sigma.get(v) / sigma.get(w)) * (1 + dependency.get(w)));
+        // compute for each source, accumulating partial scores per workspace
+        ConcurrentLinkedQueue<Workspace> workspaces = new ConcurrentLinkedQueue<>();
+        ConcurrencyUtil.parallelFor(pool, 0, k, (from, to) -> {
+            Workspace ws = workspaces.poll();
+            if (ws == null) {
+                ws = new Workspace(n, weighted);
             }
-            if (!w.equals(s)) {
-                this.scores.put(w, this.scores.get(w) + dependency.get(w));
+            for (int i = from; i < to; i++) {
+                ws.compute(snapshot, sources[i]);
+            }
+            workspaces.offer(ws);
+        });
+
+        // sum partial scores
+        double[] total = new double[n];
+        for (Workspace ws : workspaces) {
+            for (int v = 0; v < n; v++) {
+                total[v] += ws.scores[v];
             }
         }
-    }
-
-    private interface MyQueue<T, D>
-    {
-        void insert(T t, D d);
-
-        void update(T t, D d);
-
-        T remove();
 
-        boolean isEmpty();
-    }
-
-    private class WeightedQueue
-        implements
-        MyQueue<V, Double>
-    {
-
-        FibonacciHeap<V> delegate = new FibonacciHeap<>();
-        Map<V, FibonacciHeapNode<V>> seen = new HashMap<>();
-
-        @Override
-        public void insert(V t, Double d)
-        {
-            FibonacciHeapNode<V> node = new FibonacciHeapNode<>(t);
-            delegate.insert(node, d);
-            seen.put(t, node);
+        double factor = (double) n / k;
+        // For undirected graph, divide scores by two as each shortest path
+        // considered twice.
+        if (!this.graph.getType().isDirected()) {
+            factor /= 2;
         }
-
-        @Override
-        public void update(V t, Double d)
-        {
-            if (!seen.containsKey(t)) {
-                throw new IllegalArgumentException("Element " + t + " does not exist in queue");
+        if (normalize) {
+            long normalizationFactor = (long) (n - 1) * (n - 2);
+            if (normalizationFactor != 0) {
+                factor /= normalizationFactor;
             }
-            delegate.decreaseKey(seen.get(t), d);
         }
 
-        @Override
-        public V remove()
-        {
-            return delegate.removeMin().getData();
-        }
-
-        @Override
-        public boolean isEmpty()
-        {
-            return delegate.isEmpty();
+        // initialize result container
+        this.scores = new HashMap<>();
+        for (int v = 0; v < n; v++) {
+            this.scores.put(snapshot.getVertex(v), total[v] * factor);
         }
-
     }
 
-    private class UnweightedQueue
-        implements
-        MyQueue<V, Double>
+    /**
+     * Arrays used by the single source computations of one thread.
+     */
+    private static class Workspace
     {
-
-        Queue<V> delegate = new ArrayDeque<>();
-
-        @Override
-        public void insert(V t, Double d)
+        // Distance (Weight) of the shortest path from s to v
+        final double[] distance;
+        // Number of shortest paths from s to v
+        final double[] sigma;
+        // The pair-dependency of s and v
+        final double[] dependency;
+        // Vertices in order of non-decreasing distance from s
+        final int[] order;
+        final IndexedBinaryHeap heap;
+        final double[] scores;
+
+        Workspace(int n, boolean weighted)
         {
-            delegate.add(t);
+            this.distance = new double[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            this.sigma = new double[n];
+            this.dependency = new double[n];
+            this.order = new int[n];
+            this.heap = weighted ? new IndexedBinaryHeap(n) : null;
+            this.scores = new double[n];
         }
 
-        @Override
-        public void update(V t, Double d)
+        void compute(IntGraphSnapshot<?, ?> snapshot, int s)
         {
-            // do nothing
-        }
+            int[] outOffsets = snapshot.getOutOffsets();
+            int[] outTargets = snapshot.getOutTargets();
+            double[] outWeights = snapshot.getOutWeights();
+            int[] inOffsets = snapshot.getInOffsets();
+            int[] inSources = snapshot.getInSources();
+            double[] inWeights = snapshot.getInWeights();
+
+            // 1. compute the length and the number of shortest paths between all s to v
+            distance[s] = 0.0;
+            sigma[s] = 1.0;
+            int settled = 0;
+            if (heap == null) {
+                // breadth first search, the order array doubles as the queue
+                int tail = 0;
+                order[tail++] = s;
+                while (settled < tail) {
+                    int v = order[settled++];
+                    double d = distance[v] + 1.0;
+                    for (int a = outOffsets[v]; a < outOffsets[v + 1]; a++) {
+                        int w = outTargets[a];
+                        if (distance[w] == Double.POSITIVE_INFINITY) {
+                            distance[w] = d;
+                            order[tail++] = w;
+                        }
+                        if (distance[w] == d) {
+                            sigma[w] += sigma[v];
+                        }
+                    }
+                }
+            } else {
+                heap.clear();
+                heap.insert(s, 0.0);
+                while (!heap.isEmpty()) {
+                    int v = heap.deleteMin();
+                    order[settled++] = v;
+                    for (int a = outOffsets[v]; a < outOffsets[v + 1]; a++) {
+                        int w = outTargets[a];
+                        if (w == v) {
+                            continue;
+                        }
+                        double d = distance[v] + outWeights[a];
+                        if (d < distance[w]) {
+                            // shorter path to w, discard previous path counts
+                            heap.insertOrDecreaseKey(w, d);
+                            distance[w] = d;
+                            sigma[w] = sigma[v];
+                        } else if (d == distance[w]) {
+                            sigma[w] += sigma[v];
+                        }
+                    }
+                }
+            }
 
-        @Override
-        public V remove()
-        {
-            return delegate.remove();
-        }
+            // 2. sum all pair dependencies, visiting vertices in order of non-increasing
+            // distance from s. The predecessors of w are the sources of its incoming arcs which
+            // lie on a shortest path.
+            for (int i = settled - 1; i > 0; i--) {
+                int w = order[i];
+                double coefficient = (1 + dependency[w]) / sigma[w];
+                for (int a = inOffsets[w]; a < inOffsets[w + 1]; a++) {
+                    int v = inSources[a];
+                    if (v == w) {
+                        continue;
+                    }
+                    double d = distance[v] + (heap == null ? 1.0 : inWeights[a]);
+                    if (d == distance[w]) {
+                        dependency[v] += sigma[v] * coefficient;
+                    }
+                }
+                scores[w] += dependency[w];
+            }
 
-        @Override
-        public boolean isEmpty()
-        {
-            return delegate.isEmpty();
+            // reset the touched entries
+            for (int i = 0; i < settled; i++) {
+                int v = order[i];
+                distance[v] = Double.POSITIVE_INFINITY;
+                sigma[v] = 0.0;
+                dependency[v] = 0.0;
+            }
         }
-
     }
+
 }
@@ -56,8 +56,11 @@ import java.util.*;
  * clustering coefficient.
  *
  * <p>
- * The running time is $O(|V| + \Delta(G)^2)$ where $|V|$ is the number of vertices and $\Delta(G)$
- * is the maximum degree of a vertex. The space complexity is $O(|V|)$.
+ * The running time for a single vertex is $O(|V| + \Delta(G)^2)$ where $|V|$ is the number of
+ * vertices and $\Delta(G)$ is the maximum degree of a vertex. The scores of all vertices, the
+ * average and the global clustering coefficient are computed from the triangles found by
+ * {@link TriangleCount} in $O(|E|^{3/2})$ time, in parallel. The space complexity is
+ * $O(|V| + |E|)$.
  *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -201,6 +204,12 @@ public class ClusteringCoefficient<V, E>
 
         fullyComputedMap = true;
 
+        Map<V, Double> all = new TriangleCount<>(graph).getLocalClusteringCoefficients();
+        if (all != null) {
+            scores = all;
+            return;
+        }
+
         for (V v : graph.vertexSet()) {
             if (scores.containsKey(v)) {
                 continue;
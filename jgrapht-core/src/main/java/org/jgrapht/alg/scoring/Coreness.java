@@ -19,9 +19,11 @@ package org.jgrapht.alg.scoring;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
 
-import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Computes the coreness of each vertex in an undirected graph.
@@ -45,18 +47,38 @@ import java.util.*;
  * </ul>
  * it is possible to find a vertex ordering of a finite graph $G$ that optimizes the coloring number
  * of the ordering, in linear time, by using a bucket queue to repeatedly find and remove the vertex
- * of smallest degree.
+ * of smallest degree. The sequential implementation uses the array based bucket queue of
+ * <ul>
+ * <li>V. Batagelj and M. Zaversnik. An O(m) algorithm for cores decomposition of networks. arXiv
+ * preprint cs/0310049, 2003.</li>
+ * </ul>
+ * on an int-indexed snapshot of the graph and runs in $O(n + m)$ time.
+ *
+ * <p>
+ * If a {@link ForkJoinPool} is given, the coreness is instead computed as the fixed point of the
+ * h-index operator, as described in
+ * <ul>
+ * <li>L. Lü, T. Zhou, Q.-M. Zhang and H. E. Stanley. The H-index of a network node and its
+ * relation to degree and coreness. Nature Communications, 7:10168, 2016.</li>
+ * </ul>
+ * Starting from the degrees, every vertex repeatedly replaces its value by the h-index of the
+ * values of its neighbors. The values only decrease and converge to the coreness. Each round
+ * processes, in parallel, only the vertices with a neighbor whose value changed in the previous
+ * round. This performs more work than the sequential algorithm, but scales with the number of
+ * cores.
  *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  *
  * @author Dimitrios Michail
+ * @see DynamicCoreness
  */
 public final class Coreness<V, E>
     implements
     VertexScoringAlgorithm<V, Integer>
 {
     private final Graph<V, E> g;
+    private final ForkJoinPool pool;
     private Map<V, Integer> scores;
     private int degeneracy;
 
@@ -66,8 +88,21 @@ public final class Coreness<V, E>
      * @param g the input graph
      */
     public Coreness(Graph<V, E> g)
+    {
+        this(g, null);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param g the input graph
+     * @param pool the pool to use for the parallel h-index iteration, or null to use the
+     *        sequential bucket algorithm
+     */
+    public Coreness(Graph<V, E> g, ForkJoinPool pool)
     {
         this.g = GraphTests.requireUndirected(g);
+        this.pool = pool;
     }
 
     /**
@@ -110,7 +145,6 @@ public final class Coreness<V, E>
         return degeneracy;
     }
 
-    @SuppressWarnings("unchecked")
     private void lazyRun()
     {
         if (scores != null) {
@@ -121,56 +155,94 @@ public final class Coreness<V, E>
             throw new IllegalArgumentException("Graph must be simple");
         }
 
-        scores = new HashMap<>();
-        degeneracy = 0;
+        IntGraphSnapshot<V, E> snapshot = new IntGraphSnapshot<>(g);
+        int[] core =
+            pool == null ? snapshot.degeneracyOrdering(null, null) : hIndexCores(snapshot, pool);
 
-        /*
-         * Initialize buckets
-         */
-        int n = g.vertexSet().size();
-        int maxDegree = n - 1;
-        Set<V>[] buckets = (Set<V>[]) Array.newInstance(Set.class, maxDegree + 1);
-        for (int i = 0; i < buckets.length; i++) {
-            buckets[i] = new HashSet<>();
+        scores = new HashMap<>(2 * core.length);
+        degeneracy = 0;
+        for (int v = 0; v < core.length; v++) {
+            scores.put(snapshot.getVertex(v), core[v]);
+            degeneracy = Math.max(degeneracy, core[v]);
         }
+    }
 
-        int minDegree = n;
-        Map<V, Integer> degrees = new HashMap<>();
-        for (V v : g.vertexSet()) {
-            int d = g.degreeOf(v);
-            buckets[d].add(v);
-            degrees.put(v, d);
-            minDegree = Math.min(minDegree, d);
+    /**
+     * Iterate the h-index operator to its fixed point. Values are read and written without
+     * synchronization within a round. Since they only decrease and never drop below the coreness,
+     * a stale read can only delay convergence, and a vertex is processed again in the next round
+     * whenever one of its neighbors changed.
+     */
+    private static int[] hIndexCores(IntGraphSnapshot<?, ?> snapshot, ForkJoinPool pool)
+    {
+        int n = snapshot.vertexCount();
+        int[] offsets = snapshot.getOutOffsets();
+        int[] targets = snapshot.getOutTargets();
+
+        int[] core = new int[n];
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            core[v] = offsets[v + 1] - offsets[v];
+            maxDegree = Math.max(maxDegree, core[v]);
         }
-
-        /*
-         * Extract from buckets
-         */
-        while (minDegree < n) {
-            Set<V> b = buckets[minDegree];
-            if (b.isEmpty()) {
-                minDegree++;
-                continue;
-            }
-
-            V v = b.iterator().next();
-            b.remove(v);
-            scores.put(v, minDegree);
-            degeneracy = Math.max(degeneracy, minDegree);
-
-            for (E e : g.edgesOf(v)) {
-                V u = Graphs.getOppositeVertex(g, e, v);
-                int uDegree = degrees.get(u);
-                if (uDegree > minDegree && !scores.containsKey(u)) {
-                    buckets[uDegree].remove(u);
-                    uDegree--;
-                    degrees.put(u, uDegree);
-                    buckets[uDegree].add(u);
-                    minDegree = Math.min(minDegree, uDegree);
+        final int counterSize = maxDegree + 1;
+
+        boolean[] active = new boolean[n];
+        Arrays.fill(active, true);
+        boolean[] nextActive = new boolean[n];
+        ConcurrentLinkedQueue<int[]> counters = new ConcurrentLinkedQueue<>();
+
+        boolean changed = true;
+        while (changed) {
+            boolean[] current = active;
+            boolean[] next = nextActive;
+            boolean[] anyChange = new boolean[1];
+            ConcurrencyUtil.parallelFor(pool, 0, n, (from, to) -> {
+                int[] count = counters.poll();
+                if (count == null) {
+                    count = new int[counterSize];
                 }
-            }
+                boolean localChange = false;
+                for (int v = from; v < to; v++) {
+                    if (!current[v]) {
+                        continue;
+                    }
+                    current[v] = false;
+                    int cv = core[v];
+                    if (cv == 0) {
+                        continue;
+                    }
+                    Arrays.fill(count, 0, cv + 1, 0);
+                    for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                        count[Math.min(core[targets[a]], cv)]++;
+                    }
+                    int h = cv;
+                    int atLeast = count[cv];
+                    while (atLeast < h) {
+                        h--;
+                        atLeast += count[h];
+                    }
+                    if (h < cv) {
+                        core[v] = h;
+                        localChange = true;
+                        for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                            int u = targets[a];
+                            if (core[u] > h) {
+                                next[u] = true;
+                            }
+                        }
+                    }
+                }
+                if (localChange) {
+                    anyChange[0] = true;
+                }
+                counters.offer(count);
+            });
+            changed = anyChange[0];
+            active = next;
+            nextActive = current;
         }
-
+        return core;
     }
 
 }
@@ -0,0 +1,327 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.event.*;
+
+import java.util.*;
+
+/**
+ * Maintains the coreness of each vertex of an undirected graph while edges are inserted and
+ * removed.
+ *
+ * <p>
+ * The initial values are computed by {@link Coreness}. Afterwards the algorithm learns about
+ * changes only through the {@link GraphListener} interface, so it must be added as a listener to
+ * the graph, for example a {@link org.jgrapht.graph.DefaultListenableGraph}, before the graph is
+ * modified. The graph must be simple and remain simple.
+ *
+ * <p>
+ * The updates use the traversal algorithms described in: A. E. Sariyüce, B. Gedik, G.
+ * Jacques-Silva, K.-L. Wu and Ü. V. Çatalyürek. Streaming algorithms for k-core decomposition.
+ * Proceedings of the VLDB Endowment, 6(6):433–444, 2013. Inserting or removing an edge $(u, v)$
+ * changes the coreness by at most one, and only for vertices with coreness
+ * $k = \min(c(u), c(v))$. For every vertex the algorithm maintains its max-core degree, the number
+ * of neighbors whose coreness is at least its own. A removal peels vertices, starting from the
+ * endpoints, whose max-core degree drops below $k$. An insertion searches from an endpoint of
+ * coreness $k$ through vertices which can possibly reach coreness $k + 1$, and evicts vertices from
+ * the search as soon as they cannot. The cost of an update is linear in the total degree of the
+ * visited vertices, which is usually a small part of the graph.
+ *
+ * <p>
+ * The scores returned by {@link #getScores()} are a live view. The algorithm is not thread-safe.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see Coreness
+ */
+public class DynamicCoreness<V, E>
+    implements
+    VertexScoringAlgorithm<V, Integer>,
+    GraphListener<V, E>
+{
+    private final Graph<V, E> graph;
+    private final Map<V, Integer> core;
+    private final Map<V, Integer> maxCoreDegree;
+    private int[] coreCount;
+    private int degeneracy;
+
+    /**
+     * Create a new instance and compute the coreness of the current graph.
+     *
+     * @param graph the input graph
+     * @throws IllegalArgumentException if the graph is not undirected or not simple
+     */
+    public DynamicCoreness(Graph<V, E> graph)
+    {
+        this.graph = GraphTests.requireUndirected(graph);
+        this.core = new HashMap<>(new Coreness<>(graph).getScores());
+        this.maxCoreDegree = new HashMap<>(2 * core.size());
+        this.coreCount = new int[4];
+        for (V v : graph.vertexSet()) {
+            maxCoreDegree.put(v, countNeighbors(v, core.get(v)));
+            count(core.get(v), 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The returned map is a live view which reflects later changes.
+     */
+    @Override
+    public Map<V, Integer> getScores()
+    {
+        return Collections.unmodifiableMap(core);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getVertexScore(V v)
+    {
+        Integer c = core.get(v);
+        if (c == null) {
+            throw new IllegalArgumentException("Cannot return score of unknown vertex");
+        }
+        return c;
+    }
+
+    /**
+     * Get the degeneracy of the graph, which is the maximum coreness of a vertex.
+     *
+     * @return the degeneracy of the graph
+     */
+    public int getDegeneracy()
+    {
+        return degeneracy;
+    }
+
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        V u = e.getEdgeSource();
+        V v = e.getEdgeTarget();
+        if (u.equals(v) || graph.getAllEdges(u, v).size() > 1) {
+            throw new IllegalArgumentException("Graph must be simple");
+        }
+        int cu = core.get(u);
+        int cv = core.get(v);
+        if (cv >= cu) {
+            maxCoreDegree.merge(u, 1, Integer::sum);
+        }
+        if (cu >= cv) {
+            maxCoreDegree.merge(v, 1, Integer::sum);
+        }
+        int k = Math.min(cu, cv);
+        V root = cu == k ? u : v;
+
+        /*
+         * Search the candidates for coreness k+1. A candidate is expanded only while it has more
+         * than k neighbors which are, or may become, in the (k+1)-core. Otherwise it is evicted,
+         * which may in turn evict visited neighbors.
+         */
+        Map<V, Integer> degree = new HashMap<>();
+        Set<V> evicted = new HashSet<>();
+        Deque<V> stack = new ArrayDeque<>();
+        degree.put(root, pureCoreDegree(root, k, evicted));
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            V w = stack.pop();
+            if (evicted.contains(w)) {
+                continue;
+            }
+            if (degree.get(w) > k) {
+                for (E edge : graph.edgesOf(w)) {
+                    V x = Graphs.getOppositeVertex(graph, edge, w);
+                    if (core.get(x) == k && maxCoreDegree.get(x) > k && !degree.containsKey(x)) {
+                        degree.put(x, pureCoreDegree(x, k, evicted));
+                        stack.push(x);
+                    }
+                }
+            } else {
+                evict(w, k, degree, evicted);
+            }
+        }
+
+        List<V> promoted = new ArrayList<>();
+        for (V w : degree.keySet()) {
+            if (!evicted.contains(w)) {
+                promoted.add(w);
+                setCore(w, k + 1);
+            }
+        }
+        for (V w : promoted) {
+            maxCoreDegree.put(w, countNeighbors(w, k + 1));
+            for (E edge : graph.edgesOf(w)) {
+                V x = Graphs.getOppositeVertex(graph, edge, w);
+                if (core.get(x) == k + 1 && !degree.containsKey(x)) {
+                    maxCoreDegree.merge(x, 1, Integer::sum);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        V u = e.getEdgeSource();
+        V v = e.getEdgeTarget();
+        int cu = core.get(u);
+        int cv = core.get(v);
+        if (cv >= cu) {
+            maxCoreDegree.merge(u, -1, Integer::sum);
+        }
+        if (cu >= cv) {
+            maxCoreDegree.merge(v, -1, Integer::sum);
+        }
+        int k = Math.min(cu, cv);
+
+        // peel the vertices which lost the support of k neighbors in the k-core
+        Deque<V> stack = new ArrayDeque<>();
+        if (cu == k && maxCoreDegree.get(u) < k) {
+            stack.push(u);
+        }
+        if (cv == k && maxCoreDegree.get(v) < k) {
+            stack.push(v);
+        }
+        List<V> dropped = new ArrayList<>();
+        while (!stack.isEmpty()) {
+            V w = stack.pop();
+            if (core.get(w) != k) {
+                continue;
+            }
+            setCore(w, k - 1);
+            dropped.add(w);
+            for (E edge : graph.edgesOf(w)) {
+                V x = Graphs.getOppositeVertex(graph, edge, w);
+                if (core.get(x) == k) {
+                    int d = maxCoreDegree.merge(x, -1, Integer::sum);
+                    if (d < k) {
+                        stack.push(x);
+                    }
+                }
+            }
+        }
+        for (V w : dropped) {
+            maxCoreDegree.put(w, countNeighbors(w, k - 1));
+        }
+    }
+
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        if (core.putIfAbsent(e.getVertex(), 0) == null) {
+            maxCoreDegree.put(e.getVertex(), 0);
+            count(0, 1);
+        }
+    }
+
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        Integer c = core.remove(e.getVertex());
+        if (c != null) {
+            maxCoreDegree.remove(e.getVertex());
+            count(c, -1);
+        }
+    }
+
+    /**
+     * Evict a candidate and every visited candidate which is left with at most k supporting
+     * neighbors as a consequence.
+     */
+    private void evict(V v, int k, Map<V, Integer> degree, Set<V> evicted)
+    {
+        Deque<V> stack = new ArrayDeque<>();
+        evicted.add(v);
+        stack.push(v);
+        while (!stack.isEmpty()) {
+            V w = stack.pop();
+            for (E edge : graph.edgesOf(w)) {
+                V x = Graphs.getOppositeVertex(graph, edge, w);
+                Integer d = degree.get(x);
+                if (d != null && !evicted.contains(x) && core.get(x) == k) {
+                    degree.put(x, d - 1);
+                    if (d - 1 <= k) {
+                        evicted.add(x);
+                        stack.push(x);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Count the neighbors which are in the (k+1)-core already or may join it: those with a larger
+     * coreness, and those with coreness k, more than k neighbors of coreness at least k, and which
+     * were not evicted.
+     */
+    private int pureCoreDegree(V v, int k, Set<V> evicted)
+    {
+        int d = 0;
+        for (E edge : graph.edgesOf(v)) {
+            V x = Graphs.getOppositeVertex(graph, edge, v);
+            int cx = core.get(x);
+            if (cx > k || cx == k && maxCoreDegree.get(x) > k && !evicted.contains(x)) {
+                d++;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Count the neighbors with coreness at least c.
+     */
+    private int countNeighbors(V v, int c)
+    {
+        int d = 0;
+        for (E edge : graph.edgesOf(v)) {
+            if (core.get(Graphs.getOppositeVertex(graph, edge, v)) >= c) {
+                d++;
+            }
+        }
+        return d;
+    }
+
+    private void setCore(V v, int c)
+    {
+        count(core.put(v, c), -1);
+        count(c, 1);
+    }
+
+    private void count(int c, int delta)
+    {
+        if (c >= coreCount.length) {
+            coreCount = Arrays.copyOf(coreCount, Math.max(c + 1, 2 * coreCount.length));
+        }
+        coreCount[c] += delta;
+        if (delta > 0 && c > degeneracy) {
+            degeneracy = c;
+        }
+        while (degeneracy > 0 && coreCount[degeneracy] == 0) {
+            degeneracy--;
+        }
+    }
+
+}
@@ -19,8 +19,12 @@ package org.jgrapht.alg.scoring;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 /**
  * PageRank implementation.
@@ -51,6 +55,22 @@ import java.util.*;
  * an edge e out of node $v$ is equal to the weight of $e$ over the sum of weights of all outgoing
  * edges of $v$.
  * </p>
+ *
+ * <p>
+ * The graph is copied once into int-indexed arrays of incoming arcs, and the power iteration runs
+ * over {@code double[]} vectors. If a {@link ForkJoinPool} is supplied, each iteration processes
+ * contiguous ranges of vertices in parallel. Since every vertex is updated by a single thread, the
+ * result does not depend on the number of threads.
+ * </p>
+ *
+ * <p>
+ * Personalized PageRank is supported by supplying a teleport vector. In that case a random jump,
+ * including the jump from a vertex without outgoing edges, lands on vertex $v$ with probability
+ * proportional to the personalization value of $v$, instead of uniformly at random. The iteration
+ * can also be warm-started from previously computed scores, which usually reduces the number of
+ * iterations considerably when the graph has changed only slightly since the scores were
+ * computed.
+ * </p>
  * 
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -79,6 +99,7 @@ public final class PageRank<V, E>
 
     private final Graph<V, E> g;
     private Map<V, Double> scores;
+    private int iterations;
 
     /**
      * Create and execute an instance of PageRank.
@@ -123,6 +144,35 @@ public final class PageRank<V, E>
      *        iterations change less than this value
      */
     public PageRank(Graph<V, E> g, double dampingFactor, int maxIterations, double tolerance)
+    {
+        this(g, dampingFactor, maxIterations, tolerance, null, null, null);
+    }
+
+    /**
+     * Create and execute an instance of PageRank.
+     * 
+     * <p>
+     * The personalization values must be non-negative with a positive sum, and are normalized so
+     * that they sum to one. Vertices without a personalization value are never the target of a
+     * random jump. The initial scores are used instead of the uniform distribution in order to
+     * start the iteration; vertices without an initial score start with $1/n$ and the resulting
+     * vector is normalized so that it sums to one.
+     * 
+     * @param g the input graph
+     * @param dampingFactor the damping factor
+     * @param maxIterations the maximum number of iterations to perform
+     * @param tolerance the calculation will stop if the difference of PageRank values between
+     *        iterations change less than this value
+     * @param personalization the teleport vector, or null for the uniform distribution
+     * @param initialScores the scores to start from, or null for the uniform distribution
+     * @param pool the pool used to execute each iteration in parallel, or null in order to execute
+     *        sequentially
+     * @throws IllegalArgumentException if the personalization or initial scores contain vertices
+     *         not in the graph or negative values, or the personalization values sum to zero
+     */
+    public PageRank(
+        Graph<V, E> g, double dampingFactor, int maxIterations, double tolerance,
+        Map<V, Double> personalization, Map<V, Double> initialScores, ForkJoinPool pool)
     {
         this.g = g;
         this.scores = new HashMap<>();
@@ -139,7 +189,7 @@ public final class PageRank<V, E>
             throw new IllegalArgumentException("Tolerance not valid, must be positive");
         }
 
-        run(dampingFactor, maxIterations, tolerance);
+        run(dampingFactor, maxIterations, tolerance, personalization, initialScores, pool);
     }
 
     /**
@@ -163,78 +213,136 @@ public final class PageRank<V, E>
         return scores.get(v);
     }
 
-    private void run(double dampingFactor, int maxIterations, double tolerance)
+    /**
+     * Get the number of iterations performed by the computation.
+     * 
+     * @return the number of iterations performed
+     */
+    public int getIterations()
+    {
+        return iterations;
+    }
+
+    private void run(
+        double dampingFactor, int maxIterations, double tolerance, Map<V, Double> personalization,
+        Map<V, Double> initialScores, ForkJoinPool pool)
     {
         // initialization
-        int totalVertices = g.vertexSet().size();
-        boolean weighted = g.getType().isWeighted();
-        Map<V, Double> weights;
-        if (weighted) {
-            weights = new HashMap<>(totalVertices);
-        } else {
-            weights = Collections.emptyMap();
+        IntGraphSnapshot<V, E> snapshot = new IntGraphSnapshot<>(g, true);
+        int totalVertices = snapshot.vertexCount();
+        if (totalVertices == 0) {
+            return;
         }
+        int[] outOffsets = snapshot.getOutOffsets();
+        double[] outWeights = snapshot.getOutWeights();
+        int[] inOffsets = snapshot.getInOffsets();
+        int[] inSources = snapshot.getInSources();
+        double[] inWeights = snapshot.getInWeights();
 
-        double initScore = 1.0d / totalVertices;
-        for (V v : g.vertexSet()) {
-            scores.put(v, initScore);
-            if (weighted) {
-                double sum = 0;
-                for (E e : g.outgoingEdgesOf(v)) {
-                    sum += g.getEdgeWeight(e);
-                }
-                weights.put(v, sum);
+        // total weight of the outgoing edges, zero for dangling vertices
+        double[] weights = new double[totalVertices];
+        for (int v = 0; v < totalVertices; v++) {
+            double sum = 0;
+            for (int a = outOffsets[v]; a < outOffsets[v + 1]; a++) {
+                sum += outWeights[a];
             }
+            weights[v] = sum;
+        }
+
+        double[] teleport = personalization == null ? null
+            : toDistribution(snapshot, personalization, 0d, "Personalization");
+        double[] current = initialScores == null ? null
+            : toDistribution(snapshot, initialScores, 1.0d / totalVertices, "Initial score");
+        if (current == null) {
+            current = new double[totalVertices];
+            Arrays.fill(current, 1.0d / totalVertices);
         }
 
         // run PageRank
-        Map<V, Double> nextScores = new HashMap<>();
-        double maxChange = tolerance;
+        double[] next = new double[totalVertices];
+        double[] contribution = new double[totalVertices];
+        DoubleAccumulator maxChange = new DoubleAccumulator(Math::max, 0d);
+        double change = tolerance;
 
-        while (maxIterations > 0 && maxChange >= tolerance) {
+        while (iterations < maxIterations && change >= tolerance) {
             // compute next iteration scores
             double r = 0d;
-            for (V v : g.vertexSet()) {
-                if (g.outgoingEdgesOf(v).size() > 0) {
-                    r += (1d - dampingFactor) * scores.get(v);
+            for (int v = 0; v < totalVertices; v++) {
+                if (weights[v] > 0d) {
+                    r += (1d - dampingFactor) * current[v];
                 } else {
-                    r += scores.get(v);
+                    r += current[v];
                 }
             }
-            r /= totalVertices;
+            double uniform = r / totalVertices;
+            double teleportMass = r;
 
-            maxChange = 0d;
-            for (V v : g.vertexSet()) {
-                double contribution = 0d;
-
-                if (weighted) {
-                    for (E e : g.incomingEdgesOf(v)) {
-                        V w = Graphs.getOppositeVertex(g, e, v);
-                        contribution +=
-                            dampingFactor * scores.get(w) * g.getEdgeWeight(e) / weights.get(w);
-                    }
-                } else {
-                    for (E e : g.incomingEdgesOf(v)) {
-                        V w = Graphs.getOppositeVertex(g, e, v);
-                        contribution += dampingFactor * scores.get(w) / g.outgoingEdgesOf(w).size();
+            double[] scoresIn = current;
+            double[] scoresOut = next;
+            maxChange.reset();
+            ConcurrencyUtil.parallelFor(pool, 0, totalVertices, (from, to) -> {
+                for (int w = from; w < to; w++) {
+                    contribution[w] =
+                        weights[w] > 0d ? dampingFactor * scoresIn[w] / weights[w] : 0d;
+                }
+            });
+            ConcurrencyUtil.parallelFor(pool, 0, totalVertices, (from, to) -> {
+                double localMaxChange = 0d;
+                for (int v = from; v < to; v++) {
+                    double vNewValue = teleport == null ? uniform : teleportMass * teleport[v];
+                    for (int a = inOffsets[v]; a < inOffsets[v + 1]; a++) {
+                        vNewValue += contribution[inSources[a]] * inWeights[a];
                     }
+                    localMaxChange =
+                        Math.max(localMaxChange, Math.abs(vNewValue - scoresIn[v]));
+                    scoresOut[v] = vNewValue;
                 }
-
-                double vOldValue = scores.get(v);
-                double vNewValue = r + contribution;
-                maxChange = Math.max(maxChange, Math.abs(vNewValue - vOldValue));
-                nextScores.put(v, vNewValue);
-            }
+                maxChange.accumulate(localMaxChange);
+            });
+            change = maxChange.get();
 
             // swap scores
-            Map<V, Double> tmp = scores;
-            scores = nextScores;
-            nextScores = tmp;
+            double[] tmp = current;
+            current = next;
+            next = tmp;
 
             // progress
-            maxIterations--;
+            iterations++;
+        }
+
+        for (int v = 0; v < totalVertices; v++) {
+            scores.put(snapshot.getVertex(v), current[v]);
         }
+    }
 
+    private double[] toDistribution(
+        IntGraphSnapshot<V, E> snapshot, Map<V, Double> values, double defaultValue, String name)
+    {
+        int totalVertices = snapshot.vertexCount();
+        double[] result = new double[totalVertices];
+        Arrays.fill(result, defaultValue);
+        for (Map.Entry<V, Double> entry : values.entrySet()) {
+            if (!g.containsVertex(entry.getKey())) {
+                throw new IllegalArgumentException(
+                    name + " given for unknown vertex " + entry.getKey());
+            }
+            double value = entry.getValue();
+            if (!(value >= 0d)) {
+                throw new IllegalArgumentException(name + " values must be non-negative");
+            }
+            result[snapshot.getIndex(entry.getKey())] = value;
+        }
+        double sum = 0d;
+        for (double value : result) {
+            sum += value;
+        }
+        if (!(sum > 0d) || Double.isInfinite(sum)) {
+            throw new IllegalArgumentException(name + " values must have a positive finite sum");
+        }
+        for (int v = 0; v < totalVertices; v++) {
+            result[v] /= sum;
+        }
+        return result;
     }
 
 }
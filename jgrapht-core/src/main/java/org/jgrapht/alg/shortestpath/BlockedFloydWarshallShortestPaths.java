@@ -0,0 +1,494 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A cache-blocked, parallel variant of the Floyd-Warshall algorithm.
+ *
+ * <p>
+ * The distance matrix is partitioned into square tiles of a fixed block size. For each block
+ * $k$ of intermediate vertices, the algorithm first relaxes the diagonal tile $(k,k)$, then all
+ * tiles of row and column $k$, and finally all remaining tiles. The tiles of the last two phases
+ * are independent of each other and are processed in parallel on the supplied
+ * {@link ForkJoinPool}. See G. Venkataraman, S. Sahni and S. Mukhopadhyaya. A Blocked All-Pairs
+ * Shortest-Paths Algorithm. Journal of Experimental Algorithmics 8, 2003. The running time is
+ * $O(n^3)$.
+ *
+ * <p>
+ * Compared with {@link FloydWarshallShortestPaths}, the distances are stored in a single flat
+ * {@code double[]}, or optionally a {@code float[]} which halves the memory at the cost of
+ * precision, and the paths in a flat {@code int[]} holding the index of the first edge of each
+ * shortest path. No last hop matrix is kept, {@link #getLastHop(Object, Object)} follows the
+ * first hops instead. The number of vertices is limited to 46340, the largest $n$ with $n^2$ less
+ * than $2^{31}$.
+ *
+ * <p>
+ * All computations are performed the first time one of the query methods is invoked. The results
+ * are stored, so all subsequent calls are computationally efficient.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see FloydWarshallShortestPaths
+ */
+public class BlockedFloydWarshallShortestPaths<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+{
+    /**
+     * Default block size, chosen so that three tiles of doubles fit in a typical L2 cache.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private static final int MAX_VERTICES = 46340;
+    private static final int NO_EDGE = -1;
+
+    private final ForkJoinPool pool;
+    private final boolean singlePrecision;
+    private final int blockSize;
+
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexIndices;
+
+    private double[] d;
+    private float[] f;
+    private int[] firstEdge;
+    private List<E> edges;
+
+    /**
+     * Create a new instance which computes sequentially in double precision.
+     *
+     * @param graph the input graph
+     * @throws IllegalArgumentException if the graph has too many vertices
+     */
+    public BlockedFloydWarshallShortestPaths(Graph<V, E> graph)
+    {
+        this(graph, null, false, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Create a new instance which computes in double precision.
+     *
+     * @param graph the input graph
+     * @param pool the pool to use for the parallel computation, or null in order to compute
+     *        sequentially
+     * @throws IllegalArgumentException if the graph has too many vertices
+     */
+    public BlockedFloydWarshallShortestPaths(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this(graph, pool, false, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param graph the input graph
+     * @param pool the pool to use for the parallel computation, or null in order to compute
+     *        sequentially
+     * @param singlePrecision whether to store distances as floats instead of doubles
+     * @param blockSize the size of the tiles
+     * @throws IllegalArgumentException if the graph has too many vertices or the block size is
+     *         not positive
+     */
+    public BlockedFloydWarshallShortestPaths(
+        Graph<V, E> graph, ForkJoinPool pool, boolean singlePrecision, int blockSize)
+    {
+        super(graph);
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        if (graph.vertexSet().size() > MAX_VERTICES) {
+            throw new IllegalArgumentException(
+                "Graph has more than " + MAX_VERTICES + " vertices");
+        }
+        this.pool = pool;
+        this.singlePrecision = singlePrecision;
+        this.blockSize = blockSize;
+        this.vertices = new ArrayList<>(graph.vertexSet());
+        this.vertexIndices = new HashMap<>(vertices.size());
+        for (int i = 0; i < vertices.size(); i++) {
+            vertexIndices.put(vertices.get(i), i);
+        }
+    }
+
+    /**
+     * Get the total number of shortest paths. Does not count the paths from a vertex to itself.
+     *
+     * @return total number of shortest paths
+     */
+    public int getShortestPathsCount()
+    {
+        lazyCalculateMatrix();
+
+        int n = vertices.size();
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j && firstEdge[i * n + j] != NO_EDGE) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The weight of the path is the sum of the weights of its edges, even in single precision.
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        int s = sourceIndex(source);
+        int t = sinkIndex(sink);
+        lazyCalculateMatrix();
+
+        int n = vertices.size();
+        if (s == t) {
+            return createEmptyPath(source, sink);
+        }
+        if (firstEdge[s * n + t] == NO_EDGE) {
+            return null;
+        }
+
+        List<E> path = new ArrayList<>();
+        double weight = 0d;
+        V u = source;
+        int ui = s;
+        while (ui != t) {
+            E e = edges.get(firstEdge[ui * n + t]);
+            path.add(e);
+            weight += graph.getEdgeWeight(e);
+            u = Graphs.getOppositeVertex(graph, e, u);
+            ui = vertexIndices.get(u);
+        }
+        return new GraphWalk<>(graph, source, sink, null, path, weight);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getPathWeight(V source, V sink)
+    {
+        int s = sourceIndex(source);
+        int t = sinkIndex(sink);
+        lazyCalculateMatrix();
+
+        int n = vertices.size();
+        return singlePrecision ? f[s * n + t] : d[s * n + t];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SingleSourcePaths<V, E> getPaths(V source)
+    {
+        sourceIndex(source);
+        return new BlockedFloydWarshallSingleSourcePaths(source);
+    }
+
+    /**
+     * Returns the first hop, i.e., the second node on the shortest path from $a$ to $b$. Lookup
+     * time is $O(1)$.
+     *
+     * @param a source vertex
+     * @param b target vertex
+     * @return next hop on the shortest path from a to b, or null when there exists no path from $a$
+     *         to $b$.
+     */
+    public V getFirstHop(V a, V b)
+    {
+        int s = sourceIndex(a);
+        int t = sinkIndex(b);
+        lazyCalculateMatrix();
+
+        int e = firstEdge[s * vertices.size() + t];
+        if (s == t || e == NO_EDGE) {
+            return null;
+        }
+        return Graphs.getOppositeVertex(graph, edges.get(e), a);
+    }
+
+    /**
+     * Returns the last hop, i.e., the second to last node on the shortest path from $a$ to $b$.
+     * Since no last hop matrix is stored, the lookup time is linear in the number of edges of the
+     * path.
+     *
+     * @param a source vertex
+     * @param b target vertex
+     * @return last hop on the shortest path from $a$ to $b$, or null when there exists no path from
+     *         $a$ to $b$.
+     */
+    public V getLastHop(V a, V b)
+    {
+        int s = sourceIndex(a);
+        int t = sinkIndex(b);
+        lazyCalculateMatrix();
+
+        int n = vertices.size();
+        if (s == t || firstEdge[s * n + t] == NO_EDGE) {
+            return null;
+        }
+        V u = a;
+        int ui = s;
+        while (true) {
+            V next = Graphs.getOppositeVertex(graph, edges.get(firstEdge[ui * n + t]), u);
+            if (next.equals(b)) {
+                return u;
+            }
+            u = next;
+            ui = vertexIndices.get(u);
+        }
+    }
+
+    private int sourceIndex(V source)
+    {
+        Integer index = vertexIndices.get(source);
+        if (index == null) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        return index;
+    }
+
+    private int sinkIndex(V sink)
+    {
+        Integer index = vertexIndices.get(sink);
+        if (index == null) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        return index;
+    }
+
+    /**
+     * Calculates the distance and first edge matrices.
+     */
+    private void lazyCalculateMatrix()
+    {
+        if (firstEdge != null) {
+            return;
+        }
+
+        int n = vertices.size();
+        int[] first = new int[n * n];
+        Arrays.fill(first, NO_EDGE);
+        double[] dist = new double[n * n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < n; i++) {
+            dist[i * n + i] = 0d;
+        }
+
+        // the lightest edge between each pair, iterating over the outgoing edges works for
+        // directed, undirected and mixed graphs
+        edges = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            V v = vertices.get(i);
+            for (E e : graph.outgoingEdgesOf(v)) {
+                int j = vertexIndices.get(Graphs.getOppositeVertex(graph, e, v));
+                double weight = graph.getEdgeWeight(e);
+                if (i == j) {
+                    // a self-loop never shortens a path, unless it is a negative cycle
+                    if (weight < 0d) {
+                        throw new NegativeCycleDetectedException(
+                            GRAPH_CONTAINS_A_NEGATIVE_WEIGHT_CYCLE);
+                    }
+                } else if (weight < dist[i * n + j]) {
+                    dist[i * n + j] = weight;
+                    first[i * n + j] = edges.size();
+                    edges.add(e);
+                }
+            }
+        }
+
+        if (singlePrecision) {
+            float[] values = new float[n * n];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (float) dist[i];
+            }
+            dist = null;
+            run(n, (i0, i1, j0, j1, k0, k1) -> relax(values, first, n, i0, i1, j0, j1, k0, k1));
+            for (int i = 0; i < n; i++) {
+                if (values[i * n + i] < 0f) {
+                    throw new NegativeCycleDetectedException(
+                        GRAPH_CONTAINS_A_NEGATIVE_WEIGHT_CYCLE);
+                }
+            }
+            f = values;
+        } else {
+            final double[] values = dist;
+            run(n, (i0, i1, j0, j1, k0, k1) -> relax(values, first, n, i0, i1, j0, j1, k0, k1));
+            for (int i = 0; i < n; i++) {
+                if (values[i * n + i] < 0d) {
+                    throw new NegativeCycleDetectedException(
+                        GRAPH_CONTAINS_A_NEGATIVE_WEIGHT_CYCLE);
+                }
+            }
+            d = values;
+        }
+        firstEdge = first;
+    }
+
+    /**
+     * Relaxation of one tile using one block of intermediate vertices.
+     */
+    private interface TileKernel
+    {
+        void relax(int i0, int i1, int j0, int j1, int k0, int k1);
+    }
+
+    /**
+     * Run the three phases for every block of intermediate vertices.
+     */
+    private void run(int n, TileKernel kernel)
+    {
+        int blocks = (n + blockSize - 1) / blockSize;
+        for (int kb = 0; kb < blocks; kb++) {
+            final int k0 = kb * blockSize;
+            final int k1 = Math.min(n, k0 + blockSize);
+            final int pivot = kb;
+
+            // phase 1: the diagonal tile
+            kernel.relax(k0, k1, k0, k1, k0, k1);
+
+            // phase 2: the tiles in row and column kb
+            ConcurrencyUtil.parallelFor(pool, 0, 2 * blocks, (from, to) -> {
+                for (int t = from; t < to; t++) {
+                    int b = t >> 1;
+                    if (b == pivot) {
+                        continue;
+                    }
+                    int b0 = b * blockSize;
+                    int b1 = Math.min(n, b0 + blockSize);
+                    if ((t & 1) == 0) {
+                        kernel.relax(k0, k1, b0, b1, k0, k1);
+                    } else {
+                        kernel.relax(b0, b1, k0, k1, k0, k1);
+                    }
+                }
+            });
+
+            // phase 3: all other tiles
+            ConcurrencyUtil.parallelFor(pool, 0, blocks * blocks, (from, to) -> {
+                for (int t = from; t < to; t++) {
+                    int ib = t / blocks;
+                    int jb = t % blocks;
+                    if (ib == pivot || jb == pivot) {
+                        continue;
+                    }
+                    int i0 = ib * blockSize;
+                    int j0 = jb * blockSize;
+                    kernel.relax(
+                        i0, Math.min(n, i0 + blockSize), j0, Math.min(n, j0 + blockSize), k0, k1);
+                }
+            });
+        }
+    }
+
+    private static void relax(
+        double[] dist, int[] first, int n, int i0, int i1, int j0, int j1, int k0, int k1)
+    {
+        for (int k = k0; k < k1; k++) {
+            int kRow = k * n;
+            for (int i = i0; i < i1; i++) {
+                int iRow = i * n;
+                double dik = dist[iRow + k];
+                if (dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int fik = first[iRow + k];
+                for (int j = j0; j < j1; j++) {
+                    double candidate = dik + dist[kRow + j];
+                    if (candidate < dist[iRow + j]) {
+                        dist[iRow + j] = candidate;
+                        first[iRow + j] = fik;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void relax(
+        float[] dist, int[] first, int n, int i0, int i1, int j0, int j1, int k0, int k1)
+    {
+        for (int k = k0; k < k1; k++) {
+            int kRow = k * n;
+            for (int i = i0; i < i1; i++) {
+                int iRow = i * n;
+                float dik = dist[iRow + k];
+                if (dik == Float.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int fik = first[iRow + k];
+                for (int j = j0; j < j1; j++) {
+                    float candidate = dik + dist[kRow + j];
+                    if (candidate < dist[iRow + j]) {
+                        dist[iRow + j] = candidate;
+                        first[iRow + j] = fik;
+                    }
+                }
+            }
+        }
+    }
+
+    class BlockedFloydWarshallSingleSourcePaths
+        implements
+        SingleSourcePaths<V, E>
+    {
+        private V source;
+
+        public BlockedFloydWarshallSingleSourcePaths(V source)
+        {
+            this.source = source;
+        }
+
+        @Override
+        public Graph<V, E> getGraph()
+        {
+            return graph;
+        }
+
+        @Override
+        public V getSourceVertex()
+        {
+            return source;
+        }
+
+        @Override
+        public double getWeight(V sink)
+        {
+            return BlockedFloydWarshallShortestPaths.this.getPathWeight(source, sink);
+        }
+
+        @Override
+        public GraphPath<V, E> getPath(V sink)
+        {
+            return BlockedFloydWarshallShortestPaths.this.getPath(source, sink);
+        }
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+
+import java.util.*;
+
+/**
+ * A contraction hierarchy, i.e. the result of {@link ContractionHierarchyPrecomputation}.
+ *
+ * <p>
+ * The hierarchy consists of a rank for every vertex and a set of arcs, which are either arcs of
+ * the original graph or shortcuts. A shortcut $(u, w)$ replaces the path of its two child arcs
+ * $(u, v)$ and $(v, w)$ through a vertex $v$ of lower rank. For querying, the arcs are stored in
+ * two compressed sparse row structures: the upward arcs $(u, w)$ with $rank(u) &lt; rank(w)$
+ * indexed by $u$, and the downward arcs $(u, w)$ with $rank(u) &gt; rank(w)$ indexed by $w$. A
+ * shortest path query only needs to search upwards in both structures.
+ *
+ * <p>
+ * A hierarchy is immutable and may be shared between multiple concurrent query objects. It does
+ * not reflect modifications of the graph after its computation.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ContractionHierarchyPrecomputation
+ * @see ContractionHierarchyShortestPath
+ */
+public class ContractionHierarchy<V, E>
+{
+    final IntGraphSnapshot<V, E> snapshot;
+    final int[] rank;
+    final int arcCount;
+    final int[] arcFrom;
+    final int[] arcTo;
+    final double[] arcWeight;
+    final int[] arcEdge;
+    final int[] arcFirst;
+    final int[] arcSecond;
+
+    final int[] upOffsets;
+    final int[] upArcs;
+    final int[] downOffsets;
+    final int[] downArcs;
+
+    ContractionHierarchy(
+        IntGraphSnapshot<V, E> snapshot, int[] rank, int arcCount, int[] arcFrom, int[] arcTo,
+        double[] arcWeight, int[] arcEdge, int[] arcFirst, int[] arcSecond)
+    {
+        this.snapshot = snapshot;
+        this.rank = rank;
+        this.arcCount = arcCount;
+        this.arcFrom = arcFrom;
+        this.arcTo = arcTo;
+        this.arcWeight = arcWeight;
+        this.arcEdge = arcEdge;
+        this.arcFirst = arcFirst;
+        this.arcSecond = arcSecond;
+
+        int n = rank.length;
+        this.upOffsets = new int[n + 1];
+        this.downOffsets = new int[n + 1];
+        for (int a = 0; a < arcCount; a++) {
+            if (rank[arcFrom[a]] < rank[arcTo[a]]) {
+                upOffsets[arcFrom[a] + 1]++;
+            } else {
+                downOffsets[arcTo[a] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+        this.upArcs = new int[upOffsets[n]];
+        this.downArcs = new int[downOffsets[n]];
+        int[] upNext = Arrays.copyOf(upOffsets, n);
+        int[] downNext = Arrays.copyOf(downOffsets, n);
+        for (int a = 0; a < arcCount; a++) {
+            if (rank[arcFrom[a]] < rank[arcTo[a]]) {
+                upArcs[upNext[arcFrom[a]]++] = a;
+            } else {
+                downArcs[downNext[arcTo[a]]++] = a;
+            }
+        }
+    }
+
+    /**
+     * Get the graph of the hierarchy.
+     *
+     * @return the graph
+     */
+    public Graph<V, E> getGraph()
+    {
+        return snapshot.getGraph();
+    }
+
+    /**
+     * Get the rank of a vertex, i.e. the position of the vertex in the contraction order.
+     *
+     * @param v the vertex
+     * @return the rank of the vertex
+     * @throws IllegalArgumentException if the vertex is not part of the graph
+     */
+    public int getRank(V v)
+    {
+        return rank[snapshot.getIndex(v)];
+    }
+
+    /**
+     * Get the number of shortcuts inserted during the precomputation.
+     *
+     * @return the number of shortcuts
+     */
+    public int getShortcutCount()
+    {
+        int count = 0;
+        for (int a = 0; a < arcCount; a++) {
+            if (arcEdge[a] == -1) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Append the original edges represented by an arc to a list, unpacking shortcuts
+     * recursively.
+     *
+     * @param arc the arc
+     * @param edges the list to append to
+     */
+    void unpack(int arc, List<E> edges)
+    {
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(arc);
+        while (!stack.isEmpty()) {
+            int a = stack.pop();
+            if (arcEdge[a] != -1) {
+                edges.add(snapshot.getOutEdge(arcEdge[a]));
+            } else {
+                stack.push(arcSecond[a]);
+                stack.push(arcFirst[a]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,621 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Preprocessing phase of the contraction hierarchies technique.
+ *
+ * <p>
+ * The algorithm assigns a rank to every vertex by repeatedly removing ("contracting") vertices
+ * from the graph. When a vertex $v$ is contracted, a shortcut arc $(u, w)$ of weight
+ * $c(u, v) + c(v, w)$ is inserted for every pair of remaining neighbors whose shortest path is
+ * $u, v, w$. Whether a shortcut is necessary is decided by a local Dijkstra search ("witness
+ * search") from $u$ which avoids $v$ and is limited both by distance and by the number of
+ * settled vertices; if the limit is reached, the shortcut is conservatively inserted. The order
+ * of contraction is guided by a priority combining the edge difference, the number of already
+ * contracted neighbors and the depth of the vertex in the hierarchy.
+ *
+ * <p>
+ * Contraction proceeds in rounds. In each round all vertices whose priority is smaller than the
+ * priority of all their remaining neighbors form an independent set. The priorities and the
+ * shortcuts of the vertices of such a set are computed in parallel on the supplied
+ * {@link ForkJoinPool}, with witness searches avoiding all vertices contracted in the same
+ * round. The shortcuts are then inserted sequentially, which makes the result independent of the
+ * number of threads. The computation is described in R. Geisberger, P. Sanders, D. Schultes and
+ * D. Delling. Contraction Hierarchies: Faster and Simpler Hierarchical Routing in Road Networks.
+ * In Experimental Algorithms, WEA 2008, and its parallelization follows C. Vetter. Parallel
+ * Time-Dependent Contraction Hierarchies, 2009.
+ *
+ * <p>
+ * The graph must not contain negative edge weights. Self-loops are ignored and for multiple
+ * edges only the lightest one is kept. Undirected edges are treated as a pair of opposite arcs.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ContractionHierarchy
+ * @see ContractionHierarchyShortestPath
+ */
+public class ContractionHierarchyPrecomputation<V, E>
+{
+    /**
+     * Default maximum number of vertices settled by a witness search.
+     */
+    public static final int DEFAULT_WITNESS_SEARCH_LIMIT = 500;
+
+    private final Graph<V, E> graph;
+    private final ForkJoinPool pool;
+    private final int witnessSearchLimit;
+
+    private IntGraphSnapshot<V, E> snapshot;
+    private int n;
+    private int[] rank;
+    private boolean[] contracting;
+    private int[] priority;
+    private int[] deletedNeighbors;
+    private int[] level;
+    private boolean[] dirty;
+
+    private int arcCount;
+    private int[] arcFrom;
+    private int[] arcTo;
+    private double[] arcWeight;
+    private int[] arcEdge;
+    private int[] arcFirst;
+    private int[] arcSecond;
+
+    private int[][] outArcs;
+    private int[] outSize;
+    private int[][] inArcs;
+    private int[] inSize;
+
+    private ConcurrentLinkedQueue<Workspace> workspaces;
+
+    /**
+     * Create a new instance which computes the hierarchy sequentially.
+     *
+     * @param graph the input graph
+     */
+    public ContractionHierarchyPrecomputation(Graph<V, E> graph)
+    {
+        this(graph, null);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param graph the input graph
+     * @param pool the pool used for the parallel parts of the computation, or null in order to
+     *        compute sequentially
+     */
+    public ContractionHierarchyPrecomputation(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this(graph, pool, DEFAULT_WITNESS_SEARCH_LIMIT);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param graph the input graph
+     * @param pool the pool used for the parallel parts of the computation, or null in order to
+     *        compute sequentially
+     * @param witnessSearchLimit maximum number of vertices settled by a witness search
+     */
+    public ContractionHierarchyPrecomputation(
+        Graph<V, E> graph, ForkJoinPool pool, int witnessSearchLimit)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.pool = pool;
+        if (witnessSearchLimit < 1) {
+            throw new IllegalArgumentException("Witness search limit must be positive");
+        }
+        this.witnessSearchLimit = witnessSearchLimit;
+    }
+
+    /**
+     * Compute the contraction hierarchy.
+     *
+     * @return the contraction hierarchy
+     * @throws IllegalArgumentException if the graph contains negative edge weights
+     */
+    public ContractionHierarchy<V, E> computeContractionHierarchy()
+    {
+        initialize();
+
+        int[] remaining = new int[n];
+        for (int v = 0; v < n; v++) {
+            remaining[v] = v;
+        }
+        int remainingSize = n;
+        int nextRank = 0;
+
+        while (remainingSize > 0) {
+            final int[] current = remaining;
+            final int size = remainingSize;
+
+            // update priorities of vertices affected by the previous round
+            ConcurrencyUtil.parallelFor(pool, 0, size, (from, to) -> {
+                Workspace ws = acquireWorkspace();
+                try {
+                    for (int i = from; i < to; i++) {
+                        int v = current[i];
+                        if (dirty[v]) {
+                            priority[v] = computePriority(v, ws);
+                            dirty[v] = false;
+                        }
+                    }
+                } finally {
+                    workspaces.add(ws);
+                }
+            });
+
+            // select an independent set of local minima
+            boolean[] selected = new boolean[size];
+            ConcurrencyUtil.parallelFor(pool, 0, size, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    selected[i] = isLocalMinimum(current[i]);
+                }
+            });
+            int selectedSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (selected[i]) {
+                    selectedSize++;
+                }
+            }
+            final int[] batch = new int[selectedSize];
+            int[] next = new int[size - selectedSize];
+            for (int i = 0, b = 0, r = 0; i < size; i++) {
+                if (selected[i]) {
+                    batch[b++] = current[i];
+                    contracting[current[i]] = true;
+                } else {
+                    next[r++] = current[i];
+                }
+            }
+
+            // compute shortcuts in parallel
+            final Shortcuts[] shortcuts = new Shortcuts[selectedSize];
+            ConcurrencyUtil.parallelFor(pool, 0, selectedSize, (from, to) -> {
+                Workspace ws = acquireWorkspace();
+                try {
+                    for (int i = from; i < to; i++) {
+                        Shortcuts s = new Shortcuts();
+                        computeShortcuts(batch[i], ws, s, true);
+                        shortcuts[i] = s;
+                    }
+                } finally {
+                    workspaces.add(ws);
+                }
+            });
+
+            // contract sequentially
+            for (int i = 0; i < selectedSize; i++) {
+                int v = batch[i];
+                rank[v] = nextRank++;
+                Shortcuts s = shortcuts[i];
+                for (int j = 0; j < s.size; j++) {
+                    addArc(s.from[j], s.to[j], s.weight[j], -1, s.first[j], s.second[j]);
+                }
+            }
+            for (int v : batch) {
+                contracting[v] = false;
+                for (int j = 0; j < outSize[v]; j++) {
+                    touch(arcTo[outArcs[v][j]], v);
+                }
+                for (int j = 0; j < inSize[v]; j++) {
+                    touch(arcFrom[inArcs[v][j]], v);
+                }
+            }
+            for (int v : next) {
+                if (dirty[v]) {
+                    compact(v);
+                }
+            }
+
+            remaining = next;
+            remainingSize = next.length;
+        }
+
+        ContractionHierarchy<V, E> result = new ContractionHierarchy<>(
+            snapshot, rank, arcCount, Arrays.copyOf(arcFrom, arcCount),
+            Arrays.copyOf(arcTo, arcCount), Arrays.copyOf(arcWeight, arcCount),
+            Arrays.copyOf(arcEdge, arcCount), Arrays.copyOf(arcFirst, arcCount),
+            Arrays.copyOf(arcSecond, arcCount));
+
+        // release the working memory
+        outArcs = null;
+        inArcs = null;
+        workspaces = null;
+        return result;
+    }
+
+    private void initialize()
+    {
+        snapshot = new IntGraphSnapshot<>(graph);
+        n = snapshot.vertexCount();
+        rank = new int[n];
+        Arrays.fill(rank, -1);
+        contracting = new boolean[n];
+        priority = new int[n];
+        deletedNeighbors = new int[n];
+        level = new int[n];
+        dirty = new boolean[n];
+        Arrays.fill(dirty, true);
+
+        int initialCapacity = Math.max(16, snapshot.arcCount() * 2);
+        arcCount = 0;
+        arcFrom = new int[initialCapacity];
+        arcTo = new int[initialCapacity];
+        arcWeight = new double[initialCapacity];
+        arcEdge = new int[initialCapacity];
+        arcFirst = new int[initialCapacity];
+        arcSecond = new int[initialCapacity];
+
+        outArcs = new int[n][];
+        outSize = new int[n];
+        inArcs = new int[n][];
+        inSize = new int[n];
+        int[] offsets = snapshot.getOutOffsets();
+        for (int v = 0; v < n; v++) {
+            outArcs[v] = new int[Math.max(2, offsets[v + 1] - offsets[v])];
+            inArcs[v] = new int[2];
+        }
+
+        // keep only the lightest arc between a pair of vertices, ignore self-loops
+        int[] targets = snapshot.getOutTargets();
+        double[] weights = snapshot.getOutWeights();
+        int[] mark = new int[n];
+        Arrays.fill(mark, -1);
+        int[] best = new int[n];
+        for (int u = 0; u < n; u++) {
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int v = targets[a];
+                if (weights[a] < 0d) {
+                    throw new IllegalArgumentException("Negative edge weight not allowed");
+                }
+                if (v == u) {
+                    continue;
+                }
+                if (mark[v] != u) {
+                    mark[v] = u;
+                    best[v] = addArc(u, v, weights[a], a, -1, -1);
+                } else if (weights[a] < arcWeight[best[v]]) {
+                    arcWeight[best[v]] = weights[a];
+                    arcEdge[best[v]] = a;
+                }
+            }
+        }
+
+        workspaces = new ConcurrentLinkedQueue<>();
+    }
+
+    private Workspace acquireWorkspace()
+    {
+        Workspace ws = workspaces.poll();
+        return ws != null ? ws : new Workspace(n);
+    }
+
+    private boolean isLocalMinimum(int v)
+    {
+        for (int j = 0; j < outSize[v]; j++) {
+            int w = arcTo[outArcs[v][j]];
+            if (rank[w] < 0 && precedes(w, v)) {
+                return false;
+            }
+        }
+        for (int j = 0; j < inSize[v]; j++) {
+            int w = arcFrom[inArcs[v][j]];
+            if (rank[w] < 0 && precedes(w, v)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean precedes(int w, int v)
+    {
+        return priority[w] < priority[v] || (priority[w] == priority[v] && w < v);
+    }
+
+    private void touch(int w, int contracted)
+    {
+        if (rank[w] >= 0) {
+            return;
+        }
+        deletedNeighbors[w]++;
+        level[w] = Math.max(level[w], level[contracted] + 1);
+        dirty[w] = true;
+    }
+
+    /**
+     * Remove all arcs of a remaining vertex which lead to contracted vertices.
+     */
+    private void compact(int v)
+    {
+        int k = 0;
+        for (int j = 0; j < outSize[v]; j++) {
+            int a = outArcs[v][j];
+            if (rank[arcTo[a]] < 0) {
+                outArcs[v][k++] = a;
+            }
+        }
+        outSize[v] = k;
+        k = 0;
+        for (int j = 0; j < inSize[v]; j++) {
+            int a = inArcs[v][j];
+            if (rank[arcFrom[a]] < 0) {
+                inArcs[v][k++] = a;
+            }
+        }
+        inSize[v] = k;
+    }
+
+    private int computePriority(int v, Workspace ws)
+    {
+        int shortcuts = computeShortcuts(v, ws, null, false);
+        int edgeDifference = shortcuts - ws.inCount - ws.outCount;
+        return 2 * edgeDifference + deletedNeighbors[v] + level[v];
+    }
+
+    /**
+     * Compute the shortcuts required when contracting a vertex.
+     *
+     * @param v the vertex
+     * @param ws the workspace
+     * @param result where to store the shortcuts, or null to only count them
+     * @param avoidContracting whether witness searches should avoid the vertices contracted in
+     *        the current round
+     * @return the number of shortcuts
+     */
+    private int computeShortcuts(
+        int v, Workspace ws, Shortcuts result, boolean avoidContracting)
+    {
+        // collect the remaining neighbors using the lightest arc to each of them
+        ws.nextMark();
+        ws.inCount = 0;
+        for (int j = 0; j < inSize[v]; j++) {
+            int a = inArcs[v][j];
+            int u = arcFrom[a];
+            if (rank[u] >= 0) {
+                continue;
+            }
+            if (ws.inMark[u] != ws.mark) {
+                ws.inMark[u] = ws.mark;
+                ws.bestIn[u] = a;
+                ws.ins[ws.inCount++] = u;
+            } else if (arcWeight[a] < arcWeight[ws.bestIn[u]]) {
+                ws.bestIn[u] = a;
+            }
+        }
+        ws.outCount = 0;
+        double maxOut = 0d;
+        for (int j = 0; j < outSize[v]; j++) {
+            int a = outArcs[v][j];
+            int w = arcTo[a];
+            if (rank[w] >= 0) {
+                continue;
+            }
+            if (ws.outMark[w] != ws.mark) {
+                ws.outMark[w] = ws.mark;
+                ws.bestOut[w] = a;
+                ws.outs[ws.outCount++] = w;
+            } else if (arcWeight[a] < arcWeight[ws.bestOut[w]]) {
+                ws.bestOut[w] = a;
+            }
+            maxOut = Math.max(maxOut, arcWeight[a]);
+        }
+
+        int count = 0;
+        for (int i = 0; i < ws.inCount; i++) {
+            int u = ws.ins[i];
+            int inArc = ws.bestIn[u];
+            double inWeight = arcWeight[inArc];
+            if (ws.outCount == 0 || (ws.outCount == 1 && ws.outs[0] == u)) {
+                continue;
+            }
+            int targets = ws.outMark[u] == ws.mark ? ws.outCount - 1 : ws.outCount;
+            witnessSearch(u, v, inWeight + maxOut, targets, ws, avoidContracting);
+            for (int j = 0; j < ws.outCount; j++) {
+                int w = ws.outs[j];
+                if (w == u) {
+                    continue;
+                }
+                int outArc = ws.bestOut[w];
+                double via = inWeight + arcWeight[outArc];
+                if (ws.stamp[w] == ws.version && ws.dist[w] <= via) {
+                    continue;
+                }
+                count++;
+                if (result != null) {
+                    result.add(u, w, via, inArc, outArc);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Bounded Dijkstra search from a vertex which avoids the vertex being contracted. The search
+     * stops early once all targets, i.e. the marked out-neighbors of the avoided vertex, are
+     * settled.
+     */
+    private void witnessSearch(
+        int source, int avoid, double maxDistance, int targets, Workspace ws,
+        boolean avoidContracting)
+    {
+        ws.reset();
+        IndexedBinaryHeap heap = ws.heap;
+        ws.stamp[source] = ws.version;
+        ws.dist[source] = 0d;
+        heap.insert(source, 0d);
+        int settled = 0;
+        while (!heap.isEmpty() && settled < witnessSearchLimit) {
+            if (heap.findMinKey() > maxDistance) {
+                break;
+            }
+            int u = heap.deleteMin();
+            settled++;
+            if (u != source && ws.outMark[u] == ws.mark && --targets == 0) {
+                break;
+            }
+            double du = ws.dist[u];
+            int[] arcs = outArcs[u];
+            for (int j = 0, size = outSize[u]; j < size; j++) {
+                int a = arcs[j];
+                int w = arcTo[a];
+                if (w == avoid || rank[w] >= 0 || (avoidContracting && contracting[w])) {
+                    continue;
+                }
+                double dw = du + arcWeight[a];
+                if (ws.stamp[w] != ws.version) {
+                    ws.stamp[w] = ws.version;
+                    ws.dist[w] = dw;
+                    heap.insert(w, dw);
+                } else if (dw < ws.dist[w] && heap.contains(w)) {
+                    ws.dist[w] = dw;
+                    heap.decreaseKey(w, dw);
+                }
+            }
+        }
+    }
+
+    private int addArc(int from, int to, double weight, int edge, int first, int second)
+    {
+        if (arcCount == arcFrom.length) {
+            int capacity = arcFrom.length * 2;
+            arcFrom = Arrays.copyOf(arcFrom, capacity);
+            arcTo = Arrays.copyOf(arcTo, capacity);
+            arcWeight = Arrays.copyOf(arcWeight, capacity);
+            arcEdge = Arrays.copyOf(arcEdge, capacity);
+            arcFirst = Arrays.copyOf(arcFirst, capacity);
+            arcSecond = Arrays.copyOf(arcSecond, capacity);
+        }
+        int a = arcCount++;
+        arcFrom[a] = from;
+        arcTo[a] = to;
+        arcWeight[a] = weight;
+        arcEdge[a] = edge;
+        arcFirst[a] = first;
+        arcSecond[a] = second;
+
+        if (outSize[from] == outArcs[from].length) {
+            outArcs[from] = Arrays.copyOf(outArcs[from], outArcs[from].length * 2);
+        }
+        outArcs[from][outSize[from]++] = a;
+        if (inSize[to] == inArcs[to].length) {
+            inArcs[to] = Arrays.copyOf(inArcs[to], inArcs[to].length * 2);
+        }
+        inArcs[to][inSize[to]++] = a;
+        return a;
+    }
+
+    /**
+     * Per thread storage for witness searches.
+     */
+    private static class Workspace
+    {
+        final double[] dist;
+        final int[] stamp;
+        int version;
+        final IndexedBinaryHeap heap;
+
+        final int[] inMark;
+        final int[] outMark;
+        int mark;
+        final int[] bestIn;
+        final int[] bestOut;
+        final int[] ins;
+        final int[] outs;
+        int inCount;
+        int outCount;
+
+        Workspace(int n)
+        {
+            this.dist = new double[n];
+            this.stamp = new int[n];
+            this.heap = new IndexedBinaryHeap(n);
+            this.inMark = new int[n];
+            this.outMark = new int[n];
+            this.bestIn = new int[n];
+            this.bestOut = new int[n];
+            this.ins = new int[n];
+            this.outs = new int[n];
+        }
+
+        void reset()
+        {
+            heap.clear();
+            if (version == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                version = 1;
+            } else {
+                version++;
+            }
+        }
+
+        void nextMark()
+        {
+            if (mark == Integer.MAX_VALUE) {
+                Arrays.fill(inMark, 0);
+                Arrays.fill(outMark, 0);
+                mark = 1;
+            } else {
+                mark++;
+            }
+        }
+    }
+
+    /**
+     * Shortcuts computed for a single vertex.
+     */
+    private static class Shortcuts
+    {
+        int size;
+        int[] from = new int[4];
+        int[] to = new int[4];
+        double[] weight = new double[4];
+        int[] first = new int[4];
+        int[] second = new int[4];
+
+        void add(int u, int w, double via, int inArc, int outArc)
+        {
+            if (size == from.length) {
+                int capacity = size * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                first = Arrays.copyOf(first, capacity);
+                second = Arrays.copyOf(second, capacity);
+            }
+            from[size] = u;
+            to[size] = w;
+            weight[size] = via;
+            first[size] = inArc;
+            second[size] = outArc;
+            size++;
+        }
+    }
+
+}
@@ -0,0 +1,346 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * Shortest path queries using contraction hierarchies.
+ *
+ * <p>
+ * A point-to-point query runs a bidirectional Dijkstra search on a {@link ContractionHierarchy}:
+ * the forward search from the source only follows arcs towards vertices of higher rank and the
+ * backward search from the target only follows arcs from vertices of higher rank. Both searches
+ * meet at the highest ranked vertex of a shortest path. Shortcuts on the resulting path are
+ * unpacked recursively into edges of the original graph. Each direction stops as soon as its
+ * smallest tentative distance is at least the length of the best path found so far. Since the
+ * search spaces of both directions are tiny compared to the graph, queries on road networks
+ * typically settle only a few hundred vertices.
+ *
+ * <p>
+ * The class also supports many-to-many queries through
+ * {@link #getDistanceTable(List, List)}, which computes a full distance table using one upward
+ * search per source and per target, combined through buckets stored at the vertices settled by
+ * the backward searches.
+ *
+ * <p>
+ * The search workspace is allocated once and reused between queries, so instances are not
+ * thread-safe. In order to answer queries from multiple threads create one instance per thread
+ * with a shared {@link ContractionHierarchy}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ContractionHierarchyPrecomputation
+ */
+public class ContractionHierarchyShortestPath<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+{
+    private final ContractionHierarchy<V, E> hierarchy;
+    private final SearchSpace forward;
+    private final SearchSpace backward;
+
+    private double bestWeight;
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph. The contraction hierarchy is
+     * computed sequentially using the default parameters of
+     * {@link ContractionHierarchyPrecomputation}.
+     *
+     * @param graph the graph
+     * @throws IllegalArgumentException if the graph contains negative edge weights
+     */
+    public ContractionHierarchyShortestPath(Graph<V, E> graph)
+    {
+        this(new ContractionHierarchyPrecomputation<>(graph).computeContractionHierarchy());
+    }
+
+    /**
+     * Constructs a new instance of the algorithm for a given contraction hierarchy.
+     *
+     * @param hierarchy the contraction hierarchy
+     */
+    public ContractionHierarchyShortestPath(ContractionHierarchy<V, E> hierarchy)
+    {
+        super(Objects.requireNonNull(hierarchy, "Hierarchy cannot be null").getGraph());
+        this.hierarchy = hierarchy;
+        int n = hierarchy.rank.length;
+        this.forward = new SearchSpace(n);
+        this.backward = new SearchSpace(n);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        assertVertices(source, sink);
+        if (source.equals(sink)) {
+            return createEmptyPath(source, sink);
+        }
+
+        int meet = query(hierarchy.snapshot.getIndex(source), hierarchy.snapshot.getIndex(sink));
+        if (meet == -1) {
+            return null;
+        }
+
+        List<Integer> upward = new ArrayList<>();
+        for (int v = meet; forward.pred[v] != -1; v = hierarchy.arcFrom[forward.pred[v]]) {
+            upward.add(forward.pred[v]);
+        }
+        List<E> edgeList = new ArrayList<>();
+        for (int i = upward.size() - 1; i >= 0; i--) {
+            hierarchy.unpack(upward.get(i), edgeList);
+        }
+        for (int v = meet; backward.pred[v] != -1; v = hierarchy.arcTo[backward.pred[v]]) {
+            hierarchy.unpack(backward.pred[v], edgeList);
+        }
+        return new GraphWalk<>(graph, source, sink, null, edgeList, bestWeight);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getPathWeight(V source, V sink)
+    {
+        assertVertices(source, sink);
+        if (source.equals(sink)) {
+            return 0d;
+        }
+        int meet = query(hierarchy.snapshot.getIndex(source), hierarchy.snapshot.getIndex(sink));
+        return meet == -1 ? Double.POSITIVE_INFINITY : bestWeight;
+    }
+
+    /**
+     * Compute the shortest path weights between all pairs of a list of sources and a list of
+     * targets.
+     *
+     * @param sources the sources
+     * @param targets the targets
+     * @return a table whose entry $[i][j]$ contains the weight of a shortest path from the $i$-th
+     *         source to the $j$-th target, or {@link Double#POSITIVE_INFINITY} if no path exists
+     * @throws IllegalArgumentException if a source or a target is not part of the graph
+     */
+    public double[][] getDistanceTable(List<V> sources, List<V> targets)
+    {
+        int n = hierarchy.rank.length;
+        int[] sourceIndices = new int[sources.size()];
+        for (int i = 0; i < sourceIndices.length; i++) {
+            sourceIndices[i] = indexOf(sources.get(i), GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        int[] targetIndices = new int[targets.size()];
+        for (int j = 0; j < targetIndices.length; j++) {
+            targetIndices[j] = indexOf(targets.get(j), GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+
+        // backward searches fill the buckets
+        int[] bucketHead = new int[n];
+        Arrays.fill(bucketHead, -1);
+        int entries = 0;
+        int[] entryNext = new int[Math.max(16, targetIndices.length)];
+        int[] entryTarget = new int[entryNext.length];
+        double[] entryWeight = new double[entryNext.length];
+        for (int j = 0; j < targetIndices.length; j++) {
+            backward.reset();
+            backward.reach(targetIndices[j], 0d, -1);
+            while (!backward.heap.isEmpty()) {
+                int v = backward.heap.deleteMin();
+                if (entries == entryNext.length) {
+                    int capacity = entries * 2;
+                    entryNext = Arrays.copyOf(entryNext, capacity);
+                    entryTarget = Arrays.copyOf(entryTarget, capacity);
+                    entryWeight = Arrays.copyOf(entryWeight, capacity);
+                }
+                entryNext[entries] = bucketHead[v];
+                entryTarget[entries] = j;
+                entryWeight[entries] = backward.dist[v];
+                bucketHead[v] = entries++;
+                relaxDownward(v);
+            }
+        }
+
+        // forward searches scan the buckets
+        double[][] table = new double[sourceIndices.length][targetIndices.length];
+        for (int i = 0; i < sourceIndices.length; i++) {
+            double[] row = table[i];
+            Arrays.fill(row, Double.POSITIVE_INFINITY);
+            forward.reset();
+            forward.reach(sourceIndices[i], 0d, -1);
+            while (!forward.heap.isEmpty()) {
+                int u = forward.heap.deleteMin();
+                double du = forward.dist[u];
+                for (int e = bucketHead[u]; e != -1; e = entryNext[e]) {
+                    double candidate = du + entryWeight[e];
+                    if (candidate < row[entryTarget[e]]) {
+                        row[entryTarget[e]] = candidate;
+                    }
+                }
+                relaxUpward(u);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Run a bidirectional upward search.
+     *
+     * @return the vertex where the best path meets or -1 if no path exists
+     */
+    private int query(int s, int t)
+    {
+        forward.reset();
+        backward.reset();
+        forward.reach(s, 0d, -1);
+        backward.reach(t, 0d, -1);
+
+        bestWeight = Double.POSITIVE_INFINITY;
+        int meet = -1;
+        while (true) {
+            double forwardMin =
+                forward.heap.isEmpty() ? Double.POSITIVE_INFINITY : forward.heap.findMinKey();
+            double backwardMin =
+                backward.heap.isEmpty() ? Double.POSITIVE_INFINITY : backward.heap.findMinKey();
+            if (Math.min(forwardMin, backwardMin) >= bestWeight) {
+                break;
+            }
+            if (forwardMin <= backwardMin) {
+                int u = forward.heap.deleteMin();
+                if (backward.isReached(u)) {
+                    double candidate = forward.dist[u] + backward.dist[u];
+                    if (candidate < bestWeight) {
+                        bestWeight = candidate;
+                        meet = u;
+                    }
+                }
+                relaxUpward(u);
+            } else {
+                int v = backward.heap.deleteMin();
+                if (forward.isReached(v)) {
+                    double candidate = forward.dist[v] + backward.dist[v];
+                    if (candidate < bestWeight) {
+                        bestWeight = candidate;
+                        meet = v;
+                    }
+                }
+                relaxDownward(v);
+            }
+        }
+        return meet;
+    }
+
+    private void relaxUpward(int u)
+    {
+        double du = forward.dist[u];
+        for (int i = hierarchy.upOffsets[u], end = hierarchy.upOffsets[u + 1]; i < end; i++) {
+            int a = hierarchy.upArcs[i];
+            forward.relax(hierarchy.arcTo[a], du + hierarchy.arcWeight[a], a);
+        }
+    }
+
+    private void relaxDownward(int v)
+    {
+        double dv = backward.dist[v];
+        for (int i = hierarchy.downOffsets[v], end = hierarchy.downOffsets[v + 1]; i < end;
+            i++)
+        {
+            int a = hierarchy.downArcs[i];
+            backward.relax(hierarchy.arcFrom[a], dv + hierarchy.arcWeight[a], a);
+        }
+    }
+
+    private void assertVertices(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+    }
+
+    private int indexOf(V v, String message)
+    {
+        if (!graph.containsVertex(v)) {
+            throw new IllegalArgumentException(message);
+        }
+        return hierarchy.snapshot.getIndex(v);
+    }
+
+    /**
+     * The state of a unidirectional search which is reused between queries.
+     */
+    private static class SearchSpace
+    {
+        final double[] dist;
+        final int[] pred;
+        final int[] stamp;
+        int version;
+        final IndexedBinaryHeap heap;
+
+        SearchSpace(int n)
+        {
+            this.dist = new double[n];
+            this.pred = new int[n];
+            this.stamp = new int[n];
+            this.heap = new IndexedBinaryHeap(n);
+        }
+
+        void reset()
+        {
+            heap.clear();
+            if (version == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                version = 1;
+            } else {
+                version++;
+            }
+        }
+
+        boolean isReached(int v)
+        {
+            return stamp[v] == version;
+        }
+
+        void reach(int v, double d, int arc)
+        {
+            stamp[v] = version;
+            dist[v] = d;
+            pred[v] = arc;
+            heap.insert(v, d);
+        }
+
+        void relax(int v, double d, int arc)
+        {
+            if (stamp[v] != version) {
+                reach(v, d, arc);
+            } else if (d < dist[v] && heap.contains(v)) {
+                dist[v] = d;
+                pred[v] = arc;
+                heap.decreaseKey(v, d);
+            }
+        }
+    }
+
+}
@@ -40,6 +40,8 @@ public class GraphMeasurer<V, E>
     private final Graph<V, E> graph;
     /* All-pairs shortest path algorithm */
     private final ShortestPathAlgorithm<V, E> shortestPathAlgorithm;
+    /* Whether to compute the eccentricities using breadth-first search */
+    private final boolean breadthFirst;
 
     /* Vertex eccentricity map */
     private Map<V, Double> eccentricityMap = null;
@@ -50,13 +52,14 @@ public class GraphMeasurer<V, E>
 
     /**
      * Constructs a new instance of GraphMeasurer. {@link FloydWarshallShortestPaths} is used as the
-     * default shortest path algorithm.
+     * default shortest path algorithm. If the graph is unweighted, the eccentricities are computed
+     * by a {@link MultiSourceBFS} instead, in time $O(nm/64)$.
      * 
      * @param graph input graph
      */
     public GraphMeasurer(Graph<V, E> graph)
     {
-        this(graph, new FloydWarshallShortestPaths<V, E>(graph));
+        this(graph, new FloydWarshallShortestPaths<V, E>(graph), !graph.getType().isWeighted());
     }
 
     /**
@@ -71,9 +74,16 @@ public class GraphMeasurer<V, E>
      *        $O(|V|^3)$.
      */
     public GraphMeasurer(Graph<V, E> graph, ShortestPathAlgorithm<V, E> shortestPathAlgorithm)
+    {
+        this(graph, shortestPathAlgorithm, false);
+    }
+
+    private GraphMeasurer(
+        Graph<V, E> graph, ShortestPathAlgorithm<V, E> shortestPathAlgorithm, boolean breadthFirst)
     {
         this.graph = graph;
         this.shortestPathAlgorithm = shortestPathAlgorithm;
+        this.breadthFirst = breadthFirst;
     }
 
     /**
@@ -196,7 +206,12 @@ public class GraphMeasurer<V, E>
 
         // Compute the eccentricity map
         eccentricityMap = new LinkedHashMap<>();
-        if (graph.getType().isUndirected()) {
+        if (breadthFirst) {
+            MultiSourceBFS<V, E>.Statistics statistics =
+                new MultiSourceBFS<>(graph).getStatistics();
+            for (V v : graph.vertexSet())
+                eccentricityMap.put(v, statistics.getEccentricity(v));
+        } else if (graph.getType().isUndirected()) {
             List<V> vertices = new ArrayList<>(graph.vertexSet());
             double[] eccentricityVector = new double[vertices.size()];
             for (int i = 0; i < vertices.size() - 1; i++) {
@@ -0,0 +1,268 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * An implementation of Dijkstra's shortest path algorithm which operates on primitive arrays and
+ * reuses its workspace between queries.
+ *
+ * <p>
+ * The graph is converted once, on construction, into an {@link IntGraphSnapshot}. Every query
+ * then runs on {@code int} vertex indices and {@code double} distance arrays using an
+ * {@link IndexedBinaryHeap}. The distance and predecessor arrays as well as the heap are
+ * allocated once and reset between queries by incrementing a version stamp instead of clearing
+ * them, so a query costs time proportional to the part of the graph it explores. This makes the
+ * class suitable for answering a large number of point-to-point queries on the same graph, where
+ * {@link DijkstraShortestPath} spends most of its time allocating heap nodes and hash maps.
+ *
+ * <p>
+ * Since the snapshot is computed only once, later modifications of the graph are not reflected.
+ * Instances are not thread-safe as they share a single workspace across queries. In order to
+ * answer queries from multiple threads, create one instance per thread using
+ * {@link #IntDijkstraShortestPath(IntGraphSnapshot, double)} with a shared snapshot.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see DijkstraShortestPath
+ */
+public class IntDijkstraShortestPath<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+{
+    private final IntGraphSnapshot<V, E> snapshot;
+    private final double radius;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    private final double[] distance;
+    private final int[] predVertex;
+    private final int[] predArc;
+    private final int[] stamp;
+    private int version;
+    private final IndexedBinaryHeap heap;
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph.
+     *
+     * @param graph the graph
+     * @throws IllegalArgumentException if the graph contains negative edge weights
+     */
+    public IntDijkstraShortestPath(Graph<V, E> graph)
+    {
+        this(graph, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph.
+     *
+     * @param graph the graph
+     * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
+     * @throws IllegalArgumentException if the graph contains negative edge weights
+     */
+    public IntDijkstraShortestPath(Graph<V, E> graph, double radius)
+    {
+        this(new IntGraphSnapshot<>(graph), radius);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph snapshot. A snapshot may be
+     * shared between multiple instances, e.g. one per thread.
+     *
+     * @param snapshot the graph snapshot
+     * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
+     * @throws IllegalArgumentException if the graph contains negative edge weights
+     */
+    public IntDijkstraShortestPath(IntGraphSnapshot<V, E> snapshot, double radius)
+    {
+        super(Objects.requireNonNull(snapshot, "Snapshot cannot be null").getGraph());
+        if (radius < 0.0) {
+            throw new IllegalArgumentException("Radius must be non-negative");
+        }
+        this.snapshot = snapshot;
+        this.radius = radius;
+
+        this.offsets = snapshot.getOutOffsets();
+        this.targets = snapshot.getOutTargets();
+        this.weights = snapshot.getOutWeights();
+        for (double w : weights) {
+            if (w < 0.0) {
+                throw new IllegalArgumentException("Negative edge weight not allowed");
+            }
+        }
+
+        int n = snapshot.vertexCount();
+        this.distance = new double[n];
+        this.predVertex = new int[n];
+        this.predArc = new int[n];
+        this.stamp = new int[n];
+        this.version = 0;
+        this.heap = new IndexedBinaryHeap(n);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        if (source.equals(sink)) {
+            return createEmptyPath(source, sink);
+        }
+
+        int s = snapshot.getIndex(source);
+        int t = snapshot.getIndex(sink);
+        if (!run(s, t)) {
+            return null;
+        }
+
+        LinkedList<E> edgeList = new LinkedList<>();
+        int v = t;
+        while (v != s) {
+            edgeList.addFirst(snapshot.getOutEdge(predArc[v]));
+            v = predVertex[v];
+        }
+        return new GraphWalk<>(graph, source, sink, null, edgeList, distance[t]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getPathWeight(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        if (source.equals(sink)) {
+            return 0d;
+        }
+        int t = snapshot.getIndex(sink);
+        return run(snapshot.getIndex(source), t) ? distance[t] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned paths are backed by arrays copied out of the workspace and therefore remain
+     * valid after subsequent queries.
+     */
+    @Override
+    public SingleSourcePaths<V, E> getPaths(V source)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        int s = snapshot.getIndex(source);
+        run(s, -1);
+
+        int n = distance.length;
+        double[] d = new double[n];
+        int[] pv = new int[n];
+        int[] pa = new int[n];
+        for (int v = 0; v < n; v++) {
+            if (stamp[v] == version && !heap.contains(v)) {
+                d[v] = distance[v];
+                pv[v] = predVertex[v];
+                pa[v] = predArc[v];
+            } else {
+                d[v] = Double.POSITIVE_INFINITY;
+                pv[v] = -1;
+                pa[v] = -1;
+            }
+        }
+        return new IntTreeSingleSourcePaths<>(snapshot, s, d, pv, pa);
+    }
+
+    /**
+     * Run the search from a source until the target is settled, the heap is exhausted or the
+     * radius is exceeded.
+     *
+     * @param s the source index
+     * @param t the target index or -1 to settle all vertices within the radius
+     * @return whether the target was settled
+     */
+    private boolean run(int s, int t)
+    {
+        reset();
+
+        stamp[s] = version;
+        distance[s] = 0d;
+        predVertex[s] = -1;
+        predArc[s] = -1;
+        heap.insert(s, 0d);
+
+        while (!heap.isEmpty()) {
+            if (heap.findMinKey() > radius) {
+                break;
+            }
+            int u = heap.deleteMin();
+            if (u == t) {
+                return true;
+            }
+            double du = distance[u];
+            for (int a = offsets[u], end = offsets[u + 1]; a < end; a++) {
+                int v = targets[a];
+                double dv = du + weights[a];
+                if (stamp[v] != version) {
+                    stamp[v] = version;
+                    distance[v] = dv;
+                    predVertex[v] = u;
+                    predArc[v] = a;
+                    heap.insert(v, dv);
+                } else if (dv < distance[v] && heap.contains(v)) {
+                    distance[v] = dv;
+                    predVertex[v] = u;
+                    predArc[v] = a;
+                    heap.decreaseKey(v, dv);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void reset()
+    {
+        heap.clear();
+        if (version == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            version = 1;
+        } else {
+            version++;
+        }
+    }
+
+}
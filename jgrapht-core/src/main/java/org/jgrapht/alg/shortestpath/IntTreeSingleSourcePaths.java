@@ -0,0 +1,103 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+
+import java.util.*;
+
+/**
+ * A single source shortest paths tree stored in int-indexed arrays over an
+ * {@link IntGraphSnapshot}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+class IntTreeSingleSourcePaths<V, E>
+    implements
+    SingleSourcePaths<V, E>
+{
+    private final IntGraphSnapshot<V, E> snapshot;
+    private final int source;
+    private final double[] distance;
+    private final int[] predVertex;
+    private final int[] predArc;
+
+    /**
+     * Create a new instance. The arrays are not copied.
+     *
+     * @param snapshot the graph snapshot
+     * @param source the source vertex index
+     * @param distance the distance of every vertex, infinite if unreachable
+     * @param predVertex the predecessor vertex index of every vertex in the tree, or -1
+     * @param predArc the outgoing arc position of the tree edge entering every vertex, or -1
+     */
+    IntTreeSingleSourcePaths(
+        IntGraphSnapshot<V, E> snapshot, int source, double[] distance, int[] predVertex,
+        int[] predArc)
+    {
+        this.snapshot = snapshot;
+        this.source = source;
+        this.distance = distance;
+        this.predVertex = predVertex;
+        this.predArc = predArc;
+    }
+
+    @Override
+    public Graph<V, E> getGraph()
+    {
+        return snapshot.getGraph();
+    }
+
+    @Override
+    public V getSourceVertex()
+    {
+        return snapshot.getVertex(source);
+    }
+
+    @Override
+    public double getWeight(V targetVertex)
+    {
+        return distance[snapshot.getIndex(targetVertex)];
+    }
+
+    @Override
+    public GraphPath<V, E> getPath(V targetVertex)
+    {
+        int t = snapshot.getIndex(targetVertex);
+        if (t == source) {
+            return GraphWalk.singletonWalk(snapshot.getGraph(), targetVertex, 0d);
+        }
+        if (distance[t] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        LinkedList<E> edgeList = new LinkedList<>();
+        int v = t;
+        while (v != source) {
+            edgeList.addFirst(snapshot.getOutEdge(predArc[v]));
+            v = predVertex[v];
+        }
+        return new GraphWalk<>(
+            snapshot.getGraph(), snapshot.getVertex(source), targetVertex, null, edgeList,
+            distance[t]);
+    }
+
+}
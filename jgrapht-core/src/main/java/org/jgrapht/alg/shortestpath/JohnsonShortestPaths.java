@@ -24,6 +24,8 @@ import org.jgrapht.graph.builder.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 /**
  * Johnson's all pairs shortest paths algorithm.
@@ -38,6 +40,16 @@ import java.util.*;
  * Running time is $O(n m + n^2 \log n)$.
  *
  * <p>
+ * The Dijkstra runs of the different source vertices are independent. They can be dispatched to
+ * an {@link Executor}, in which case they write their results into a shared distance and
+ * predecessor table. The number of workers is the parallelism of a {@link ForkJoinPool}, the
+ * number of core threads of a {@link ThreadPoolExecutor} which has core threads, and the number of
+ * available processors for any other executor, but never more than the number of sources. The
+ * computation can also be restricted to a subset of the source vertices, which reduces both the
+ * running time and the memory to $O(k n)$ for $k$ sources. Queries are then only allowed from these
+ * sources.
+ *
+ * <p>
  * Since Johnson's algorithm creates additional vertices, this implementation requires the user to
  * provide a graph which is initialized with a vertex supplier.
  * 
@@ -54,11 +66,17 @@ public class JohnsonShortestPaths<V, E>
     extends
     BaseShortestPathAlgorithm<V, E>
 {
-    private double[][] distance;
-    private E[][] pred;
-    private Map<V, Integer> vertexIndices;
+    private static final int NO_ARC = -1;
 
     private final Comparator<Double> comparator;
+    private final Executor executor;
+    private final Collection<V> sources;
+
+    private IntGraphSnapshot<V, E> snapshot;
+    private int[] arcSources;
+    private int[] rowIndices;
+    private double[] distance;
+    private int[] pred;
 
     /**
      * Construct a new instance.
@@ -77,16 +95,55 @@ public class JohnsonShortestPaths<V, E>
      * @param epsilon tolerance when comparing floating point values
      */
     public JohnsonShortestPaths(Graph<V, E> graph, double epsilon)
+    {
+        this(graph, epsilon, null, null);
+    }
+
+    /**
+     * Construct a new instance which runs the Dijkstra computations on an executor.
+     *
+     * @param graph the input graph
+     * @param executor the executor to use, or null in order to compute sequentially
+     */
+    public JohnsonShortestPaths(Graph<V, E> graph, Executor executor)
+    {
+        this(graph, ToleranceDoubleComparator.DEFAULT_EPSILON, executor, null);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param graph the input graph
+     * @param epsilon tolerance when comparing floating point values
+     * @param executor the executor to use, or null in order to compute sequentially
+     * @param sources the source vertices for which to compute shortest paths, or null for all
+     *        vertices of the graph
+     * @throws IllegalArgumentException if a source vertex is not in the graph
+     */
+    public JohnsonShortestPaths(
+        Graph<V, E> graph, double epsilon, Executor executor, Collection<V> sources)
     {
         super(graph);
         this.comparator = new ToleranceDoubleComparator(epsilon);
+        this.executor = executor;
+        if (sources != null) {
+            for (V v : sources) {
+                if (!graph.containsVertex(v)) {
+                    throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+                }
+            }
+            this.sources = new LinkedHashSet<>(sources);
+        } else {
+            this.sources = null;
+        }
     }
 
     /**
      * {@inheritDoc}
      *
      * @throws IllegalArgumentException in case the provided vertex factory creates vertices which
-     *         are already in the original graph
+     *         are already in the original graph, or in case the source vertex is not one of the
+     *         requested sources
      * @throws NegativeCycleDetectedException in case a negative weight cycle is detected
      */
     @Override
@@ -100,35 +157,33 @@ public class JohnsonShortestPaths<V, E>
         }
 
         run();
+        int offset = rowOffset(source);
 
         if (source.equals(sink)) {
             return GraphWalk.singletonWalk(graph, source, 0d);
         }
 
-        int vSource = vertexIndices.get(source);
-        int vSink = vertexIndices.get(sink);
-
-        V cur = sink;
-        E e = pred[vSource][vSink];
-        if (e == null) {
+        int vSink = snapshot.getIndex(sink);
+        int arc = pred[offset + vSink];
+        if (arc == NO_ARC) {
             return null;
         }
 
         LinkedList<E> edgeList = new LinkedList<>();
-        while (e != null) {
-            edgeList.addFirst(e);
-            cur = Graphs.getOppositeVertex(graph, e, cur);
-            e = pred[vSource][vertexIndices.get(cur)];
+        while (arc != NO_ARC) {
+            edgeList.addFirst(snapshot.getOutEdge(arc));
+            arc = pred[offset + arcSources[arc]];
         }
 
-        return new GraphWalk<>(graph, source, sink, null, edgeList, distance[vSource][vSink]);
+        return new GraphWalk<>(graph, source, sink, null, edgeList, distance[offset + vSink]);
     }
 
     /**
      * {@inheritDoc}
      *
      * @throws IllegalArgumentException in case the provided vertex factory creates vertices which
-     *         are already in the original graph
+     *         are already in the original graph, or in case the source vertex is not one of the
+     *         requested sources
      */
     @Override
     public double getPathWeight(V source, V sink)
@@ -140,23 +195,44 @@ public class JohnsonShortestPaths<V, E>
             throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
         }
         run();
-        return distance[vertexIndices.get(source)][vertexIndices.get(sink)];
+        return distance[rowOffset(source) + snapshot.getIndex(sink)];
     }
 
     /**
      * {@inheritDoc}
      *
      * @throws IllegalArgumentException in case the provided vertex factory creates vertices which
-     *         are already in the original graph
+     *         are already in the original graph, or in case the source vertex is not one of the
+     *         requested sources
      * @throws NegativeCycleDetectedException in case a negative weight cycle is detected
      */
     @Override
     public SingleSourcePaths<V, E> getPaths(V source)
     {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
         run();
+        rowOffset(source);
         return new JohnsonSingleSourcePaths(source);
     }
 
+    /**
+     * Get the offset of the row of a source vertex in the distance and predecessor tables.
+     *
+     * @param source the source vertex
+     * @return the offset of the row
+     */
+    private int rowOffset(V source)
+    {
+        int row = rowIndices[snapshot.getIndex(source)];
+        if (row < 0) {
+            throw new IllegalArgumentException(
+                "Shortest paths were not computed for source vertex " + source);
+        }
+        return row * snapshot.vertexCount();
+    }
+
     /**
      * Executes the actual algorithm.
      */
@@ -186,115 +262,161 @@ public class JohnsonShortestPaths<V, E>
                 throw new NegativeCycleDetectedException(
                     GRAPH_CONTAINS_A_NEGATIVE_WEIGHT_CYCLE, cycle);
             }
-            runWithNegativeEdgeWeights(graph);
+            Map<V, Double> vertexWeights = computeVertexWeights(graph);
+            createSnapshot();
+            double[] potential = new double[snapshot.vertexCount()];
+            for (int v = 0; v < potential.length; v++) {
+                potential[v] = vertexWeights.get(snapshot.getVertex(v));
+            }
+            runDijkstra(potential);
         } else {
-            runWithPositiveEdgeWeights(graph);
+            createSnapshot();
+            runDijkstra(null);
         }
     }
 
     /**
-     * Graph has no edges with negative weights. Only perform the last step of Johnson's algorithm:
-     * run Dijkstra's algorithm from every vertex.
-     *
-     * @param g the input graph
+     * Create the array representation of the graph and of the results.
      */
-    private void runWithPositiveEdgeWeights(Graph<V, E> g)
+    private void createSnapshot()
     {
-        /*
-         * Create vertex numbering for array representation of results.
-         */
-        vertexIndices = computeVertexIndices(g);
-        final int n = g.vertexSet().size();
-        distance = new double[n][n];
-        pred = TypeUtil.uncheckedCast(new Object[n][n]);
+        snapshot = new IntGraphSnapshot<>(graph);
+        int n = snapshot.vertexCount();
+        int[] offsets = snapshot.getOutOffsets();
+        arcSources = new int[snapshot.arcCount()];
+        for (int v = 0; v < n; v++) {
+            Arrays.fill(arcSources, offsets[v], offsets[v + 1], v);
+        }
 
-        /*
-         * Execute Dijkstra multiple times
-         */
-        for (V v : g.vertexSet()) {
-            DijkstraClosestFirstIterator<V, E> it =
-                new DijkstraClosestFirstIterator<>(g, v, Double.POSITIVE_INFINITY);
-            while (it.hasNext()) {
-                it.next();
+        rowIndices = new int[n];
+        int rows;
+        if (sources == null) {
+            for (int v = 0; v < n; v++) {
+                rowIndices[v] = v;
             }
-            Map<V, Pair<Double, E>> distanceAndPredecessorMap = it.getDistanceAndPredecessorMap();
-
-            // transform result
-            for (V u : g.vertexSet()) {
-                Pair<Double, E> pair = distanceAndPredecessorMap
-                    .getOrDefault(u, Pair.of(Double.POSITIVE_INFINITY, null));
-                distance[vertexIndices.get(v)][vertexIndices.get(u)] = pair.getFirst();
-                pred[vertexIndices.get(v)][vertexIndices.get(u)] = pair.getSecond();
+            rows = n;
+        } else {
+            Arrays.fill(rowIndices, -1);
+            rows = 0;
+            for (V v : sources) {
+                rowIndices[snapshot.getIndex(v)] = rows++;
             }
         }
+
+        long size = (long) rows * n;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                "Too many source vertices, the results do not fit into an array");
+        }
+        distance = new double[(int) size];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
     }
 
     /**
-     * Graph contains edges with negative weights. Transform the input graph, thereby ensuring that
-     * there are no edges with negative weights. Then run Dijkstra's algorithm for all vertices.
+     * Run Dijkstra's algorithm from every source vertex. If vertex potentials are given, the edge
+     * weights are transformed to $w(u,v) + p(u) - p(v)$ which is non-negative, and the distances
+     * transformed back to the original weights.
      *
-     * @param g the input graph
+     * @param potential the vertex potentials or null
      */
-    private void runWithNegativeEdgeWeights(Graph<V, E> g)
+    private void runDijkstra(double[] potential)
     {
-        /*
-         * Compute vertex weights using Bellman-Ford
-         */
-        Map<V, Double> vertexWeights = computeVertexWeights(g);
-
-        /*
-         * Compute new non-negative edge weights
-         */
-        Map<E, Double> newEdgeWeights = new HashMap<>();
-        for (E e : g.edgeSet()) {
-            V u = g.getEdgeSource(e);
-            V v = g.getEdgeTarget(e);
-            double weight = g.getEdgeWeight(e);
-            newEdgeWeights.put(e, weight + vertexWeights.get(u) - vertexWeights.get(v));
+        int n = snapshot.vertexCount();
+        int[] offsets = snapshot.getOutOffsets();
+        int[] targets = snapshot.getOutTargets();
+        double[] weights = snapshot.getOutWeights();
+        if (potential != null) {
+            weights = weights.clone();
+            for (int a = 0; a < weights.length; a++) {
+                // rounding errors could create tiny negative values
+                weights[a] =
+                    Math.max(0d, weights[a] + potential[arcSources[a]] - potential[targets[a]]);
+            }
         }
+        final double[] reducedWeights = weights;
 
-        /*
-         * Create graph with new edge weights
-         */
-        Graph<V, E> newEdgeWeightsGraph = new AsWeightedGraph<>(g, newEdgeWeights);
+        int[] rowSources = new int[distance.length / Math.max(1, n)];
+        for (int v = 0; v < n; v++) {
+            if (rowIndices[v] >= 0) {
+                rowSources[rowIndices[v]] = v;
+            }
+        }
 
-        /*
-         * Create vertex numbering, for array representation of results
-         */
-        vertexIndices = computeVertexIndices(g);
-        final int n = g.vertexSet().size();
-        distance = new double[n][n];
-        pred = TypeUtil.uncheckedCast(new Object[n][n]);
+        int[] predecessors = new int[distance.length];
+        Arrays.fill(predecessors, NO_ARC);
+
+        AtomicInteger nextRow = new AtomicInteger();
+        Runnable worker = () -> {
+            IndexedBinaryHeap heap = new IndexedBinaryHeap(n);
+            int row;
+            while ((row = nextRow.getAndIncrement()) < rowSources.length) {
+                int offset = row * n;
+                int source = rowSources[row];
+                distance[offset + source] = 0d;
+                heap.clear();
+                heap.insert(source, 0d);
+                while (!heap.isEmpty()) {
+                    double du = heap.findMinKey();
+                    int u = heap.deleteMin();
+                    for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                        int v = targets[a];
+                        double dv = du + reducedWeights[a];
+                        if (dv < distance[offset + v]) {
+                            distance[offset + v] = dv;
+                            predecessors[offset + v] = a;
+                            heap.insertOrDecreaseKey(v, dv);
+                        }
+                    }
+                }
+                if (potential != null) {
+                    double ps = potential[source];
+                    for (int v = 0; v < n; v++) {
+                        distance[offset + v] += potential[v] - ps;
+                    }
+                }
+            }
+        };
 
-        /*
-         * Run Dijkstra using new weights for all vertices
-         */
-        for (V v : g.vertexSet()) {
-            DijkstraClosestFirstIterator<V, E> it = new DijkstraClosestFirstIterator<>(
-                newEdgeWeightsGraph, v, Double.POSITIVE_INFINITY);
-            while (it.hasNext()) {
-                it.next();
+        int workers = executor == null ? 1 : Math.min(parallelism(executor), rowSources.length);
+        if (workers <= 1) {
+            worker.run();
+        } else {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[workers];
+            for (int i = 0; i < workers; i++) {
+                futures[i] = CompletableFuture.runAsync(worker, executor);
             }
-            Map<V, Pair<Double, E>> distanceAndPredecessorMap = it.getDistanceAndPredecessorMap();
-
-            // transform distances to original weights
-            for (V u : g.vertexSet()) {
-                Pair<Double, E> oldPair = distanceAndPredecessorMap.get(u);
-
-                Pair<Double, E> newPair;
-                if (oldPair != null) {
-                    newPair = Pair.of(
-                        oldPair.getFirst() - vertexWeights.get(v) + vertexWeights.get(u),
-                        oldPair.getSecond());
-                } else {
-                    newPair = Pair.of(Double.POSITIVE_INFINITY, null);
+            try {
+                CompletableFuture.allOf(futures).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
                 }
-
-                distance[vertexIndices.get(v)][vertexIndices.get(u)] = newPair.getFirst();
-                pred[vertexIndices.get(v)][vertexIndices.get(u)] = newPair.getSecond();
+                throw e;
             }
         }
 
+        pred = predecessors;
+    }
+
+    /**
+     * Number of workers to submit to an executor.
+     *
+     * @param executor the executor
+     * @return the number of workers
+     */
+    private static int parallelism(Executor executor)
+    {
+        if (executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executor).getParallelism();
+        }
+        if (executor instanceof ThreadPoolExecutor) {
+            // the maximum pool size of a cached thread pool is unbounded
+            int threads = ((ThreadPoolExecutor) executor).getCorePoolSize();
+            if (threads > 0) {
+                return threads;
+            }
+        }
+        return Runtime.getRuntime().availableProcessors();
     }
 
     /**
@@ -345,22 +467,6 @@ public class JohnsonShortestPaths<V, E>
         return weights;
     }
 
-    /**
-     * Compute a unique integer for each vertex of the graph
-     * 
-     * @param g the graph
-     * @return a map with the result
-     */
-    private Map<V, Integer> computeVertexIndices(Graph<V, E> g)
-    {
-        Map<V, Integer> numbering = new HashMap<>();
-        int num = 0;
-        for (V v : g.vertexSet()) {
-            numbering.put(v, num++);
-        }
-        return numbering;
-    }
-
     class JohnsonSingleSourcePaths
         implements
         SingleSourcePaths<V, E>
@@ -0,0 +1,531 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Bit-parallel multi-source breadth-first search for unweighted distance measures.
+ *
+ * <p>
+ * The searches from up to 64 source vertices are executed together, as described in M. Then, M.
+ * Kaufmann, F. Chirigati, T. Hoang-Vu, K. Pham, A. Kemper, T. Neumann and H. T. Vo. The More the
+ * Merrier: Efficient Multi-Source Graph Traversal. Proceedings of the VLDB Endowment 8(4), 2014.
+ * Every vertex stores a {@code long} whose bits denote the sources which have already reached it,
+ * and a frontier vertex propagates all its bits along each of its arcs at once. Hence the graph is
+ * traversed once per batch of 64 sources instead of once per source. The graph is copied into an
+ * {@link IntGraphSnapshot} on construction and the batches are processed in parallel on a
+ * {@link ForkJoinPool}. Each thread needs $O(n)$ space.
+ *
+ * <p>
+ * Edge weights are ignored, every edge counts as distance one. For every source the search
+ * computes the number of reachable vertices, the largest distance to a reachable vertex, and the
+ * sum of the distances and of their reciprocals. These are the building blocks of the
+ * eccentricity, the closeness and the harmonic centrality.
+ *
+ * <p>
+ * The exact diameter is computed by {@link #getDiameter()} using the iFUB algorithm, which on
+ * real-world graphs usually needs only a small number of searches. See P. Crescenzi, R. Grossi,
+ * M. Habib, L. Lanzi and A. Marino. On computing the diameter of real-world undirected graphs.
+ * Theoretical Computer Science 514, 2013 and P. Crescenzi, R. Grossi, L. Lanzi and A. Marino. On
+ * computing the diameter of real-world directed (weighted) graphs. SEA 2012.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class MultiSourceBFS<V, E>
+{
+    private static final int BATCH = Long.SIZE;
+
+    private final Graph<V, E> graph;
+    private final ForkJoinPool pool;
+    private final IntGraphSnapshot<V, E> snapshot;
+    private final ConcurrentLinkedQueue<Workspace> workspaces;
+
+    /**
+     * Create a new instance which processes the batches in parallel using the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param graph the input graph
+     */
+    public MultiSourceBFS(Graph<V, E> graph)
+    {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param graph the input graph
+     * @param pool the pool used to process the batches, or null in order to process them
+     *        sequentially
+     */
+    public MultiSourceBFS(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.pool = pool;
+        this.snapshot = new IntGraphSnapshot<>(graph, true);
+        this.workspaces = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Compute the distance statistics of all vertices of the graph using outgoing paths.
+     *
+     * @return the distance statistics
+     */
+    public Statistics getStatistics()
+    {
+        return getStatistics(graph.vertexSet(), false);
+    }
+
+    /**
+     * Compute the distance statistics of a set of source vertices.
+     *
+     * @param sources the source vertices
+     * @param incoming if true the distances of the paths ending at each source are used, otherwise
+     *        the paths starting at each source
+     * @return the distance statistics
+     * @throws IllegalArgumentException if a source is not a vertex of the graph
+     */
+    public Statistics getStatistics(Collection<V> sources, boolean incoming)
+    {
+        Map<V, Integer> positions = new LinkedHashMap<>();
+        for (V v : sources) {
+            positions.putIfAbsent(v, positions.size());
+        }
+        int[] indices = new int[positions.size()];
+        for (Map.Entry<V, Integer> entry : positions.entrySet()) {
+            indices[entry.getValue()] = snapshot.getIndex(entry.getKey());
+        }
+        return new Statistics(positions, compute(indices, incoming));
+    }
+
+    /**
+     * Compute the exact diameter of the graph using the iFUB algorithm. If the graph has no
+     * vertices, the diameter is 0. If the graph is not (strongly) connected, the diameter is
+     * {@link Double#POSITIVE_INFINITY}. In the worst case the running time is $O(nm/64)$, but on
+     * graphs with small diameter compared to the number of vertices it is usually close to a
+     * constant number of searches.
+     *
+     * @return the diameter of the graph
+     */
+    public double getDiameter()
+    {
+        int n = snapshot.vertexCount();
+        if (n == 0) {
+            return 0d;
+        }
+        boolean directed = graph.getType().isDirected();
+
+        // start from the vertex of maximum degree, for undirected graphs use the middle vertex
+        // of a path found by a double sweep
+        int[] outOffsets = snapshot.getOutOffsets();
+        int[] inOffsets = snapshot.getInOffsets();
+        int start = 0;
+        int maxDegree = -1;
+        for (int v = 0; v < n; v++) {
+            int degree = outOffsets[v + 1] - outOffsets[v] + inOffsets[v + 1] - inOffsets[v];
+            if (degree > maxDegree) {
+                start = v;
+                maxDegree = degree;
+            }
+        }
+        int lowerBound = 0;
+        if (!directed) {
+            int[] parent = new int[n];
+            int[] distance = distances(start, false, null);
+            int a = farthest(distance);
+            if (distance[a] < 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            distance = distances(a, false, parent);
+            int b = farthest(distance);
+            lowerBound = distance[b];
+            for (int i = 0; i < lowerBound / 2; i++) {
+                b = parent[b];
+            }
+            start = b;
+        }
+
+        int[] forward = distances(start, false, null);
+        int[] backward = directed ? distances(start, true, null) : forward;
+        int forwardEccentricity = forward[farthest(forward)];
+        int backwardEccentricity = backward[farthest(backward)];
+        if (forwardEccentricity < 0 || backwardEccentricity < 0) {
+            // some vertex is unreachable
+            return Double.POSITIVE_INFINITY;
+        }
+        lowerBound = Math.max(lowerBound, Math.max(forwardEccentricity, backwardEccentricity));
+
+        /*
+         * A pair x,y with d(x,y) > 2(i-1) satisfies d(x,start) >= i or d(start,y) >= i. Hence after
+         * processing all fringes of level at least i, the lower bound is exact if it is at least
+         * 2(i-1).
+         */
+        int levels = Math.max(forwardEccentricity, backwardEccentricity);
+        int[][] forwardFringes = fringes(forward, forwardEccentricity);
+        int[][] backwardFringes = directed ? fringes(backward, backwardEccentricity) : null;
+        for (int i = levels; i > 0 && lowerBound < 2 * i; i--) {
+            if (directed) {
+                // forward searches from vertices far from the start and vice versa
+                if (i < backwardFringes.length) {
+                    lowerBound = Math.max(lowerBound, maxDistance(backwardFringes[i], false));
+                }
+                if (i < forwardFringes.length) {
+                    lowerBound = Math.max(lowerBound, maxDistance(forwardFringes[i], true));
+                }
+            } else {
+                lowerBound = Math.max(lowerBound, maxDistance(forwardFringes[i], false));
+            }
+        }
+        return lowerBound;
+    }
+
+    /**
+     * Group the vertices by their distance.
+     */
+    private static int[][] fringes(int[] distance, int levels)
+    {
+        int[] count = new int[levels + 1];
+        for (int d : distance) {
+            count[d]++;
+        }
+        int[][] fringes = new int[levels + 1][];
+        for (int i = 0; i <= levels; i++) {
+            fringes[i] = new int[count[i]];
+            count[i] = 0;
+        }
+        for (int v = 0; v < distance.length; v++) {
+            int d = distance[v];
+            fringes[d][count[d]++] = v;
+        }
+        return fringes;
+    }
+
+    private static int farthest(int[] distance)
+    {
+        int farthest = 0;
+        for (int v = 0; v < distance.length; v++) {
+            if (distance[v] < 0) {
+                return v;
+            }
+            if (distance[v] > distance[farthest]) {
+                farthest = v;
+            }
+        }
+        return farthest;
+    }
+
+    private int maxDistance(int[] sources, boolean incoming)
+    {
+        int max = 0;
+        for (int d : compute(sources, incoming).maxDistance) {
+            max = Math.max(max, d);
+        }
+        return max;
+    }
+
+    /**
+     * Single source breadth-first search.
+     *
+     * @param source the source
+     * @param incoming whether to traverse the arcs backwards
+     * @param parent if not null, filled with the parent of each vertex in the search tree
+     * @return the distance of each vertex, or -1 if unreachable
+     */
+    private int[] distances(int source, boolean incoming, int[] parent)
+    {
+        int n = snapshot.vertexCount();
+        int[] offsets = incoming ? snapshot.getInOffsets() : snapshot.getOutOffsets();
+        int[] targets = incoming ? snapshot.getInSources() : snapshot.getOutTargets();
+        int[] distance = new int[n];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        distance[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int v = targets[a];
+                if (distance[v] < 0) {
+                    distance[v] = distance[u] + 1;
+                    if (parent != null) {
+                        parent[v] = u;
+                    }
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Run the searches from all sources in batches of 64.
+     *
+     * @param sources the source vertex indices
+     * @param incoming whether to traverse the arcs backwards
+     * @return the statistics of each source, in the order of the sources
+     */
+    private Result compute(int[] sources, boolean incoming)
+    {
+        int k = sources.length;
+        Result result = new Result(k);
+
+        int n = snapshot.vertexCount();
+        int[] offsets = incoming ? snapshot.getInOffsets() : snapshot.getOutOffsets();
+        int[] targets = incoming ? snapshot.getInSources() : snapshot.getOutTargets();
+        int batches = (k + BATCH - 1) / BATCH;
+        ConcurrencyUtil.parallelFor(pool, 0, batches, (from, to) -> {
+            Workspace ws = workspaces.poll();
+            if (ws == null) {
+                ws = new Workspace(n);
+            }
+            for (int b = from; b < to; b++) {
+                int first = b * BATCH;
+                int last = Math.min(k, first + BATCH);
+                ws.search(offsets, targets, sources, first, last);
+                int size = last - first;
+                System.arraycopy(ws.maxDistance, 0, result.maxDistance, first, size);
+                System.arraycopy(ws.reachable, 0, result.reachable, first, size);
+                System.arraycopy(ws.distanceSum, 0, result.distanceSum, first, size);
+                System.arraycopy(ws.harmonicSum, 0, result.harmonicSum, first, size);
+            }
+            workspaces.offer(ws);
+        });
+        return result;
+    }
+
+    /**
+     * Statistics of the sources, indexed by the position of each source.
+     */
+    private static class Result
+    {
+        final int[] maxDistance;
+        final int[] reachable;
+        final long[] distanceSum;
+        final double[] harmonicSum;
+
+        Result(int k)
+        {
+            this.maxDistance = new int[k];
+            this.reachable = new int[k];
+            this.distanceSum = new long[k];
+            this.harmonicSum = new double[k];
+        }
+    }
+
+    /**
+     * The per thread state of the search.
+     */
+    private static class Workspace
+    {
+        final long[] seen;
+        final long[] frontier;
+        final long[] next;
+        int[] active;
+        int[] nextActive;
+
+        final int[] maxDistance;
+        final int[] reachable;
+        final long[] distanceSum;
+        final double[] harmonicSum;
+
+        Workspace(int n)
+        {
+            this.seen = new long[n];
+            this.frontier = new long[n];
+            this.next = new long[n];
+            this.active = new int[n];
+            this.nextActive = new int[n];
+            this.maxDistance = new int[BATCH];
+            this.reachable = new int[BATCH];
+            this.distanceSum = new long[BATCH];
+            this.harmonicSum = new double[BATCH];
+        }
+
+        /**
+         * Search from the sources at positions $[first, last)$, which are at most 64.
+         */
+        void search(int[] offsets, int[] targets, int[] sources, int first, int last)
+        {
+            Arrays.fill(seen, 0L);
+            Arrays.fill(maxDistance, 0);
+            Arrays.fill(reachable, 0);
+            Arrays.fill(distanceSum, 0L);
+            Arrays.fill(harmonicSum, 0d);
+
+            int activeCount = 0;
+            for (int i = first; i < last; i++) {
+                int s = sources[i];
+                if (seen[s] == 0L) {
+                    active[activeCount++] = s;
+                }
+                seen[s] |= 1L << (i - first);
+                frontier[s] = seen[s];
+            }
+
+            for (int level = 1; activeCount > 0; level++) {
+                // push the frontier bits along all arcs
+                int nextCount = 0;
+                for (int j = 0; j < activeCount; j++) {
+                    int u = active[j];
+                    long bits = frontier[u];
+                    frontier[u] = 0L;
+                    for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                        int v = targets[a];
+                        long add = bits & ~seen[v];
+                        if (add != 0L) {
+                            if (next[v] == 0L) {
+                                nextActive[nextCount++] = v;
+                            }
+                            next[v] |= add;
+                        }
+                    }
+                }
+
+                // the new bits of a vertex are the sources reaching it at this level
+                double reciprocal = 1d / level;
+                for (int j = 0; j < nextCount; j++) {
+                    int v = nextActive[j];
+                    long bits = next[v];
+                    next[v] = 0L;
+                    seen[v] |= bits;
+                    frontier[v] = bits;
+                    while (bits != 0L) {
+                        int i = Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        maxDistance[i] = level;
+                        reachable[i]++;
+                        distanceSum[i] += level;
+                        harmonicSum[i] += reciprocal;
+                    }
+                }
+
+                int[] tmp = active;
+                active = nextActive;
+                nextActive = tmp;
+                activeCount = nextCount;
+            }
+        }
+    }
+
+    /**
+     * Distance statistics of a set of source vertices. Only vertices different from the source
+     * are taken into account.
+     */
+    public class Statistics
+    {
+        private final Map<V, Integer> positions;
+        private final Result result;
+
+        private Statistics(Map<V, Integer> positions, Result result)
+        {
+            this.positions = positions;
+            this.result = result;
+        }
+
+        /**
+         * Get the source vertices.
+         *
+         * @return the source vertices
+         */
+        public Set<V> getSources()
+        {
+            return Collections.unmodifiableSet(positions.keySet());
+        }
+
+        /**
+         * Get the number of vertices, other than the source itself, which are reachable from
+         * (or, for incoming paths, can reach) the source.
+         *
+         * @param source the source vertex
+         * @return the number of reachable vertices
+         */
+        public int getReachableCount(V source)
+        {
+            return result.reachable[position(source)];
+        }
+
+        /**
+         * Get the largest distance between the source and a reachable vertex.
+         *
+         * @param source the source vertex
+         * @return the largest distance to a reachable vertex
+         */
+        public int getMaxDistance(V source)
+        {
+            return result.maxDistance[position(source)];
+        }
+
+        /**
+         * Get the eccentricity of the source, that is the largest distance to any vertex. It is
+         * {@link Double#POSITIVE_INFINITY} if some vertex is unreachable.
+         *
+         * @param source the source vertex
+         * @return the eccentricity
+         */
+        public double getEccentricity(V source)
+        {
+            int i = position(source);
+            if (result.reachable[i] < snapshot.vertexCount() - 1) {
+                return Double.POSITIVE_INFINITY;
+            }
+            return result.maxDistance[i];
+        }
+
+        /**
+         * Get the sum of the distances between the source and all reachable vertices.
+         *
+         * @param source the source vertex
+         * @return the sum of the distances
+         */
+        public long getDistanceSum(V source)
+        {
+            return result.distanceSum[position(source)];
+        }
+
+        /**
+         * Get the sum of the reciprocals of the distances between the source and all reachable
+         * vertices.
+         *
+         * @param source the source vertex
+         * @return the sum of the reciprocal distances
+         */
+        public double getHarmonicSum(V source)
+        {
+            return result.harmonicSum[position(source)];
+        }
+
+        private int position(V source)
+        {
+            Integer i = positions.get(source);
+            if (i == null) {
+                throw new IllegalArgumentException("Not a source vertex: " + source);
+            }
+            return i;
+        }
+    }
+
+}
@@ -0,0 +1,455 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.event.*;
+import org.jgrapht.graph.*;
+import org.jheaps.*;
+import org.jheaps.tree.*;
+
+import java.util.*;
+
+/**
+ * Shortest path trees from a set of sources which are maintained under changes of the graph.
+ *
+ * <p>
+ * The algorithm is an adaptation of the one described in: G. Ramalingam and T. Reps. An
+ * incremental algorithm for a generalization of the shortest-path problem. Journal of Algorithms,
+ * 21(2):267–305, 1996. Each source keeps a tree of shortest paths. When an edge is added or its
+ * weight decreases, Dijkstra's algorithm is restarted from the endpoint whose distance improved and
+ * stops as soon as no further distance improves. When a tree edge is removed or its weight
+ * increases, the subtree below that edge is detached, every detached vertex is given its best
+ * distance through an edge from the rest of the tree, and Dijkstra's algorithm is run on the
+ * detached vertices only. Changes of non-tree edges which do not shorten a path cost constant
+ * time. The work per update is therefore proportional to the size of the region whose distances
+ * change, instead of the size of the graph.
+ *
+ * <p>
+ * The algorithm reads the graph lazily and learns about changes only through the
+ * {@link GraphListener} interface, so it must be added as a listener to the graph, for example a
+ * {@link DefaultListenableGraph}, before the graph is modified. Edge weights must be non-negative;
+ * a negative weight results in an {@link IllegalArgumentException}, possibly thrown from the
+ * listener, after which the maintained trees are undefined. The paths returned by
+ * {@link #getPaths(Object)} are live views which reflect later changes. The algorithm is not
+ * thread-safe.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class RamalingamRepsShortestPaths<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+    implements
+    GraphListener<V, E>
+{
+    private final Map<V, Tree> trees;
+    private final AddressableHeap<Double, V> heap;
+
+    /**
+     * Create a new instance without any sources.
+     *
+     * @param graph the graph
+     */
+    public RamalingamRepsShortestPaths(Graph<V, E> graph)
+    {
+        this(graph, Collections.emptyList());
+    }
+
+    /**
+     * Create a new instance and compute the shortest path trees of some sources.
+     *
+     * @param graph the graph
+     * @param sources the sources
+     * @throws IllegalArgumentException if a source is not in the graph or the graph contains a
+     *         negative edge weight
+     */
+    public RamalingamRepsShortestPaths(Graph<V, E> graph, Collection<V> sources)
+    {
+        super(graph);
+        this.trees = new LinkedHashMap<>();
+        this.heap = new PairingHeap<>();
+        for (V source : sources) {
+            addSource(source);
+        }
+    }
+
+    /**
+     * Start maintaining the shortest path tree of a source. This costs a run of Dijkstra's
+     * algorithm. Adding a source which is already tracked has no effect.
+     *
+     * @param source the source
+     * @throws IllegalArgumentException if the source is not in the graph or the graph contains a
+     *         negative edge weight
+     */
+    public void addSource(V source)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (trees.containsKey(source)) {
+            return;
+        }
+        Tree tree = new Tree(source);
+        trees.put(source, tree);
+        Label label = new Label(0d, null);
+        tree.labels.put(source, label);
+        label.handle = heap.insert(0d, source);
+        tree.dijkstra();
+    }
+
+    /**
+     * Stop maintaining the shortest path tree of a source.
+     *
+     * @param source the source
+     * @return true if the source was tracked
+     */
+    public boolean removeSource(V source)
+    {
+        return trees.remove(source) != null;
+    }
+
+    /**
+     * Get the tracked sources.
+     *
+     * @return an unmodifiable view of the tracked sources
+     */
+    public Set<V> getSources()
+    {
+        return Collections.unmodifiableSet(trees.keySet());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the source is not tracked
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        return treeOf(source).getPath(sink);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the source is not tracked
+     */
+    @Override
+    public double getPathWeight(V source, V sink)
+    {
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        return treeOf(source).getWeight(sink);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The result is a live view of the maintained tree.
+     *
+     * @throws IllegalArgumentException if the source is not tracked
+     */
+    @Override
+    public SingleSourcePaths<V, E> getPaths(V source)
+    {
+        return treeOf(source);
+    }
+
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        improve(e.getEdge(), e.getEdgeSource(), e.getEdgeTarget());
+    }
+
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        E edge = e.getEdge();
+        V source = e.getEdgeSource();
+        V target = e.getEdgeTarget();
+        boolean directed = graph.getType().isDirected();
+        for (Tree tree : trees.values()) {
+            if (tree.isTreeEdge(edge, target)) {
+                tree.detach(target);
+            } else if (!directed && tree.isTreeEdge(edge, source)) {
+                tree.detach(source);
+            }
+        }
+    }
+
+    @Override
+    public void edgeWeightUpdated(GraphEdgeChangeEvent<V, E> e)
+    {
+        E edge = e.getEdge();
+        V source = e.getEdgeSource();
+        V target = e.getEdgeTarget();
+        double weight = weightOf(edge);
+        boolean directed = graph.getType().isDirected();
+        for (Tree tree : trees.values()) {
+            if (tree.isTreeEdge(edge, target)) {
+                tree.update(edge, source, target, weight);
+            } else if (!directed && tree.isTreeEdge(edge, source)) {
+                tree.update(edge, target, source, weight);
+            } else {
+                tree.relax(edge, source, target, weight);
+                if (!directed) {
+                    tree.relax(edge, target, source, weight);
+                }
+                tree.dijkstra();
+            }
+        }
+    }
+
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        // a new vertex is unreachable
+    }
+
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        V v = e.getVertex();
+        trees.remove(v);
+        for (Tree tree : trees.values()) {
+            tree.labels.remove(v);
+        }
+    }
+
+    private void improve(E edge, V source, V target)
+    {
+        double weight = weightOf(edge);
+        boolean directed = graph.getType().isDirected();
+        for (Tree tree : trees.values()) {
+            tree.relax(edge, source, target, weight);
+            if (!directed) {
+                tree.relax(edge, target, source, weight);
+            }
+            tree.dijkstra();
+        }
+    }
+
+    private Tree treeOf(V source)
+    {
+        Tree tree = trees.get(source);
+        if (tree == null) {
+            throw new IllegalArgumentException("Source vertex is not tracked: " + source);
+        }
+        return tree;
+    }
+
+    private double weightOf(E e)
+    {
+        double weight = graph.getEdgeWeight(e);
+        if (weight < 0d) {
+            throw new IllegalArgumentException("Negative edge weight not allowed");
+        }
+        return weight;
+    }
+
+    /**
+     * The distance and the tree edge of a reached vertex.
+     */
+    private class Label
+    {
+        double distance;
+        E pred;
+        AddressableHeap.Handle<Double, V> handle;
+
+        Label(double distance, E pred)
+        {
+            this.distance = distance;
+            this.pred = pred;
+        }
+    }
+
+    /**
+     * The maintained shortest path tree of one source.
+     */
+    private class Tree
+        implements
+        SingleSourcePaths<V, E>
+    {
+        private final V source;
+        private final Map<V, Label> labels;
+
+        Tree(V source)
+        {
+            this.source = source;
+            this.labels = new HashMap<>();
+        }
+
+        boolean isTreeEdge(E e, V v)
+        {
+            Label label = labels.get(v);
+            return label != null && e.equals(label.pred);
+        }
+
+        /**
+         * Offer a path to {@code v} through the edge from {@code u}. If it is shorter the vertex is
+         * queued.
+         */
+        void relax(E e, V u, V v, double weight)
+        {
+            Label lu = labels.get(u);
+            if (lu == null || u.equals(v)) {
+                return;
+            }
+            double d = lu.distance + weight;
+            Label lv = labels.get(v);
+            if (lv == null) {
+                lv = new Label(d, e);
+                labels.put(v, lv);
+            } else if (d < lv.distance) {
+                lv.distance = d;
+                lv.pred = e;
+            } else {
+                return;
+            }
+            if (lv.handle == null) {
+                lv.handle = heap.insert(d, v);
+            } else {
+                lv.handle.decreaseKey(d);
+            }
+        }
+
+        /**
+         * Run Dijkstra's algorithm from the queued vertices.
+         */
+        void dijkstra()
+        {
+            while (!heap.isEmpty()) {
+                V u = heap.deleteMin().getValue();
+                Label lu = labels.get(u);
+                lu.handle = null;
+                for (E e : graph.outgoingEdgesOf(u)) {
+                    relax(e, u, Graphs.getOppositeVertex(graph, e, u), weightOf(e));
+                }
+            }
+        }
+
+        /**
+         * Handle a weight change of the tree edge which enters {@code v}.
+         */
+        void update(E e, V u, V v, double weight)
+        {
+            double d = labels.get(u).distance + weight;
+            Label lv = labels.get(v);
+            if (d < lv.distance) {
+                lv.distance = d;
+                lv.handle = heap.insert(d, v);
+                dijkstra();
+            } else if (d > lv.distance) {
+                detach(v);
+            }
+        }
+
+        /**
+         * Recompute the distances of the subtree below {@code root} after its tree edge was removed
+         * or became longer.
+         */
+        void detach(V root)
+        {
+            List<V> affected = new ArrayList<>();
+            affected.add(root);
+            for (int i = 0; i < affected.size(); i++) {
+                V u = affected.get(i);
+                for (E e : graph.outgoingEdgesOf(u)) {
+                    V v = Graphs.getOppositeVertex(graph, e, u);
+                    if (!v.equals(u) && isTreeEdge(e, v)) {
+                        affected.add(v);
+                    }
+                }
+            }
+            for (V v : affected) {
+                labels.get(v).distance = Double.POSITIVE_INFINITY;
+            }
+
+            // best entry into every detached vertex from the rest of the tree
+            for (V v : affected) {
+                Label lv = labels.get(v);
+                lv.pred = null;
+                for (E e : graph.incomingEdgesOf(v)) {
+                    Label lu = labels.get(Graphs.getOppositeVertex(graph, e, v));
+                    if (lu != null) {
+                        double d = lu.distance + weightOf(e);
+                        if (d < lv.distance) {
+                            lv.distance = d;
+                            lv.pred = e;
+                        }
+                    }
+                }
+                if (lv.pred != null) {
+                    lv.handle = heap.insert(lv.distance, v);
+                }
+            }
+            dijkstra();
+
+            for (V v : affected) {
+                if (labels.get(v).pred == null) {
+                    labels.remove(v);
+                }
+            }
+        }
+
+        @Override
+        public Graph<V, E> getGraph()
+        {
+            return graph;
+        }
+
+        @Override
+        public V getSourceVertex()
+        {
+            return source;
+        }
+
+        @Override
+        public double getWeight(V sink)
+        {
+            Label label = labels.get(sink);
+            return label == null ? Double.POSITIVE_INFINITY : label.distance;
+        }
+
+        @Override
+        public GraphPath<V, E> getPath(V sink)
+        {
+            if (source.equals(sink)) {
+                return createEmptyPath(source, sink);
+            }
+            Label label = labels.get(sink);
+            if (label == null) {
+                return null;
+            }
+            LinkedList<E> edgeList = new LinkedList<>();
+            V v = sink;
+            for (Label l = label; l.pred != null; l = labels.get(v)) {
+                edgeList.addFirst(l.pred);
+                v = Graphs.getOppositeVertex(graph, l.pred, v);
+            }
+            return new GraphWalk<>(graph, source, sink, null, edgeList, label.distance);
+        }
+    }
+
+}
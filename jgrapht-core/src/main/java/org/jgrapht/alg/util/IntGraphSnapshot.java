@@ -0,0 +1,377 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.util;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * An int-indexed, array based snapshot of the adjacency structure of a graph.
+ *
+ * <p>
+ * The vertices are mapped once to the integer range $[0, n)$ using a
+ * {@link VertexToIntegerMapping}. The outgoing arcs of every vertex are then stored in compressed
+ * sparse row format: the arcs of vertex $v$ are the positions
+ * {@code [getOutOffsets()[v], getOutOffsets()[v+1])} of the parallel arrays holding the arc
+ * target, the arc weight and the original edge. For undirected graphs each edge yields one arc in
+ * each direction, except self-loops which yield a single arc, following the semantics of
+ * {@link Graph#outgoingEdgesOf(Object)}. Optionally the incoming arcs are also stored in the same
+ * format; for undirected graphs they coincide with the outgoing arcs.
+ *
+ * <p>
+ * Algorithms which repeatedly traverse a graph can use the snapshot in order to avoid hashing
+ * vertices and boxing weights in their inner loops. The snapshot is computed only once, on
+ * instantiation, and does not reflect later modifications of the graph.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class IntGraphSnapshot<V, E>
+{
+    private final Graph<V, E> graph;
+    private final VertexToIntegerMapping<V> mapping;
+    private final Map<V, Integer> vertexMap;
+    private final List<V> indexList;
+
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final double[] outWeights;
+    private final Object[] outEdges;
+
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final double[] inWeights;
+    private final Object[] inEdges;
+
+    /**
+     * Create a snapshot of the outgoing arcs of a graph.
+     *
+     * @param graph the input graph
+     */
+    public IntGraphSnapshot(Graph<V, E> graph)
+    {
+        this(graph, false);
+    }
+
+    /**
+     * Create a snapshot of a graph.
+     *
+     * @param graph the input graph
+     * @param incoming whether to also store the incoming arcs
+     */
+    public IntGraphSnapshot(Graph<V, E> graph, boolean incoming)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        this.vertexMap = mapping.getVertexMap();
+        this.indexList = mapping.getIndexList();
+
+        int n = indexList.size();
+        this.outOffsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            outOffsets[v + 1] = outOffsets[v] + graph.outgoingEdgesOf(indexList.get(v)).size();
+        }
+        int arcs = outOffsets[n];
+        this.outTargets = new int[arcs];
+        this.outWeights = new double[arcs];
+        this.outEdges = new Object[arcs];
+
+        int pos = 0;
+        for (int v = 0; v < n; v++) {
+            V vertex = indexList.get(v);
+            for (E e : graph.outgoingEdgesOf(vertex)) {
+                outTargets[pos] = vertexMap.get(Graphs.getOppositeVertex(graph, e, vertex));
+                outWeights[pos] = graph.getEdgeWeight(e);
+                outEdges[pos] = e;
+                pos++;
+            }
+        }
+
+        if (!incoming) {
+            this.inOffsets = null;
+            this.inSources = null;
+            this.inWeights = null;
+            this.inEdges = null;
+        } else if (!graph.getType().isDirected()) {
+            this.inOffsets = outOffsets;
+            this.inSources = outTargets;
+            this.inWeights = outWeights;
+            this.inEdges = outEdges;
+        } else {
+            this.inOffsets = new int[n + 1];
+            for (int a = 0; a < arcs; a++) {
+                inOffsets[outTargets[a] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                inOffsets[v + 1] += inOffsets[v];
+            }
+            this.inSources = new int[arcs];
+            this.inWeights = new double[arcs];
+            this.inEdges = new Object[arcs];
+            int[] next = Arrays.copyOf(inOffsets, n);
+            for (int v = 0; v < n; v++) {
+                for (int a = outOffsets[v]; a < outOffsets[v + 1]; a++) {
+                    int p = next[outTargets[a]]++;
+                    inSources[p] = v;
+                    inWeights[p] = outWeights[a];
+                    inEdges[p] = outEdges[a];
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the graph this snapshot was created from.
+     *
+     * @return the graph
+     */
+    public Graph<V, E> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * Get the vertex to integer mapping used by the snapshot.
+     *
+     * @return the vertex to integer mapping
+     */
+    public VertexToIntegerMapping<V> getMapping()
+    {
+        return mapping;
+    }
+
+    /**
+     * Get the number of vertices.
+     *
+     * @return the number of vertices
+     */
+    public int vertexCount()
+    {
+        return indexList.size();
+    }
+
+    /**
+     * Get the number of outgoing arcs.
+     *
+     * @return the number of outgoing arcs
+     */
+    public int arcCount()
+    {
+        return outTargets.length;
+    }
+
+    /**
+     * Get the index of a vertex.
+     *
+     * @param v the vertex
+     * @return the index of the vertex
+     * @throws IllegalArgumentException if the vertex is not part of the snapshot
+     */
+    public int getIndex(V v)
+    {
+        Integer index = vertexMap.get(v);
+        if (index == null) {
+            throw new IllegalArgumentException("no such vertex in graph: " + v);
+        }
+        return index;
+    }
+
+    /**
+     * Get the vertex with a given index.
+     *
+     * @param index the index
+     * @return the vertex
+     */
+    public V getVertex(int index)
+    {
+        return indexList.get(index);
+    }
+
+    /**
+     * Get the edge corresponding to an outgoing arc.
+     *
+     * @param arc the arc position
+     * @return the edge
+     */
+    @SuppressWarnings("unchecked")
+    public E getOutEdge(int arc)
+    {
+        return (E) outEdges[arc];
+    }
+
+    /**
+     * Get the edge corresponding to an incoming arc.
+     *
+     * @param arc the arc position
+     * @return the edge
+     * @throws IllegalStateException if the snapshot does not store incoming arcs
+     */
+    @SuppressWarnings("unchecked")
+    public E getInEdge(int arc)
+    {
+        assertIncoming();
+        return (E) inEdges[arc];
+    }
+
+    /**
+     * Get the offsets of the outgoing arcs. The array has length $n+1$ and must not be modified.
+     *
+     * @return the offsets of the outgoing arcs
+     */
+    public int[] getOutOffsets()
+    {
+        return outOffsets;
+    }
+
+    /**
+     * Get the target of every outgoing arc. The array must not be modified.
+     *
+     * @return the target of every outgoing arc
+     */
+    public int[] getOutTargets()
+    {
+        return outTargets;
+    }
+
+    /**
+     * Get the weight of every outgoing arc. The array must not be modified.
+     *
+     * @return the weight of every outgoing arc
+     */
+    public double[] getOutWeights()
+    {
+        return outWeights;
+    }
+
+    /**
+     * Get the offsets of the incoming arcs. The array has length $n+1$ and must not be modified.
+     *
+     * @return the offsets of the incoming arcs
+     * @throws IllegalStateException if the snapshot does not store incoming arcs
+     */
+    public int[] getInOffsets()
+    {
+        assertIncoming();
+        return inOffsets;
+    }
+
+    /**
+     * Get the source of every incoming arc. The array must not be modified.
+     *
+     * @return the source of every incoming arc
+     * @throws IllegalStateException if the snapshot does not store incoming arcs
+     */
+    public int[] getInSources()
+    {
+        assertIncoming();
+        return inSources;
+    }
+
+    /**
+     * Get the weight of every incoming arc. The array must not be modified.
+     *
+     * @return the weight of every incoming arc
+     * @throws IllegalStateException if the snapshot does not store incoming arcs
+     */
+    public double[] getInWeights()
+    {
+        assertIncoming();
+        return inWeights;
+    }
+
+    /**
+     * Compute a degeneracy ordering of the outgoing arcs with the bucket queue of Batagelj and
+     * Zaversnik: V. Batagelj and M. Zaversnik. An O(m) algorithm for cores decomposition of
+     * networks. arXiv:cs/0310049, 2003. The vertices are repeatedly removed in order of their
+     * current degree. In an undirected simple graph every vertex then has at most $d$ neighbors
+     * later in the ordering, where $d$ is the degeneracy of the graph. The running time is
+     * $O(n + m)$.
+     *
+     * @param order the array of length $n$ filled with the ordering, or null
+     * @param rank the array of length $n$ filled with the position of every vertex in the
+     *        ordering, or null
+     * @return the core number of every vertex
+     */
+    public int[] degeneracyOrdering(int[] order, int[] rank)
+    {
+        int n = vertexCount();
+        int[] vert = order == null ? new int[n] : order;
+        int[] pos = rank == null ? new int[n] : rank;
+
+        int[] deg = new int[n];
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            deg[v] = outOffsets[v + 1] - outOffsets[v];
+            maxDegree = Math.max(maxDegree, deg[v]);
+        }
+
+        // bin[d] is the position of the first vertex with degree d
+        int[] bin = new int[maxDegree + 1];
+        for (int v = 0; v < n; v++) {
+            bin[deg[v]]++;
+        }
+        int start = 0;
+        for (int d = 0; d <= maxDegree; d++) {
+            int count = bin[d];
+            bin[d] = start;
+            start += count;
+        }
+        for (int v = 0; v < n; v++) {
+            pos[v] = bin[deg[v]]++;
+            vert[pos[v]] = v;
+        }
+        for (int d = maxDegree; d > 0; d--) {
+            bin[d] = bin[d - 1];
+        }
+        bin[0] = 0;
+
+        // decreasing the degree of a vertex moves it to the start of its bucket, which then
+        // shrinks by one
+        for (int i = 0; i < n; i++) {
+            int v = vert[i];
+            for (int a = outOffsets[v]; a < outOffsets[v + 1]; a++) {
+                int u = outTargets[a];
+                if (deg[u] > deg[v]) {
+                    int du = deg[u];
+                    int pu = pos[u];
+                    int pw = bin[du];
+                    int w = vert[pw];
+                    if (u != w) {
+                        pos[u] = pw;
+                        vert[pu] = w;
+                        pos[w] = pu;
+                        vert[pw] = u;
+                    }
+                    bin[du]++;
+                    deg[u]--;
+                }
+            }
+        }
+        return deg;
+    }
+
+    private void assertIncoming()
+    {
+        if (inOffsets == null) {
+            throw new IllegalStateException("Snapshot does not contain incoming arcs");
+        }
+    }
+
+}
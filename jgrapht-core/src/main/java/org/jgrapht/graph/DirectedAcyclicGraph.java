@@ -18,6 +18,7 @@
 package org.jgrapht.graph;
 
 import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
 import org.jgrapht.graph.builder.*;
 import org.jgrapht.traverse.*;
 import org.jgrapht.util.*;
@@ -49,7 +50,8 @@ import java.util.function.*;
  * The complexity of adding a new edge in the graph depends on the number of edges incident to the
  * "affected region", and should in general be faster than recomputing the whole topological
  * ordering from scratch. For details about the complexity parameters and running times, see the
- * previously mentioned paper.
+ * previously mentioned paper. When many edges are added at once, {@link #addEdges(Iterable)}
+ * checks acyclicity and updates the topological ordering once for the whole batch.
  *
  * <p>
  * This class makes no claims to thread safety, and concurrent usage from multiple threads will
@@ -288,6 +290,79 @@ public class DirectedAcyclicGraph<V, E>
         return result;
     }
 
+    /**
+     * Add a batch of edges. The edges are created by the edge supplier of the graph, as in
+     * {@link #addEdge(Object, Object)}.
+     *
+     * <p>
+     * Instead of searching the affected region once per edge, the edges are inserted first and the
+     * topological ordering is then repaired once. The region between the smallest topological
+     * index of a target and the largest topological index of a source of an edge pointing
+     * backwards in the current ordering is sorted again with Kahn's algorithm, which also detects
+     * cycles. Every cycle lies within this region, and vertices outside of it keep their indices.
+     * The running time is linear in the number of vertices of the region and their incident edges,
+     * which for large batches is much faster than inserting the edges one by one.
+     *
+     * <p>
+     * The batch is atomic. If it would induce a cycle, none of its edges are added and the graph is
+     * left unchanged.
+     *
+     * @param edges the source and target vertices of the edges to add
+     * @return the created edges in the order of the batch, with {@code null} for each edge which
+     *         was already contained in the graph
+     * @throws IllegalArgumentException if a vertex is not contained in the graph, if an edge is a
+     *         self-loop, or if the batch would induce a cycle, in which case the message names an
+     *         edge of the batch lying on a cycle
+     * @throws NullPointerException if a vertex is null
+     */
+    public List<E> addEdges(Iterable<Pair<V, V>> edges)
+    {
+        List<Pair<V, V>> batch = new ArrayList<>();
+        for (Pair<V, V> edge : edges) {
+            V source = edge.getFirst();
+            V target = edge.getSecond();
+            assertVertexExist(source);
+            assertVertexExist(target);
+            if (source.equals(target)) {
+                throw new IllegalArgumentException("loops not allowed");
+            }
+            batch.add(edge);
+        }
+
+        List<E> result = new ArrayList<>(batch.size());
+        int lb = Integer.MAX_VALUE;
+        int ub = Integer.MIN_VALUE;
+        for (Pair<V, V> edge : batch) {
+            E e = super.addEdge(edge.getFirst(), edge.getSecond());
+            result.add(e);
+            if (e == null) {
+                continue;
+            }
+            int sourceIndex = topoOrderMap.getTopologicalIndex(edge.getFirst());
+            int targetIndex = topoOrderMap.getTopologicalIndex(edge.getSecond());
+            if (targetIndex < sourceIndex) {
+                lb = Math.min(lb, targetIndex);
+                ub = Math.max(ub, sourceIndex);
+            }
+        }
+
+        if (lb <= ub) {
+            try {
+                reorderRegion(new Region(lb, ub), result);
+            } catch (CycleFoundException e) {
+                for (E edge : result) {
+                    if (edge != null) {
+                        super.removeEdge(edge);
+                    }
+                }
+                throw new IllegalArgumentException(
+                    EDGE_WOULD_INDUCE_A_CYCLE + ": " + e.edge);
+            }
+            ++topoModCount;
+        }
+        return result;
+    }
+
     /**
      * Get the ancestors of a vertex.
      *
@@ -544,6 +619,131 @@ public class DirectedAcyclicGraph<V, E>
         }
     }
 
+    /**
+     * Sort the vertices of a region again with Kahn's algorithm and assign them the indices of the
+     * region in the new order. Edges entering or leaving the region respect the ordering already.
+     *
+     * @param region the region
+     * @param batch the edges of the current batch
+     * @throws CycleFoundException if the region contains a cycle, naming an edge of the batch
+     */
+    @SuppressWarnings("unchecked")
+    private void reorderRegion(Region region, List<E> batch)
+        throws CycleFoundException
+    {
+        // position of each vertex of the region, indexed by topological index
+        int[] position = new int[region.getSize()];
+        Arrays.fill(position, -1);
+        List<V> vertices = new ArrayList<>();
+        for (int i = region.getStart(); i <= region.getFinish(); i++) {
+            V v = topoOrderMap.getVertex(i);
+            if (v != null) {
+                position[i - region.getStart()] = vertices.size();
+                vertices.add(v);
+            }
+        }
+
+        // arcs within the region, in compressed sparse row format
+        int n = vertices.size();
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[Math.max(16, n)];
+        int[] inDegree = new int[n];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            for (E e : outgoingEdgesOf(vertices.get(i))) {
+                int j = positionOf(getEdgeTarget(e), region, position);
+                if (j != -1) {
+                    if (size == targets.length) {
+                        targets = Arrays.copyOf(targets, 2 * size);
+                    }
+                    targets[size++] = j;
+                    inDegree[j]++;
+                }
+            }
+            offsets[i + 1] = size;
+        }
+
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) {
+                queue[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int i = queue[head++];
+            for (int a = offsets[i]; a < offsets[i + 1]; a++) {
+                int j = targets[a];
+                if (--inDegree[j] == 0) {
+                    queue[tail++] = j;
+                }
+            }
+        }
+
+        if (tail < n) {
+            throw new CycleFoundException(
+                findCycleEdge(vertices, region, position, inDegree, new HashSet<>(batch)));
+        }
+
+        V[] order = (V[]) new Object[n];
+        for (int k = 0; k < n; k++) {
+            order[k] = vertices.get(queue[k]);
+        }
+        int k = 0;
+        for (int i = region.getStart(); i <= region.getFinish(); i++) {
+            if (position[i - region.getStart()] != -1) {
+                topoOrderMap.putVertex(i, order[k++]);
+            }
+        }
+    }
+
+    private int positionOf(V v, Region region, int[] position)
+    {
+        int index = topoOrderMap.getTopologicalIndex(v);
+        return region.isIn(index) ? position[index - region.getStart()] : -1;
+    }
+
+    /**
+     * Find an edge of the batch on a cycle after Kahn's algorithm got stuck. Every vertex left with
+     * a positive in-degree has a predecessor which is also left, so walking backwards from such a
+     * vertex closes a cycle. The cycle contains an edge of the batch, because the graph was acyclic
+     * before.
+     */
+    private E findCycleEdge(
+        List<V> vertices, Region region, int[] position, int[] inDegree, Set<E> batch)
+    {
+        int start = 0;
+        while (inDegree[start] == 0) {
+            start++;
+        }
+
+        // walk backwards, remembering the edge used to leave every vertex
+        Map<Integer, E> step = new HashMap<>();
+        int current = start;
+        while (!step.containsKey(current)) {
+            for (E e : incomingEdgesOf(vertices.get(current))) {
+                int j = positionOf(getEdgeSource(e), region, position);
+                if (j != -1 && inDegree[j] > 0) {
+                    step.put(current, e);
+                    current = j;
+                    break;
+                }
+            }
+        }
+
+        // current is on the cycle
+        int v = current;
+        do {
+            E e = step.get(v);
+            if (batch.contains(e)) {
+                return e;
+            }
+            v = positionOf(getEdgeSource(e), region, position);
+        } while (v != current);
+        throw new IllegalStateException("Cycle without an edge of the batch");
+    }
+
     /**
      * An interface for storing the topological ordering.
      *
@@ -1138,6 +1338,21 @@ public class DirectedAcyclicGraph<V, E>
         Exception
     {
         private static final long serialVersionUID = 5583471522212552754L;
+
+        /**
+         * The edge which closes the cycle, if known.
+         */
+        private final Object edge;
+
+        CycleFoundException()
+        {
+            this(null);
+        }
+
+        CycleFoundException(Object edge)
+        {
+            this.edge = edge;
+        }
     }
 
     /**
@@ -0,0 +1,622 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.graph.concurrent;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+
+/**
+ * A thread-safe graph which supports fully concurrent reads and concurrent updates of disjoint
+ * parts of the graph.
+ *
+ * <p>
+ * Vertices, edges and the edges touching every vertex are stored in concurrent hash based
+ * containers. Read operations never acquire a lock. Operations which modify the edges touching a
+ * vertex acquire a lock out of a fixed array of locks ("lock striping"), selected by the hash code
+ * of the vertex. Adding or removing an edge locks the stripes of its two endpoints, in a fixed
+ * order in order to avoid deadlocks. Therefore updates touching different vertices proceed in
+ * parallel unless their vertices happen to share a stripe. The number of stripes can be adjusted
+ * using the concurrency level at construction time.
+ *
+ * <p>
+ * Compared with {@link AsSynchronizedGraph}, readers are never blocked by writers and methods such
+ * as {@link #edgeSet()}, {@link #vertexSet()} and {@link #outgoingEdgesOf(Object)} return
+ * unmodifiable live views instead of copies. The iterators of these views are <em>weakly
+ * consistent</em>: they never throw {@link ConcurrentModificationException} and reflect the state
+ * of the graph at some point at or since the creation of the iterator. The graph maintains the
+ * invariant that an edge is contained in {@link #edgeSet()} whenever it is visible in the edges
+ * touching any vertex. A single update is not atomic with respect to readers, for example a
+ * reader may observe a new edge in {@link #edgeSet()} slightly before it observes it in
+ * {@link #outgoingEdgesOf(Object)} of its source. As with {@link AsSynchronizedGraph}, removal of
+ * vertices or edges concurrently with algorithms traversing the graph may cause these algorithms
+ * to fail with an {@link IllegalArgumentException}.
+ *
+ * <p>
+ * The graph supports directed or undirected edges, according to the supplied {@link GraphType},
+ * and optionally self-loops, multiple edges and edge weights. Edges are not intrusive, the
+ * endpoints and weights are stored by the graph. Users need to make sure that the vertex and edge
+ * suppliers are thread-safe if {@link #addVertex()} or {@link #addEdge(Object, Object)} are called
+ * concurrently.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see AsSynchronizedGraph
+ */
+public class ConcurrentGraph<V, E>
+    extends
+    AbstractGraph<V, E>
+    implements
+    Graph<V, E>,
+    Serializable
+{
+    private static final long serialVersionUID = 1580264385730291834L;
+
+    private static final String LOOPS_NOT_ALLOWED = "loops not allowed";
+    private static final String MIXED_GRAPH_NOT_SUPPORTED = "Mixed graph not supported";
+    private static final String INVALID_VERTEX_SUPPLIER =
+        "Invalid vertex supplier (does not return unique vertices on each call).";
+    private static final String THE_GRAPH_CONTAINS_NO_VERTEX_SUPPLIER =
+        "The graph contains no vertex supplier";
+    private static final String THE_GRAPH_CONTAINS_NO_EDGE_SUPPLIER =
+        "The graph contains no edge supplier";
+
+    private final GraphType type;
+    private final boolean directed;
+    private final Supplier<V> vertexSupplier;
+    private final Supplier<E> edgeSupplier;
+
+    private final ConcurrentHashMap<V, VertexEntry<E>> vertices;
+    private final ConcurrentHashMap<E, EdgeEntry<V>> edges;
+    private final Set<V> unmodifiableVertexSet;
+    private final Set<E> unmodifiableEdgeSet;
+
+    private final ReentrantLock[] locks;
+
+    /**
+     * Create a new graph with a concurrency level equal to the number of available processors.
+     *
+     * @param vertexSupplier the vertex supplier, may be null
+     * @param edgeSupplier the edge supplier, may be null
+     * @param type the graph type
+     * @throws IllegalArgumentException if the graph type is mixed
+     */
+    public ConcurrentGraph(Supplier<V> vertexSupplier, Supplier<E> edgeSupplier, GraphType type)
+    {
+        this(vertexSupplier, edgeSupplier, type, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a new graph.
+     *
+     * @param vertexSupplier the vertex supplier, may be null
+     * @param edgeSupplier the edge supplier, may be null
+     * @param type the graph type
+     * @param concurrencyLevel the estimated number of concurrently updating threads
+     * @throws IllegalArgumentException if the graph type is mixed or the concurrency level is not
+     *         positive
+     */
+    public ConcurrentGraph(
+        Supplier<V> vertexSupplier, Supplier<E> edgeSupplier, GraphType type,
+        int concurrencyLevel)
+    {
+        this.type = Objects.requireNonNull(type);
+        if (type.isMixed()) {
+            throw new IllegalArgumentException(MIXED_GRAPH_NOT_SUPPORTED);
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be positive");
+        }
+        this.directed = type.isDirected();
+        this.vertexSupplier = vertexSupplier;
+        this.edgeSupplier = edgeSupplier;
+
+        this.vertices = new ConcurrentHashMap<>();
+        this.edges = new ConcurrentHashMap<>();
+        this.unmodifiableVertexSet = Collections.unmodifiableSet(vertices.keySet());
+        this.unmodifiableEdgeSet = Collections.unmodifiableSet(edges.keySet());
+
+        // a few stripes per thread keep collisions between threads rare
+        int stripes = Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 16) * 16 - 1) << 1;
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+    {
+        VertexEntry<E> entry = sourceVertex == null ? null : vertices.get(sourceVertex);
+        if (entry == null || !containsVertex(targetVertex)) {
+            return null;
+        }
+        Set<E> result = new ArrayUnenforcedSet<>();
+        for (E e : entry.outgoing) {
+            if (isEdgeBetween(e, sourceVertex, targetVertex)) {
+                result.add(e);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public E getEdge(V sourceVertex, V targetVertex)
+    {
+        VertexEntry<E> entry = sourceVertex == null ? null : vertices.get(sourceVertex);
+        if (entry == null || !containsVertex(targetVertex)) {
+            return null;
+        }
+        return findEdge(entry, sourceVertex, targetVertex);
+    }
+
+    @Override
+    public Supplier<V> getVertexSupplier()
+    {
+        return vertexSupplier;
+    }
+
+    @Override
+    public Supplier<E> getEdgeSupplier()
+    {
+        return edgeSupplier;
+    }
+
+    @Override
+    public E addEdge(V sourceVertex, V targetVertex)
+    {
+        assertVertexExist(sourceVertex);
+        assertVertexExist(targetVertex);
+
+        if (!type.isAllowingSelfLoops() && sourceVertex.equals(targetVertex)) {
+            throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+        }
+
+        if (edgeSupplier == null) {
+            throw new UnsupportedOperationException(THE_GRAPH_CONTAINS_NO_EDGE_SUPPLIER);
+        }
+
+        lock(sourceVertex, targetVertex);
+        try {
+            VertexEntry<E> sourceEntry = getEntryLocked(sourceVertex);
+            VertexEntry<E> targetEntry = getEntryLocked(targetVertex);
+            if (!type.isAllowingMultipleEdges()
+                && findEdge(sourceEntry, sourceVertex, targetVertex) != null)
+            {
+                return null;
+            }
+            E e = edgeSupplier.get();
+            if (addEdgeLocked(sourceVertex, sourceEntry, targetVertex, targetEntry, e)) {
+                return e;
+            }
+            return null;
+        } finally {
+            unlock(sourceVertex, targetVertex);
+        }
+    }
+
+    @Override
+    public boolean addEdge(V sourceVertex, V targetVertex, E e)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+
+        assertVertexExist(sourceVertex);
+        assertVertexExist(targetVertex);
+
+        if (!type.isAllowingSelfLoops() && sourceVertex.equals(targetVertex)) {
+            throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+        }
+
+        if (edges.containsKey(e)) {
+            return false;
+        }
+
+        lock(sourceVertex, targetVertex);
+        try {
+            VertexEntry<E> sourceEntry = getEntryLocked(sourceVertex);
+            VertexEntry<E> targetEntry = getEntryLocked(targetVertex);
+            if (!type.isAllowingMultipleEdges()
+                && findEdge(sourceEntry, sourceVertex, targetVertex) != null)
+            {
+                return false;
+            }
+            return addEdgeLocked(sourceVertex, sourceEntry, targetVertex, targetEntry, e);
+        } finally {
+            unlock(sourceVertex, targetVertex);
+        }
+    }
+
+    @Override
+    public V addVertex()
+    {
+        if (vertexSupplier == null) {
+            throw new UnsupportedOperationException(THE_GRAPH_CONTAINS_NO_VERTEX_SUPPLIER);
+        }
+
+        V v = vertexSupplier.get();
+
+        if (!addVertex(v)) {
+            throw new IllegalArgumentException(INVALID_VERTEX_SUPPLIER);
+        }
+        return v;
+    }
+
+    @Override
+    public boolean addVertex(V v)
+    {
+        if (v == null) {
+            throw new NullPointerException();
+        }
+        if (vertices.containsKey(v)) {
+            return false;
+        }
+        return vertices.putIfAbsent(v, new VertexEntry<>(directed)) == null;
+    }
+
+    @Override
+    public boolean containsEdge(E e)
+    {
+        return e != null && edges.containsKey(e);
+    }
+
+    @Override
+    public boolean containsVertex(V v)
+    {
+        return v != null && vertices.containsKey(v);
+    }
+
+    @Override
+    public Set<E> edgeSet()
+    {
+        return unmodifiableEdgeSet;
+    }
+
+    @Override
+    public int degreeOf(V vertex)
+    {
+        VertexEntry<E> entry = getEntry(vertex);
+        if (directed) {
+            return entry.incoming.size() + entry.outgoing.size();
+        }
+        return entry.outgoing.size() + entry.loops;
+    }
+
+    @Override
+    public Set<E> edgesOf(V vertex)
+    {
+        VertexEntry<E> entry = getEntry(vertex);
+        if (!directed) {
+            return entry.unmodifiableOutgoing;
+        }
+        ArrayUnenforcedSet<E> inAndOut = new ArrayUnenforcedSet<>(entry.outgoing);
+        for (E e : entry.incoming) {
+            // self-loops are already contained in the outgoing edges
+            EdgeEntry<V> edgeEntry = edges.get(e);
+            if (edgeEntry == null || !edgeEntry.source.equals(edgeEntry.target)) {
+                inAndOut.add(e);
+            }
+        }
+        return Collections.unmodifiableSet(inAndOut);
+    }
+
+    @Override
+    public int inDegreeOf(V vertex)
+    {
+        if (!directed) {
+            return degreeOf(vertex);
+        }
+        return getEntry(vertex).incoming.size();
+    }
+
+    @Override
+    public Set<E> incomingEdgesOf(V vertex)
+    {
+        return getEntry(vertex).unmodifiableIncoming;
+    }
+
+    @Override
+    public int outDegreeOf(V vertex)
+    {
+        if (!directed) {
+            return degreeOf(vertex);
+        }
+        return getEntry(vertex).outgoing.size();
+    }
+
+    @Override
+    public Set<E> outgoingEdgesOf(V vertex)
+    {
+        return getEntry(vertex).unmodifiableOutgoing;
+    }
+
+    @Override
+    public E removeEdge(V sourceVertex, V targetVertex)
+    {
+        while (true) {
+            E e = getEdge(sourceVertex, targetVertex);
+            if (e == null || removeEdge(e)) {
+                return e;
+            }
+        }
+    }
+
+    @Override
+    public boolean removeEdge(E e)
+    {
+        while (true) {
+            EdgeEntry<V> entry = e == null ? null : edges.get(e);
+            if (entry == null) {
+                return false;
+            }
+            lock(entry.source, entry.target);
+            try {
+                // the edge may have been removed and added again in the meantime
+                if (edges.get(e) == entry) {
+                    VertexEntry<E> sourceEntry = vertices.get(entry.source);
+                    VertexEntry<E> targetEntry = vertices.get(entry.target);
+                    sourceEntry.outgoing.remove(e);
+                    targetEntry.incoming.remove(e);
+                    if (!directed && entry.source.equals(entry.target)) {
+                        sourceEntry.loops--;
+                    }
+                    edges.remove(e);
+                    return true;
+                }
+            } finally {
+                unlock(entry.source, entry.target);
+            }
+        }
+    }
+
+    @Override
+    public boolean removeVertex(V v)
+    {
+        while (true) {
+            VertexEntry<E> entry = v == null ? null : vertices.get(v);
+            if (entry == null) {
+                return false;
+            }
+            for (E e : entry.outgoing) {
+                removeEdge(e);
+            }
+            for (E e : entry.incoming) {
+                removeEdge(e);
+            }
+
+            // edges may have been added concurrently, remove the vertex only once it is isolated
+            ReentrantLock lock = locks[stripe(v)];
+            lock.lock();
+            try {
+                if (vertices.get(v) != entry) {
+                    return false;
+                }
+                if (entry.outgoing.isEmpty() && entry.incoming.isEmpty()) {
+                    vertices.remove(v);
+                    return true;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public Set<V> vertexSet()
+    {
+        return unmodifiableVertexSet;
+    }
+
+    @Override
+    public V getEdgeSource(E e)
+    {
+        return getEdgeEntry(e).source;
+    }
+
+    @Override
+    public V getEdgeTarget(E e)
+    {
+        return getEdgeEntry(e).target;
+    }
+
+    @Override
+    public GraphType getType()
+    {
+        return type;
+    }
+
+    @Override
+    public double getEdgeWeight(E e)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (!type.isWeighted()) {
+            return Graph.DEFAULT_EDGE_WEIGHT;
+        }
+        return getEdgeEntry(e).weight;
+    }
+
+    @Override
+    public void setEdgeWeight(E e, double weight)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (!type.isWeighted()) {
+            throw new UnsupportedOperationException();
+        }
+        getEdgeEntry(e).weight = weight;
+    }
+
+    private boolean addEdgeLocked(
+        V sourceVertex, VertexEntry<E> sourceEntry, V targetVertex, VertexEntry<E> targetEntry,
+        E e)
+    {
+        // publish the edge before it becomes visible in the touching edges
+        if (edges.putIfAbsent(e, new EdgeEntry<>(sourceVertex, targetVertex)) != null) {
+            return false;
+        }
+        sourceEntry.outgoing.add(e);
+        targetEntry.incoming.add(e);
+        if (!directed && sourceVertex.equals(targetVertex)) {
+            sourceEntry.loops++;
+        }
+        return true;
+    }
+
+    private E findEdge(VertexEntry<E> entry, V sourceVertex, V targetVertex)
+    {
+        for (E e : entry.outgoing) {
+            if (isEdgeBetween(e, sourceVertex, targetVertex)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    private boolean isEdgeBetween(E e, V sourceVertex, V targetVertex)
+    {
+        EdgeEntry<V> entry = edges.get(e);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.source.equals(sourceVertex) && entry.target.equals(targetVertex)) {
+            return true;
+        }
+        return !directed && entry.source.equals(targetVertex)
+            && entry.target.equals(sourceVertex);
+    }
+
+    private VertexEntry<E> getEntry(V vertex)
+    {
+        if (vertex == null) {
+            throw new NullPointerException();
+        }
+        VertexEntry<E> entry = vertices.get(vertex);
+        if (entry == null) {
+            throw new IllegalArgumentException("no such vertex in graph: " + vertex.toString());
+        }
+        return entry;
+    }
+
+    private VertexEntry<E> getEntryLocked(V vertex)
+    {
+        // vertices are removed only while holding their lock
+        VertexEntry<E> entry = vertices.get(vertex);
+        if (entry == null) {
+            throw new IllegalArgumentException("no such vertex in graph: " + vertex.toString());
+        }
+        return entry;
+    }
+
+    private EdgeEntry<V> getEdgeEntry(E e)
+    {
+        EdgeEntry<V> entry = edges.get(e);
+        if (entry == null) {
+            throw new IllegalArgumentException("no such edge in graph: " + e.toString());
+        }
+        return entry;
+    }
+
+    private int stripe(Object v)
+    {
+        int h = v.hashCode();
+        h ^= h >>> 16;
+        return h & (locks.length - 1);
+    }
+
+    private void lock(V u, V v)
+    {
+        // always acquire the stripe with the smaller index first
+        int first = stripe(u);
+        int second = stripe(v);
+        if (first == second) {
+            locks[first].lock();
+        } else {
+            locks[Math.min(first, second)].lock();
+            locks[Math.max(first, second)].lock();
+        }
+    }
+
+    private void unlock(V u, V v)
+    {
+        int first = stripe(u);
+        int second = stripe(v);
+        locks[first].unlock();
+        if (first != second) {
+            locks[second].unlock();
+        }
+    }
+
+    /**
+     * The edges touching a vertex. For undirected graphs the incoming and outgoing edges coincide.
+     */
+    private static class VertexEntry<E>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = -2286137853164476521L;
+
+        final Set<E> outgoing;
+        final Set<E> incoming;
+        final Set<E> unmodifiableOutgoing;
+        final Set<E> unmodifiableIncoming;
+        // number of self-loops, only maintained for undirected graphs
+        volatile int loops;
+
+        VertexEntry(boolean directed)
+        {
+            this.outgoing = ConcurrentHashMap.newKeySet();
+            this.incoming = directed ? ConcurrentHashMap.newKeySet() : outgoing;
+            this.unmodifiableOutgoing = Collections.unmodifiableSet(outgoing);
+            this.unmodifiableIncoming =
+                directed ? Collections.unmodifiableSet(incoming) : unmodifiableOutgoing;
+        }
+    }
+
+    /**
+     * The endpoints and the weight of an edge.
+     */
+    private static class EdgeEntry<V>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = 4470623296404720925L;
+
+        final V source;
+        final V target;
+        volatile double weight;
+
+        EdgeEntry(V source, V target)
+        {
+            this.source = source;
+            this.target = target;
+            this.weight = Graph.DEFAULT_EDGE_WEIGHT;
+        }
+    }
+
+}
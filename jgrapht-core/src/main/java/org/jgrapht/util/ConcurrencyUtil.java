@@ -0,0 +1,117 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.util;
+
+import java.util.concurrent.*;
+
+/**
+ * Utility methods for running index based loops in parallel.
+ *
+ * <p>
+ * Parallel algorithms in the library split their work into contiguous index ranges ("chunks")
+ * and process each chunk on a {@link ForkJoinPool}. Every chunk is handled by a single thread,
+ * which allows algorithms to allocate one primitive workspace per chunk instead of per index and
+ * avoid any synchronization inside the chunk.
+ */
+public class ConcurrencyUtil
+{
+    /**
+     * Number of chunks created per worker thread, in order to balance uneven work.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private ConcurrencyUtil()
+    {
+    }
+
+    /**
+     * A consumer of index ranges.
+     */
+    @FunctionalInterface
+    public interface RangeConsumer
+    {
+        /**
+         * Process all indices in $[from, to)$.
+         *
+         * @param from the first index, inclusive
+         * @param to the last index, exclusive
+         */
+        void accept(int from, int to);
+    }
+
+    /**
+     * Process the indices in $[from, to)$ by splitting them into contiguous chunks which are
+     * executed in parallel. If the pool is null, or it has a parallelism of one, the whole range
+     * is processed by the calling thread as a single chunk.
+     *
+     * <p>
+     * Any exception thrown while processing a chunk is rethrown by this method.
+     *
+     * @param pool the pool to use, or null for sequential execution
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @param consumer the range consumer
+     */
+    public static void parallelFor(ForkJoinPool pool, int from, int to, RangeConsumer consumer)
+    {
+        if (from >= to) {
+            return;
+        }
+        if (pool == null || pool.getParallelism() == 1) {
+            consumer.accept(from, to);
+            return;
+        }
+        int chunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        int grain = Math.max(1, (int) (((long) to - from + chunks - 1) / chunks));
+        pool.invoke(new RangeAction(from, to, grain, consumer));
+    }
+
+    private static class RangeAction
+        extends
+        RecursiveAction
+    {
+        private static final long serialVersionUID = -1927386549726319474L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final RangeConsumer consumer;
+
+        RangeAction(int from, int to, int grain, RangeConsumer consumer)
+        {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from <= grain) {
+                consumer.accept(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new RangeAction(from, mid, grain, consumer),
+                new RangeAction(mid, to, grain, consumer));
+        }
+    }
+
+}
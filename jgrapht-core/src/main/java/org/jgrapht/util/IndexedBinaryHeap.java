@@ -0,0 +1,284 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+/**
+ * An indexed binary min-heap over the integers $[0, n)$ with {@code double} keys.
+ *
+ * <p>
+ * All storage is allocated once, at construction time. Each element remembers its position in
+ * the heap, so that {@link #decreaseKey(int, double)} and {@link #contains(int)} run in
+ * logarithmic and constant time respectively. Clearing the heap does not touch the position
+ * array; instead a version stamp is incremented which invalidates all previous positions, so
+ * that {@link #clear()} runs in constant time. This makes the heap suitable as part of a workspace
+ * which is reused across many graph searches.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+public class IndexedBinaryHeap
+{
+    private final int[] heap;
+    private final double[] keys;
+    private final int[] position;
+    private final int[] stamp;
+    private int version;
+    private int size;
+
+    /**
+     * Create a new heap.
+     *
+     * @param capacity the number of elements, the heap stores integers in $[0, capacity)$
+     */
+    public IndexedBinaryHeap(int capacity)
+    {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative");
+        }
+        this.heap = new int[capacity];
+        this.keys = new double[capacity];
+        this.position = new int[capacity];
+        this.stamp = new int[capacity];
+        this.version = 1;
+        this.size = 0;
+    }
+
+    /**
+     * Get the number of elements which can be stored in the heap.
+     *
+     * @return the capacity
+     */
+    public int capacity()
+    {
+        return heap.length;
+    }
+
+    /**
+     * Get the number of elements in the heap.
+     *
+     * @return the number of elements in the heap
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Check whether the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Check whether an element is currently in the heap.
+     *
+     * @param element the element
+     * @return true if the element is in the heap, false otherwise
+     */
+    public boolean contains(int element)
+    {
+        return stamp[element] == version && position[element] >= 0;
+    }
+
+    /**
+     * Get the key of an element currently in the heap.
+     *
+     * @param element the element
+     * @return the key of the element
+     * @throws NoSuchElementException if the element is not in the heap
+     */
+    public double getKey(int element)
+    {
+        if (!contains(element)) {
+            throw new NoSuchElementException();
+        }
+        return keys[element];
+    }
+
+    /**
+     * Insert an element which is not currently in the heap.
+     *
+     * @param element the element
+     * @param key the key
+     * @throws IllegalArgumentException if the element is already in the heap
+     */
+    public void insert(int element, double key)
+    {
+        if (contains(element)) {
+            throw new IllegalArgumentException("Element already in heap");
+        }
+        stamp[element] = version;
+        keys[element] = key;
+        heap[size] = element;
+        position[element] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Decrease the key of an element currently in the heap.
+     *
+     * @param element the element
+     * @param key the new key
+     * @throws IllegalArgumentException if the new key is larger than the current key
+     * @throws NoSuchElementException if the element is not in the heap
+     */
+    public void decreaseKey(int element, double key)
+    {
+        if (!contains(element)) {
+            throw new NoSuchElementException();
+        }
+        if (key > keys[element]) {
+            throw new IllegalArgumentException("Key cannot be increased");
+        }
+        keys[element] = key;
+        siftUp(position[element]);
+    }
+
+    /**
+     * Insert an element or decrease its key if it is already in the heap and the new key is
+     * smaller.
+     *
+     * @param element the element
+     * @param key the key
+     * @return true if the heap was modified, false otherwise
+     */
+    public boolean insertOrDecreaseKey(int element, double key)
+    {
+        if (!contains(element)) {
+            insert(element, key);
+            return true;
+        }
+        if (key < keys[element]) {
+            keys[element] = key;
+            siftUp(position[element]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get the element with the minimum key without removing it.
+     *
+     * @return the element with the minimum key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int findMin()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Get the minimum key.
+     *
+     * @return the minimum key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public double findMinKey()
+    {
+        return keys[findMin()];
+    }
+
+    /**
+     * Remove and return the element with the minimum key.
+     *
+     * @return the element with the minimum key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int deleteMin()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Remove all elements from the heap. Runs in constant time, and occasionally (every $2^{31}$
+     * calls) in time proportional to the capacity.
+     */
+    public void clear()
+    {
+        size = 0;
+        if (version == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            version = 1;
+        } else {
+            version++;
+        }
+    }
+
+    private void siftUp(int i)
+    {
+        int element = heap[i];
+        double key = keys[element];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (keys[p] <= key) {
+                break;
+            }
+            heap[i] = p;
+            position[p] = i;
+            i = parent;
+        }
+        heap[i] = element;
+        position[element] = i;
+    }
+
+    private void siftDown(int i)
+    {
+        int element = heap[i];
+        double key = keys[element];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            int c = heap[child];
+            if (key <= keys[c]) {
+                break;
+            }
+            heap[i] = c;
+            position[c] = i;
+            i = child;
+        }
+        heap[i] = element;
+        position[element] = i;
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.CliqueAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BranchAndBoundMaxCliqueFinder}.
+ */
+public class BranchAndBoundMaxCliqueFinderTest
+{
+    @Test
+    public void testSmallGraphs()
+    {
+        Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        assertTrue(new BranchAndBoundMaxCliqueFinder<>(g).getClique().isEmpty());
+
+        g.addVertex("a");
+        g.addVertex("b");
+        assertEquals(1, new BranchAndBoundMaxCliqueFinder<>(g).getClique().size());
+
+        BaseBronKerboschCliqueFinderTest.createGraph(g);
+        Clique<String> clique = new BranchAndBoundMaxCliqueFinder<>(g).getClique();
+        assertEquals(4, clique.size());
+        assertEquals(4d, clique.getWeight(), 0d);
+        assertTrue(clique.contains("v1") && clique.contains("v2"));
+        assertIsClique(g, clique);
+    }
+
+    @Test
+    public void testCompleteGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(70).generateGraph(g);
+        assertEquals(g.vertexSet(), new BranchAndBoundMaxCliqueFinder<>(g).getClique());
+    }
+
+    @Test
+    public void testRandomInstances()
+    {
+        Random rng = new Random(17);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int[] sizes = { 10, 30, 50, 60, 80, 130 };
+            double[] probabilities = { 0.5, 0.7, 0.5, 0.8, 0.3, 0.1 };
+            for (int i = 0; i < sizes.length; i++) {
+                Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+                new GnpRandomGraphGenerator<Integer, DefaultEdge>(
+                    sizes[i], probabilities[i], rng, false).generateGraph(g);
+
+                int expected =
+                    new PivotBronKerboschCliqueFinder<>(g).maximumIterator().next().size();
+
+                BranchAndBoundMaxCliqueFinder<Integer, DefaultEdge> sequential =
+                    new BranchAndBoundMaxCliqueFinder<>(g);
+                assertEquals(expected, sequential.getClique().size());
+                assertIsClique(g, sequential.getClique());
+                assertFalse(sequential.isTimeLimitReached());
+
+                Clique<Integer> parallel = new BranchAndBoundMaxCliqueFinder<>(g, pool).getClique();
+                assertEquals(expected, parallel.size());
+                assertIsClique(g, parallel);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testTimeout()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(300, 0.9, new Random(7), false)
+            .generateGraph(g);
+
+        BranchAndBoundMaxCliqueFinder<Integer, DefaultEdge> finder =
+            new BranchAndBoundMaxCliqueFinder<>(g, null, 1, TimeUnit.NANOSECONDS);
+        Clique<Integer> clique = finder.getClique();
+        assertTrue(finder.isTimeLimitReached());
+        assertFalse(clique.isEmpty());
+        assertIsClique(g, clique);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirected()
+    {
+        new BranchAndBoundMaxCliqueFinder<>(new SimpleDirectedGraph<>(DefaultEdge.class));
+    }
+
+    private static <V> void assertIsClique(Graph<V, DefaultEdge> g, Set<V> clique)
+    {
+        for (V u : clique) {
+            for (V v : clique) {
+                assertTrue(u.equals(v) || g.containsEdge(u, v));
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelDegeneracyBronKerboschCliqueFinder}.
+ */
+public class ParallelDegeneracyBronKerboschCliqueFinderTest
+    extends
+    BaseBronKerboschCliqueFinderTest
+{
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void createPool()
+    {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void shutdownPool()
+    {
+        pool.shutdown();
+    }
+
+    @Override
+    protected BaseBronKerboschCliqueFinder<String, DefaultEdge> createFinder1(
+        Graph<String, DefaultEdge> graph)
+    {
+        return new ParallelDegeneracyBronKerboschCliqueFinder<>(graph, pool);
+    }
+
+    @Override
+    protected BaseBronKerboschCliqueFinder<Object, DefaultEdge> createFinder2(
+        Graph<Object, DefaultEdge> graph)
+    {
+        return new ParallelDegeneracyBronKerboschCliqueFinder<>(graph);
+    }
+
+    @Override
+    protected BaseBronKerboschCliqueFinder<Object, DefaultEdge> createFinder2(
+        Graph<Object, DefaultEdge> graph, long timeout, TimeUnit unit)
+    {
+        return new ParallelDegeneracyBronKerboschCliqueFinder<>(graph, pool, timeout, unit);
+    }
+
+    @Test
+    public void testRandomInstances()
+    {
+        Random rng = new Random(17);
+        int[] sizes = { 1, 30, 100, 300 };
+        double[] probabilities = { 0.5, 0.5, 0.2, 0.03 };
+        for (int i = 0; i < sizes.length; i++) {
+            Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(
+                sizes[i], probabilities[i], rng, false).generateGraph(g);
+            g.addVertex(-1);
+
+            Set<Set<Integer>> expected = new HashSet<>();
+            new PivotBronKerboschCliqueFinder<>(g).forEach(expected::add);
+
+            List<Set<Integer>> sequential = new ArrayList<>();
+            new ParallelDegeneracyBronKerboschCliqueFinder<>(g).forEach(sequential::add);
+            List<Set<Integer>> parallel = new ArrayList<>();
+            new ParallelDegeneracyBronKerboschCliqueFinder<>(g, pool).forEach(parallel::add);
+
+            assertEquals(expected.size(), sequential.size());
+            assertEquals(expected, new HashSet<>(sequential));
+            // the order does not depend on the pool
+            assertEquals(sequential, parallel);
+        }
+    }
+
+    @Test
+    public void testLazyIteration()
+    {
+        // a disjoint union of many triangles
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        int triangles = 20000;
+        for (int i = 0; i < 3 * triangles; i += 3) {
+            Graphs.addEdgeWithVertices(g, i, i + 1);
+            Graphs.addEdgeWithVertices(g, i + 1, i + 2);
+            Graphs.addEdgeWithVertices(g, i + 2, i);
+        }
+
+        ParallelDegeneracyBronKerboschCliqueFinder<Integer, DefaultEdge> finder =
+            new ParallelDegeneracyBronKerboschCliqueFinder<>(g, pool);
+        Iterator<Set<Integer>> it = finder.iterator();
+        Set<Integer> first = it.next();
+        assertEquals(3, first.size());
+        assertEquals(1, first.stream().map(v -> v / 3).distinct().count());
+
+        long count = 1;
+        while (it.hasNext()) {
+            assertEquals(3, it.next().size());
+            count++;
+        }
+        assertEquals(triangles, count);
+        assertFalse(finder.isTimeLimitReached());
+
+        Iterator<Set<Integer>> maximum = finder.maximumIterator();
+        count = 0;
+        while (maximum.hasNext()) {
+            maximum.next();
+            count++;
+        }
+        assertEquals(triangles, count);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirected()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleDirectedGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(g, 0, 1);
+        new ParallelDegeneracyBronKerboschCliqueFinder<>(g).iterator();
+    }
+
+}
@@ -141,4 +141,23 @@ public class ConnectivityInspectorTest
         assertEquals(false, inspector.isConnected());
     }
 
+    @Test
+    public void testAddAfterRemove()
+    {
+        ListenableGraph<String, DefaultEdge> g =
+            new DefaultListenableGraph<>(new Pseudograph<>(DefaultEdge.class));
+        g.addVertex(V1);
+        g.addVertex(V2);
+        DefaultEdge e = g.addEdge(V1, V2);
+
+        ConnectivityInspector<String, DefaultEdge> inspector = new ConnectivityInspector<>(g);
+        g.addGraphListener(inspector);
+        assertEquals(true, inspector.isConnected());
+
+        g.removeEdge(e);
+        g.addVertex(V3);
+        g.addEdge(V2, V3);
+        assertEquals(false, inspector.pathExists(V1, V3));
+        assertEquals(2, inspector.connectedSets().size());
+    }
 }
@@ -0,0 +1,164 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link DynamicConnectivityInspector}.
+ */
+public class DynamicConnectivityInspectorTest
+{
+    @Test
+    public void testPathAndBridge()
+    {
+        ListenableGraph<Integer, DefaultEdge> g =
+            new DefaultListenableGraph<>(new Pseudograph<>(DefaultEdge.class));
+        for (int v = 0; v < 6; v++) {
+            g.addVertex(v);
+        }
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(2, 0);
+
+        DynamicConnectivityInspector<Integer, DefaultEdge> inspector =
+            new DynamicConnectivityInspector<>(g);
+        g.addGraphListener(inspector);
+        assertEquals(4, inspector.getNumberOfComponents());
+        assertTrue(inspector.pathExists(0, 2));
+        assertFalse(inspector.pathExists(0, 3));
+        assertTrue(inspector.pathExists(5, 5));
+
+        DefaultEdge bridge = g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(4, 4);
+        assertTrue(inspector.pathExists(0, 4));
+        assertEquals(new HashSet<>(Arrays.asList(0, 1, 2, 3, 4)), inspector.connectedSetOf(1));
+        assertEquals(Collections.singleton(5), inspector.connectedSetOf(5));
+
+        // removing a cycle edge keeps the component
+        g.removeEdge(0, 1);
+        assertTrue(inspector.pathExists(0, 1));
+        assertEquals(2, inspector.getNumberOfComponents());
+
+        g.removeEdge(bridge);
+        assertFalse(inspector.pathExists(0, 4));
+        assertTrue(inspector.pathExists(3, 4));
+        assertEquals(3, inspector.getNumberOfComponents());
+
+        g.addEdge(5, 0);
+        g.addEdge(5, 3);
+        assertTrue(inspector.isConnected());
+
+        g.removeVertex(5);
+        assertFalse(inspector.isConnected());
+        assertEquals(2, inspector.getNumberOfComponents());
+    }
+
+    @Test
+    public void testDirectedGraph()
+    {
+        ListenableGraph<Integer, DefaultEdge> g =
+            new DefaultListenableGraph<>(new DirectedPseudograph<>(DefaultEdge.class));
+        DynamicConnectivityInspector<Integer, DefaultEdge> inspector =
+            new DynamicConnectivityInspector<>(g);
+        g.addGraphListener(inspector);
+        assertFalse(inspector.isConnected());
+
+        g.addVertex(0);
+        g.addVertex(1);
+        g.addVertex(2);
+        g.addEdge(0, 1);
+        g.addEdge(2, 1);
+        assertTrue(inspector.isConnected());
+        assertTrue(inspector.pathExists(2, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownVertex()
+    {
+        Graph<Integer, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        g.addVertex(0);
+        new DynamicConnectivityInspector<>(g).pathExists(0, 1);
+    }
+
+    @Test
+    public void testRandomUpdates()
+    {
+        Random rng = new Random(17);
+        int n = 60;
+        ListenableGraph<Integer, DefaultEdge> g =
+            new DefaultListenableGraph<>(new Pseudograph<>(DefaultEdge.class));
+        for (int v = 0; v < n; v++) {
+            g.addVertex(v);
+        }
+        for (int i = 0; i < 80; i++) {
+            g.addEdge(rng.nextInt(n), rng.nextInt(n));
+        }
+        DynamicConnectivityInspector<Integer, DefaultEdge> inspector =
+            new DynamicConnectivityInspector<>(g);
+        g.addGraphListener(inspector);
+
+        List<DefaultEdge> edges = new ArrayList<>(g.edgeSet());
+        for (int step = 0; step < 3000; step++) {
+            int op = rng.nextInt(10);
+            if (op < 4 && !edges.isEmpty()) {
+                g.removeEdge(edges.remove(rng.nextInt(edges.size())));
+            } else if (op == 4) {
+                int v = rng.nextInt(2 * n);
+                if (g.containsVertex(v)) {
+                    g.removeVertex(v);
+                    edges.retainAll(g.edgeSet());
+                } else {
+                    g.addVertex(v);
+                }
+            } else {
+                List<Integer> vs = new ArrayList<>(g.vertexSet());
+                if (vs.isEmpty()) {
+                    continue;
+                }
+                Integer u = vs.get(rng.nextInt(vs.size()));
+                Integer v = vs.get(rng.nextInt(vs.size()));
+                edges.add(g.addEdge(u, v));
+            }
+
+            if (step % 10 == 0) {
+                ConnectivityInspector<Integer, DefaultEdge> expected =
+                    new ConnectivityInspector<>(g);
+                assertEquals(expected.connectedSets().size(), inspector.getNumberOfComponents());
+                List<Integer> vs = new ArrayList<>(g.vertexSet());
+                for (int k = 0; k < 20 && !vs.isEmpty(); k++) {
+                    Integer u = vs.get(rng.nextInt(vs.size()));
+                    Integer v = vs.get(rng.nextInt(vs.size()));
+                    assertEquals(expected.pathExists(u, v), inspector.pathExists(u, v));
+                }
+                if (!vs.isEmpty()) {
+                    Integer u = vs.get(rng.nextInt(vs.size()));
+                    assertEquals(expected.connectedSetOf(u), inspector.connectedSetOf(u));
+                }
+            }
+        }
+    }
+
+}
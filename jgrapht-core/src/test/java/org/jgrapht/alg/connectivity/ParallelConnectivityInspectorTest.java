@@ -0,0 +1,103 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelConnectivityInspector}.
+ */
+public class ParallelConnectivityInspectorTest
+{
+    @Test
+    public void testSmall()
+    {
+        Graph<String, DefaultEdge> g = new DefaultDirectedGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d", "e"));
+        g.addEdge("a", "b");
+        g.addEdge("c", "b");
+        g.addEdge("d", "e");
+
+        ParallelConnectivityInspector<String, DefaultEdge> inspector =
+            new ParallelConnectivityInspector<>(g, null);
+        assertFalse(inspector.isConnected());
+        List<Set<String>> expected = Arrays.asList(
+            new HashSet<>(Arrays.asList("a", "b", "c")), new HashSet<>(Arrays.asList("d", "e")));
+        assertEquals(expected, inspector.connectedSets());
+        assertEquals(expected.get(0), inspector.connectedSetOf("c"));
+        assertTrue(inspector.pathExists("a", "c"));
+        assertFalse(inspector.pathExists("a", "e"));
+
+        g.addEdge("e", "c");
+        assertTrue(new ParallelConnectivityInspector<>(g).isConnected());
+    }
+
+    @Test
+    public void testEmpty()
+    {
+        Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        assertFalse(new ParallelConnectivityInspector<>(g).isConnected());
+        assertTrue(new ParallelConnectivityInspector<>(g).connectedSets().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownVertex()
+    {
+        Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertex("a");
+        new ParallelConnectivityInspector<>(g).connectedSetOf("b");
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random rng = new Random(7);
+            for (int i = 0; i < 50; i++) {
+                int n = 1 + rng.nextInt(500);
+                int m = rng.nextInt(n);
+                Graph<Integer, DefaultEdge> g = rng.nextBoolean()
+                    ? new Pseudograph<>(null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, false)
+                    : new DirectedPseudograph<>(null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+                for (int v = 0; v < n; v++) {
+                    g.addVertex(v);
+                }
+                for (int k = 0; k < m; k++) {
+                    g.addEdge(rng.nextInt(n), rng.nextInt(n));
+                }
+
+                List<Set<Integer>> expected = new ConnectivityInspector<>(g).connectedSets();
+                List<Set<Integer>> actual =
+                    new ParallelConnectivityInspector<>(g, pool).connectedSets();
+                assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.traverse.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ReachabilityIndex}.
+ */
+public class ReachabilityIndexTest
+{
+    @Test
+    public void testSmallGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3, 4, 5));
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(2, 1);
+        g.addEdge(2, 3);
+        g.addEdge(4, 3);
+        g.addEdge(5, 5);
+
+        for (int threshold : new int[] { 0, ReachabilityIndex.DEFAULT_CLOSURE_THRESHOLD }) {
+            ReachabilityIndex<Integer, DefaultEdge> index = new ReachabilityIndex<>(g, threshold);
+            assertEquals(5, index.getNumberOfStronglyConnectedComponents());
+            assertTrue(index.reaches(0, 3));
+            assertTrue(index.reaches(2, 1));
+            assertTrue(index.isStronglyConnected(1, 2));
+            assertFalse(index.isStronglyConnected(0, 1));
+            assertFalse(index.reaches(3, 0));
+            assertFalse(index.reaches(0, 4));
+            assertFalse(index.reaches(4, 2));
+            assertTrue(index.reaches(4, 4));
+            assertFalse(index.reaches(5, 0));
+        }
+    }
+
+    @Test
+    public void testUndirected()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3));
+        g.addEdge(0, 1);
+        g.addEdge(2, 1);
+
+        ReachabilityIndex<Integer, DefaultEdge> index = new ReachabilityIndex<>(g);
+        assertEquals(2, index.getNumberOfStronglyConnectedComponents());
+        assertTrue(index.reaches(2, 0));
+        assertFalse(index.reaches(3, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownVertex()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleDirectedGraph<>(DefaultEdge.class);
+        g.addVertex(0);
+        new ReachabilityIndex<>(g).reaches(0, 1);
+    }
+
+    @Test
+    public void testClosureTooLargeForThreshold()
+    {
+        // the bitsets of this many components do not fit into an array
+        int n = 400_000;
+        Graph<Integer, DefaultEdge> g = new SimpleDirectedGraph<>(DefaultEdge.class);
+        for (int v = 0; v < n; v++) {
+            g.addVertex(v);
+        }
+        g.addEdge(0, 1);
+        g.addEdge(1, n - 1);
+
+        ReachabilityIndex<Integer, DefaultEdge> index =
+            new ReachabilityIndex<>(g, Integer.MAX_VALUE);
+        assertEquals(n, index.getNumberOfStronglyConnectedComponents());
+        assertTrue(index.reaches(0, n - 1));
+        assertFalse(index.reaches(n - 1, 0));
+        assertFalse(index.reaches(0, 2));
+    }
+
+    @Test
+    public void testRandomDigraphs()
+    {
+        Random rng = new Random(17);
+        for (int round = 0; round < 40; round++) {
+            int n = 1 + rng.nextInt(60);
+            int m = rng.nextInt(3 * n);
+            boolean acyclic = round % 2 == 0;
+            Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+            for (int v = 0; v < n; v++) {
+                g.addVertex(v);
+            }
+            for (int i = 0; i < m; i++) {
+                int u = rng.nextInt(n);
+                int v = rng.nextInt(n);
+                if (acyclic && u >= v) {
+                    continue;
+                }
+                g.addEdge(u, v);
+            }
+
+            ReachabilityIndex<Integer, DefaultEdge> closure = new ReachabilityIndex<>(g);
+            ReachabilityIndex<Integer, DefaultEdge> labels = new ReachabilityIndex<>(g, 0);
+            for (int u = 0; u < n; u++) {
+                Set<Integer> reachable = new HashSet<>();
+                new DepthFirstIterator<>(g, u).forEachRemaining(reachable::add);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(reachable.contains(v), closure.reaches(u, v));
+                    assertEquals(reachable.contains(v), labels.reaches(u, v));
+                }
+            }
+        }
+    }
+
+}
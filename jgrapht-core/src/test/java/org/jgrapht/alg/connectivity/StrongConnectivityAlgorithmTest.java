@@ -25,6 +25,7 @@ import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -53,7 +54,8 @@ public class StrongConnectivityAlgorithmTest
     public void testStrongConnectivityClasses()
     {
         Class<?>[] strongConnectivityAlgorithmClasses =
-            { GabowStrongConnectivityInspector.class, KosarajuStrongConnectivityInspector.class };
+            { GabowStrongConnectivityInspector.class, KosarajuStrongConnectivityInspector.class,
+                ParallelStrongConnectivityInspector.class };
         for (Class<?> strongConnectivityAlgorithm : strongConnectivityAlgorithmClasses) {
             this.testStronglyConnected1(strongConnectivityAlgorithm);
             this.testStronglyConnected2(strongConnectivityAlgorithm);
@@ -286,6 +288,39 @@ public class StrongConnectivityAlgorithmTest
             condensation.toString());
     }
 
+    @Test
+    public void testParallelRandomGraphs()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random rng = new Random(17);
+            for (int i = 0; i < 50; i++) {
+                int n = 1 + rng.nextInt(200);
+                int m = rng.nextInt(3 * n);
+                Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+                for (int v = 0; v < n; v++) {
+                    g.addVertex(v);
+                }
+                for (int k = 0; k < m; k++) {
+                    g.addEdge(rng.nextInt(n), rng.nextInt(n));
+                }
+
+                Set<Set<Integer>> expected = new HashSet<>(
+                    new GabowStrongConnectivityInspector<>(g).stronglyConnectedSets());
+                Set<Set<Integer>> parallel = new HashSet<>(
+                    new ParallelStrongConnectivityInspector<>(g, pool).stronglyConnectedSets());
+                Set<Set<Integer>> sequential = new HashSet<>(
+                    new ParallelStrongConnectivityInspector<>(g, null).stronglyConnectedSets());
+                assertEquals(expected, parallel);
+                assertEquals(expected, sequential);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     private <V, E> StrongConnectivityAlgorithm<V, E> getStrongConnectivityInspector(
         Graph<V, E> graph, Class<?> strongConnectivityAlgorithm)
     {
@@ -293,6 +328,8 @@ public class StrongConnectivityAlgorithmTest
             return new GabowStrongConnectivityInspector<>(graph);
         else if (strongConnectivityAlgorithm == KosarajuStrongConnectivityInspector.class)
             return new KosarajuStrongConnectivityInspector<>(graph);
+        else if (strongConnectivityAlgorithm == ParallelStrongConnectivityInspector.class)
+            return new ParallelStrongConnectivityInspector<>(graph);
         else
             throw new IllegalArgumentException("Unknown strongConnectivityInspectorClass");
     }
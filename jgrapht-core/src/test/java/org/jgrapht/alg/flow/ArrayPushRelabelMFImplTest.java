@@ -0,0 +1,140 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Maximum flow tests for {@link ArrayPushRelabelMFImpl}.
+ */
+public class ArrayPushRelabelMFImplTest
+    extends
+    MaximumFlowAlgorithmTest
+{
+    @Override
+    MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+        Graph<Integer, DefaultWeightedEdge> network)
+    {
+        return new ArrayPushRelabelMFImpl<>(network);
+    }
+
+    @Test
+    public void testRandomAgainstEdmondsKarp()
+    {
+        Random rng = new Random(31);
+        for (int test = 0; test < 100; test++) {
+            Graph<Integer, DefaultWeightedEdge> network = new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                40, 100 + rng.nextInt(300), rng.nextLong(), true, true).generateGraph(network);
+            for (DefaultWeightedEdge e : network.edgeSet()) {
+                network.setEdgeWeight(e, rng.nextInt(4) == 0 ? rng.nextInt(10) : rng.nextDouble());
+            }
+
+            EdmondsKarpMFImpl<Integer, DefaultWeightedEdge> expected =
+                new EdmondsKarpMFImpl<>(network);
+            ArrayPushRelabelMFImpl<Integer, DefaultWeightedEdge> fifo =
+                new ArrayPushRelabelMFImpl<>(
+                    network, ArrayPushRelabelMFImpl.SelectionRule.FIFO,
+                    ArrayPushRelabelMFImpl.DEFAULT_EPSILON);
+            ArrayPushRelabelMFImpl<Integer, DefaultWeightedEdge> highest =
+                new ArrayPushRelabelMFImpl<>(network);
+            for (int i = 0; i < 3; i++) {
+                int source = rng.nextInt(40);
+                int sink = (source + 1 + rng.nextInt(39)) % 40;
+                double value = expected.calculateMaximumFlow(source, sink);
+                verifyDirected(source, sink, value, network, fifo.getMaximumFlow(source, sink));
+                verifyDirected(source, sink, value, network, highest.getMaximumFlow(source, sink));
+            }
+        }
+    }
+
+    @Test
+    public void testReuseWithDifferentCapacities()
+    {
+        Graph<Integer, DefaultWeightedEdge> network =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(network, Arrays.asList(0, 1, 2, 3));
+        DefaultWeightedEdge e01 = Graphs.addEdge(network, 0, 1, 3.0);
+        DefaultWeightedEdge e02 = Graphs.addEdge(network, 0, 2, 2.0);
+        DefaultWeightedEdge e13 = Graphs.addEdge(network, 1, 3, 2.0);
+        DefaultWeightedEdge e23 = Graphs.addEdge(network, 2, 3, 3.0);
+        Graphs.addEdge(network, 1, 2, 1.0);
+
+        ArrayPushRelabelMFImpl<Integer, DefaultWeightedEdge> solver =
+            new ArrayPushRelabelMFImpl<>(network);
+        assertEquals(5.0, solver.calculateMaximumFlow(0, 3), 1e-9);
+        assertEquals(Collections.singleton(0), solver.getSourcePartition());
+
+        solver.setCapacity(e02, 0.0);
+        assertEquals(3.0, solver.calculateMaximumFlow(0, 3), 1e-9);
+        assertEquals(new HashSet<>(Arrays.asList(e01, e02)), solver.getCutEdges());
+        assertEquals(0.0, solver.getFlowMap().get(e02), 0.0);
+
+        solver.setCapacity(e13, 0.5);
+        assertEquals(1.5, solver.calculateMinCut(0, 3), 1e-9);
+        assertEquals(new HashSet<>(Arrays.asList(0, 1)), solver.getSourcePartition());
+
+        solver.setCapacities(e -> 1.0);
+        assertEquals(2.0, solver.getMaximumFlowValue(0, 3), 1e-9);
+        assertEquals(2.0, solver.getMaximumFlowValue(1, 3), 1e-9);
+        assertEquals(1.0, solver.getMaximumFlowValue(2, 3), 1e-9);
+        verifyDirected(0, 3, 2.0, unitNetwork(network), solver.getMaximumFlow(0, 3));
+
+        // the network itself is not modified
+        assertEquals(2.0, network.getEdgeWeight(e02), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCapacity()
+    {
+        Graph<Integer, DefaultWeightedEdge> network =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(network, Arrays.asList(0, 1));
+        DefaultWeightedEdge e = Graphs.addEdge(network, 0, 1, 3.0);
+        new ArrayPushRelabelMFImpl<>(network).setCapacity(e, -1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSourceEqualsSink()
+    {
+        Graph<Integer, DefaultWeightedEdge> network =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        network.addVertex(0);
+        new ArrayPushRelabelMFImpl<>(network).calculateMaximumFlow(0, 0);
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> unitNetwork(
+        Graph<Integer, DefaultWeightedEdge> network)
+    {
+        Map<DefaultWeightedEdge, Double> weights = new HashMap<>();
+        for (DefaultWeightedEdge e : network.edgeSet()) {
+            weights.put(e, 1.0);
+        }
+        return new AsWeightedGraph<>(network, weights);
+    }
+}
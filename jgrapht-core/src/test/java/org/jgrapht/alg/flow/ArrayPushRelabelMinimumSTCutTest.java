@@ -0,0 +1,96 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+/**
+ * Minimum cut tests for {@link ArrayPushRelabelMFImpl}.
+ */
+public class ArrayPushRelabelMinimumSTCutTest
+    extends
+    MinimumSourceSinkCutTest
+{
+    @Override
+    MinimumSTCutAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+        Graph<Integer, DefaultWeightedEdge> network)
+    {
+        return new ArrayPushRelabelMFImpl<>(network);
+    }
+
+    @Test
+    public void testRandomDirectedGraphs()
+    {
+        for (int test = 0; test < NR_RANDOM_TESTS; test++) {
+            Graph<Integer, DefaultWeightedEdge> network = generateDirectedGraph();
+            int source = 0;
+            int sink = network.vertexSet().size() - 1;
+
+            double expectedCutWeight =
+                new EdmondsKarpMFImpl<>(network).calculateMinCut(source, sink);
+            for (ArrayPushRelabelMFImpl.SelectionRule rule : ArrayPushRelabelMFImpl.SelectionRule
+                .values())
+            {
+                MinimumSTCutAlgorithm<Integer, DefaultWeightedEdge> solver =
+                    new ArrayPushRelabelMFImpl<>(
+                        network, rule, ArrayPushRelabelMFImpl.DEFAULT_EPSILON);
+                double cutWeight = solver.calculateMinCut(source, sink);
+                Set<Integer> sourcePartition = solver.getSourcePartition();
+                Set<Integer> sinkPartition = solver.getSinkPartition();
+                Set<DefaultWeightedEdge> cutEdges = solver.getCutEdges();
+
+                this.verifyDirected(
+                    network, source, sink, expectedCutWeight, cutWeight, sourcePartition,
+                    sinkPartition, cutEdges);
+            }
+        }
+    }
+
+    @Test
+    public void testRandomUndirectedGraphs()
+    {
+        for (int test = 0; test < NR_RANDOM_TESTS; test++) {
+            Graph<Integer, DefaultWeightedEdge> network = generateUndirectedGraph();
+            int source = 0;
+            int sink = network.vertexSet().size() - 1;
+
+            double expectedCutWeight =
+                new EdmondsKarpMFImpl<>(network).calculateMinCut(source, sink);
+            for (ArrayPushRelabelMFImpl.SelectionRule rule : ArrayPushRelabelMFImpl.SelectionRule
+                .values())
+            {
+                MinimumSTCutAlgorithm<Integer, DefaultWeightedEdge> solver =
+                    new ArrayPushRelabelMFImpl<>(
+                        network, rule, ArrayPushRelabelMFImpl.DEFAULT_EPSILON);
+                double cutWeight = solver.calculateMinCut(source, sink);
+                Set<Integer> sourcePartition = solver.getSourcePartition();
+                Set<Integer> sinkPartition = solver.getSinkPartition();
+                Set<DefaultWeightedEdge> cutEdges = solver.getCutEdges();
+
+                this.verifyUndirected(
+                    network, source, sink, expectedCutWeight, cutWeight, sourcePartition,
+                    sinkPartition, cutEdges);
+            }
+        }
+    }
+}
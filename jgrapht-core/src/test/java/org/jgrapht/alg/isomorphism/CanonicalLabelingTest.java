@@ -0,0 +1,337 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CanonicalLabeling}.
+ */
+public class CanonicalLabelingTest
+{
+    @Test
+    public void testNumberOfIsomorphismClasses()
+    {
+        assertEquals(11, countClasses(4, false));
+        assertEquals(34, countClasses(5, false));
+        assertEquals(16, countClasses(3, true));
+        assertEquals(218, countClasses(4, true));
+    }
+
+    @Test
+    public void testRandomRelabeling()
+    {
+        Random rng = new Random(17);
+        for (int i = 0; i < 200; i++) {
+            boolean directed = i % 2 == 0;
+            Graph<Integer, DefaultEdge> g =
+                directed ? new DirectedPseudograph<>(DefaultEdge.class)
+                    : new Pseudograph<>(DefaultEdge.class);
+            int n = 1 + rng.nextInt(12);
+            int m = rng.nextInt(3 * n);
+            for (int v = 0; v < n; v++) {
+                g.addVertex(v);
+            }
+            for (int e = 0; e < m; e++) {
+                g.addEdge(rng.nextInt(n), rng.nextInt(n));
+            }
+            Graph<Integer, DefaultEdge> h = relabel(g, rng);
+
+            CanonicalLabeling<Integer, DefaultEdge> cg = new CanonicalLabeling<>(g);
+            CanonicalLabeling<Integer, DefaultEdge> ch = new CanonicalLabeling<>(h);
+            assertEquals(cg.getCertificate(), ch.getCertificate());
+            assertEquals(cg.getCertificate().hashCode(), ch.getCertificate().hashCode());
+            assertEquals(canonicalEdges(g, cg), canonicalEdges(h, ch));
+            assertAutomorphisms(g, cg);
+        }
+    }
+
+    @Test
+    public void testAgreesWithVF2()
+    {
+        Random rng = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            Graph<Integer, DefaultEdge> g1 = randomSimpleGraph(7, 9, rng);
+            Graph<Integer, DefaultEdge> g2 = randomSimpleGraph(7, 9, rng);
+            boolean isomorphic =
+                new VF2GraphIsomorphismInspector<>(g1, g2).isomorphismExists();
+            assertEquals(
+                isomorphic, new CanonicalLabeling<>(g1)
+                    .getCertificate().equals(new CanonicalLabeling<>(g2).getCertificate()));
+        }
+    }
+
+    @Test
+    public void testSymmetricGraphs()
+    {
+        Random rng = new Random(3);
+        List<Graph<Integer, DefaultEdge>> graphs = new ArrayList<>();
+        graphs.add(NamedGraphGenerator.petersenGraph());
+        graphs.add(NamedGraphGenerator.dodecahedronGraph());
+
+        Graph<Integer, DefaultEdge> complete = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(9).generateGraph(complete);
+        graphs.add(complete);
+
+        Graph<Integer, DefaultEdge> empty = new SimpleGraph<>(DefaultEdge.class);
+        for (int v = 0; v < 9; v++) {
+            empty.addVertex(v);
+        }
+        graphs.add(empty);
+
+        for (Graph<Integer, DefaultEdge> g : graphs) {
+            CanonicalLabeling<Integer, DefaultEdge> cg = new CanonicalLabeling<>(g);
+            assertEquals(
+                cg.getCertificate(), new CanonicalLabeling<>(relabel(g, rng)).getCertificate());
+            assertAutomorphisms(g, cg);
+
+            // all these graphs are vertex transitive
+            int[] orbits = orbits(g.vertexSet().size(), cg.getAutomorphismGenerators());
+            for (int v = 0; v < orbits.length; v++) {
+                assertEquals(orbits[0], orbits[v]);
+            }
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testLargeSymmetricGraphs()
+    {
+        // the automorphism groups are huge, which requires the pruning to be cheap
+        Random rng = new Random(5);
+        int n = 2000;
+        Graph<Integer, DefaultEdge> star = new SimpleGraph<>(DefaultEdge.class);
+        Graph<Integer, DefaultEdge> empty = new SimpleGraph<>(DefaultEdge.class);
+        for (int v = 0; v < n; v++) {
+            star.addVertex(v);
+            empty.addVertex(v);
+        }
+        for (int v = 1; v < n; v++) {
+            star.addEdge(0, v);
+        }
+
+        for (Graph<Integer, DefaultEdge> g : Arrays.asList(star, empty)) {
+            CanonicalLabeling<Integer, DefaultEdge> cg = new CanonicalLabeling<>(g);
+            assertEquals(
+                cg.getCertificate(), new CanonicalLabeling<>(relabel(g, rng)).getCertificate());
+
+            int[] orbits = orbits(n, cg.getAutomorphismGenerators());
+            for (int v = 2; v < n; v++) {
+                assertEquals(orbits[1], orbits[v]);
+            }
+            assertEquals(g == empty, orbits[0] == orbits[1]);
+        }
+    }
+
+    @Test
+    public void testColoredGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2));
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+
+        CanonicalLabeling.Certificate end =
+            new CanonicalLabeling<>(g, coloring(g, 0, 0, 1)).getCertificate();
+        CanonicalLabeling.Certificate otherEnd =
+            new CanonicalLabeling<>(g, coloring(g, 1, 0, 0)).getCertificate();
+        CanonicalLabeling.Certificate middle =
+            new CanonicalLabeling<>(g, coloring(g, 0, 1, 0)).getCertificate();
+        assertEquals(end, otherEnd);
+        assertNotEquals(end, middle);
+        assertNotEquals(end, new CanonicalLabeling<>(g).getCertificate());
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        CanonicalLabeling<Integer, DefaultEdge> cg = new CanonicalLabeling<>(g);
+        assertEquals(0, cg.getLabeling().length);
+        assertTrue(cg.getCanonicalOrder().isEmpty());
+        assertNotEquals(
+            cg.getCertificate(),
+            new CanonicalLabeling<>(new SimpleDirectedGraph<>(DefaultEdge.class))
+                .getCertificate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidColoring()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2));
+        new CanonicalLabeling<>(g, coloring(g, 0, 2, 2));
+    }
+
+    private static long countClasses(int n, boolean directed)
+    {
+        List<int[]> pairs = new ArrayList<>();
+        for (int u = 0; u < n; u++) {
+            for (int v = directed ? 0 : u + 1; v < n; v++) {
+                if (u != v) {
+                    pairs.add(new int[] { u, v });
+                }
+            }
+        }
+        Set<CanonicalLabeling.Certificate> classes = new HashSet<>();
+        for (int mask = 0; mask < 1 << pairs.size(); mask++) {
+            Graph<Integer, DefaultEdge> g = directed ? new SimpleDirectedGraph<>(DefaultEdge.class)
+                : new SimpleGraph<>(DefaultEdge.class);
+            for (int v = 0; v < n; v++) {
+                g.addVertex(v);
+            }
+            for (int i = 0; i < pairs.size(); i++) {
+                if ((mask & (1 << i)) != 0) {
+                    g.addEdge(pairs.get(i)[0], pairs.get(i)[1]);
+                }
+            }
+            classes.add(new CanonicalLabeling<>(g).getCertificate());
+        }
+        return classes.size();
+    }
+
+    private static Graph<Integer, DefaultEdge> randomSimpleGraph(int n, int m, Random rng)
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        for (int v = 0; v < n; v++) {
+            g.addVertex(v);
+        }
+        while (g.edgeSet().size() < m) {
+            int u = rng.nextInt(n);
+            int v = rng.nextInt(n);
+            if (u != v) {
+                g.addEdge(u, v);
+            }
+        }
+        return g;
+    }
+
+    /**
+     * Copy a graph with shuffled vertex names and insertion order.
+     */
+    private static Graph<Integer, DefaultEdge> relabel(Graph<Integer, DefaultEdge> g, Random rng)
+    {
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        List<Integer> names = new ArrayList<>(vertices);
+        Collections.shuffle(names, rng);
+        Map<Integer, Integer> map = new HashMap<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            map.put(vertices.get(i), names.get(i) + 100);
+        }
+
+        Graph<Integer, DefaultEdge> h = g.getType().isDirected()
+            ? new DirectedPseudograph<>(DefaultEdge.class) : new Pseudograph<>(DefaultEdge.class);
+        Collections.shuffle(vertices, rng);
+        for (Integer v : vertices) {
+            h.addVertex(map.get(v));
+        }
+        List<DefaultEdge> edges = new ArrayList<>(g.edgeSet());
+        Collections.shuffle(edges, rng);
+        for (DefaultEdge e : edges) {
+            h.addEdge(map.get(g.getEdgeSource(e)), map.get(g.getEdgeTarget(e)));
+        }
+        return h;
+    }
+
+    private static List<String> canonicalEdges(
+        Graph<Integer, DefaultEdge> g, CanonicalLabeling<Integer, DefaultEdge> cg)
+    {
+        Map<Integer, Integer> label = new HashMap<>();
+        List<Integer> order = cg.getCanonicalOrder();
+        for (int i = 0; i < order.size(); i++) {
+            label.put(order.get(i), i);
+        }
+        List<String> edges = new ArrayList<>();
+        for (DefaultEdge e : g.edgeSet()) {
+            int u = label.get(g.getEdgeSource(e));
+            int v = label.get(g.getEdgeTarget(e));
+            if (!g.getType().isDirected() && u > v) {
+                int t = u;
+                u = v;
+                v = t;
+            }
+            edges.add(u + "-" + v);
+        }
+        Collections.sort(edges);
+        return edges;
+    }
+
+    private static void assertAutomorphisms(
+        Graph<Integer, DefaultEdge> g, CanonicalLabeling<Integer, DefaultEdge> cg)
+    {
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        int[] labeling = cg.getLabeling();
+        assertEquals(vertices.size(), new HashSet<>(cg.getCanonicalOrder()).size());
+        for (int i = 0; i < labeling.length; i++) {
+            assertEquals(vertices.get(i), cg.getCanonicalOrder().get(labeling[i]));
+        }
+        for (int[] a : cg.getAutomorphismGenerators()) {
+            for (DefaultEdge e : g.edgeSet()) {
+                int u = vertices.indexOf(g.getEdgeSource(e));
+                int v = vertices.indexOf(g.getEdgeTarget(e));
+                assertEquals(
+                    g.getAllEdges(vertices.get(u), vertices.get(v)).size(),
+                    g.getAllEdges(vertices.get(a[u]), vertices.get(a[v])).size());
+            }
+        }
+    }
+
+    private static int[] orbits(int n, List<int[]> generators)
+    {
+        int[] orbit = new int[n];
+        Arrays.fill(orbit, -1);
+        for (int v = 0; v < n; v++) {
+            if (orbit[v] >= 0) {
+                continue;
+            }
+            Deque<Integer> stack = new ArrayDeque<>();
+            orbit[v] = v;
+            stack.push(v);
+            while (!stack.isEmpty()) {
+                int u = stack.pop();
+                for (int[] a : generators) {
+                    if (orbit[a[u]] < 0) {
+                        orbit[a[u]] = v;
+                        stack.push(a[u]);
+                    }
+                }
+            }
+        }
+        return orbit;
+    }
+
+    private static Coloring<Integer> coloring(Graph<Integer, DefaultEdge> g, int... colors)
+    {
+        Map<Integer, Integer> map = new HashMap<>();
+        Set<Integer> distinct = new HashSet<>();
+        for (int v = 0; v < colors.length; v++) {
+            map.put(v, colors[v]);
+            distinct.add(colors[v]);
+        }
+        return new ColoringImpl<>(map, distinct.size());
+    }
+}
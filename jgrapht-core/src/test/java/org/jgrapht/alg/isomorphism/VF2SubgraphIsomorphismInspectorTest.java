@@ -23,6 +23,8 @@ import org.jgrapht.graph.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
 
 import static org.junit.Assert.assertEquals;
 
@@ -931,4 +933,85 @@ public class VF2SubgraphIsomorphismInspectorTest
                 + (System.currentTimeMillis() - time) + "ms");
     }
 
+    /**
+     * Matches a small connected pattern in a large sparse graph, which needs linear space.
+     */
+    @Test
+    public void testLargeSparseGraph()
+    {
+        Graph<Integer, DefaultEdge> g1 =
+            SubgraphIsomorphismTestUtils.randomGraph(50000, 150000, 4711);
+
+        // the subgraph induced by the first vertices found by a search from vertex 0
+        List<Integer> ball = new ArrayList<>();
+        ball.add(0);
+        for (int i = 0; i < ball.size() && ball.size() < 6; i++) {
+            for (Integer v : Graphs.neighborListOf(g1, ball.get(i))) {
+                if (ball.size() < 6 && !ball.contains(v)) {
+                    ball.add(v);
+                }
+            }
+        }
+        Graph<Integer, DefaultEdge> g2 = new DefaultDirectedGraph<>(DefaultEdge.class);
+        for (int i = 0; i < ball.size(); i++) {
+            g2.addVertex(i);
+        }
+        for (int i = 0; i < ball.size(); i++) {
+            for (int j = 0; j < ball.size(); j++) {
+                if (g1.containsEdge(ball.get(i), ball.get(j))) {
+                    g2.addEdge(i, j);
+                }
+            }
+        }
+
+        // the first mappings are the same with and without cached edges
+        Iterator<GraphMapping<Integer, DefaultEdge>> cached =
+            new VF2SubgraphIsomorphismInspector<>(g1, g2).getMappings();
+        Iterator<GraphMapping<Integer, DefaultEdge>> uncached =
+            new VF2SubgraphIsomorphismInspector<>(g1, g2, false).getMappings();
+        for (int i = 0; i < 1000; i++) {
+            GraphMapping<Integer, DefaultEdge> mapping = cached.next();
+            assertEquals(true, SubgraphIsomorphismTestUtils.isCorrectMatching(mapping, g1, g2));
+            assertEquals(mapping, uncached.next());
+        }
+    }
+
+    @Test
+    public void testParallelEnumeration()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int seed = 0; seed < 20; seed++) {
+                Graph<Integer, DefaultEdge> g1 =
+                    SubgraphIsomorphismTestUtils.randomGraph(15, 40, seed),
+                    g2 = SubgraphIsomorphismTestUtils.randomSubgraph(g1, 3, seed);
+
+                VF2SubgraphIsomorphismInspector<Integer, DefaultEdge> vf2 =
+                    new VF2SubgraphIsomorphismInspector<>(g1, g2);
+                List<GraphMapping<Integer, DefaultEdge>> expected = new ArrayList<>();
+                vf2.getMappings().forEachRemaining(expected::add);
+
+                assertEquals(expected, vf2.getMappingStream().collect(Collectors.toList()));
+                assertEquals(
+                    expected, vf2.getMappingStream().parallel().collect(Collectors.toList()));
+                assertEquals(expected.size(), vf2.countMappings(null));
+                assertEquals(expected.size(), vf2.countMappings(pool));
+                assertEquals(Math.min(3, expected.size()), vf2.countMappings(pool, 3));
+                assertEquals(
+                    !expected.isEmpty(),
+                    vf2.getMappingStream().parallel().findAny().isPresent());
+            }
+
+            // the empty graph has exactly one mapping
+            Graph<Integer, DefaultEdge> g1 = SubgraphIsomorphismTestUtils.randomGraph(5, 5, 1),
+                g2 = new DefaultDirectedGraph<>(DefaultEdge.class);
+            VF2SubgraphIsomorphismInspector<Integer, DefaultEdge> vf2 =
+                new VF2SubgraphIsomorphismInspector<>(g1, g2);
+            assertEquals(1, vf2.countMappings(pool));
+            assertEquals(1, vf2.getMappingStream().parallel().count());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 }
@@ -25,6 +25,7 @@ import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -277,6 +278,93 @@ public class BetweennessCentralityTest
 
     }
 
+    @Test
+    public void testShorterPathFoundLater()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("s", "a", "t"));
+        g.setEdgeWeight(g.addEdge("s", "t"), 10.0);
+        g.setEdgeWeight(g.addEdge("s", "a"), 1.0);
+        g.setEdgeWeight(g.addEdge("a", "t"), 1.0);
+
+        VertexScoringAlgorithm<String, Double> bc = new BetweennessCentrality<>(g);
+        assertEquals(0.0, bc.getVertexScore("s"), 0.0);
+        assertEquals(1.0, bc.getVertexScore("a"), 0.0);
+        assertEquals(0.0, bc.getVertexScore("t"), 0.0);
+    }
+
+    @Test
+    public void testParallel()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random rng = new Random(17);
+            for (int i = 0; i < 10; i++) {
+                boolean directed = i % 2 == 0;
+                Graph<Integer, DefaultWeightedEdge> g = directed
+                    ? new DirectedWeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+                    : new WeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+                new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                    100, 400, rng.nextLong(), true, true).generateGraph(g);
+                for (DefaultWeightedEdge e : g.edgeSet()) {
+                    g.setEdgeWeight(e, 1 + rng.nextInt(5));
+                }
+
+                Map<Integer, Double> expected = new BetweennessCentrality<>(g, true).getScores();
+                Map<Integer, Double> actual =
+                    new BetweennessCentrality<>(g, true, pool).getScores();
+                for (Integer v : g.vertexSet()) {
+                    assertEquals(expected.get(v), actual.get(v), 1e-9);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testPivotsAllVertices()
+    {
+        Graph<Integer, DefaultEdge> g = createUnweighted2();
+        VertexScoringAlgorithm<Integer, Double> bc =
+            new BetweennessCentrality<>(g, false, null, 100, new Random(5));
+        assertGraph2(bc.getScores());
+    }
+
+    @Test
+    public void testPivotsRing()
+    {
+        // all sources of a ring contribute the same total dependency
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new RingGraphGenerator<Integer, DefaultEdge>(50).generateGraph(g);
+
+        double expected = new BetweennessCentrality<>(g)
+            .getScores().values().stream().mapToDouble(Double::doubleValue).sum();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Map<Integer, Double> approx =
+                new BetweennessCentrality<>(g, false, pool, 10, new Random(7)).getScores();
+            double actual = approx.values().stream().mapToDouble(Double::doubleValue).sum();
+            assertEquals(expected, actual, 1e-9);
+            assertEquals(
+                approx, new BetweennessCentrality<>(g, false, null, 10, new Random(7)).getScores());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPivots()
+    {
+        new BetweennessCentrality<>(createUnweighted1(), false, null, 0, new Random());
+    }
+
     private void assertRing5(Map<Integer, Double> scores)
     {
         for (Integer v : scores.keySet()) {
@@ -23,6 +23,8 @@ import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 import org.junit.*;
 
+import java.util.*;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -382,4 +384,27 @@ public class ClusteringCoefficientTest
 
         assertEquals(0.333, new ClusteringCoefficient<>(graph).getVertexScore(node1), 0.01);
     }
+
+    @Test
+    public void testAllScoresMatchSingleVertexScores()
+    {
+        Random rng = new Random(31);
+        for (int i = 0; i < 20; i++) {
+            Graph<Integer, DefaultEdge> graph = i % 2 == 0
+                ? new DirectedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false)
+                : new Multigraph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+            new GnmRandomGraphGenerator<Integer, DefaultEdge>(30, 150, rng.nextLong(), false, true)
+                .generateGraph(graph);
+
+            ClusteringCoefficient<Integer, DefaultEdge> cc = new ClusteringCoefficient<>(graph);
+            Map<Integer, Double> scores = cc.getScores();
+            ClusteringCoefficient<Integer, DefaultEdge> single = new ClusteringCoefficient<>(graph);
+            for (Integer v : graph.vertexSet()) {
+                assertEquals(single.getVertexScore(v), scores.get(v), 1e-9);
+            }
+        }
+    }
 }
@@ -19,10 +19,13 @@ package org.jgrapht.alg.scoring;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.junit.Assert.*;
 
@@ -150,4 +153,27 @@ public class CorenessTest
         }
     }
 
+    @Test
+    public void testParallelAgainstSequential()
+    {
+        Random rng = new Random(13);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int i = 0; i < 20; i++) {
+                Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+                new GnmRandomGraphGenerator<Integer, DefaultEdge>(200, 200 + rng.nextInt(2000),
+                    rng.nextLong()).generateGraph(g);
+
+                Coreness<Integer, DefaultEdge> sequential = new Coreness<>(g);
+                Coreness<Integer, DefaultEdge> parallel = new Coreness<>(g, pool);
+                assertEquals(sequential.getScores(), parallel.getScores());
+                assertEquals(sequential.getDegeneracy(), parallel.getDegeneracy());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 }
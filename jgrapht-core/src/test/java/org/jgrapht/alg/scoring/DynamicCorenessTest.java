@@ -0,0 +1,106 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link DynamicCoreness}.
+ */
+public class DynamicCorenessTest
+{
+    @Test
+    public void testTriangleAndPendant()
+    {
+        ListenableGraph<String, DefaultEdge> g =
+            new DefaultListenableGraph<>(new SimpleGraph<>(DefaultEdge.class));
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d"));
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+
+        DynamicCoreness<String, DefaultEdge> alg = new DynamicCoreness<>(g);
+        g.addGraphListener(alg);
+        assertEquals(1, alg.getDegeneracy());
+
+        g.addEdge("c", "a");
+        assertEquals(Integer.valueOf(2), alg.getVertexScore("a"));
+        assertEquals(Integer.valueOf(0), alg.getVertexScore("d"));
+        assertEquals(2, alg.getDegeneracy());
+
+        g.addEdge("c", "d");
+        assertEquals(Integer.valueOf(1), alg.getVertexScore("d"));
+        assertEquals(Integer.valueOf(2), alg.getVertexScore("c"));
+
+        g.removeEdge("a", "b");
+        assertEquals(Integer.valueOf(1), alg.getVertexScore("a"));
+        assertEquals(Integer.valueOf(1), alg.getVertexScore("c"));
+        assertEquals(1, alg.getDegeneracy());
+
+        g.addVertex("e");
+        assertEquals(Integer.valueOf(0), alg.getScores().get("e"));
+        g.removeVertex("c");
+        assertEquals(0, alg.getDegeneracy());
+        assertFalse(alg.getScores().containsKey("c"));
+    }
+
+    @Test
+    public void testRandomUpdates()
+    {
+        Random rng = new Random(11);
+        int n = 50;
+        ListenableGraph<Integer, DefaultEdge> g =
+            new DefaultListenableGraph<>(new SimpleGraph<>(DefaultEdge.class));
+        for (int v = 0; v < n; v++) {
+            g.addVertex(v);
+        }
+        DynamicCoreness<Integer, DefaultEdge> alg = new DynamicCoreness<>(g);
+        g.addGraphListener(alg);
+
+        for (int step = 0; step < 4000; step++) {
+            int u = rng.nextInt(n);
+            int v = rng.nextInt(n);
+            if (u == v || !g.containsVertex(u) || !g.containsVertex(v)) {
+                continue;
+            }
+            // keep the density around six edges per vertex
+            if (g.containsEdge(u, v) || g.edgeSet().size() > 6 * n && rng.nextBoolean()) {
+                g.removeEdge(u, v);
+            } else {
+                g.addEdge(u, v);
+            }
+            if (step % 50 == 0) {
+                Coreness<Integer, DefaultEdge> expected = new Coreness<>(g);
+                assertEquals(expected.getScores(), alg.getScores());
+                assertEquals(expected.getDegeneracy(), alg.getDegeneracy());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirected()
+    {
+        new DynamicCoreness<>(new DefaultDirectedGraph<Integer, DefaultEdge>(DefaultEdge.class));
+    }
+
+}
@@ -17,10 +17,16 @@
  */
 package org.jgrapht.alg.scoring;
 
+import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 import org.junit.*;
 
+import java.util.*;
+import java.util.concurrent.*;
+
 import static org.junit.Assert.*;
 
 /**
@@ -301,4 +307,127 @@ public class PageRankTest
 
     }
 
+    @Test
+    public void testParallel()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(1000, 5000, 13, true, true)
+            .generateGraph(g);
+        Random rng = new Random(13);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1 + rng.nextInt(10));
+        }
+
+        PageRank<Integer, DefaultWeightedEdge> sequential = new PageRank<>(g, 0.85, 100, 1e-9);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PageRank<Integer, DefaultWeightedEdge> parallel =
+                new PageRank<>(g, 0.85, 100, 1e-9, null, null, pool);
+            assertEquals(sequential.getIterations(), parallel.getIterations());
+            assertEquals(sequential.getScores(), parallel.getScores());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testPersonalization()
+    {
+        DirectedPseudograph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        g.addVertex("a");
+        g.addVertex("b");
+        g.addVertex("c");
+        g.addEdge("a", "b");
+        g.addEdge("b", "a");
+        g.addEdge("c", "a");
+
+        Map<String, Double> personalization = new HashMap<>();
+        personalization.put("a", 2.0);
+
+        double d = 0.85;
+        VertexScoringAlgorithm<String, Double> pr =
+            new PageRank<>(g, d, 1000, 1e-10, personalization, null, null);
+        assertEquals(1 / (1 + d), pr.getVertexScore("a"), 1e-8);
+        assertEquals(d / (1 + d), pr.getVertexScore("b"), 1e-8);
+        assertEquals(0.0, pr.getVertexScore("c"), 0.0);
+    }
+
+    @Test
+    public void testUniformPersonalization()
+    {
+        Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(100, 300, 7, true, true)
+            .generateGraph(g);
+
+        Map<Integer, Double> personalization = new HashMap<>();
+        g.vertexSet().forEach(v -> personalization.put(v, 1.0));
+
+        Map<Integer, Double> expected = new PageRank<>(g).getScores();
+        Map<Integer, Double> actual = new PageRank<>(
+            g, PageRank.DAMPING_FACTOR_DEFAULT, PageRank.MAX_ITERATIONS_DEFAULT,
+            PageRank.TOLERANCE_DEFAULT, personalization, null, null).getScores();
+        for (Integer v : g.vertexSet()) {
+            assertEquals(expected.get(v), actual.get(v), 1e-12);
+        }
+    }
+
+    @Test
+    public void testWarmStart()
+    {
+        Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(500, 2500, 11, true, true)
+            .generateGraph(g);
+
+        Map<Integer, Double> previous = new PageRank<>(g, 0.85, 1000, 1e-10).getScores();
+
+        // slightly change the graph
+        g.addEdge(0, 1);
+        g.addVertex(500);
+        g.addEdge(500, 2);
+
+        PageRank<Integer, DefaultEdge> cold = new PageRank<>(g, 0.85, 1000, 1e-10);
+        PageRank<Integer, DefaultEdge> warm =
+            new PageRank<>(g, 0.85, 1000, 1e-10, null, previous, null);
+
+        assertTrue(warm.getIterations() < cold.getIterations());
+        for (Integer v : g.vertexSet()) {
+            assertEquals(cold.getVertexScore(v), warm.getVertexScore(v), 1e-8);
+        }
+    }
+
+    @Test
+    public void testBadPersonalization()
+    {
+        DirectedPseudograph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        g.addVertex("a");
+        g.addVertex("b");
+
+        try {
+            new PageRank<>(g, 0.85, 100, 0.0001, Collections.singletonMap("a", -1.0), null, null);
+            fail("No!");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            new PageRank<>(g, 0.85, 100, 0.0001, Collections.singletonMap("a", 0.0), null, null);
+            fail("No!");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            new PageRank<>(g, 0.85, 100, 0.0001, Collections.singletonMap("c", 1.0), null, null);
+            fail("No!");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            new PageRank<>(g, 0.85, 100, 0.0001, null, Collections.singletonMap("c", 1.0), null);
+            fail("No!");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
 }
@@ -0,0 +1,139 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TriangleCount}.
+ */
+public class TriangleCountTest
+{
+    @Test
+    public void testCompleteGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(20).generateGraph(graph);
+
+        TriangleCount<Integer, DefaultEdge> tc = new TriangleCount<>(graph);
+        assertEquals(20 * 19 * 18 / 6, tc.getNumberOfTriangles());
+        for (Integer v : graph.vertexSet()) {
+            assertEquals(19 * 18 / 2, tc.getVertexScore(v).longValue());
+        }
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        TriangleCount<Integer, DefaultEdge> tc = new TriangleCount<>(graph);
+        assertEquals(0, tc.getNumberOfTriangles());
+        assertTrue(tc.getScores().isEmpty());
+    }
+
+    @Test
+    public void testDirectedCycle()
+    {
+        Graph<Integer, DefaultEdge> graph = new DirectedPseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(graph, Arrays.asList(1, 2, 3, 4));
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 1);
+        graph.addEdge(1, 3);
+        graph.addEdge(3, 3);
+        graph.addEdge(3, 4);
+
+        TriangleCount<Integer, DefaultEdge> tc = new TriangleCount<>(graph, null);
+        assertEquals(1, tc.getNumberOfTriangles());
+        assertEquals(1L, tc.getVertexScore(1).longValue());
+        assertEquals(0L, tc.getVertexScore(4).longValue());
+    }
+
+    @Test
+    public void testRandomAgainstBruteForce()
+    {
+        Random rng = new Random(7);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int i = 0; i < 30; i++) {
+                Graph<Integer, DefaultEdge> graph = i % 2 == 0
+                    ? new Pseudograph<>(
+                        SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                        false)
+                    : new DirectedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                        false);
+                new GnmRandomGraphGenerator<Integer, DefaultEdge>(
+                    40, 40 + rng.nextInt(300), rng.nextLong(), true, true).generateGraph(graph);
+
+                Map<Integer, Long> expected = bruteForce(graph);
+                long total = expected.values().stream().mapToLong(Long::longValue).sum() / 3;
+
+                TriangleCount<Integer, DefaultEdge> sequential = new TriangleCount<>(graph, null);
+                assertEquals(total, sequential.getNumberOfTriangles());
+                assertEquals(expected, sequential.getScores());
+
+                TriangleCount<Integer, DefaultEdge> parallel = new TriangleCount<>(graph, pool);
+                assertEquals(expected, parallel.getScores());
+                assertEquals(total, parallel.getNumberOfTriangles());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static <V, E> Map<V, Long> bruteForce(Graph<V, E> graph)
+    {
+        List<V> vertices = new ArrayList<>(graph.vertexSet());
+        Map<V, Long> result = new HashMap<>();
+        for (V v : vertices) {
+            result.put(v, 0L);
+        }
+        for (int i = 0; i < vertices.size(); i++) {
+            for (int j = i + 1; j < vertices.size(); j++) {
+                for (int k = j + 1; k < vertices.size(); k++) {
+                    V a = vertices.get(i);
+                    V b = vertices.get(j);
+                    V c = vertices.get(k);
+                    if (adjacent(graph, a, b) && adjacent(graph, b, c) && adjacent(graph, a, c)) {
+                        result.merge(a, 1L, Long::sum);
+                        result.merge(b, 1L, Long::sum);
+                        result.merge(c, 1L, Long::sum);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static <V, E> boolean adjacent(Graph<V, E> graph, V u, V v)
+    {
+        return graph.containsEdge(u, v) || graph.containsEdge(v, u);
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BlockedFloydWarshallShortestPaths}.
+ */
+public class BlockedFloydWarshallShortestPathsTest
+{
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void createPool()
+    {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void shutdownPool()
+    {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testDirectedAgainstFloydWarshall()
+    {
+        Random rng = new Random(17);
+        for (int i = 0; i < 10; i++) {
+            Graph<Integer, DefaultWeightedEdge> g = randomGraph(
+                new DirectedWeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER),
+                30, 90, rng);
+            FloydWarshallShortestPaths<Integer, DefaultWeightedEdge> expected =
+                new FloydWarshallShortestPaths<>(g);
+            assertSame(expected, new BlockedFloydWarshallShortestPaths<>(g), g, 1e-9);
+            assertSame(
+                expected, new BlockedFloydWarshallShortestPaths<>(g, pool, false, 7), g, 1e-9);
+            assertSame(
+                expected, new BlockedFloydWarshallShortestPaths<>(g, pool, true, 3), g, 1e-4);
+        }
+    }
+
+    @Test
+    public void testUndirectedAgainstFloydWarshall()
+    {
+        Random rng = new Random(23);
+        for (int i = 0; i < 10; i++) {
+            Graph<Integer, DefaultWeightedEdge> g = randomGraph(
+                new WeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER),
+                30, 60, rng);
+            FloydWarshallShortestPaths<Integer, DefaultWeightedEdge> expected =
+                new FloydWarshallShortestPaths<>(g);
+            assertSame(
+                expected, new BlockedFloydWarshallShortestPaths<>(g, pool, false, 4), g, 1e-9);
+            assertSame(
+                expected, new BlockedFloydWarshallShortestPaths<>(g, pool, true, 5), g, 1e-4);
+        }
+    }
+
+    @Test
+    public void testHops()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d", "e"));
+        Graphs.addEdge(g, "a", "b", 1.0);
+        Graphs.addEdge(g, "b", "c", 1.0);
+        Graphs.addEdge(g, "c", "d", 1.0);
+        Graphs.addEdge(g, "a", "d", 5.0);
+
+        BlockedFloydWarshallShortestPaths<String, DefaultWeightedEdge> fw =
+            new BlockedFloydWarshallShortestPaths<>(g, pool, false, 2);
+        assertEquals("b", fw.getFirstHop("a", "d"));
+        assertEquals("c", fw.getLastHop("a", "d"));
+        assertEquals("a", fw.getLastHop("a", "b"));
+        assertNull(fw.getFirstHop("a", "a"));
+        assertNull(fw.getFirstHop("a", "e"));
+        assertNull(fw.getLastHop("d", "a"));
+        assertNull(fw.getPath("a", "e"));
+        assertEquals(3.0, fw.getPathWeight("a", "d"), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, fw.getPathWeight("d", "a"), 0.0);
+        assertEquals(Arrays.asList("a", "b", "c", "d"), fw.getPath("a", "d").getVertexList());
+        assertEquals(0, fw.getPath("e", "e").getLength());
+        assertEquals(2.0, fw.getPaths("b").getWeight("d"), 0.0);
+        assertEquals(6, fw.getShortestPathsCount());
+    }
+
+    @Test
+    public void testNegativeEdges()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3));
+        Graphs.addEdge(g, 0, 1, 4.0);
+        Graphs.addEdge(g, 0, 2, 2.0);
+        Graphs.addEdge(g, 2, 1, -3.0);
+        Graphs.addEdge(g, 1, 3, 1.0);
+
+        BlockedFloydWarshallShortestPaths<Integer, DefaultWeightedEdge> fw =
+            new BlockedFloydWarshallShortestPaths<>(g, pool, false, 1);
+        assertEquals(0.0, fw.getPathWeight(0, 3), 0.0);
+        assertEquals(Arrays.asList(0, 2, 1, 3), fw.getPath(0, 3).getVertexList());
+    }
+
+    @Test(expected = NegativeCycleDetectedException.class)
+    public void testNegativeCycle()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2));
+        Graphs.addEdge(g, 0, 1, 1.0);
+        Graphs.addEdge(g, 1, 2, -2.0);
+        Graphs.addEdge(g, 2, 0, 0.5);
+
+        new BlockedFloydWarshallShortestPaths<>(g).getPathWeight(0, 2);
+    }
+
+    @Test(expected = NegativeCycleDetectedException.class)
+    public void testNegativeSelfLoop()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1));
+        Graphs.addEdge(g, 0, 1, 1.0);
+        Graphs.addEdge(g, 1, 1, -0.5);
+
+        new BlockedFloydWarshallShortestPaths<>(g).getPathWeight(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingVertex()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        g.addVertex(0);
+        new BlockedFloydWarshallShortestPaths<>(g).getPath(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBlockSize()
+    {
+        new BlockedFloydWarshallShortestPaths<>(
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class), null, false, 0);
+    }
+
+    private static <V, E> Graph<V, E> randomGraph(Graph<V, E> g, int n, int m, Random rng)
+    {
+        new GnmRandomGraphGenerator<V, E>(n, m, rng.nextLong(), true, true).generateGraph(g);
+        for (E e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1 + rng.nextInt(100) / 10.0);
+        }
+        return g;
+    }
+
+    private static <V, E> void assertSame(
+        FloydWarshallShortestPaths<V, E> expected, BlockedFloydWarshallShortestPaths<V, E> actual,
+        Graph<V, E> g, double tolerance)
+    {
+        assertEquals(expected.getShortestPathsCount(), actual.getShortestPathsCount());
+        for (V s : g.vertexSet()) {
+            for (V t : g.vertexSet()) {
+                double weight = expected.getPathWeight(s, t);
+                assertEquals(weight, actual.getPathWeight(s, t), tolerance);
+                GraphPath<V, E> path = actual.getPath(s, t);
+                if (Double.isInfinite(weight)) {
+                    assertNull(path);
+                    assertNull(actual.getFirstHop(s, t));
+                    assertNull(actual.getLastHop(s, t));
+                    continue;
+                }
+                assertEquals(s, path.getStartVertex());
+                assertEquals(t, path.getEndVertex());
+                assertEquals(weight, path.getWeight(), tolerance);
+                List<V> vertices = path.getVertexList();
+                assertEquals(vertices.size(), new HashSet<>(vertices).size());
+                if (!s.equals(t)) {
+                    assertEquals(vertices.get(1), actual.getFirstHop(s, t));
+                    assertEquals(vertices.get(vertices.size() - 2), actual.getLastHop(s, t));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ContractionHierarchyShortestPath} and
+ * {@link ContractionHierarchyPrecomputation}.
+ */
+public class ContractionHierarchyShortestPathTest
+    extends
+    ShortestPathTestCase
+{
+
+    @Override
+    protected List<DefaultWeightedEdge> findPathBetween(
+        Graph<String, DefaultWeightedEdge> g, String src, String dest)
+    {
+        return new ContractionHierarchyShortestPath<>(g).getPath(src, dest).getEdgeList();
+    }
+
+    @Test
+    public void testUnreachable()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(V1, V2, V3));
+        Graphs.addEdge(g, V1, V2, 1d);
+        Graphs.addEdge(g, V2, V2, 1d);
+
+        ContractionHierarchyShortestPath<String, DefaultWeightedEdge> alg =
+            new ContractionHierarchyShortestPath<>(g);
+        assertNull(alg.getPath(V2, V1));
+        assertNull(alg.getPath(V1, V3));
+        assertEquals(Double.POSITIVE_INFINITY, alg.getPathWeight(V3, V1), 0d);
+        assertEquals(1d, alg.getPathWeight(V1, V2), 0d);
+        assertEquals(0d, alg.getPath(V3, V3).getWeight(), 0d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeights()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(V1, V2));
+        Graphs.addEdge(g, V1, V2, -1d);
+        new ContractionHierarchyShortestPath<>(g);
+    }
+
+    @Test
+    public void testRandomGraphsSequential()
+    {
+        testRandomGraphs(null);
+    }
+
+    @Test
+    public void testRandomGraphsParallel()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            testRandomGraphs(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testDistanceTable()
+    {
+        Random rng = new Random(5);
+        Graph<Integer, DefaultWeightedEdge> g = randomGraph(rng, true, 150, 600);
+        ContractionHierarchyShortestPath<Integer, DefaultWeightedEdge> alg =
+            new ContractionHierarchyShortestPath<>(g);
+        DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra =
+            new DijkstraShortestPath<>(g);
+
+        List<Integer> sources = Arrays.asList(0, 5, 17, 42, 99);
+        List<Integer> targets = Arrays.asList(3, 5, 120, 149);
+        double[][] table = alg.getDistanceTable(sources, targets);
+        assertEquals(sources.size(), table.length);
+        for (int i = 0; i < sources.size(); i++) {
+            assertEquals(targets.size(), table[i].length);
+            for (int j = 0; j < targets.size(); j++) {
+                assertEquals(
+                    dijkstra.getPathWeight(sources.get(i), targets.get(j)), table[i][j], 1e-9);
+            }
+        }
+    }
+
+    private void testRandomGraphs(ForkJoinPool pool)
+    {
+        Random rng = new Random(13);
+        for (int round = 0; round < 6; round++) {
+            boolean directed = round % 2 == 0;
+            Graph<Integer, DefaultWeightedEdge> g = randomGraph(rng, directed, 200, 700);
+
+            ContractionHierarchy<Integer, DefaultWeightedEdge> hierarchy =
+                new ContractionHierarchyPrecomputation<>(g, pool).computeContractionHierarchy();
+            ContractionHierarchyShortestPath<Integer, DefaultWeightedEdge> alg =
+                new ContractionHierarchyShortestPath<>(hierarchy);
+            DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra =
+                new DijkstraShortestPath<>(g);
+
+            Set<Integer> ranks = new HashSet<>();
+            for (Integer v : g.vertexSet()) {
+                ranks.add(hierarchy.getRank(v));
+            }
+            assertEquals(g.vertexSet().size(), ranks.size());
+
+            for (int i = 0; i < 300; i++) {
+                Integer s = rng.nextInt(200);
+                Integer t = rng.nextInt(200);
+                double expected = dijkstra.getPathWeight(s, t);
+                assertEquals(expected, alg.getPathWeight(s, t), 1e-9);
+
+                GraphPath<Integer, DefaultWeightedEdge> path = alg.getPath(s, t);
+                if (path == null) {
+                    assertEquals(Double.POSITIVE_INFINITY, expected, 0d);
+                    continue;
+                }
+                assertEquals(expected, path.getWeight(), 1e-9);
+                Integer cur = s;
+                double sum = 0d;
+                for (DefaultWeightedEdge e : path.getEdgeList()) {
+                    cur = Graphs.getOppositeVertex(g, e, cur);
+                    sum += g.getEdgeWeight(e);
+                }
+                assertEquals(t, cur);
+                assertEquals(expected, sum, 1e-9);
+            }
+        }
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> randomGraph(
+        Random rng, boolean directed, int n, int m)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = directed
+            ? new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultWeightedEdgeSupplier())
+            : new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultWeightedEdgeSupplier());
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, m, rng, true, true)
+            .generateGraph(g);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextInt(20));
+        }
+        return g;
+    }
+
+}
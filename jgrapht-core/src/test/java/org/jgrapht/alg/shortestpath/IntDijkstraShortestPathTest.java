@@ -0,0 +1,156 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IntDijkstraShortestPath}.
+ */
+public class IntDijkstraShortestPathTest
+    extends
+    ShortestPathTestCase
+{
+
+    @Override
+    protected List<DefaultWeightedEdge> findPathBetween(
+        Graph<String, DefaultWeightedEdge> g, String src, String dest)
+    {
+        return new IntDijkstraShortestPath<>(g).getPath(src, dest).getEdgeList();
+    }
+
+    @Test
+    public void testRadius()
+    {
+        Graph<String, DefaultWeightedEdge> g = create();
+
+        GraphPath<String, DefaultWeightedEdge> path =
+            new IntDijkstraShortestPath<>(g, Double.POSITIVE_INFINITY).getPath(V3, V4);
+        assertEquals(Arrays.asList(e13, e12, e24), path.getEdgeList());
+        assertEquals(10.0, path.getWeight(), 0);
+
+        IntDijkstraShortestPath<String, DefaultWeightedEdge> bounded =
+            new IntDijkstraShortestPath<>(g, 7.0);
+        assertNull(bounded.getPath(V3, V4));
+        assertEquals(Double.POSITIVE_INFINITY, bounded.getPaths(V3).getWeight(V4), 0);
+        assertEquals(5.0, bounded.getPaths(V3).getWeight(V2), 0);
+    }
+
+    @Test
+    public void testShortestPathTree()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(V1, V2, V3, V4, V5));
+
+        Graphs.addEdge(g, V1, V2, 3.0);
+        DefaultWeightedEdge we24 = Graphs.addEdge(g, V2, V4, 1.0);
+        DefaultWeightedEdge we13 = Graphs.addEdge(g, V1, V3, 1.0);
+        DefaultWeightedEdge we32 = Graphs.addEdge(g, V3, V2, 1.0);
+        Graphs.addEdge(g, V3, V4, 3.0);
+
+        IntDijkstraShortestPath<String, DefaultWeightedEdge> alg =
+            new IntDijkstraShortestPath<>(g);
+        SingleSourcePaths<String, DefaultWeightedEdge> pathsTree = alg.getPaths(V1);
+
+        // run another query in order to make sure the tree does not share the workspace
+        assertEquals(1d, alg.getPathWeight(V2, V4), 0);
+
+        assertEquals(g, pathsTree.getGraph());
+        assertEquals(V1, pathsTree.getSourceVertex());
+        assertEquals(0d, pathsTree.getWeight(V1), 1e-9);
+        assertEquals(2d, pathsTree.getWeight(V2), 1e-9);
+        assertEquals(1d, pathsTree.getWeight(V3), 1e-9);
+        assertEquals(3d, pathsTree.getWeight(V4), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, pathsTree.getWeight(V5), 1e-9);
+
+        assertTrue(pathsTree.getPath(V1).getEdgeList().isEmpty());
+        assertEquals(Arrays.asList(we13, we32), pathsTree.getPath(V2).getEdgeList());
+        assertEquals(Collections.singletonList(we13), pathsTree.getPath(V3).getEdgeList());
+        assertEquals(Arrays.asList(we13, we32, we24), pathsTree.getPath(V4).getEdgeList());
+        assertNull(pathsTree.getPath(V5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonNegativeWeights()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(V1, V2));
+        Graphs.addEdge(g, V1, V2, -100.0);
+
+        new IntDijkstraShortestPath<>(g);
+    }
+
+    @Test
+    public void testRepeatedQueriesAgainstDijkstra()
+    {
+        Random rng = new Random(33);
+        for (boolean directed : new boolean[] { true, false }) {
+            Graph<Integer, DefaultWeightedEdge> g = directed
+                ? new DirectedWeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.createDefaultWeightedEdgeSupplier())
+                : new WeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.createDefaultWeightedEdgeSupplier());
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(100, 300, rng, true, true)
+                .generateGraph(g);
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                g.setEdgeWeight(e, rng.nextInt(50));
+            }
+
+            IntGraphSnapshot<Integer, DefaultWeightedEdge> snapshot = new IntGraphSnapshot<>(g);
+            IntDijkstraShortestPath<Integer, DefaultWeightedEdge> alg =
+                new IntDijkstraShortestPath<>(snapshot, Double.POSITIVE_INFINITY);
+            DijkstraShortestPath<Integer, DefaultWeightedEdge> expected =
+                new DijkstraShortestPath<>(g);
+
+            for (int i = 0; i < 500; i++) {
+                Integer s = rng.nextInt(100);
+                Integer t = rng.nextInt(100);
+                GraphPath<Integer, DefaultWeightedEdge> p = alg.getPath(s, t);
+                double w = expected.getPathWeight(s, t);
+                assertEquals(w, alg.getPathWeight(s, t), 1e-9);
+                if (p == null) {
+                    assertEquals(Double.POSITIVE_INFINITY, w, 0);
+                } else {
+                    assertEquals(w, p.getWeight(), 1e-9);
+                    assertEquals(s, p.getStartVertex());
+                    assertEquals(t, p.getEndVertex());
+                    double sum = 0d;
+                    for (DefaultWeightedEdge e : p.getEdgeList()) {
+                        sum += g.getEdgeWeight(e);
+                    }
+                    assertEquals(w, sum, 1e-9);
+                }
+            }
+        }
+    }
+
+}
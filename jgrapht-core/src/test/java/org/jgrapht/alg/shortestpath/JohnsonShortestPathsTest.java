@@ -25,9 +25,11 @@ import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -156,4 +158,99 @@ public class JohnsonShortestPathsTest
 
     }
 
+    @Test
+    public void testParallelAndSubsetCompareWithSequential()
+    {
+        final int n = 60;
+        Random rng = new Random(7);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 5; i++) {
+                Graph<Integer,
+                    DefaultWeightedEdge> g = GraphTypeBuilder
+                        .directed().vertexSupplier(SupplierUtil.createIntegerSupplier())
+                        .edgeClass(DefaultWeightedEdge.class).weighted(true)
+                        .allowingMultipleEdges(true).allowingSelfLoops(true).buildGraph();
+                new GnpRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, 0.1, rng, false)
+                    .generateGraph(g);
+                // negative weights only on forward arcs, so there are no negative cycles
+                for (DefaultWeightedEdge e : g.edgeSet()) {
+                    boolean forward = g.getEdgeSource(e) < g.getEdgeTarget(e);
+                    g.setEdgeWeight(
+                        e, forward ? rng.nextDouble() - 0.5 : (n + 1) * (1 + rng.nextDouble()));
+                }
+
+                List<Integer> sources = Arrays.asList(3, 17, 42, 59);
+                JohnsonShortestPaths<Integer, DefaultWeightedEdge> sequential =
+                    new JohnsonShortestPaths<>(g);
+                JohnsonShortestPaths<Integer, DefaultWeightedEdge> parallel =
+                    new JohnsonShortestPaths<>(g, executor);
+                JohnsonShortestPaths<Integer, DefaultWeightedEdge> subset =
+                    new JohnsonShortestPaths<>(g, 1e-9, ForkJoinPool.commonPool(), sources);
+
+                for (Integer v : g.vertexSet()) {
+                    for (Integer u : g.vertexSet()) {
+                        GraphPath<Integer, DefaultWeightedEdge> expected =
+                            sequential.getPath(v, u);
+                        GraphPath<Integer, DefaultWeightedEdge> actual = parallel.getPath(v, u);
+                        if (expected == null) {
+                            assertNull(actual);
+                            assertTrue(Double.isInfinite(parallel.getPathWeight(v, u)));
+                            continue;
+                        }
+                        assertEquals(expected.getWeight(), actual.getWeight(), 1e-9);
+                        assertEquals(
+                            expected.getWeight(),
+                            actual.getEdgeList().stream().mapToDouble(g::getEdgeWeight).sum(),
+                            1e-9);
+                        if (sources.contains(v)) {
+                            assertEquals(
+                                expected.getWeight(), subset.getPaths(v).getWeight(u), 1e-9);
+                            assertEquals(
+                                expected.getWeight(), subset.getPath(v, u).getWeight(), 1e-9);
+                        }
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testCachedThreadPool()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        Graphs.addEdgeWithVertices(g, 0, 1, 2.0);
+        Graphs.addEdgeWithVertices(g, 1, 2, -1.0);
+        Graphs.addEdgeWithVertices(g, 0, 2, 3.0);
+
+        // the maximum pool size is unbounded, no more workers than sources must be submitted
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newCachedThreadPool();
+        try {
+            JohnsonShortestPaths<Integer, DefaultWeightedEdge> sp =
+                new JohnsonShortestPaths<>(g, executor);
+            assertEquals(1.0, sp.getPathWeight(0, 2), 1e-9);
+            assertEquals(Arrays.asList(0, 1, 2), sp.getPath(0, 2).getVertexList());
+            assertTrue(Double.isInfinite(sp.getPathWeight(2, 0)));
+            assertTrue(executor.getLargestPoolSize() <= g.vertexSet().size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSourceNotComputed()
+    {
+        Graph<Integer, DefaultEdge> g = new DefaultDirectedGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(g, 0, 1);
+        Graphs.addEdgeWithVertices(g, 1, 2);
+
+        JohnsonShortestPaths<Integer, DefaultEdge> sp =
+            new JohnsonShortestPaths<>(g, 1e-9, null, Collections.singleton(0));
+        assertEquals(2d, sp.getPathWeight(0, 2), 0d);
+        sp.getPathWeight(1, 2);
+    }
+
 }
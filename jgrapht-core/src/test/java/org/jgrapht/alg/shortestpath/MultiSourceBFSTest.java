@@ -0,0 +1,192 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link MultiSourceBFS}.
+ */
+public class MultiSourceBFSTest
+{
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void createPool()
+    {
+        pool = new ForkJoinPool(3);
+    }
+
+    @AfterClass
+    public static void shutdownPool()
+    {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testStatisticsDirected()
+    {
+        Random rng = new Random(5);
+        for (int i = 0; i < 5; i++) {
+            Graph<Integer, DefaultEdge> g = randomGraph(new DirectedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false),
+                150, 400, rng);
+            assertStatistics(g, false, null);
+            assertStatistics(g, true, pool);
+        }
+    }
+
+    @Test
+    public void testStatisticsUndirected()
+    {
+        Random rng = new Random(7);
+        for (int i = 0; i < 5; i++) {
+            Graph<Integer, DefaultEdge> g = randomGraph(new Pseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false),
+                150, 160 + 40 * i, rng);
+            assertStatistics(g, false, pool);
+            assertStatistics(g, true, null);
+        }
+    }
+
+    @Test
+    public void testSourceSubset()
+    {
+        Graph<Integer, DefaultEdge> g = new DefaultDirectedGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(g, 0, 1);
+        Graphs.addEdgeWithVertices(g, 1, 2);
+        Graphs.addEdgeWithVertices(g, 2, 0);
+        Graphs.addEdgeWithVertices(g, 2, 3);
+
+        MultiSourceBFS<Integer, DefaultEdge> bfs = new MultiSourceBFS<>(g, null);
+        MultiSourceBFS<Integer, DefaultEdge>.Statistics statistics =
+            bfs.getStatistics(Arrays.asList(1, 3, 1), false);
+        assertEquals(new HashSet<>(Arrays.asList(1, 3)), statistics.getSources());
+        assertEquals(3, statistics.getReachableCount(1));
+        assertEquals(2, statistics.getMaxDistance(1));
+        assertEquals(5, statistics.getDistanceSum(1));
+        assertEquals(2.0, statistics.getHarmonicSum(1), 1e-9);
+        assertEquals(2.0, statistics.getEccentricity(1), 0.0);
+        assertEquals(0, statistics.getReachableCount(3));
+        assertEquals(Double.POSITIVE_INFINITY, statistics.getEccentricity(3), 0.0);
+
+        statistics = bfs.getStatistics(Collections.singleton(3), true);
+        assertEquals(3, statistics.getReachableCount(3));
+        assertEquals(3, statistics.getMaxDistance(3));
+        try {
+            statistics.getReachableCount(0);
+            fail("not a source");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void testDiameterUndirected()
+    {
+        Random rng = new Random(11);
+        for (int i = 0; i < 20; i++) {
+            Graph<Integer, DefaultEdge> g = randomGraph(new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false),
+                80, 85 + 10 * i, rng);
+            assertEquals(
+                new GraphMeasurer<>(g, new FloydWarshallShortestPaths<>(g)).getDiameter(),
+                new MultiSourceBFS<>(g, pool).getDiameter(), 0.0);
+        }
+    }
+
+    @Test
+    public void testDiameterDirected()
+    {
+        Random rng = new Random(13);
+        for (int i = 0; i < 20; i++) {
+            Graph<Integer, DefaultEdge> g = randomGraph(new SimpleDirectedGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false),
+                60, 150 + 10 * i, rng);
+            assertEquals(
+                new GraphMeasurer<>(g, new FloydWarshallShortestPaths<>(g)).getDiameter(),
+                new MultiSourceBFS<>(g, pool).getDiameter(), 0.0);
+        }
+    }
+
+    @Test
+    public void testDiameterSpecialCases()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        assertEquals(0.0, new MultiSourceBFS<>(g).getDiameter(), 0.0);
+        g.addVertex(0);
+        assertEquals(0.0, new MultiSourceBFS<>(g).getDiameter(), 0.0);
+        g.addVertex(1);
+        assertEquals(Double.POSITIVE_INFINITY, new MultiSourceBFS<>(g).getDiameter(), 0.0);
+
+        Graph<Integer, DefaultEdge> path = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new LinearGraphGenerator<Integer, DefaultEdge>(1000).generateGraph(path);
+        assertEquals(999.0, new MultiSourceBFS<>(path).getDiameter(), 0.0);
+        assertEquals(999.0, GraphMetrics.getDiameter(path), 0.0);
+        assertEquals(500.0, GraphMetrics.getRadius(path), 0.0);
+    }
+
+    private static <V, E> Graph<V, E> randomGraph(Graph<V, E> g, int n, int m, Random rng)
+    {
+        new GnmRandomGraphGenerator<V, E>(n, m, rng.nextLong(), false, false).generateGraph(g);
+        return g;
+    }
+
+    private static <V, E> void assertStatistics(
+        Graph<V, E> g, boolean incoming, ForkJoinPool pool)
+    {
+        Graph<V, E> reference = incoming ? new EdgeReversedGraph<>(g) : g;
+        ShortestPathAlgorithm<V, E> bfs = new DijkstraShortestPath<>(reference);
+        MultiSourceBFS<V, E>.Statistics statistics =
+            new MultiSourceBFS<>(g, pool).getStatistics(g.vertexSet(), incoming);
+        int n = g.vertexSet().size();
+        for (V s : g.vertexSet()) {
+            ShortestPathAlgorithm.SingleSourcePaths<V, E> paths = bfs.getPaths(s);
+            int reachable = 0;
+            int max = 0;
+            long sum = 0;
+            double harmonic = 0d;
+            for (V t : g.vertexSet()) {
+                double d = paths.getWeight(t);
+                if (!s.equals(t) && d != Double.POSITIVE_INFINITY) {
+                    reachable++;
+                    max = Math.max(max, (int) d);
+                    sum += (long) d;
+                    harmonic += 1d / d;
+                }
+            }
+            assertEquals(reachable, statistics.getReachableCount(s));
+            assertEquals(max, statistics.getMaxDistance(s));
+            assertEquals(sum, statistics.getDistanceSum(s));
+            assertEquals(harmonic, statistics.getHarmonicSum(s), 1e-9);
+            assertEquals(
+                reachable == n - 1 ? max : Double.POSITIVE_INFINITY,
+                statistics.getEccentricity(s), 0.0);
+        }
+    }
+}
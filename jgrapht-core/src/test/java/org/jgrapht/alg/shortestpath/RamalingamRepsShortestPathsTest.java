@@ -0,0 +1,156 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link RamalingamRepsShortestPaths}.
+ */
+public class RamalingamRepsShortestPathsTest
+{
+    @Test
+    public void testSimpleUpdates()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> g = new DefaultListenableGraph<>(
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+        Graphs.addAllVertices(g, Arrays.asList(1, 2, 3, 4));
+        DefaultWeightedEdge e12 = Graphs.addEdge(g, 1, 2, 1.0);
+        Graphs.addEdge(g, 2, 3, 1.0);
+        Graphs.addEdge(g, 1, 3, 5.0);
+
+        RamalingamRepsShortestPaths<Integer, DefaultWeightedEdge> alg =
+            new RamalingamRepsShortestPaths<>(g, Collections.singleton(1));
+        g.addGraphListener(alg);
+        SingleSourcePaths<Integer, DefaultWeightedEdge> paths = alg.getPaths(1);
+        assertEquals(2.0, paths.getWeight(3), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, paths.getWeight(4), 0.0);
+        assertNull(paths.getPath(4));
+
+        g.setEdgeWeight(e12, 10.0);
+        assertEquals(5.0, paths.getWeight(3), 1e-9);
+        assertEquals(1, paths.getPath(3).getLength());
+
+        g.setEdgeWeight(e12, 0.5);
+        assertEquals(1.5, alg.getPathWeight(1, 3), 1e-9);
+
+        Graphs.addEdge(g, 3, 4, 2.0);
+        assertEquals(3.5, paths.getWeight(4), 1e-9);
+        assertEquals(Arrays.asList(1, 2, 3, 4), paths.getPath(4).getVertexList());
+
+        g.removeEdge(e12);
+        assertEquals(7.0, paths.getWeight(4), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, paths.getWeight(2), 0.0);
+
+        g.removeVertex(3);
+        assertEquals(Double.POSITIVE_INFINITY, paths.getWeight(4), 0.0);
+        assertEquals(0.0, paths.getWeight(1), 0.0);
+        assertEquals(0, paths.getPath(1).getLength());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSourceNotTracked()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex(1);
+        g.addVertex(2);
+        new RamalingamRepsShortestPaths<>(g, Collections.singleton(1)).getPaths(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex(1);
+        g.addVertex(2);
+        Graphs.addEdge(g, 1, 2, -1.0);
+        new RamalingamRepsShortestPaths<>(g, Collections.singleton(1));
+    }
+
+    @Test
+    public void testRandomDirected()
+    {
+        runRandomUpdates(
+            new DefaultListenableGraph<>(
+                new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class)),
+            new Random(3));
+    }
+
+    @Test
+    public void testRandomUndirected()
+    {
+        runRandomUpdates(
+            new DefaultListenableGraph<>(new WeightedPseudograph<>(DefaultWeightedEdge.class)),
+            new Random(5));
+    }
+
+    private void runRandomUpdates(ListenableGraph<Integer, DefaultWeightedEdge> g, Random rng)
+    {
+        int n = 40;
+        for (int v = 0; v < n; v++) {
+            g.addVertex(v);
+        }
+        for (int i = 0; i < 100; i++) {
+            Graphs.addEdge(g, rng.nextInt(n), rng.nextInt(n), rng.nextInt(10));
+        }
+        List<Integer> sources = Arrays.asList(0, 1, 2, 3, 4);
+        RamalingamRepsShortestPaths<Integer, DefaultWeightedEdge> alg =
+            new RamalingamRepsShortestPaths<>(g, sources);
+        g.addGraphListener(alg);
+
+        List<DefaultWeightedEdge> edges = new ArrayList<>(g.edgeSet());
+        for (int step = 0; step < 1000; step++) {
+            int op = rng.nextInt(3);
+            if (op == 0 && !edges.isEmpty()) {
+                g.removeEdge(edges.remove(rng.nextInt(edges.size())));
+            } else if (op == 1 && !edges.isEmpty()) {
+                g.setEdgeWeight(edges.get(rng.nextInt(edges.size())), rng.nextInt(10));
+            } else {
+                edges.add(Graphs.addEdge(g, rng.nextInt(n), rng.nextInt(n), rng.nextInt(10)));
+            }
+
+            for (Integer s : sources) {
+                SingleSourcePaths<Integer, DefaultWeightedEdge> expected =
+                    new DijkstraShortestPath<>(g).getPaths(s);
+                SingleSourcePaths<Integer, DefaultWeightedEdge> actual = alg.getPaths(s);
+                for (Integer v : g.vertexSet()) {
+                    assertEquals(expected.getWeight(v), actual.getWeight(v), 1e-9);
+                    GraphPath<Integer, DefaultWeightedEdge> path = actual.getPath(v);
+                    if (path != null) {
+                        double weight = 0d;
+                        for (DefaultWeightedEdge e : path.getEdgeList()) {
+                            weight += g.getEdgeWeight(e);
+                        }
+                        assertEquals(actual.getWeight(v), weight, 1e-9);
+                        assertEquals(v, path.getEndVertex());
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.util;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IntGraphSnapshot}.
+ */
+public class IntGraphSnapshotTest
+{
+
+    @Test
+    public void testDirected()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+        DefaultWeightedEdge ab = Graphs.addEdge(g, "a", "b", 2d);
+        DefaultWeightedEdge cb = Graphs.addEdge(g, "c", "b", 3d);
+        DefaultWeightedEdge cc = Graphs.addEdge(g, "c", "c", 4d);
+
+        IntGraphSnapshot<String, DefaultWeightedEdge> s = new IntGraphSnapshot<>(g, true);
+        assertEquals(3, s.vertexCount());
+        assertEquals(3, s.arcCount());
+
+        int a = s.getIndex("a");
+        int b = s.getIndex("b");
+        int c = s.getIndex("c");
+        assertEquals("b", s.getVertex(b));
+
+        int[] out = s.getOutOffsets();
+        assertEquals(1, out[a + 1] - out[a]);
+        assertEquals(0, out[b + 1] - out[b]);
+        assertEquals(2, out[c + 1] - out[c]);
+        assertEquals(b, s.getOutTargets()[out[a]]);
+        assertEquals(ab, s.getOutEdge(out[a]));
+        assertEquals(2d, s.getOutWeights()[out[a]], 0d);
+
+        int[] in = s.getInOffsets();
+        assertEquals(0, in[a + 1] - in[a]);
+        assertEquals(2, in[b + 1] - in[b]);
+        assertEquals(1, in[c + 1] - in[c]);
+        Set<DefaultWeightedEdge> intoB = new HashSet<>();
+        for (int i = in[b]; i < in[b + 1]; i++) {
+            intoB.add(s.getInEdge(i));
+            assertEquals(g.getEdgeSource(s.getInEdge(i)), s.getVertex(s.getInSources()[i]));
+        }
+        assertEquals(new HashSet<>(Arrays.asList(ab, cb)), intoB);
+        assertEquals(cc, s.getInEdge(in[c]));
+        assertEquals(4d, s.getInWeights()[in[c]], 0d);
+    }
+
+    @Test
+    public void testUndirected()
+    {
+        Graph<String, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b"));
+        g.addEdge("a", "b");
+        g.addEdge("b", "b");
+
+        IntGraphSnapshot<String, DefaultEdge> s = new IntGraphSnapshot<>(g, true);
+        assertEquals(3, s.arcCount());
+        assertSame(s.getOutOffsets(), s.getInOffsets());
+        int a = s.getIndex("a");
+        int b = s.getIndex("b");
+        assertEquals(1, s.getOutOffsets()[a + 1] - s.getOutOffsets()[a]);
+        assertEquals(2, s.getOutOffsets()[b + 1] - s.getOutOffsets()[b]);
+    }
+
+    @Test
+    public void testDegeneracyOrdering()
+    {
+        // a triangle with a pendant vertex and an isolated vertex
+        Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d", "e"));
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "a");
+        g.addEdge("a", "d");
+
+        IntGraphSnapshot<String, DefaultEdge> s = new IntGraphSnapshot<>(g);
+        int[] order = new int[5];
+        int[] rank = new int[5];
+        int[] core = s.degeneracyOrdering(order, rank);
+
+        assertEquals(2, core[s.getIndex("a")]);
+        assertEquals(2, core[s.getIndex("b")]);
+        assertEquals(2, core[s.getIndex("c")]);
+        assertEquals(1, core[s.getIndex("d")]);
+        assertEquals(0, core[s.getIndex("e")]);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, rank[order[i]]);
+            int later = 0;
+            for (String u : Graphs.neighborListOf(g, s.getVertex(order[i]))) {
+                if (rank[s.getIndex(u)] > i) {
+                    later++;
+                }
+            }
+            assertTrue(later <= 2);
+        }
+        assertEquals(
+            Arrays.asList("e", "d"),
+            Arrays.asList(s.getVertex(order[0]), s.getVertex(order[1])));
+        assertArrayEquals(core, s.degeneracyOrdering(null, null));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNoIncoming()
+    {
+        Graph<String, DefaultEdge> g = new DefaultDirectedGraph<>(DefaultEdge.class);
+        g.addVertex("a");
+        new IntGraphSnapshot<>(g).getInOffsets();
+    }
+
+}
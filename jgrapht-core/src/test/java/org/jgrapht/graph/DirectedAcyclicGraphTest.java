@@ -20,6 +20,7 @@ package org.jgrapht.graph;
 import org.jgrapht.*;
 import org.jgrapht.alg.connectivity.*;
 import org.jgrapht.alg.cycle.*;
+import org.jgrapht.alg.util.*;
 import org.jgrapht.generate.*;
 import org.jgrapht.traverse.*;
 import org.jgrapht.util.*;
@@ -523,6 +524,106 @@ public class DirectedAcyclicGraphTest
         assertTrue(dag.iterator().hasNext());
     }
 
+    @Test
+    public void testAddEdgesBatch()
+    {
+        DirectedAcyclicGraph<String, DefaultEdge> dag =
+            new DirectedAcyclicGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(dag, Arrays.asList("a", "b", "c", "d", "e"));
+        dag.addEdge("a", "b");
+
+        List<DefaultEdge> edges = dag.addEdges(
+            Arrays.asList(
+                Pair.of("e", "d"), Pair.of("d", "c"), Pair.of("c", "a"), Pair.of("a", "b"),
+                Pair.of("e", "a")));
+        assertEquals(5, edges.size());
+        assertNull(edges.get(3));
+        assertEquals(dag.getEdge("e", "d"), edges.get(0));
+        assertEquals(5, dag.edgeSet().size());
+        assertEquals(Arrays.asList("e", "d", "c", "a", "b"), toList(dag));
+    }
+
+    @Test
+    public void testAddEdgesBatchWithCycle()
+    {
+        DirectedAcyclicGraph<String, DefaultEdge> dag =
+            new DirectedAcyclicGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(dag, Arrays.asList("a", "b", "c", "d"));
+        dag.addEdge("a", "b");
+        dag.addEdge("b", "c");
+
+        try {
+            dag.addEdges(Arrays.asList(Pair.of("a", "d"), Pair.of("c", "a")));
+            fail("Cycle not detected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().endsWith("(c : a)"));
+        }
+        assertEquals(2, dag.edgeSet().size());
+        assertFalse(dag.containsEdge("a", "d"));
+        assertEquals(Arrays.asList("a", "b", "c", "d"), toList(dag));
+    }
+
+    /**
+     * Compare batch insertion with inserting the edges one by one on random graphs.
+     */
+    @Test
+    public void testAddEdgesBatchRandom()
+    {
+        Random rng = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            int n = 2 + rng.nextInt(40);
+            DirectedAcyclicGraph<Integer, DefaultEdge> dag =
+                new DirectedAcyclicGraph<>(DefaultEdge.class);
+            for (int v = 0; v < n; v++) {
+                dag.addVertex(v);
+            }
+            for (int batch = 0; batch < 4; batch++) {
+                List<Pair<Integer, Integer>> edges = new ArrayList<>();
+                int size = 1 + rng.nextInt(2 * n);
+                for (int i = 0; i < size; i++) {
+                    int u = rng.nextInt(n);
+                    int v = rng.nextInt(n - 1);
+                    edges.add(Pair.of(u, v >= u ? v + 1 : v));
+                }
+
+                SimpleDirectedGraph<Integer, DefaultEdge> expected =
+                    new SimpleDirectedGraph<>(DefaultEdge.class);
+                Graphs.addGraph(expected, dag);
+                for (Pair<Integer, Integer> e : edges) {
+                    expected.addEdge(e.getFirst(), e.getSecond());
+                }
+                boolean acyclic = !new CycleDetector<>(expected).detectCycles();
+
+                try {
+                    dag.addEdges(edges);
+                    assertTrue(acyclic);
+                    assertEquals(expected.edgeSet().size(), dag.edgeSet().size());
+                } catch (IllegalArgumentException e) {
+                    assertFalse(acyclic);
+                    assertTrue(expected.edgeSet().size() > dag.edgeSet().size());
+                }
+
+                Map<Integer, Integer> topoIndex = new HashMap<>();
+                for (Integer v : dag) {
+                    topoIndex.put(v, topoIndex.size());
+                }
+                assertEquals(n, topoIndex.size());
+                for (DefaultEdge e : dag.edgeSet()) {
+                    assertTrue(
+                        topoIndex.get(dag.getEdgeSource(e)) < topoIndex
+                            .get(dag.getEdgeTarget(e)));
+                }
+            }
+        }
+    }
+
+    private static <V> List<V> toList(Iterable<V> iterable)
+    {
+        List<V> result = new ArrayList<>();
+        iterable.forEach(result::add);
+        return result;
+    }
+
     // ~ Private Methods ----------------------------------------------------------
 
     private Graph<Long, DefaultEdge> setUpWithSeed(int vertices, int edges, long seed)
@@ -0,0 +1,289 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.graph.concurrent;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConcurrentGraph}.
+ */
+public class ConcurrentGraphTest
+{
+    private static final int THREADS = 8;
+
+    @Test
+    public void testDirectedAgainstPseudograph()
+    {
+        Graph<Integer, DefaultWeightedEdge> expected =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graph<Integer, DefaultWeightedEdge> actual = new ConcurrentGraph<>(
+            null, SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER, expected.getType(), 2);
+        runRandomOperations(expected, actual, new Random(7));
+    }
+
+    @Test
+    public void testUndirectedAgainstPseudograph()
+    {
+        Graph<Integer, DefaultWeightedEdge> expected =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graph<Integer, DefaultWeightedEdge> actual = new ConcurrentGraph<>(
+            null, SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER, expected.getType(), 2);
+        runRandomOperations(expected, actual, new Random(11));
+    }
+
+    @Test
+    public void testSimpleGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new ConcurrentGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+            DefaultGraphType.simple());
+        Integer a = g.addVertex();
+        Integer b = g.addVertex();
+        assertFalse(g.addVertex(a));
+        DefaultEdge e = g.addEdge(a, b);
+        assertNotNull(e);
+        assertNull(g.addEdge(b, a));
+        assertFalse(g.addEdge(a, b, new DefaultEdge()));
+        assertFalse(g.addEdge(a, b, e));
+        assertEquals(e, g.getEdge(b, a));
+        assertEquals(1, g.degreeOf(a));
+        assertEquals(1.0, g.getEdgeWeight(e), 0.0);
+        try {
+            g.addEdge(a, a);
+            fail("loops not allowed");
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            g.setEdgeWeight(e, 2.0);
+            fail("graph is not weighted");
+        } catch (UnsupportedOperationException ex) {
+        }
+        try {
+            g.addEdge(a, 5);
+            fail("no such vertex");
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            g.outgoingEdgesOf(5);
+            fail("no such vertex");
+        } catch (IllegalArgumentException ex) {
+        }
+        assertTrue(g.removeVertex(a));
+        assertFalse(g.removeVertex(a));
+        assertFalse(g.containsEdge(e));
+        assertEquals(0, g.degreeOf(b));
+        assertFalse(g.containsVertex(null));
+    }
+
+    @Test
+    public void testConcurrentAddEdges()
+        throws Exception
+    {
+        int n = 1000;
+        Graph<Integer, DefaultEdge> g = new ConcurrentGraph<>(
+            null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, DefaultGraphType.directedPseudograph(),
+            THREADS);
+        for (int v = 0; v < n; v++) {
+            g.addVertex(v);
+        }
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger readerErrors = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int seed = t;
+            tasks.add(() -> {
+                Random rng = new Random(seed);
+                for (int i = 0; i < 5000; i++) {
+                    g.addEdge(rng.nextInt(n), rng.nextInt(n));
+                }
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            Future<?> reader = executor.submit(() -> {
+                Random rng = new Random(42);
+                while (!done.get()) {
+                    Integer v = rng.nextInt(n);
+                    for (DefaultEdge e : g.outgoingEdgesOf(v)) {
+                        if (!v.equals(g.getEdgeSource(e))) {
+                            readerErrors.incrementAndGet();
+                        }
+                    }
+                    for (DefaultEdge e : g.edgeSet()) {
+                        g.getEdgeTarget(e);
+                        break;
+                    }
+                }
+            });
+            for (Future<Void> f : executor.invokeAll(tasks)) {
+                f.get();
+            }
+            done.set(true);
+            reader.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(0, readerErrors.get());
+        assertEquals(THREADS * 5000, g.edgeSet().size());
+        assertConsistent(g);
+    }
+
+    @Test
+    public void testConcurrentAddAndRemove()
+        throws Exception
+    {
+        int n = 200;
+        Graph<Integer, DefaultEdge> g = new ConcurrentGraph<>(
+            null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, DefaultGraphType.pseudograph(), THREADS);
+        for (int v = 0; v < n; v++) {
+            g.addVertex(v);
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int seed = t;
+            tasks.add(() -> {
+                Random rng = new Random(seed);
+                for (int i = 0; i < 5000; i++) {
+                    int u = rng.nextInt(n);
+                    int v = rng.nextInt(n);
+                    switch (rng.nextInt(4)) {
+                    case 0:
+                        g.removeVertex(u);
+                        g.addVertex(u);
+                        break;
+                    case 1:
+                        g.removeEdge(u, v);
+                        break;
+                    default:
+                        try {
+                            g.addEdge(u, v);
+                        } catch (IllegalArgumentException e) {
+                            // endpoint removed concurrently
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> f : executor.invokeAll(tasks)) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertConsistent(g);
+    }
+
+    private static <V, E> void assertConsistent(Graph<V, E> g)
+    {
+        int outDegrees = 0;
+        for (V v : g.vertexSet()) {
+            outDegrees += g.outgoingEdgesOf(v).size();
+            for (E e : g.outgoingEdgesOf(v)) {
+                assertTrue(g.containsEdge(e));
+            }
+        }
+        for (E e : g.edgeSet()) {
+            assertTrue(g.containsVertex(g.getEdgeSource(e)));
+            assertTrue(g.containsVertex(g.getEdgeTarget(e)));
+            assertTrue(g.incomingEdgesOf(g.getEdgeTarget(e)).contains(e));
+        }
+        if (g.getType().isDirected()) {
+            assertEquals(g.edgeSet().size(), outDegrees);
+        }
+    }
+
+    private static void runRandomOperations(
+        Graph<Integer, DefaultWeightedEdge> expected, Graph<Integer, DefaultWeightedEdge> actual,
+        Random rng)
+    {
+        int n = 30;
+        for (int i = 0; i < 3000; i++) {
+            int u = rng.nextInt(n);
+            int v = rng.nextInt(n);
+            switch (rng.nextInt(8)) {
+            case 0:
+                assertEquals(expected.addVertex(u), actual.addVertex(u));
+                break;
+            case 1:
+                if (rng.nextInt(4) == 0) {
+                    assertEquals(expected.removeVertex(u), actual.removeVertex(u));
+                }
+                break;
+            case 2:
+                DefaultWeightedEdge e = expected.getEdge(u, v);
+                assertEquals(e == null, actual.getEdge(u, v) == null);
+                if (e != null) {
+                    assertEquals(expected.removeEdge(e), actual.removeEdge(e));
+                }
+                break;
+            case 3:
+                assertEquals(
+                    expected.getAllEdges(u, v) == null, actual.getAllEdges(u, v) == null);
+                if (expected.getAllEdges(u, v) != null) {
+                    assertEquals(
+                        new HashSet<>(expected.getAllEdges(u, v)),
+                        new HashSet<>(actual.getAllEdges(u, v)));
+                }
+                break;
+            default:
+                if (expected.containsVertex(u) && expected.containsVertex(v)) {
+                    DefaultWeightedEdge edge = new DefaultWeightedEdge();
+                    assertEquals(expected.addEdge(u, v, edge), actual.addEdge(u, v, edge));
+                    double weight = rng.nextDouble();
+                    expected.setEdgeWeight(edge, weight);
+                    actual.setEdgeWeight(edge, weight);
+                }
+            }
+        }
+
+        assertEquals(expected.vertexSet(), actual.vertexSet());
+        assertEquals(expected.edgeSet(), actual.edgeSet());
+        for (Integer v : expected.vertexSet()) {
+            assertEquals(expected.degreeOf(v), actual.degreeOf(v));
+            assertEquals(expected.inDegreeOf(v), actual.inDegreeOf(v));
+            assertEquals(expected.outDegreeOf(v), actual.outDegreeOf(v));
+            assertEquals(expected.edgesOf(v).size(), actual.edgesOf(v).size());
+            assertEquals(new HashSet<>(expected.edgesOf(v)), new HashSet<>(actual.edgesOf(v)));
+            assertEquals(expected.incomingEdgesOf(v), actual.incomingEdgesOf(v));
+            assertEquals(expected.outgoingEdgesOf(v), actual.outgoingEdgesOf(v));
+        }
+        for (DefaultWeightedEdge e : expected.edgeSet()) {
+            assertEquals(expected.getEdgeSource(e), actual.getEdgeSource(e));
+            assertEquals(expected.getEdgeTarget(e), actual.getEdgeTarget(e));
+            assertEquals(expected.getEdgeWeight(e), actual.getEdgeWeight(e), 0.0);
+        }
+    }
+
+}
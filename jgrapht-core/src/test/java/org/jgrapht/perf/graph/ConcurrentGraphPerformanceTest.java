@@ -0,0 +1,148 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.perf.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.concurrent.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark comparing {@link ConcurrentGraph} with {@link AsSynchronizedGraph} under concurrent
+ * load. The "mixed" group runs threads which add and remove edges together with threads which
+ * traverse the outgoing edges of random vertices and threads which iterate the edge set. The
+ * "write" group runs only writers, which touch random and therefore mostly disjoint vertices.
+ */
+public class ConcurrentGraphPerformanceTest
+{
+    public static final int PERF_BENCHMARK_VERTICES_COUNT = 10000;
+    public static final int PERF_BENCHMARK_EDGES_COUNT = 50000;
+    public static final long SEED = 13;
+
+    @State(Scope.Group)
+    public static class GraphState
+    {
+        @Param({ "synchronized", "concurrent" })
+        public String implementation;
+
+        Graph<Integer, DefaultEdge> graph;
+
+        @Setup(Level.Iteration)
+        public void setup()
+        {
+            if (implementation.equals("synchronized")) {
+                graph = new AsSynchronizedGraph<>(new DirectedPseudograph<>(
+                    null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, false));
+            } else {
+                graph = new ConcurrentGraph<>(
+                    null, SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    DefaultGraphType.directedPseudograph());
+            }
+            for (int v = 0; v < PERF_BENCHMARK_VERTICES_COUNT; v++) {
+                graph.addVertex(v);
+            }
+            Random rng = new Random(SEED);
+            for (int i = 0; i < PERF_BENCHMARK_EDGES_COUNT; i++) {
+                graph.addEdge(
+                    rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT),
+                    rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT));
+            }
+        }
+    }
+
+    private static void addOrRemoveEdge(Graph<Integer, DefaultEdge> graph)
+    {
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+        int u = rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT);
+        if (rng.nextBoolean()) {
+            graph.addEdge(u, rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT));
+        } else {
+            Iterator<DefaultEdge> it = graph.outgoingEdgesOf(u).iterator();
+            if (it.hasNext()) {
+                graph.removeEdge(it.next());
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void mixedWrite(GraphState state)
+    {
+        addOrRemoveEdge(state.graph);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(5)
+    public int mixedReadNeighbors(GraphState state)
+    {
+        Graph<Integer, DefaultEdge> graph = state.graph;
+        int u = ThreadLocalRandom.current().nextInt(PERF_BENCHMARK_VERTICES_COUNT);
+        int sum = 0;
+        for (DefaultEdge e : graph.outgoingEdgesOf(u)) {
+            try {
+                sum += graph.getEdgeTarget(e);
+            } catch (IllegalArgumentException ex) {
+                // edge removed concurrently, possible with both implementations
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public int mixedReadEdgeSet(GraphState state)
+    {
+        int count = 0;
+        for (Iterator<DefaultEdge> it = state.graph.edgeSet().iterator();
+            it.hasNext() && count < 16; count++)
+        {
+            it.next();
+        }
+        return count;
+    }
+
+    @Benchmark
+    @Group("write")
+    @GroupThreads(4)
+    public void write(GraphState state)
+    {
+        addOrRemoveEdge(state.graph);
+    }
+
+    @Test
+    public void testConcurrentGraphBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + ConcurrentGraphPerformanceTest.class.getSimpleName() + ".*")
+            .mode(Mode.Throughput).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(3)
+            .measurementIterations(5).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
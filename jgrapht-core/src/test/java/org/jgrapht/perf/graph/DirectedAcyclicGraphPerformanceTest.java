@@ -17,6 +17,7 @@
  */
 package org.jgrapht.perf.graph;
 
+import org.jgrapht.alg.util.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.graph.DirectedAcyclicGraphTest.*;
 import org.jgrapht.util.*;
@@ -25,6 +26,7 @@ import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.runner.*;
 import org.openjdk.jmh.runner.options.*;
 
+import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.*;
 
@@ -121,6 +123,68 @@ public class DirectedAcyclicGraphPerformanceTest
         }
     }
 
+    /**
+     * Bulk load of a random DAG whose hidden topological order is a random permutation of the
+     * insertion order of the vertices, comparing single edge insertion with batch insertion.
+     */
+    @State(Scope.Benchmark)
+    public static class BatchInsertionBenchmark
+    {
+        @Param({ "10000", "100000" })
+        public int vertices;
+
+        private List<Pair<Integer, Integer>> edges;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            Random rng = new Random(17);
+            List<Integer> order = new ArrayList<>();
+            for (int v = 0; v < vertices; v++) {
+                order.add(v);
+            }
+            Collections.shuffle(order, rng);
+
+            edges = new ArrayList<>();
+            for (int i = 0; i < 4 * vertices; i++) {
+                int a = rng.nextInt(vertices);
+                int b = rng.nextInt(vertices);
+                if (a != b) {
+                    edges.add(
+                        Pair.of(order.get(Math.min(a, b)), order.get(Math.max(a, b))));
+                }
+            }
+        }
+
+        private DirectedAcyclicGraph<Integer, DefaultEdge> createDAG()
+        {
+            DirectedAcyclicGraph<Integer, DefaultEdge> dag =
+                new DirectedAcyclicGraph<>(DefaultEdge.class);
+            for (int v = 0; v < vertices; v++) {
+                dag.addVertex(v);
+            }
+            return dag;
+        }
+
+        @Benchmark
+        public DirectedAcyclicGraph<Integer, DefaultEdge> singleEdges()
+        {
+            DirectedAcyclicGraph<Integer, DefaultEdge> dag = createDAG();
+            for (Pair<Integer, Integer> e : edges) {
+                dag.addEdge(e.getFirst(), e.getSecond());
+            }
+            return dag;
+        }
+
+        @Benchmark
+        public DirectedAcyclicGraph<Integer, DefaultEdge> batch()
+        {
+            DirectedAcyclicGraph<Integer, DefaultEdge> dag = createDAG();
+            dag.addEdges(edges);
+            return dag;
+        }
+    }
+
     @Test
     public void testDirectedAcyclicGraphRandomGraphBenchmark()
         throws RunnerException
@@ -130,6 +194,7 @@ public class DirectedAcyclicGraphPerformanceTest
             .include(".*" + ArrayListDAGRandomGraphBenchmark.class.getSimpleName() + ".*")
             .include(".*" + HashSetDAGRandomGraphBenchmark.class.getSimpleName() + ".*")
             .include(".*" + BitSetDAGRandomGraphBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + BatchInsertionBenchmark.class.getSimpleName() + ".*")
             .mode(Mode.SingleShotTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(5)
             .measurementIterations(10).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
 
@@ -0,0 +1,94 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.util;
+
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IndexedBinaryHeap}.
+ */
+public class IndexedBinaryHeapTest
+{
+
+    @Test
+    public void testSortRandom()
+    {
+        Random rng = new Random(17);
+        int n = 1000;
+        IndexedBinaryHeap heap = new IndexedBinaryHeap(n);
+        for (int round = 0; round < 3; round++) {
+            double[] keys = new double[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = rng.nextDouble();
+                heap.insert(i, keys[i]);
+            }
+            for (int i = 0; i < n; i += 3) {
+                keys[i] /= 2;
+                heap.decreaseKey(i, keys[i]);
+            }
+            assertEquals(n, heap.size());
+            double last = Double.NEGATIVE_INFINITY;
+            while (!heap.isEmpty()) {
+                double key = heap.findMinKey();
+                int element = heap.deleteMin();
+                assertEquals(keys[element], key, 0d);
+                assertTrue(last <= key);
+                assertFalse(heap.contains(element));
+                last = key;
+            }
+            heap.clear();
+        }
+    }
+
+    @Test
+    public void testClear()
+    {
+        IndexedBinaryHeap heap = new IndexedBinaryHeap(4);
+        heap.insert(0, 3d);
+        heap.insert(2, 1d);
+        assertTrue(heap.contains(2));
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+        assertFalse(heap.contains(2));
+        assertTrue(heap.insertOrDecreaseKey(2, 5d));
+        assertFalse(heap.insertOrDecreaseKey(2, 6d));
+        assertTrue(heap.insertOrDecreaseKey(2, 4d));
+        assertEquals(4d, heap.getKey(2), 0d);
+        assertEquals(2, heap.deleteMin());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncreaseKey()
+    {
+        IndexedBinaryHeap heap = new IndexedBinaryHeap(2);
+        heap.insert(1, 1d);
+        heap.decreaseKey(1, 2d);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDeleteMinEmpty()
+    {
+        new IndexedBinaryHeap(2).deleteMin();
+    }
+
+}
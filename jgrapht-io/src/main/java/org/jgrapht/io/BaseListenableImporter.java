@@ -146,4 +146,34 @@ class BaseListenableImporter<V, E>
         edgeAttributeConsumers.forEach(c -> c.accept(Pair.of(e, key), value));
     }
 
+    /**
+     * Check whether any graph attribute consumer is registered.
+     * 
+     * @return true if at least one graph attribute consumer is registered
+     */
+    protected boolean hasGraphAttributeConsumers()
+    {
+        return !graphAttributeConsumers.isEmpty();
+    }
+
+    /**
+     * Check whether any vertex attribute consumer is registered.
+     * 
+     * @return true if at least one vertex attribute consumer is registered
+     */
+    protected boolean hasVertexAttributeConsumers()
+    {
+        return !vertexAttributeConsumers.isEmpty();
+    }
+
+    /**
+     * Check whether any edge attribute consumer is registered.
+     * 
+     * @return true if at least one edge attribute consumer is registered
+     */
+    protected boolean hasEdgeAttributeConsumers()
+    {
+        return !edgeAttributeConsumers.isEmpty();
+    }
+
 }
@@ -0,0 +1,232 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.io;
+
+import org.jgrapht.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+/**
+ * Exports a graph in a compact binary format which can be loaded without parsing.
+ *
+ * <p>
+ * All values are written in big-endian byte order. The file consists of
+ * <ul>
+ * <li>a header of 24 bytes: the magic number "JGTB" (int), the format version (int), the flags
+ * (int), the number of vertices $n$ (int) and the number of edges $m$ (long). The flags denote
+ * whether the graph is directed (bit 0), whether edge weights are present (bit 1) and whether a
+ * vertex table is present (bit 2),</li>
+ * <li>the optional vertex table: for each vertex the length in bytes (int) followed by the UTF-8
+ * encoding of its identifier,</li>
+ * <li>the adjacency structure in compressed sparse row form: $n+1$ edge offsets (long) followed by
+ * $m$ target vertex indices (int),</li>
+ * <li>the optional edge weights, $m$ values (double) in the same order as the targets.</li>
+ * </ul>
+ * Vertices are numbered from zero in the iteration order of the vertex set. Every edge is stored
+ * once, in the row of its source vertex as returned by {@link Graph#getEdgeSource(Object)}. The
+ * vertex table is written only if a vertex id provider has been set. Edge weights are written if
+ * the graph is weighted.
+ *
+ * <p>
+ * The format is binary and therefore cannot be written to a {@link Writer}. Use
+ * {@link #exportGraph(Graph, OutputStream)} or {@link #exportGraph(Graph, File)} instead.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see BinaryGraphImporter
+ */
+public class BinaryGraphExporter<V, E>
+    implements
+    GraphExporter<V, E>
+{
+    private ComponentNameProvider<V> vertexIDProvider;
+
+    /**
+     * Constructs a new exporter which does not write a vertex table.
+     */
+    public BinaryGraphExporter()
+    {
+        this(null);
+    }
+
+    /**
+     * Constructs a new exporter.
+     *
+     * @param vertexIDProvider the vertex id provider, or null in order to omit the vertex table
+     */
+    public BinaryGraphExporter(ComponentNameProvider<V> vertexIDProvider)
+    {
+        this.vertexIDProvider = vertexIDProvider;
+    }
+
+    /**
+     * Get the vertex id provider
+     *
+     * @return the vertex id provider, or null if no vertex table is written
+     */
+    public ComponentNameProvider<V> getVertexIDProvider()
+    {
+        return vertexIDProvider;
+    }
+
+    /**
+     * Set the vertex id provider
+     *
+     * @param vertexIDProvider the vertex id provider, or null in order to omit the vertex table
+     */
+    public void setVertexIDProvider(ComponentNameProvider<V> vertexIDProvider)
+    {
+        this.vertexIDProvider = vertexIDProvider;
+    }
+
+    /**
+     * Not supported, the format is binary.
+     *
+     * @param g the graph to export
+     * @param writer the output writer
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void exportGraph(Graph<V, E> g, Writer writer)
+    {
+        throw new UnsupportedOperationException(
+            "Binary format cannot be written to a character stream");
+    }
+
+    /**
+     * Export a graph
+     *
+     * @param g the graph to export
+     * @param file the file to write to
+     * @throws ExportException in case any error occurs
+     */
+    @Override
+    public void exportGraph(Graph<V, E> g, File file)
+        throws ExportException
+    {
+        try (OutputStream out = new FileOutputStream(file)) {
+            exportGraph(g, out);
+        } catch (IOException e) {
+            throw new ExportException(e);
+        }
+    }
+
+    /**
+     * Export a graph
+     *
+     * @param g the graph to export
+     * @param out the output stream
+     * @throws ExportException in case any error occurs
+     */
+    @Override
+    public void exportGraph(Graph<V, E> g, OutputStream out)
+        throws ExportException
+    {
+        Objects.requireNonNull(g, "Graph cannot be null");
+        try {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+            write(g, data);
+            data.flush();
+        } catch (IOException e) {
+            throw new ExportException(e);
+        }
+    }
+
+    private void write(Graph<V, E> g, DataOutputStream out)
+        throws IOException
+    {
+        int n = g.vertexSet().size();
+        List<V> vertices = new ArrayList<>(g.vertexSet());
+        Map<V, Integer> index = new HashMap<>(2 * n);
+        for (int i = 0; i < n; i++) {
+            index.put(vertices.get(i), i);
+        }
+
+        // count the edges of each row, which also gives the total
+        boolean directed = g.getType().isDirected();
+        long[] offsets = new long[n + 1];
+        for (int i = 0; i < n; i++) {
+            V v = vertices.get(i);
+            long count = 0;
+            for (E e : g.outgoingEdgesOf(v)) {
+                if (directed || g.getEdgeSource(e).equals(v)) {
+                    count++;
+                }
+            }
+            offsets[i + 1] = offsets[i] + count;
+        }
+        long m = offsets[n];
+
+        boolean weighted = g.getType().isWeighted();
+        int flags = 0;
+        if (directed) {
+            flags |= BinaryGraphUtils.FLAG_DIRECTED;
+        }
+        if (weighted) {
+            flags |= BinaryGraphUtils.FLAG_WEIGHTED;
+        }
+        if (vertexIDProvider != null) {
+            flags |= BinaryGraphUtils.FLAG_VERTEX_NAMES;
+        }
+
+        out.writeInt(BinaryGraphUtils.MAGIC);
+        out.writeInt(BinaryGraphUtils.VERSION);
+        out.writeInt(flags);
+        out.writeInt(n);
+        out.writeLong(m);
+
+        if (vertexIDProvider != null) {
+            for (V v : vertices) {
+                byte[] name = vertexIDProvider.getName(v).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(name.length);
+                out.write(name);
+            }
+        }
+
+        for (long offset : offsets) {
+            out.writeLong(offset);
+        }
+
+        for (int i = 0; i < n; i++) {
+            V v = vertices.get(i);
+            for (E e : g.outgoingEdgesOf(v)) {
+                V source = g.getEdgeSource(e);
+                if (directed) {
+                    out.writeInt(index.get(g.getEdgeTarget(e)));
+                } else if (source.equals(v)) {
+                    out.writeInt(index.get(Graphs.getOppositeVertex(g, e, v)));
+                }
+            }
+        }
+
+        if (weighted) {
+            for (int i = 0; i < n; i++) {
+                V v = vertices.get(i);
+                for (E e : g.outgoingEdgesOf(v)) {
+                    if (directed || g.getEdgeSource(e).equals(v)) {
+                        out.writeDouble(g.getEdgeWeight(e));
+                    }
+                }
+            }
+        }
+    }
+
+}
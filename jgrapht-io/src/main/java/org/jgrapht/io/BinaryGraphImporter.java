@@ -0,0 +1,468 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.io;
+
+import org.jgrapht.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Imports a graph from the binary format written by {@link BinaryGraphExporter}.
+ *
+ * <p>
+ * Files are read through memory mapped buffers ({@link FileChannel#map}), so the import does not
+ * parse any text and does not copy the file into the heap. The adjacency and the weights are read
+ * through independent windows of the mapping, which allows files larger than the two gigabyte
+ * limit of a single buffer. When reading from an {@link InputStream} the offsets and targets are
+ * buffered in arrays before the weights can be read.
+ *
+ * <p>
+ * The importer uses the graph suppliers ({@link Graph#getVertexSupplier()} and
+ * {@link Graph#getEdgeSupplier()}) in order to create new vertices and edges. Vertices are created
+ * in the order of their indices in the file. If the file contains a vertex table, the identifier
+ * of each vertex is reported as attribute "id" to the registered vertex attribute consumers. Edge
+ * weights are set only if the graph is weighted. The provided graph must be able to support the
+ * features of the graph that is read, such as self-loops and multiple edges.
+ *
+ * <p>
+ * The format is binary and therefore cannot be read from a {@link Reader}. Use
+ * {@link #importGraph(Graph, InputStream)} or {@link #importGraph(Graph, File)} instead.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see BinaryGraphExporter
+ */
+public class BinaryGraphImporter<V, E>
+    extends
+    BaseListenableImporter<V, E>
+    implements
+    GraphImporter<V, E>
+{
+    private static final String VERTEX_ID = "id";
+    private static final int WINDOW_SIZE = 1 << 28;
+
+    /**
+     * Constructs a new importer.
+     */
+    public BinaryGraphImporter()
+    {
+        super();
+    }
+
+    /**
+     * Not supported, the format is binary.
+     *
+     * @param g the graph
+     * @param in the input reader
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void importGraph(Graph<V, E> g, Reader in)
+    {
+        throw new UnsupportedOperationException(
+            "Binary format cannot be read from a character stream");
+    }
+
+    /**
+     * Import a graph from a memory mapped file.
+     *
+     * @param g the graph
+     * @param file the file to read from
+     * @throws ImportException in case any error occurs, such as I/O or format error
+     */
+    @Override
+    public void importGraph(Graph<V, E> g, File file)
+        throws ImportException
+    {
+        Objects.requireNonNull(g, "Graph cannot be null");
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedInput in = new MappedInput(channel, 0, channel.size());
+            Header header = readHeader(in);
+            V[] vertices = createVertices(g, header, in);
+
+            long offsetsStart = in.position;
+            long targetsStart = offsetsStart + 8L * (header.n + 1);
+            long weightsStart = targetsStart + 4L * header.m;
+            long end = weightsStart + (header.weighted ? 8L * header.m : 0L);
+            if (end > channel.size()) {
+                throw new ImportException("Truncated input");
+            }
+            MappedInput weights = header.weighted && g.getType().isWeighted()
+                ? new MappedInput(channel, weightsStart, end) : null;
+            createEdges(
+                g, header, vertices, new MappedInput(channel, offsetsStart, targetsStart),
+                new MappedInput(channel, targetsStart, weightsStart), weights);
+        } catch (IOException | BufferUnderflowException e) {
+            throw new ImportException("Failed to read binary graph", e);
+        } catch (RuntimeException e) {
+            throw new ImportException("Failed to import binary graph", e);
+        }
+    }
+
+    /**
+     * Import a graph from an input stream.
+     *
+     * @param g the graph
+     * @param in the input stream
+     * @throws ImportException in case any error occurs, such as I/O or format error
+     */
+    @Override
+    public void importGraph(Graph<V, E> g, InputStream in)
+        throws ImportException
+    {
+        Objects.requireNonNull(g, "Graph cannot be null");
+        try {
+            StreamInput input =
+                new StreamInput(new DataInputStream(new BufferedInputStream(in, 1 << 16)));
+            Header header = readHeader(input);
+            if (header.m > Integer.MAX_VALUE - 8) {
+                throw new ImportException("Graph too large to be read from a stream");
+            }
+            V[] vertices = createVertices(g, header, input);
+
+            long[] offsets = new long[header.n + 1];
+            for (int i = 0; i <= header.n; i++) {
+                offsets[i] = input.readLong();
+            }
+            int[] targets = new int[(int) header.m];
+            for (int i = 0; i < targets.length; i++) {
+                targets[i] = input.readInt();
+            }
+            Input weights = header.weighted && g.getType().isWeighted() ? input : null;
+            createEdges(
+                g, header, vertices, new ArrayInput(offsets, null), new ArrayInput(null, targets),
+                weights);
+        } catch (IOException e) {
+            throw new ImportException("Failed to read binary graph", e);
+        } catch (RuntimeException e) {
+            throw new ImportException("Failed to import binary graph", e);
+        }
+    }
+
+    private Header readHeader(Input in)
+        throws IOException, ImportException
+    {
+        if (in.readInt() != BinaryGraphUtils.MAGIC) {
+            throw new ImportException("Not a binary graph file");
+        }
+        int version = in.readInt();
+        if (version != BinaryGraphUtils.VERSION) {
+            throw new ImportException("Unsupported binary graph format version " + version);
+        }
+        int flags = in.readInt();
+        Header header = new Header();
+        header.weighted = (flags & BinaryGraphUtils.FLAG_WEIGHTED) != 0;
+        header.names = (flags & BinaryGraphUtils.FLAG_VERTEX_NAMES) != 0;
+        header.n = in.readInt();
+        header.m = in.readLong();
+        if (header.n < 0 || header.m < 0) {
+            throw new ImportException("Invalid header");
+        }
+        return header;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V[] createVertices(Graph<V, E> g, Header header, Input in)
+        throws IOException
+    {
+        V[] vertices = (V[]) new Object[header.n];
+        for (int i = 0; i < header.n; i++) {
+            vertices[i] = g.addVertex();
+        }
+        if (header.names) {
+            boolean notify = hasVertexAttributeConsumers();
+            byte[] buffer = new byte[64];
+            for (int i = 0; i < header.n; i++) {
+                int length = in.readInt();
+                if (length < 0) {
+                    throw new IOException("Invalid vertex table");
+                }
+                if (!notify) {
+                    in.skip(length);
+                    continue;
+                }
+                if (buffer.length < length) {
+                    buffer = new byte[Math.max(length, 2 * buffer.length)];
+                }
+                in.readFully(buffer, length);
+                notifyVertex(
+                    vertices[i], VERTEX_ID, DefaultAttribute
+                        .createAttribute(new String(buffer, 0, length, StandardCharsets.UTF_8)));
+            }
+        }
+        return vertices;
+    }
+
+    private void createEdges(
+        Graph<V, E> g, Header header, V[] vertices, Input offsets, Input targets, Input weights)
+        throws IOException, ImportException
+    {
+        long start = offsets.readLong();
+        if (start != 0) {
+            throw new ImportException("Invalid edge offsets");
+        }
+        for (int i = 0; i < header.n; i++) {
+            long end = offsets.readLong();
+            if (end < start || end > header.m) {
+                throw new ImportException("Invalid edge offsets");
+            }
+            V source = vertices[i];
+            for (long k = start; k < end; k++) {
+                int target = targets.readInt();
+                if (target < 0 || target >= header.n) {
+                    throw new ImportException("Invalid target vertex index " + target);
+                }
+                E e = g.addEdge(source, vertices[target]);
+                if (weights != null) {
+                    double weight = weights.readDouble();
+                    if (e != null) {
+                        g.setEdgeWeight(e, weight);
+                    }
+                }
+            }
+            start = end;
+        }
+        if (start != header.m) {
+            throw new ImportException("Invalid edge offsets");
+        }
+    }
+
+    private static class Header
+    {
+        boolean weighted;
+        boolean names;
+        int n;
+        long m;
+    }
+
+    /**
+     * Sequential reader of primitive values.
+     */
+    private interface Input
+    {
+        int readInt()
+            throws IOException;
+
+        long readLong()
+            throws IOException;
+
+        double readDouble()
+            throws IOException;
+
+        void readFully(byte[] b, int length)
+            throws IOException;
+
+        void skip(int length)
+            throws IOException;
+    }
+
+    /**
+     * Reads a region of a file channel through a sliding memory mapped window.
+     */
+    private static class MappedInput
+        implements
+        Input
+    {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+        private MappedByteBuffer buffer;
+
+        MappedInput(FileChannel channel, long start, long end)
+        {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        private ByteBuffer window(int bytes)
+            throws IOException
+        {
+            if (buffer == null || buffer.remaining() < bytes) {
+                long size = Math.min(end - position, WINDOW_SIZE);
+                if (size < bytes) {
+                    throw new EOFException();
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            }
+            position += bytes;
+            return buffer;
+        }
+
+        @Override
+        public int readInt()
+            throws IOException
+        {
+            return window(4).getInt();
+        }
+
+        @Override
+        public long readLong()
+            throws IOException
+        {
+            return window(8).getLong();
+        }
+
+        @Override
+        public double readDouble()
+            throws IOException
+        {
+            return window(8).getDouble();
+        }
+
+        @Override
+        public void readFully(byte[] b, int length)
+            throws IOException
+        {
+            int read = 0;
+            while (read < length) {
+                int chunk = Math.min(length - read, WINDOW_SIZE);
+                window(chunk).get(b, read, chunk);
+                read += chunk;
+            }
+        }
+
+        @Override
+        public void skip(int length)
+            throws IOException
+        {
+            if (end - position < length) {
+                throw new EOFException();
+            }
+            position += length;
+            if (buffer != null && buffer.remaining() >= length) {
+                buffer.position(buffer.position() + length);
+            } else {
+                // the next read maps a new window at the new position
+                buffer = null;
+            }
+        }
+    }
+
+    /**
+     * Reads from a data input stream.
+     */
+    private static class StreamInput
+        implements
+        Input
+    {
+        private final DataInputStream in;
+
+        StreamInput(DataInputStream in)
+        {
+            this.in = in;
+        }
+
+        @Override
+        public int readInt()
+            throws IOException
+        {
+            return in.readInt();
+        }
+
+        @Override
+        public long readLong()
+            throws IOException
+        {
+            return in.readLong();
+        }
+
+        @Override
+        public double readDouble()
+            throws IOException
+        {
+            return in.readDouble();
+        }
+
+        @Override
+        public void readFully(byte[] b, int length)
+            throws IOException
+        {
+            in.readFully(b, 0, length);
+        }
+
+        @Override
+        public void skip(int length)
+            throws IOException
+        {
+            int skipped = 0;
+            while (skipped < length) {
+                int k = in.skipBytes(length - skipped);
+                if (k <= 0) {
+                    throw new EOFException();
+                }
+                skipped += k;
+            }
+        }
+    }
+
+    /**
+     * Reads from arrays which have already been loaded.
+     */
+    private static class ArrayInput
+        implements
+        Input
+    {
+        private final long[] longs;
+        private final int[] ints;
+        private int next;
+
+        ArrayInput(long[] longs, int[] ints)
+        {
+            this.longs = longs;
+            this.ints = ints;
+        }
+
+        @Override
+        public int readInt()
+        {
+            return ints[next++];
+        }
+
+        @Override
+        public long readLong()
+        {
+            return longs[next++];
+        }
+
+        @Override
+        public double readDouble()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void readFully(byte[] b, int length)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void skip(int length)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.io;
+
+/**
+ * Constants describing the binary graph format.
+ * 
+ * Used in {@link BinaryGraphExporter} and {@link BinaryGraphImporter}.
+ * 
+ * @see BinaryGraphExporter
+ * @see BinaryGraphImporter
+ */
+class BinaryGraphUtils
+{
+    /**
+     * The first four bytes of every file, "JGTB" in ASCII.
+     */
+    static final int MAGIC = 0x4A475442;
+
+    /**
+     * The current version of the format.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Header flag, set if the graph is directed.
+     */
+    static final int FLAG_DIRECTED = 1;
+
+    /**
+     * Header flag, set if the file contains edge weights.
+     */
+    static final int FLAG_WEIGHTED = 1 << 1;
+
+    /**
+     * Header flag, set if the file contains a vertex table.
+     */
+    static final int FLAG_VERTEX_NAMES = 1 << 2;
+
+    private BinaryGraphUtils()
+    {
+    }
+}
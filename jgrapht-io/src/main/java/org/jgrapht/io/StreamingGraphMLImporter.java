@@ -0,0 +1,674 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.io;
+
+import org.jgrapht.*;
+
+import javax.xml.stream.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ * Imports a graph from a GraphML data source using a streaming (StAX) parser.
+ *
+ * <p>
+ * The importer is designed for very large inputs. It pulls the document element by element and
+ * hands every vertex and edge to the target graph, or to a user supplied {@link Callback}, as soon
+ * as its start tag has been read, while its attributes follow as soon as their data elements have
+ * been read. Apart from the declared keys and the mapping from node identifiers to graph vertices,
+ * which is proportional to the graph being built, the importer keeps no state about the document.
+ * In particular, the memory consumption does not depend on the size of the attribute values which
+ * are not requested.
+ *
+ * <p>
+ * By default all attributes are read. The set of requested attribute names can be restricted using
+ * {@link #setRequestedAttributes(Set)}. The content of data elements whose key refers to an
+ * attribute which is not requested is skipped without being materialized as a string. The
+ * pseudo-attributes "id", "source" and "target" of nodes and edges, and "id" and "edgedefault" of
+ * graphs, are subject to the same restriction. When importing into a graph, the attributes of
+ * nodes, edges and graphs are only materialized if a consumer for vertex, edge or graph attributes,
+ * respectively, has been registered, except for the edge weight attribute which is always read when
+ * the graph is weighted.
+ *
+ * <p>
+ * The importer uses the graph suppliers ({@link Graph#getVertexSupplier()} and
+ * {@link Graph#getEdgeSupplier()}) in order to create new vertices and edges. Default values of
+ * keys are reported for every node or edge which does not contain a data element for the key,
+ * after all its other attributes. Nested graphs, hyperedges and ports are not supported. Like
+ * {@link SimpleGraphMLImporter}, the importer ignores the attribute "edgedefault" and whether
+ * edges are directed depends on the graph provided by the user. The input is not validated against
+ * the GraphML schema, use {@link GraphMLImporter} for a validating parser.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see SimpleGraphMLImporter
+ * @see GraphMLImporter
+ */
+public class StreamingGraphMLImporter<V, E>
+    extends
+    BaseListenableImporter<V, E>
+    implements
+    GraphImporter<V, E>
+{
+    private static final String EDGE_WEIGHT_DEFAULT_ATTRIBUTE_NAME = "weight";
+
+    private static final String GRAPH = "graph";
+    private static final String GRAPH_ID = "id";
+    private static final String GRAPH_EDGE_DEFAULT = "edgedefault";
+    private static final String NODE = "node";
+    private static final String NODE_ID = "id";
+    private static final String EDGE = "edge";
+    private static final String EDGE_ID = "id";
+    private static final String EDGE_SOURCE = "source";
+    private static final String EDGE_TARGET = "target";
+    private static final String ALL = "all";
+    private static final String KEY = "key";
+    private static final String KEY_FOR = "for";
+    private static final String KEY_ATTR_NAME = "attr.name";
+    private static final String KEY_ATTR_TYPE = "attr.type";
+    private static final String KEY_ID = "id";
+    private static final String DEFAULT = "default";
+    private static final String DATA = "data";
+    private static final String DATA_KEY = "key";
+    private static final String HYPEREDGE = "hyperedge";
+    private static final String PORT = "port";
+    private static final String DESC = "desc";
+
+    private String edgeWeightAttributeName = EDGE_WEIGHT_DEFAULT_ATTRIBUTE_NAME;
+    private Set<String> requestedAttributes;
+
+    /**
+     * Receives the contents of a GraphML document in document order.
+     *
+     * <p>
+     * The attributes of a node or edge are reported after the node or edge itself and before the
+     * next node or edge. All methods have an empty default implementation.
+     */
+    public interface Callback
+    {
+        /**
+         * Called for every attribute of a graph.
+         *
+         * @param key the attribute name
+         * @param value the attribute value
+         */
+        default void graphAttribute(String key, Attribute value)
+        {
+        }
+
+        /**
+         * Called for every node.
+         *
+         * @param id the node identifier
+         */
+        default void vertex(String id)
+        {
+        }
+
+        /**
+         * Called for every attribute of the last reported node.
+         *
+         * @param id the node identifier
+         * @param key the attribute name
+         * @param value the attribute value
+         */
+        default void vertexAttribute(String id, String key, Attribute value)
+        {
+        }
+
+        /**
+         * Called for every edge.
+         *
+         * @param id the edge identifier, or null if the edge has none
+         * @param source the identifier of the source node
+         * @param target the identifier of the target node
+         */
+        default void edge(String id, String source, String target)
+        {
+        }
+
+        /**
+         * Called for every attribute of the last reported edge.
+         *
+         * @param id the edge identifier, or null if the edge has none
+         * @param key the attribute name
+         * @param value the attribute value
+         */
+        default void edgeAttribute(String id, String key, Attribute value)
+        {
+        }
+    }
+
+    /**
+     * Constructs a new importer.
+     */
+    public StreamingGraphMLImporter()
+    {
+        this.requestedAttributes = null;
+    }
+
+    /**
+     * Get the attribute name for edge weights
+     *
+     * @return the attribute name
+     */
+    public String getEdgeWeightAttributeName()
+    {
+        return edgeWeightAttributeName;
+    }
+
+    /**
+     * Set the attribute name to use for edge weights.
+     *
+     * @param edgeWeightAttributeName the attribute name
+     */
+    public void setEdgeWeightAttributeName(String edgeWeightAttributeName)
+    {
+        this.edgeWeightAttributeName = Objects
+            .requireNonNull(edgeWeightAttributeName, "Edge weight attribute name cannot be null");
+    }
+
+    /**
+     * Get the names of the requested attributes.
+     *
+     * @return the names of the requested attributes, or null if all attributes are requested
+     */
+    public Set<String> getRequestedAttributes()
+    {
+        return requestedAttributes == null ? null
+            : Collections.unmodifiableSet(requestedAttributes);
+    }
+
+    /**
+     * Set the names of the attributes to read. The contents of all other attributes are skipped.
+     *
+     * @param requestedAttributes the attribute names, or null in order to read all attributes
+     */
+    public void setRequestedAttributes(Set<String> requestedAttributes)
+    {
+        this.requestedAttributes =
+            requestedAttributes == null ? null : new HashSet<>(requestedAttributes);
+    }
+
+    /**
+     * Import a graph.
+     *
+     * <p>
+     * The provided graph must be able to support the features of the graph that is read. For
+     * example if the GraphML file contains self-loops then the graph provided must also support
+     * self-loops. The same for multiple edges.
+     *
+     * @param graph the output graph
+     * @param input the input reader
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    @Override
+    public void importGraph(Graph<V, E> graph, Reader input)
+        throws ImportException
+    {
+        GraphBuilder builder = new GraphBuilder(Objects.requireNonNull(graph));
+        parse(
+            input, builder, builder.isWeighted, builder.notifyVertices, builder.notifyEdges,
+            builder.notifyGraph);
+    }
+
+    /**
+     * Parse a GraphML document, reporting its contents to a callback instead of building a graph.
+     * The attribute consumers of the importer are not notified.
+     *
+     * @param input the input reader
+     * @param callback the callback
+     * @throws ImportException in case an error occurs, such as I/O or parse error
+     */
+    public void importGraph(Reader input, Callback callback)
+        throws ImportException
+    {
+        parse(input, Objects.requireNonNull(callback), false, true, true, true);
+    }
+
+    private void parse(
+        Reader input, Callback callback, boolean readWeights, boolean readNodeData,
+        boolean readEdgeData, boolean readGraphData)
+        throws ImportException
+    {
+        XMLStreamReader xml = null;
+        try {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            xml = factory.createXMLStreamReader(input);
+            new Parser(xml, callback, readWeights, readNodeData, readEdgeData, readGraphData)
+                .parse();
+        } catch (XMLStreamException | RuntimeException e) {
+            throw new ImportException("Failed to parse GraphML", e);
+        } finally {
+            if (xml != null) {
+                try {
+                    xml.close();
+                } catch (XMLStreamException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private boolean isRequested(String attributeName)
+    {
+        return requestedAttributes == null || requestedAttributes.contains(attributeName);
+    }
+
+    /**
+     * Pull parser state.
+     */
+    private class Parser
+    {
+        private final XMLStreamReader xml;
+        private final Callback callback;
+        private final boolean readWeights;
+        private final boolean readNodeData;
+        private final boolean readEdgeData;
+        private final boolean readGraphData;
+
+        private final Map<String, Key> nodeKeys;
+        private final Map<String, Key> edgeKeys;
+        private final Map<String, Key> graphKeys;
+        private final List<Key> nodeDefaults;
+        private final List<Key> edgeDefaults;
+        private final StringBuilder text;
+
+        private boolean insideGraph;
+        private String currentNode;
+        private boolean insideEdge;
+        private String currentEdge;
+        private int elementCounter;
+
+        Parser(
+            XMLStreamReader xml, Callback callback, boolean readWeights, boolean readNodeData,
+            boolean readEdgeData, boolean readGraphData)
+        {
+            this.xml = xml;
+            this.callback = callback;
+            this.readWeights = readWeights;
+            this.readNodeData = readNodeData;
+            this.readEdgeData = readEdgeData;
+            this.readGraphData = readGraphData;
+            this.nodeKeys = new HashMap<>();
+            this.edgeKeys = new HashMap<>();
+            this.graphKeys = new HashMap<>();
+            this.nodeDefaults = new ArrayList<>();
+            this.edgeDefaults = new ArrayList<>();
+            this.text = new StringBuilder();
+        }
+
+        void parse()
+            throws XMLStreamException
+        {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    startElement(xml.getLocalName());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    endElement(xml.getLocalName());
+                }
+            }
+        }
+
+        private void startElement(String localName)
+            throws XMLStreamException
+        {
+            switch (localName) {
+            case GRAPH:
+                if (insideGraph) {
+                    throw new IllegalArgumentException(
+                        "This importer does not support nested graphs");
+                }
+                insideGraph = true;
+                String graphId = attribute(GRAPH_ID);
+                if (graphId != null && isRequested(GRAPH_ID)) {
+                    callback.graphAttribute(GRAPH_ID, DefaultAttribute.createAttribute(graphId));
+                }
+                String edgeDefault = attribute(GRAPH_EDGE_DEFAULT);
+                if (edgeDefault != null && isRequested(GRAPH_EDGE_DEFAULT)) {
+                    callback.graphAttribute(
+                        GRAPH_EDGE_DEFAULT, DefaultAttribute.createAttribute(edgeDefault));
+                }
+                break;
+            case NODE:
+                if (currentNode != null || insideEdge) {
+                    throw new IllegalArgumentException(
+                        "Nodes cannot be inside other nodes or edges");
+                }
+                currentNode = attribute(NODE_ID);
+                if (currentNode == null) {
+                    throw new IllegalArgumentException("Node must have an identifier");
+                }
+                elementCounter++;
+                callback.vertex(currentNode);
+                break;
+            case EDGE:
+                if (currentNode != null || insideEdge) {
+                    throw new IllegalArgumentException(
+                        "Edges cannot be inside other nodes or edges");
+                }
+                String source = attribute(EDGE_SOURCE);
+                if (source == null) {
+                    throw new IllegalArgumentException("Edge source missing");
+                }
+                String target = attribute(EDGE_TARGET);
+                if (target == null) {
+                    throw new IllegalArgumentException("Edge target missing");
+                }
+                insideEdge = true;
+                currentEdge = attribute(EDGE_ID);
+                elementCounter++;
+                callback.edge(currentEdge, source, target);
+                break;
+            case KEY:
+                readKey();
+                break;
+            case DATA:
+                readData();
+                break;
+            case HYPEREDGE:
+            case PORT:
+            case DESC:
+                readText(false);
+                break;
+            default:
+                break;
+            }
+        }
+
+        private void endElement(String localName)
+        {
+            switch (localName) {
+            case GRAPH:
+                insideGraph = false;
+                break;
+            case NODE:
+                for (Key key : nodeDefaults) {
+                    if (key.lastSeen != elementCounter) {
+                        callback.vertexAttribute(currentNode, key.attributeName, key.defaultValue);
+                    }
+                }
+                currentNode = null;
+                break;
+            case EDGE:
+                for (Key key : edgeDefaults) {
+                    if (key.lastSeen != elementCounter) {
+                        callback.edgeAttribute(currentEdge, key.attributeName, key.defaultValue);
+                    }
+                }
+                insideEdge = false;
+                currentEdge = null;
+                break;
+            default:
+                break;
+            }
+        }
+
+        private void readKey()
+            throws XMLStreamException
+        {
+            String id = attribute(KEY_ID);
+            if (id == null) {
+                throw new IllegalArgumentException("Key id missing");
+            }
+            String attributeName = attribute(KEY_ATTR_NAME);
+            if (attributeName == null) {
+                throw new IllegalArgumentException("Key attribute name missing");
+            }
+            String attrType = attribute(KEY_ATTR_TYPE);
+            AttributeType type = attrType == null ? AttributeType.UNKNOWN
+                : AttributeType.create(attrType);
+            String target = attribute(KEY_FOR);
+            if (target == null) {
+                target = ALL;
+            }
+            boolean all = target.equals(ALL);
+            boolean requested = isRequested(attributeName);
+            boolean weight = readWeights && attributeName.equals(edgeWeightAttributeName);
+            // data is only materialized if someone is interested in it
+            boolean node = (all || target.equals(NODE)) && requested && readNodeData;
+            boolean edge = (all || target.equals(EDGE)) && (requested && readEdgeData || weight);
+            boolean graph = (all || target.equals(GRAPH)) && requested && readGraphData;
+
+            // read the optional default value, which is only used for nodes and edges
+            Attribute defaultValue = null;
+            while (true) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    break;
+                }
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if ((node || edge) && xml.getLocalName().equals(DEFAULT)) {
+                        String value = readText(true);
+                        if (!value.isEmpty()) {
+                            defaultValue = new DefaultAttribute<>(value, type);
+                        }
+                    } else {
+                        readText(false);
+                    }
+                }
+            }
+
+            if (all || target.equals(NODE)) {
+                registerKey(
+                    nodeKeys, nodeDefaults, id, new Key(attributeName, type, node, defaultValue));
+            }
+            if (all || target.equals(EDGE)) {
+                registerKey(
+                    edgeKeys, edgeDefaults, id, new Key(attributeName, type, edge, defaultValue));
+            }
+            if (all || target.equals(GRAPH)) {
+                graphKeys.put(id, new Key(attributeName, type, graph, null));
+            }
+        }
+
+        private void registerKey(Map<String, Key> keys, List<Key> defaults, String id, Key key)
+        {
+            keys.put(id, key);
+            if (key.materialize && key.defaultValue != null) {
+                defaults.add(key);
+            }
+        }
+
+        private void readData()
+            throws XMLStreamException
+        {
+            String keyId = attribute(DATA_KEY);
+            Key key;
+            if (currentNode != null) {
+                key = keyId == null ? null : nodeKeys.get(keyId);
+            } else if (insideEdge) {
+                key = keyId == null ? null : edgeKeys.get(keyId);
+            } else {
+                key = keyId == null ? null : graphKeys.get(keyId);
+            }
+            if (key == null || !key.materialize) {
+                readText(false);
+                return;
+            }
+
+            key.lastSeen = elementCounter;
+            String value = readText(true);
+            if (value.isEmpty()) {
+                return;
+            }
+            Attribute attribute = new DefaultAttribute<>(value, key.type);
+            if (currentNode != null) {
+                callback.vertexAttribute(currentNode, key.attributeName, attribute);
+            } else if (insideEdge) {
+                callback.edgeAttribute(currentEdge, key.attributeName, attribute);
+            } else {
+                callback.graphAttribute(key.attributeName, attribute);
+            }
+        }
+
+        /**
+         * Consume the current element up to and including its end tag, optionally collecting its
+         * text content, including the text of nested elements.
+         */
+        private String readText(boolean collect)
+            throws XMLStreamException
+        {
+            text.setLength(0);
+            int depth = 1;
+            while (depth > 0) {
+                switch (xml.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (collect) {
+                        text.append(
+                            xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                    }
+                    break;
+                default:
+                    break;
+                }
+            }
+            return collect ? text.toString() : null;
+        }
+
+        private String attribute(String localName)
+        {
+            for (int i = 0; i < xml.getAttributeCount(); i++) {
+                if (xml.getAttributeLocalName(i).equals(localName)) {
+                    return xml.getAttributeValue(i);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Callback which builds the graph and notifies the attribute consumers.
+     */
+    private class GraphBuilder
+        implements
+        Callback
+    {
+        private final Graph<V, E> graph;
+        private final boolean isWeighted;
+        private final boolean notifyGraph;
+        private final boolean notifyVertices;
+        private final boolean notifyEdges;
+        private final Map<String, V> nodes;
+        private V currentVertex;
+        private E currentEdge;
+
+        GraphBuilder(Graph<V, E> graph)
+        {
+            this.graph = graph;
+            this.isWeighted = graph.getType().isWeighted();
+            this.notifyGraph = hasGraphAttributeConsumers();
+            this.notifyVertices = hasVertexAttributeConsumers();
+            this.notifyEdges = hasEdgeAttributeConsumers();
+            this.nodes = new HashMap<>();
+        }
+
+        @Override
+        public void graphAttribute(String key, Attribute value)
+        {
+            if (notifyGraph) {
+                notifyGraph(key, value);
+            }
+        }
+
+        @Override
+        public void vertex(String id)
+        {
+            currentVertex = nodes.computeIfAbsent(id, k -> graph.addVertex());
+            if (notifyVertices && isRequested(NODE_ID)) {
+                notifyVertex(currentVertex, NODE_ID, DefaultAttribute.createAttribute(id));
+            }
+        }
+
+        @Override
+        public void vertexAttribute(String id, String key, Attribute value)
+        {
+            if (notifyVertices) {
+                notifyVertex(currentVertex, key, value);
+            }
+        }
+
+        @Override
+        public void edge(String id, String source, String target)
+        {
+            V s = nodes.computeIfAbsent(source, k -> graph.addVertex());
+            V t = nodes.computeIfAbsent(target, k -> graph.addVertex());
+            currentEdge = graph.addEdge(s, t);
+            if (notifyEdges && currentEdge != null) {
+                if (isRequested(EDGE_SOURCE)) {
+                    notifyEdge(currentEdge, EDGE_SOURCE, DefaultAttribute.createAttribute(source));
+                }
+                if (isRequested(EDGE_TARGET)) {
+                    notifyEdge(currentEdge, EDGE_TARGET, DefaultAttribute.createAttribute(target));
+                }
+                if (id != null && isRequested(EDGE_ID)) {
+                    notifyEdge(currentEdge, EDGE_ID, DefaultAttribute.createAttribute(id));
+                }
+            }
+        }
+
+        @Override
+        public void edgeAttribute(String id, String key, Attribute value)
+        {
+            if (currentEdge == null) {
+                return;
+            }
+            if (isWeighted && key.equals(edgeWeightAttributeName)) {
+                try {
+                    graph.setEdgeWeight(currentEdge, Double.parseDouble(value.getValue()));
+                } catch (NumberFormatException e) {
+                    // ignore
+                }
+            }
+            if (notifyEdges && isRequested(key)) {
+                notifyEdge(currentEdge, key, value);
+            }
+        }
+    }
+
+    private static class Key
+    {
+        final String attributeName;
+        final AttributeType type;
+        final boolean materialize;
+        final Attribute defaultValue;
+        int lastSeen;
+
+        Key(String attributeName, AttributeType type, boolean materialize, Attribute defaultValue)
+        {
+            this.attributeName = attributeName;
+            this.type = type;
+            this.materialize = materialize;
+            this.defaultValue = defaultValue;
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.io;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BinaryGraphExporter}.
+ */
+public class BinaryGraphExporterTest
+{
+
+    @Test
+    public void testLayout()
+        throws ExportException, IOException
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex("a");
+        g.addVertex("b");
+        g.addVertex("c");
+        g.setEdgeWeight(g.addEdge("a", "c"), 2.5);
+        g.setEdgeWeight(g.addEdge("a", "b"), 1.0);
+        g.setEdgeWeight(g.addEdge("c", "c"), -1.0);
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        new BinaryGraphExporter<String, DefaultWeightedEdge>(v -> v).exportGraph(g, os);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(os.toByteArray()));
+        assertEquals(0x4A475442, in.readInt());
+        assertEquals(1, in.readInt());
+        assertEquals(7, in.readInt());
+        assertEquals(3, in.readInt());
+        assertEquals(3L, in.readLong());
+        for (String name : new String[] { "a", "b", "c" }) {
+            assertEquals(1, in.readInt());
+            assertEquals(name.charAt(0), in.readByte());
+        }
+        long[] offsets = { 0, 2, 2, 3 };
+        for (long offset : offsets) {
+            assertEquals(offset, in.readLong());
+        }
+        assertEquals(2, in.readInt());
+        assertEquals(1, in.readInt());
+        assertEquals(2, in.readInt());
+        assertEquals(2.5, in.readDouble(), 0.0);
+        assertEquals(1.0, in.readDouble(), 0.0);
+        assertEquals(-1.0, in.readDouble(), 0.0);
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testUndirectedUnweightedWithoutNames()
+        throws ExportException
+    {
+        Graph<Integer, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2));
+        g.addEdge(0, 1);
+        g.addEdge(2, 1);
+        g.addEdge(1, 1);
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        new BinaryGraphExporter<Integer, DefaultEdge>().exportGraph(g, os);
+
+        // header, 4 offsets and 3 targets
+        assertEquals(24 + 4 * 8 + 3 * 4, os.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testWriterNotSupported()
+        throws ExportException
+    {
+        new BinaryGraphExporter<Integer, DefaultEdge>()
+            .exportGraph(new Pseudograph<>(DefaultEdge.class), new StringWriter());
+    }
+
+}
@@ -0,0 +1,255 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.io;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.builder.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.junit.rules.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BinaryGraphImporter}.
+ */
+public class BinaryGraphImporterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDirectedWeightedRoundTripFile()
+        throws ExportException, ImportException, IOException
+    {
+        Graph<String, DefaultWeightedEdge> source = createSource(true);
+        File file = folder.newFile("graph.bin");
+        new BinaryGraphExporter<String, DefaultWeightedEdge>(v -> v).exportGraph(source, file);
+
+        Graph<String, DefaultWeightedEdge> target = createTarget(true);
+        Map<String, String> names = new HashMap<>();
+        BinaryGraphImporter<String, DefaultWeightedEdge> importer = new BinaryGraphImporter<>();
+        importer.addVertexAttributeConsumer((p, a) -> names.put(p.getFirst(), a.getValue()));
+        importer.importGraph(target, file);
+
+        assertRoundTrip(source, target, names);
+    }
+
+    @Test
+    public void testDirectedWeightedRoundTripStream()
+        throws ExportException, ImportException
+    {
+        Graph<String, DefaultWeightedEdge> source = createSource(true);
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        new BinaryGraphExporter<String, DefaultWeightedEdge>(v -> v).exportGraph(source, os);
+
+        Graph<String, DefaultWeightedEdge> target = createTarget(true);
+        Map<String, String> names = new HashMap<>();
+        BinaryGraphImporter<String, DefaultWeightedEdge> importer = new BinaryGraphImporter<>();
+        importer.addVertexAttributeConsumer((p, a) -> names.put(p.getFirst(), a.getValue()));
+        importer.importGraph(target, new ByteArrayInputStream(os.toByteArray()));
+
+        assertRoundTrip(source, target, names);
+    }
+
+    @Test
+    public void testUndirectedRoundTrip()
+        throws ExportException, ImportException, IOException
+    {
+        Graph<String, DefaultWeightedEdge> source = createSource(false);
+        File file = folder.newFile("graph.bin");
+        new BinaryGraphExporter<String, DefaultWeightedEdge>(v -> v).exportGraph(source, file);
+
+        Graph<String, DefaultWeightedEdge> target = createTarget(false);
+        Map<String, String> names = new HashMap<>();
+        BinaryGraphImporter<String, DefaultWeightedEdge> importer = new BinaryGraphImporter<>();
+        importer.addVertexAttributeConsumer((p, a) -> names.put(p.getFirst(), a.getValue()));
+        importer.importGraph(target, file);
+
+        assertRoundTrip(source, target, names);
+    }
+
+    @Test
+    public void testWithoutNamesIntoUnweightedGraph()
+        throws ExportException, ImportException, IOException
+    {
+        Graph<String, DefaultWeightedEdge> source = createSource(true);
+        File file = folder.newFile("graph.bin");
+        new BinaryGraphExporter<String, DefaultWeightedEdge>().exportGraph(source, file);
+
+        Graph<Integer, DefaultEdge> target = GraphTypeBuilder
+            .<Integer, DefaultEdge> directed().allowingMultipleEdges(true)
+            .allowingSelfLoops(true).vertexSupplier(SupplierUtil.createIntegerSupplier())
+            .edgeSupplier(SupplierUtil.DEFAULT_EDGE_SUPPLIER).buildGraph();
+        new BinaryGraphImporter<Integer, DefaultEdge>().importGraph(target, file);
+
+        assertEquals(source.vertexSet().size(), target.vertexSet().size());
+        assertEquals(source.edgeSet().size(), target.edgeSet().size());
+        assertTrue(target.containsEdge(0, 1));
+        assertTrue(target.containsEdge(3, 3));
+    }
+
+    @Test
+    public void testSkipNamesWithoutConsumers()
+        throws ExportException, ImportException, IOException
+    {
+        // many short names, which are skipped within the mapped window
+        int n = 10000;
+        Graph<Integer, DefaultWeightedEdge> source = GraphTypeBuilder
+            .<Integer, DefaultWeightedEdge> directed().allowingMultipleEdges(true)
+            .allowingSelfLoops(true).weighted(true).edgeClass(DefaultWeightedEdge.class)
+            .buildGraph();
+        for (int v = 0; v < n; v++) {
+            source.addVertex(v);
+        }
+        for (int v = 1; v < n; v++) {
+            source.setEdgeWeight(source.addEdge(v - 1, v), v);
+        }
+        File file = folder.newFile("named.bin");
+        new BinaryGraphExporter<Integer, DefaultWeightedEdge>(
+            new IntegerComponentNameProvider<>()).exportGraph(source, file);
+
+        Graph<Integer, DefaultWeightedEdge> target = GraphTypeBuilder
+            .<Integer, DefaultWeightedEdge> directed().allowingMultipleEdges(true)
+            .allowingSelfLoops(true).weighted(true)
+            .vertexSupplier(SupplierUtil.createIntegerSupplier())
+            .edgeSupplier(SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER).buildGraph();
+        new BinaryGraphImporter<Integer, DefaultWeightedEdge>().importGraph(target, file);
+
+        assertEquals(n, target.vertexSet().size());
+        assertEquals(n - 1, target.edgeSet().size());
+        for (int v = 1; v < n; v++) {
+            DefaultWeightedEdge e = target.getEdge(v - 1, v);
+            assertNotNull(e);
+            assertEquals(v, target.getEdgeWeight(e), 0.0);
+        }
+    }
+
+    @Test
+    public void testInvalidInput()
+        throws IOException
+    {
+        Graph<String, DefaultWeightedEdge> target = createTarget(true);
+        BinaryGraphImporter<String, DefaultWeightedEdge> importer = new BinaryGraphImporter<>();
+        try {
+            importer.importGraph(target, new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 }));
+            fail("No!");
+        } catch (ImportException e) {
+            // expected
+        }
+
+        // valid header of a graph with one vertex and one edge, truncated afterwards
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(0x4A475442);
+        out.writeInt(1);
+        out.writeInt(1);
+        out.writeInt(1);
+        out.writeLong(1);
+        out.writeLong(0);
+        out.flush();
+        File file = folder.newFile("truncated.bin");
+        try (OutputStream fos = new FileOutputStream(file)) {
+            fos.write(os.toByteArray());
+        }
+        try {
+            importer.importGraph(target, file);
+            fail("No!");
+        } catch (ImportException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReaderNotSupported()
+        throws ImportException
+    {
+        new BinaryGraphImporter<String, DefaultWeightedEdge>()
+            .importGraph(createTarget(true), new StringReader(""));
+    }
+
+    private static Graph<String, DefaultWeightedEdge> createSource(boolean directed)
+    {
+        Graph<String, DefaultWeightedEdge> g = GraphTypeBuilder
+            .<String, DefaultWeightedEdge> forGraphType(
+                directed ? DefaultGraphType.directedPseudograph()
+                    : DefaultGraphType.pseudograph())
+            .weighted(true).edgeClass(DefaultWeightedEdge.class).buildGraph();
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d", "\u00e9"));
+        g.setEdgeWeight(g.addEdge("a", "b"), 1.5);
+        g.setEdgeWeight(g.addEdge("a", "b"), 2.5);
+        g.setEdgeWeight(g.addEdge("b", "c"), -3.0);
+        g.setEdgeWeight(g.addEdge("d", "d"), 4.0);
+        g.setEdgeWeight(g.addEdge("c", "a"), 5.0);
+        g.setEdgeWeight(g.addEdge("\u00e9", "a"), 6.0);
+        return g;
+    }
+
+    private static Graph<String, DefaultWeightedEdge> createTarget(boolean directed)
+    {
+        return GraphTypeBuilder
+            .<String, DefaultWeightedEdge> forGraphType(
+                directed ? DefaultGraphType.directedPseudograph()
+                    : DefaultGraphType.pseudograph())
+            .weighted(true).vertexSupplier(SupplierUtil.createStringSupplier())
+            .edgeSupplier(SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER).buildGraph();
+    }
+
+    private static void assertRoundTrip(
+        Graph<String, DefaultWeightedEdge> source, Graph<String, DefaultWeightedEdge> target,
+        Map<String, String> names)
+    {
+        assertEquals(source.vertexSet().size(), target.vertexSet().size());
+        assertEquals(source.edgeSet().size(), target.edgeSet().size());
+        assertEquals(source.vertexSet(), new HashSet<>(names.values()));
+
+        Map<String, String> originals = new HashMap<>();
+        for (Map.Entry<String, String> entry : names.entrySet()) {
+            originals.put(entry.getValue(), entry.getKey());
+        }
+        Map<String, List<Double>> expected = new HashMap<>();
+        for (DefaultWeightedEdge e : source.edgeSet()) {
+            expected
+                .computeIfAbsent(
+                    originals.get(source.getEdgeSource(e)) + "-"
+                        + originals.get(source.getEdgeTarget(e)),
+                    k -> new ArrayList<>())
+                .add(source.getEdgeWeight(e));
+        }
+        Map<String, List<Double>> actual = new HashMap<>();
+        for (DefaultWeightedEdge e : target.edgeSet()) {
+            actual
+                .computeIfAbsent(
+                    target.getEdgeSource(e) + "-" + target.getEdgeTarget(e),
+                    k -> new ArrayList<>())
+                .add(target.getEdgeWeight(e));
+        }
+        for (List<Double> weights : expected.values()) {
+            Collections.sort(weights);
+        }
+        for (List<Double> weights : actual.values()) {
+            Collections.sort(weights);
+        }
+        assertEquals(expected, actual);
+    }
+
+}
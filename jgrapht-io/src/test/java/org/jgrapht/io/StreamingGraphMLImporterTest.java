@@ -0,0 +1,349 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.io;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.builder.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link StreamingGraphMLImporter}.
+ */
+public class StreamingGraphMLImporterTest
+{
+
+    private static final String NL = System.getProperty("line.separator");
+
+    // @formatter:off
+    private static final String HEADER =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NL +
+        "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\"" + NL +
+        "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"" + NL +
+        "xsi:schemaLocation=\"http://graphml.graphdrawing.org/xmlns " +
+        "http://graphml.graphdrawing.org/xmlns/1.0/graphml.xsd\">" + NL;
+
+    private static final String ATTRIBUTES_INPUT =
+        HEADER +
+        "<key id=\"d0\" for=\"node\" attr.name=\"color\" attr.type=\"string\">" + NL +
+        "<default>yellow</default>" + NL +
+        "</key>" + NL +
+        "<key id=\"d1\" for=\"edge\" attr.name=\"weight\" attr.type=\"double\"/>" + NL +
+        "<key id=\"d2\" for=\"edge\" attr.name=\"label\" attr.type=\"string\"/>" + NL +
+        "<key id=\"d3\" for=\"graph\" attr.name=\"name\" attr.type=\"string\"/>" + NL +
+        "<graph id=\"G\" edgedefault=\"directed\">" + NL +
+        "<data key=\"d3\">test</data>" + NL +
+        "<node id=\"n0\">" + NL +
+        "<data key=\"d0\">green</data>" + NL +
+        "</node>" + NL +
+        "<node id=\"n1\"/>" + NL +
+        "<node id=\"n2\">" + NL +
+        "<data key=\"d0\">blue<![CDATA[ & red]]></data>" + NL +
+        "</node>" + NL +
+        "<edge id=\"e0\" source=\"n0\" target=\"n2\">" + NL +
+        "<data key=\"d1\">1.5</data>" + NL +
+        "<data key=\"d2\"><nested>first</nested> edge</data>" + NL +
+        "</edge>" + NL +
+        "<edge id=\"e1\" source=\"n1\" target=\"n2\"/>" + NL +
+        "</graph>" + NL +
+        "</graphml>";
+    // @formatter:on
+
+    @Test
+    public void testUndirectedUnweighted()
+        throws ImportException
+    {
+        // @formatter:off
+        String input =
+            HEADER +
+            "<graph id=\"G\" edgedefault=\"undirected\">" + NL +
+            "<edge source=\"2\" target=\"3\"/>" + NL +
+            "<node id=\"1\"/>" + NL +
+            "<node id=\"2\"/>" + NL +
+            "<node id=\"3\"/>" + NL +
+            "<edge source=\"1\" target=\"2\"/>" + NL +
+            "<edge source=\"3\" target=\"1\"/>"+ NL +
+            "</graph>" + NL +
+            "</graphml>";
+        // @formatter:on
+
+        Graph<String, DefaultEdge> g = createGraph(false, false);
+        new StreamingGraphMLImporter<String, DefaultEdge>().importGraph(
+            g, new StringReader(input));
+
+        assertEquals(3, g.vertexSet().size());
+        assertEquals(3, g.edgeSet().size());
+        assertTrue(g.containsEdge("0", "1"));
+        assertTrue(g.containsEdge("1", "2"));
+        assertTrue(g.containsEdge("2", "0"));
+    }
+
+    @Test
+    public void testAttributesWithConsumers()
+        throws ImportException
+    {
+        Graph<String, DefaultEdge> g = createGraph(true, true);
+
+        Map<Pair<String, String>, Attribute> vertexAttrs = new HashMap<>();
+        Map<Pair<DefaultEdge, String>, Attribute> edgeAttrs = new HashMap<>();
+        Map<String, Attribute> graphAttrs = new HashMap<>();
+
+        StreamingGraphMLImporter<String, DefaultEdge> importer =
+            new StreamingGraphMLImporter<>();
+        importer.addVertexAttributeConsumer((k, v) -> vertexAttrs.put(k, v));
+        importer.addEdgeAttributeConsumer((k, v) -> edgeAttrs.put(k, v));
+        importer.addGraphAttributeConsumer((k, v) -> graphAttrs.put(k, v));
+        importer.importGraph(g, new StringReader(ATTRIBUTES_INPUT));
+
+        assertEquals(3, g.vertexSet().size());
+        assertEquals(2, g.edgeSet().size());
+        DefaultEdge e0 = g.getEdge("0", "2");
+        DefaultEdge e1 = g.getEdge("1", "2");
+        assertNotNull(e0);
+        assertNotNull(e1);
+        assertEquals(1.5, g.getEdgeWeight(e0), 1e-9);
+        assertEquals(Graph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(e1), 1e-9);
+
+        assertEquals(DefaultAttribute.createAttribute("G"), graphAttrs.get("id"));
+        assertEquals(
+            DefaultAttribute.createAttribute("directed"), graphAttrs.get("edgedefault"));
+        assertEquals(DefaultAttribute.createAttribute("test"), graphAttrs.get("name"));
+
+        assertEquals(DefaultAttribute.createAttribute("n0"), vertexAttrs.get(Pair.of("0", "id")));
+        assertEquals(
+            DefaultAttribute.createAttribute("green"), vertexAttrs.get(Pair.of("0", "color")));
+        assertEquals(
+            DefaultAttribute.createAttribute("yellow"), vertexAttrs.get(Pair.of("1", "color")));
+        assertEquals(
+            DefaultAttribute.createAttribute("blue & red"),
+            vertexAttrs.get(Pair.of("2", "color")));
+
+        assertEquals(DefaultAttribute.createAttribute("e0"), edgeAttrs.get(Pair.of(e0, "id")));
+        assertEquals(
+            DefaultAttribute.createAttribute("n0"), edgeAttrs.get(Pair.of(e0, "source")));
+        assertEquals(
+            DefaultAttribute.createAttribute("n2"), edgeAttrs.get(Pair.of(e0, "target")));
+        assertEquals(
+            new DefaultAttribute<>("1.5", AttributeType.DOUBLE),
+            edgeAttrs.get(Pair.of(e0, "weight")));
+        assertEquals(
+            DefaultAttribute.createAttribute("first edge"), edgeAttrs.get(Pair.of(e0, "label")));
+        assertNull(edgeAttrs.get(Pair.of(e1, "label")));
+    }
+
+    @Test
+    public void testRequestedAttributes()
+        throws ImportException
+    {
+        Graph<String, DefaultEdge> g = createGraph(true, true);
+
+        Map<Pair<String, String>, Attribute> vertexAttrs = new HashMap<>();
+        Map<Pair<DefaultEdge, String>, Attribute> edgeAttrs = new HashMap<>();
+        Map<String, Attribute> graphAttrs = new HashMap<>();
+
+        StreamingGraphMLImporter<String, DefaultEdge> importer =
+            new StreamingGraphMLImporter<>();
+        importer.setRequestedAttributes(Collections.singleton("label"));
+        importer.addVertexAttributeConsumer((k, v) -> vertexAttrs.put(k, v));
+        importer.addEdgeAttributeConsumer((k, v) -> edgeAttrs.put(k, v));
+        importer.addGraphAttributeConsumer((k, v) -> graphAttrs.put(k, v));
+        importer.importGraph(g, new StringReader(ATTRIBUTES_INPUT));
+
+        assertEquals(3, g.vertexSet().size());
+        assertEquals(2, g.edgeSet().size());
+
+        // weights are still read, but not reported
+        DefaultEdge e0 = g.getEdge("0", "2");
+        assertEquals(1.5, g.getEdgeWeight(e0), 1e-9);
+
+        assertTrue(graphAttrs.isEmpty());
+        assertTrue(vertexAttrs.isEmpty());
+        assertEquals(1, edgeAttrs.size());
+        assertEquals(
+            DefaultAttribute.createAttribute("first edge"), edgeAttrs.get(Pair.of(e0, "label")));
+    }
+
+    @Test
+    public void testWeightsWithoutConsumers()
+        throws ImportException
+    {
+        // @formatter:off
+        String input =
+            HEADER +
+            "<key id=\"w\" for=\"all\" attr.name=\"weight\" attr.type=\"double\">" + NL +
+            "<default>2.0</default>" + NL +
+            "</key>" + NL +
+            "<key id=\"l\" for=\"all\" attr.name=\"label\" attr.type=\"string\">" + NL +
+            "<default>none</default>" + NL +
+            "</key>" + NL +
+            "<graph id=\"G\" edgedefault=\"directed\">" + NL +
+            "<data key=\"w\">7.0</data>" + NL +
+            "<data key=\"l\">graph</data>" + NL +
+            "<node id=\"n0\">" + NL +
+            "<data key=\"w\">5.0</data>" + NL +
+            "<data key=\"l\">first <b>node</b></data>" + NL +
+            "</node>" + NL +
+            "<node id=\"n1\"/>" + NL +
+            "<edge source=\"n0\" target=\"n1\">" + NL +
+            "<data key=\"l\">edge</data>" + NL +
+            "<data key=\"w\">1.5</data>" + NL +
+            "</edge>" + NL +
+            "<edge source=\"n1\" target=\"n0\">" + NL +
+            "<data key=\"l\">edge</data>" + NL +
+            "</edge>" + NL +
+            "</graph>" + NL +
+            "</graphml>";
+        // @formatter:on
+
+        // only the weights of edges are materialized, everything else is skipped
+        Graph<String, DefaultEdge> g = createGraph(true, true);
+        new StreamingGraphMLImporter<String, DefaultEdge>().importGraph(
+            g, new StringReader(input));
+
+        assertEquals(2, g.vertexSet().size());
+        assertEquals(2, g.edgeSet().size());
+        assertEquals(1.5, g.getEdgeWeight(g.getEdge("0", "1")), 1e-9);
+        assertEquals(2.0, g.getEdgeWeight(g.getEdge("1", "0")), 1e-9);
+
+        // consumers of other elements do not cause edge data to be reported
+        Map<Pair<String, String>, Attribute> vertexAttrs = new HashMap<>();
+        StreamingGraphMLImporter<String, DefaultEdge> importer =
+            new StreamingGraphMLImporter<>();
+        importer.addVertexAttributeConsumer((k, v) -> vertexAttrs.put(k, v));
+        g = createGraph(true, true);
+        importer.importGraph(g, new StringReader(input));
+
+        assertEquals(1.5, g.getEdgeWeight(g.getEdge("0", "1")), 1e-9);
+        assertEquals(2.0, g.getEdgeWeight(g.getEdge("1", "0")), 1e-9);
+        assertEquals(
+            DefaultAttribute.createAttribute("first node"),
+            vertexAttrs.get(Pair.of("0", "label")));
+        assertEquals(
+            DefaultAttribute.createAttribute("none"), vertexAttrs.get(Pair.of("1", "label")));
+        assertEquals(
+            new DefaultAttribute<>("2.0", AttributeType.DOUBLE),
+            vertexAttrs.get(Pair.of("1", "weight")));
+        assertEquals(6, vertexAttrs.size());
+    }
+
+    @Test
+    public void testCallback()
+        throws ImportException
+    {
+        List<String> events = new ArrayList<>();
+        StreamingGraphMLImporter<String, DefaultEdge> importer =
+            new StreamingGraphMLImporter<>();
+        importer.setRequestedAttributes(new HashSet<>(Arrays.asList("color", "weight")));
+        StreamingGraphMLImporter.Callback callback = new StreamingGraphMLImporter.Callback()
+        {
+            @Override
+            public void graphAttribute(String key, Attribute value)
+            {
+                events.add("graph " + key + "=" + value.getValue());
+            }
+
+            @Override
+            public void vertex(String id)
+            {
+                events.add("vertex " + id);
+            }
+
+            @Override
+            public void vertexAttribute(String id, String key, Attribute value)
+            {
+                events.add("vertex " + id + " " + key + "=" + value.getValue());
+            }
+
+            @Override
+            public void edge(String id, String source, String target)
+            {
+                events.add("edge " + id + " " + source + " " + target);
+            }
+
+            @Override
+            public void edgeAttribute(String id, String key, Attribute value)
+            {
+                events.add("edge " + id + " " + key + "=" + value.getValue());
+            }
+        };
+        importer.importGraph(new StringReader(ATTRIBUTES_INPUT), callback);
+
+        List<String> expected = Arrays.asList(
+            "vertex n0", "vertex n0 color=green", "vertex n1", "vertex n1 color=yellow",
+            "vertex n2", "vertex n2 color=blue & red", "edge e0 n0 n2", "edge e0 weight=1.5",
+            "edge e1 n1 n2");
+        assertEquals(expected, events);
+    }
+
+    @Test
+    public void testNestedGraph()
+    {
+        // @formatter:off
+        String input =
+            HEADER +
+            "<graph id=\"G\" edgedefault=\"undirected\">" + NL +
+            "<node id=\"1\">" + NL +
+            "<graph id=\"H\" edgedefault=\"undirected\">" + NL +
+            "<node id=\"2\"/>" + NL +
+            "</graph>" + NL +
+            "</node>" + NL +
+            "</graph>" + NL +
+            "</graphml>";
+        // @formatter:on
+
+        Graph<String, DefaultEdge> g = createGraph(false, false);
+        try {
+            new StreamingGraphMLImporter<String, DefaultEdge>().importGraph(
+                g, new StringReader(input));
+            fail("No!");
+        } catch (ImportException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMalformedInput()
+    {
+        Graph<String, DefaultEdge> g = createGraph(false, false);
+        try {
+            new StreamingGraphMLImporter<String, DefaultEdge>().importGraph(
+                g, new StringReader(HEADER + "<graph><node id=\"1\"></graph>"));
+            fail("No!");
+        } catch (ImportException e) {
+            // expected
+        }
+    }
+
+    private static Graph<String, DefaultEdge> createGraph(boolean directed, boolean weighted)
+    {
+        return GraphTypeBuilder
+            .<String, DefaultEdge> forGraphType(
+                directed ? DefaultGraphType.directedPseudograph()
+                    : DefaultGraphType.pseudograph())
+            .weighted(weighted).vertexSupplier(SupplierUtil.createStringSupplier())
+            .edgeSupplier(SupplierUtil.createDefaultEdgeSupplier()).buildGraph();
+    }
+
+}
@@ -0,0 +1,219 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.opt.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Common functionality of the immutable sparse graphs. All mutators throw
+ * {@link UnsupportedOperationException}.
+ */
+abstract class AbstractSparseIntGraph
+    extends
+    AbstractGraph<Integer, Integer>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = -6172953846371098453L;
+
+    private static final String UNMODIFIABLE = "this graph is unmodifiable";
+
+    /**
+     * The underlying compressed sparse row representation
+     */
+    protected final CSRAdjacency csr;
+
+    /**
+     * Create a new graph.
+     *
+     * @param csr the compressed sparse row representation
+     */
+    AbstractSparseIntGraph(CSRAdjacency csr)
+    {
+        this.csr = csr;
+    }
+
+    /**
+     * Split a list of pairs into source and target arrays.
+     *
+     * @param edges the edges
+     * @param sources where to store the sources
+     * @param targets where to store the targets
+     */
+    static void split(List<Pair<Integer, Integer>> edges, int[] sources, int[] targets)
+    {
+        int i = 0;
+        for (Pair<Integer, Integer> e : edges) {
+            sources[i] = e.getFirst();
+            targets[i] = e.getSecond();
+            i++;
+        }
+    }
+
+    @Override
+    public Supplier<Integer> getVertexSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public Supplier<Integer> getEdgeSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public Integer addEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addEdge(Integer sourceVertex, Integer targetVertex, Integer e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Integer addVertex()
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addVertex(Integer v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Integer removeEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeEdge(Integer e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeVertex(Integer v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeAllEdges(Collection<? extends Integer> edges)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Set<Integer> removeAllEdges(Integer sourceVertex, Integer targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeAllVertices(Collection<? extends Integer> vertices)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean containsEdge(Integer e)
+    {
+        return csr.containsEdge(e);
+    }
+
+    @Override
+    public boolean containsVertex(Integer v)
+    {
+        return csr.containsVertex(v);
+    }
+
+    @Override
+    public Set<Integer> edgeSet()
+    {
+        return new IntRangeSet(0, csr.numEdges);
+    }
+
+    @Override
+    public Set<Integer> vertexSet()
+    {
+        return new IntRangeSet(0, csr.numVertices);
+    }
+
+    @Override
+    public Integer getEdgeSource(Integer e)
+    {
+        assertEdgeExist(e);
+        return csr.source(e);
+    }
+
+    @Override
+    public Integer getEdgeTarget(Integer e)
+    {
+        assertEdgeExist(e);
+        return csr.target(e);
+    }
+
+    @Override
+    public double getEdgeWeight(Integer e)
+    {
+        if (csr.weights == null) {
+            return Graph.DEFAULT_EDGE_WEIGHT;
+        }
+        assertEdgeExist(e);
+        return csr.weights[e];
+    }
+
+    @Override
+    public void setEdgeWeight(Integer e, double weight)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    /**
+     * Ensures that the specified edge exists in this graph, or else throws exception.
+     *
+     * @param e edge
+     * @return <code>true</code> if this assertion holds
+     * @throws NullPointerException if specified edge is <code>null</code>
+     * @throws IllegalArgumentException if specified edge does not exist in this graph
+     */
+    protected boolean assertEdgeExist(Integer e)
+    {
+        if (csr.containsEdge(e)) {
+            return true;
+        } else if (e == null) {
+            throw new NullPointerException();
+        } else {
+            throw new IllegalArgumentException("no such edge in graph: " + e.toString());
+        }
+    }
+
+}
@@ -0,0 +1,225 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.opt.graph.sparse;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Compressed sparse row (CSR) representation of an edge list together with its transpose.
+ *
+ * <p>
+ * Edges are renumbered so that the edges of row $u$ occupy the contiguous identifier range
+ * {@code [outOffsets[u], outOffsets[u+1])}, sorted by target. The transpose stores, for each
+ * column, the identifiers of the edges ending there in ascending order. Both structures are built
+ * using two passes of counting sort in time $O(n+m)$.
+ */
+final class CSRAdjacency
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = 2178643267829140431L;
+
+    final int numVertices;
+    final int numEdges;
+
+    final int[] outOffsets;
+    final int[] outTargets;
+
+    final int[] inOffsets;
+    final int[] inEdges;
+
+    final double[] weights;
+
+    /**
+     * Build the representation.
+     *
+     * @param numVertices number of vertices
+     * @param sources the edge sources
+     * @param targets the edge targets
+     * @param weights the edge weights in input order, can be null
+     */
+    CSRAdjacency(int numVertices, int[] sources, int[] targets, double[] weights)
+    {
+        Objects.requireNonNull(sources, "Sources cannot be null");
+        Objects.requireNonNull(targets, "Targets cannot be null");
+        if (numVertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must be non-negative");
+        }
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("Sources and targets must have the same length");
+        }
+        if (weights != null && weights.length != sources.length) {
+            throw new IllegalArgumentException("Weights must have the same length as the edges");
+        }
+
+        this.numVertices = numVertices;
+        this.numEdges = sources.length;
+
+        int[] outCounts = new int[numVertices + 1];
+        int[] inCounts = new int[numVertices + 1];
+        for (int i = 0; i < numEdges; i++) {
+            int s = sources[i];
+            int t = targets[i];
+            if (s < 0 || s >= numVertices || t < 0 || t >= numVertices) {
+                throw new IllegalArgumentException(
+                    "Edge (" + s + "," + t + ") has endpoint outside of [0, " + numVertices + ")");
+            }
+            outCounts[s + 1]++;
+            inCounts[t + 1]++;
+        }
+        for (int v = 0; v < numVertices; v++) {
+            outCounts[v + 1] += outCounts[v];
+            inCounts[v + 1] += inCounts[v];
+        }
+        this.outOffsets = outCounts;
+        this.inOffsets = inCounts;
+
+        /*
+         * Radix sort by (source, target): first stable counting sort by target, then by source.
+         */
+        int[] byTarget = new int[numEdges];
+        int[] pos = Arrays.copyOf(inOffsets, numVertices);
+        for (int i = 0; i < numEdges; i++) {
+            byTarget[pos[targets[i]]++] = i;
+        }
+        int[] order = new int[numEdges];
+        System.arraycopy(outOffsets, 0, pos, 0, numVertices);
+        for (int i : byTarget) {
+            order[pos[sources[i]]++] = i;
+        }
+        byTarget = null;
+
+        this.outTargets = new int[numEdges];
+        for (int e = 0; e < numEdges; e++) {
+            outTargets[e] = targets[order[e]];
+        }
+
+        this.inEdges = new int[numEdges];
+        System.arraycopy(inOffsets, 0, pos, 0, numVertices);
+        for (int e = 0; e < numEdges; e++) {
+            inEdges[pos[outTargets[e]]++] = e;
+        }
+
+        if (weights != null) {
+            this.weights = new double[numEdges];
+            for (int e = 0; e < numEdges; e++) {
+                this.weights[e] = weights[order[e]];
+            }
+        } else {
+            this.weights = null;
+        }
+    }
+
+    /**
+     * Get the row of an edge, i.e. its source, using binary search over the row offsets.
+     *
+     * @param e the edge
+     * @return the source of the edge
+     */
+    int source(int e)
+    {
+        int low = 0;
+        int high = numVertices - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (outOffsets[mid] <= e) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    int target(int e)
+    {
+        return outTargets[e];
+    }
+
+    int outDegree(int v)
+    {
+        return outOffsets[v + 1] - outOffsets[v];
+    }
+
+    int inDegree(int v)
+    {
+        return inOffsets[v + 1] - inOffsets[v];
+    }
+
+    /**
+     * Find an edge from $u$ to $v$.
+     *
+     * @param u the source
+     * @param v the target
+     * @return the identifier of the first such edge or -1 if none exists
+     */
+    int edge(int u, int v)
+    {
+        int from = outOffsets[u];
+        int to = outOffsets[u + 1];
+        int index = Arrays.binarySearch(outTargets, from, to, v);
+        if (index < 0) {
+            return -1;
+        }
+        while (index > from && outTargets[index - 1] == v) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * Count the edges of row $v$ whose identifier also appears in column $v$, i.e. the self-loops
+     * of $v$.
+     *
+     * @param v the vertex
+     * @return the number of self-loops
+     */
+    int selfLoops(int v)
+    {
+        int from = edge(v, v);
+        if (from == -1) {
+            return 0;
+        }
+        int to = from;
+        int end = outOffsets[v + 1];
+        while (to < end && outTargets[to] == v) {
+            to++;
+        }
+        return to - from;
+    }
+
+    boolean containsVertex(Object v)
+    {
+        if (v instanceof Integer) {
+            int i = (Integer) v;
+            return i >= 0 && i < numVertices;
+        }
+        return false;
+    }
+
+    boolean containsEdge(Object e)
+    {
+        if (e instanceof Integer) {
+            int i = (Integer) e;
+            return i >= 0 && i < numEdges;
+        }
+        return false;
+    }
+
+}
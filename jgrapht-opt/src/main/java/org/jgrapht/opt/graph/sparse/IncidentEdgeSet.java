@@ -0,0 +1,108 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.opt.graph.sparse;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * An unmodifiable set view of all edges touching a vertex, i.e. the union of the row and the
+ * column of the vertex in a {@link CSRAdjacency}. Self-loops belong to both and are reported
+ * only once.
+ */
+final class IncidentEdgeSet
+    extends
+    AbstractSet<Integer>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = 7306524838135617461L;
+
+    private final int[] inEdges;
+    private final int outFrom;
+    private final int outTo;
+    private final int inFrom;
+    private final int inTo;
+    private final int size;
+
+    IncidentEdgeSet(CSRAdjacency csr, int v)
+    {
+        this.inEdges = csr.inEdges;
+        this.outFrom = csr.outOffsets[v];
+        this.outTo = csr.outOffsets[v + 1];
+        this.inFrom = csr.inOffsets[v];
+        this.inTo = csr.inOffsets[v + 1];
+        this.size = (outTo - outFrom) + (inTo - inFrom) - csr.selfLoops(v);
+    }
+
+    @Override
+    public Iterator<Integer> iterator()
+    {
+        return new Iterator<Integer>()
+        {
+            private int nextOut = outFrom;
+            private int nextIn = advance(inFrom);
+
+            @Override
+            public boolean hasNext()
+            {
+                return nextOut < outTo || nextIn < inTo;
+            }
+
+            @Override
+            public Integer next()
+            {
+                if (nextOut < outTo) {
+                    return nextOut++;
+                }
+                if (nextIn < inTo) {
+                    int e = inEdges[nextIn];
+                    nextIn = advance(nextIn + 1);
+                    return e;
+                }
+                throw new NoSuchElementException();
+            }
+
+            private int advance(int i)
+            {
+                while (i < inTo && inEdges[i] >= outFrom && inEdges[i] < outTo) {
+                    i++;
+                }
+                return i;
+            }
+        };
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        if (o instanceof Integer) {
+            int e = (Integer) o;
+            return (e >= outFrom && e < outTo)
+                || Arrays.binarySearch(inEdges, inFrom, inTo, e) >= 0;
+        }
+        return false;
+    }
+
+}
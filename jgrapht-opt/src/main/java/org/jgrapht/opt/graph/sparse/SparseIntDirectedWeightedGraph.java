@@ -0,0 +1,57 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.opt.graph.sparse;
+
+import java.util.*;
+
+/**
+ * An immutable directed weighted graph backed by compressed sparse row (CSR) arrays.
+ *
+ * <p>
+ * The weights are kept in a {@code double} array in the same order as the edge identifiers,
+ * which means that they are permuted together with the edges during construction. See
+ * {@link SparseIntDirectedGraph} for details on the representation.
+ *
+ * @see SparseIntDirectedGraph
+ */
+public class SparseIntDirectedWeightedGraph
+    extends
+    SparseIntDirectedGraph
+{
+    private static final long serialVersionUID = -3361869405834312052L;
+
+    /**
+     * Create a new graph from an edge list given as parallel arrays.
+     *
+     * @param numVertices number of vertices
+     * @param sources the source of each edge
+     * @param targets the target of each edge
+     * @param weights the weight of each edge
+     * @throws NullPointerException if the weights are null
+     * @throws IllegalArgumentException if the arrays differ in length or an endpoint is not in
+     *         $[0, n)$
+     */
+    public SparseIntDirectedWeightedGraph(
+        int numVertices, int[] sources, int[] targets, double[] weights)
+    {
+        super(
+            numVertices, sources, targets,
+            Objects.requireNonNull(weights, "Weights cannot be null"));
+    }
+
+}
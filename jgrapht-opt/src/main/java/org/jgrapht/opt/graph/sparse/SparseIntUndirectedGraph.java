@@ -0,0 +1,193 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.opt.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+
+import java.util.*;
+
+/**
+ * An immutable undirected graph backed by compressed sparse row (CSR) arrays.
+ *
+ * <p>
+ * The graph has vertices $0, 1, \ldots, n-1$ and edges $0, 1, \ldots, m-1$. It is built in one
+ * bulk pass from an edge list and cannot be modified afterwards. Every edge $\{u, v\}$ is stored
+ * once, in the row of $\min(u, v)$, and a transposed copy indexes it by $\max(u, v)$. The edges
+ * touching a vertex are the union of its row and its column, which are exposed as a lightweight
+ * set view without copying.
+ *
+ * <p>
+ * Since edges are normalized during construction, {@link #getEdgeSource(Integer)} always returns
+ * the smaller and {@link #getEdgeTarget(Integer)} the larger endpoint of an edge. Edge
+ * identifiers are assigned after sorting the edges by their smaller and then by their larger
+ * endpoint. Multiple edges and self-loops are supported. All methods which modify the graph
+ * throw {@link UnsupportedOperationException}.
+ *
+ * @see SparseIntUndirectedWeightedGraph
+ * @see SparseIntDirectedGraph
+ */
+public class SparseIntUndirectedGraph
+    extends
+    AbstractSparseIntGraph
+{
+    private static final long serialVersionUID = -5241753062386571849L;
+
+    /**
+     * Create a new graph from an edge list given as two parallel arrays.
+     *
+     * @param numVertices number of vertices
+     * @param sources the first endpoint of each edge
+     * @param targets the second endpoint of each edge
+     * @throws IllegalArgumentException if the arrays differ in length or an endpoint is not in
+     *         $[0, n)$
+     */
+    public SparseIntUndirectedGraph(int numVertices, int[] sources, int[] targets)
+    {
+        this(numVertices, sources, targets, null);
+    }
+
+    /**
+     * Create a new graph from an edge list.
+     *
+     * @param numVertices number of vertices
+     * @param edges the edges as pairs of endpoints
+     * @throws IllegalArgumentException if an endpoint is not in $[0, n)$
+     */
+    public SparseIntUndirectedGraph(int numVertices, List<Pair<Integer, Integer>> edges)
+    {
+        super(build(numVertices, edges));
+    }
+
+    /**
+     * Create a new graph from an edge list given as parallel arrays.
+     *
+     * @param numVertices number of vertices
+     * @param sources the first endpoint of each edge
+     * @param targets the second endpoint of each edge
+     * @param weights the weight of each edge, or null for an unweighted graph
+     * @throws IllegalArgumentException if the arrays differ in length or an endpoint is not in
+     *         $[0, n)$
+     */
+    protected SparseIntUndirectedGraph(
+        int numVertices, int[] sources, int[] targets, double[] weights)
+    {
+        super(normalize(numVertices, sources.clone(), targets.clone(), weights));
+    }
+
+    private static CSRAdjacency build(int numVertices, List<Pair<Integer, Integer>> edges)
+    {
+        int[] sources = new int[edges.size()];
+        int[] targets = new int[edges.size()];
+        split(edges, sources, targets);
+        return normalize(numVertices, sources, targets, null);
+    }
+
+    private static CSRAdjacency normalize(
+        int numVertices, int[] sources, int[] targets, double[] weights)
+    {
+        int m = Math.min(sources.length, targets.length);
+        for (int i = 0; i < m; i++) {
+            if (sources[i] > targets[i]) {
+                int tmp = sources[i];
+                sources[i] = targets[i];
+                targets[i] = tmp;
+            }
+        }
+        return new CSRAdjacency(numVertices, sources, targets, weights);
+    }
+
+    @Override
+    public Set<Integer> getAllEdges(Integer sourceVertex, Integer targetVertex)
+    {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        int u = Math.min(sourceVertex, targetVertex);
+        int v = Math.max(sourceVertex, targetVertex);
+        int from = csr.edge(u, v);
+        if (from == -1) {
+            return Collections.emptySet();
+        }
+        int to = from + 1;
+        int end = csr.outOffsets[u + 1];
+        while (to < end && csr.outTargets[to] == v) {
+            to++;
+        }
+        return new IntRangeSet(from, to);
+    }
+
+    @Override
+    public Integer getEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        int e = csr.edge(
+            Math.min(sourceVertex, targetVertex), Math.max(sourceVertex, targetVertex));
+        return e == -1 ? null : e;
+    }
+
+    @Override
+    public int degreeOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return csr.outDegree(vertex) + csr.inDegree(vertex);
+    }
+
+    @Override
+    public Set<Integer> edgesOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return new IncidentEdgeSet(csr, vertex);
+    }
+
+    @Override
+    public int inDegreeOf(Integer vertex)
+    {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<Integer> incomingEdgesOf(Integer vertex)
+    {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public int outDegreeOf(Integer vertex)
+    {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<Integer> outgoingEdgesOf(Integer vertex)
+    {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public GraphType getType()
+    {
+        return new DefaultGraphType.Builder()
+            .undirected().weighted(csr.weights != null).modifiable(false).allowMultipleEdges(true)
+            .allowSelfLoops(true).build();
+    }
+
+}
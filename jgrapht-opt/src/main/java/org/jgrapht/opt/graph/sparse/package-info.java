@@ -0,0 +1,4 @@
+/**
+ * Immutable graph implementations backed by compressed sparse row arrays
+ */
+package org.jgrapht.opt.graph.sparse;
@@ -0,0 +1,152 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.opt.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SparseIntDirectedGraph} and {@link SparseIntDirectedWeightedGraph}.
+ */
+public class SparseIntDirectedGraphTest
+{
+    @Test
+    public void testStructure()
+    {
+        List<Pair<Integer, Integer>> edges = Arrays.asList(
+            Pair.of(2, 0), Pair.of(0, 1), Pair.of(0, 3), Pair.of(0, 1), Pair.of(3, 3),
+            Pair.of(1, 3));
+
+        Graph<Integer, Integer> g = new SparseIntDirectedGraph(5, edges);
+
+        assertTrue(g.getType().isDirected());
+        assertFalse(g.getType().isModifiable());
+        assertFalse(g.getType().isWeighted());
+        assertEquals(5, g.vertexSet().size());
+        assertEquals(6, g.edgeSet().size());
+
+        for (Integer e : g.edgeSet()) {
+            Integer s = g.getEdgeSource(e);
+            Integer t = g.getEdgeTarget(e);
+            assertTrue(g.outgoingEdgesOf(s).contains(e));
+            assertTrue(g.incomingEdgesOf(t).contains(e));
+            assertTrue(g.edgesOf(s).contains(e));
+            assertTrue(g.edgesOf(t).contains(e));
+        }
+
+        assertEquals(3, g.outDegreeOf(0));
+        assertEquals(1, g.inDegreeOf(0));
+        assertEquals(4, g.degreeOf(0));
+        assertEquals(2, g.inDegreeOf(1));
+        assertEquals(3, g.inDegreeOf(3));
+        assertEquals(4, g.degreeOf(3));
+        assertEquals(3, g.edgesOf(3).size());
+        assertEquals(3, new HashSet<>(g.edgesOf(3)).size());
+        assertEquals(0, g.degreeOf(4));
+        assertTrue(g.edgesOf(4).isEmpty());
+
+        assertEquals(2, g.getAllEdges(0, 1).size());
+        assertTrue(g.getAllEdges(1, 0).isEmpty());
+        assertNull(g.getAllEdges(0, 5));
+        assertTrue(g.containsEdge(3, 3));
+        assertTrue(g.containsEdge(2, 0));
+        assertFalse(g.containsEdge(0, 2));
+        assertNull(g.getEdge(4, 0));
+        assertFalse(g.containsEdge(6));
+        assertFalse(g.containsVertex(-1));
+
+        Integer e = g.getEdge(1, 3);
+        assertEquals(Integer.valueOf(1), g.getEdgeSource(e));
+        assertEquals(Integer.valueOf(3), g.getEdgeTarget(e));
+        assertEquals(1d, g.getEdgeWeight(e), 0d);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable()
+    {
+        Graph<Integer, Integer> g =
+            new SparseIntDirectedGraph(2, new int[] { 0 }, new int[] { 1 });
+        g.addEdge(1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidEndpoint()
+    {
+        new SparseIntDirectedGraph(2, new int[] { 0 }, new int[] { 2 });
+    }
+
+    @Test
+    public void testWeightsFollowEdges()
+    {
+        int[] sources = { 3, 0, 2, 0 };
+        int[] targets = { 1, 2, 3, 1 };
+        double[] weights = { 4.0, 2.0, 3.0, 1.0 };
+        Graph<Integer, Integer> g =
+            new SparseIntDirectedWeightedGraph(4, sources, targets, weights);
+
+        assertTrue(g.getType().isWeighted());
+        for (int i = 0; i < sources.length; i++) {
+            assertEquals(weights[i], g.getEdgeWeight(g.getEdge(sources[i], targets[i])), 0d);
+        }
+    }
+
+    @Test
+    public void testShortestPathsAgainstDefaultGraph()
+    {
+        Graph<Integer, DefaultWeightedEdge> source = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.createDefaultWeightedEdgeSupplier());
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(100, 600, 17, true, true)
+            .generateGraph(source);
+
+        Random rng = new Random(17);
+        int m = source.edgeSet().size();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        int i = 0;
+        for (DefaultWeightedEdge e : source.edgeSet()) {
+            sources[i] = source.getEdgeSource(e);
+            targets[i] = source.getEdgeTarget(e);
+            weights[i] = 1d + rng.nextInt(100);
+            source.setEdgeWeight(e, weights[i]);
+            i++;
+        }
+
+        Graph<Integer, Integer> sparse = new SparseIntDirectedWeightedGraph(
+            source.vertexSet().size(), sources, targets, weights);
+
+        ShortestPathAlgorithm.SingleSourcePaths<Integer, DefaultWeightedEdge> expected =
+            new DijkstraShortestPath<>(source).getPaths(0);
+        ShortestPathAlgorithm.SingleSourcePaths<Integer, Integer> actual =
+            new DijkstraShortestPath<>(sparse).getPaths(0);
+        for (Integer v : source.vertexSet()) {
+            assertEquals(expected.getWeight(v), actual.getWeight(v), 1e-9);
+        }
+    }
+
+}
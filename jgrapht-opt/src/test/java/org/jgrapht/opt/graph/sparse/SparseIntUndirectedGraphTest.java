@@ -0,0 +1,123 @@
+/*
+ * (C) Copyright 2019-2019, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.opt.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.alg.spanning.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SparseIntUndirectedGraph} and {@link SparseIntUndirectedWeightedGraph}.
+ */
+public class SparseIntUndirectedGraphTest
+{
+    @Test
+    public void testStructure()
+    {
+        List<Pair<Integer, Integer>> edges = Arrays.asList(
+            Pair.of(2, 0), Pair.of(0, 1), Pair.of(3, 0), Pair.of(1, 0), Pair.of(3, 3),
+            Pair.of(1, 3));
+
+        Graph<Integer, Integer> g = new SparseIntUndirectedGraph(5, edges);
+
+        assertTrue(g.getType().isUndirected());
+        assertFalse(g.getType().isModifiable());
+        assertEquals(5, g.vertexSet().size());
+        assertEquals(6, g.edgeSet().size());
+
+        for (Integer e : g.edgeSet()) {
+            Integer s = g.getEdgeSource(e);
+            Integer t = g.getEdgeTarget(e);
+            assertTrue(s <= t);
+            assertTrue(g.edgesOf(s).contains(e));
+            assertTrue(g.edgesOf(t).contains(e));
+        }
+
+        assertEquals(4, g.degreeOf(0));
+        assertEquals(4, g.edgesOf(0).size());
+        assertEquals(3, g.degreeOf(1));
+        assertEquals(4, g.degreeOf(3));
+        assertEquals(3, g.edgesOf(3).size());
+        assertEquals(3, new HashSet<>(g.edgesOf(3)).size());
+        assertEquals(g.degreeOf(3), g.inDegreeOf(3));
+        assertEquals(g.edgesOf(3), g.outgoingEdgesOf(3));
+        assertTrue(g.edgesOf(4).isEmpty());
+
+        assertEquals(2, g.getAllEdges(0, 1).size());
+        assertEquals(2, g.getAllEdges(1, 0).size());
+        assertEquals(g.getEdge(0, 2), g.getEdge(2, 0));
+        assertTrue(g.containsEdge(3, 3));
+        assertFalse(g.containsEdge(2, 3));
+        assertNull(g.getEdge(4, 0));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable()
+    {
+        Graph<Integer, Integer> g =
+            new SparseIntUndirectedGraph(2, new int[] { 0 }, new int[] { 1 });
+        g.removeVertex(0);
+    }
+
+    @Test
+    public void testAlgorithmsAgainstDefaultGraph()
+    {
+        Graph<Integer, DefaultWeightedEdge> source = new WeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.createDefaultWeightedEdgeSupplier());
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(200, 400, 7, true, true)
+            .generateGraph(source);
+
+        Random rng = new Random(7);
+        int m = source.edgeSet().size();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        int i = 0;
+        for (DefaultWeightedEdge e : source.edgeSet()) {
+            sources[i] = source.getEdgeSource(e);
+            targets[i] = source.getEdgeTarget(e);
+            weights[i] = rng.nextDouble();
+            source.setEdgeWeight(e, weights[i]);
+            i++;
+        }
+
+        Graph<Integer, Integer> sparse = new SparseIntUndirectedWeightedGraph(
+            source.vertexSet().size(), sources, targets, weights);
+
+        for (Integer v : source.vertexSet()) {
+            assertEquals(source.degreeOf(v), sparse.degreeOf(v));
+            assertEquals(source.edgesOf(v).size(), sparse.edgesOf(v).size());
+        }
+        assertEquals(
+            new ConnectivityInspector<>(source).connectedSets().size(),
+            new ConnectivityInspector<>(sparse).connectedSets().size());
+        assertEquals(
+            new KruskalMinimumSpanningTree<>(source).getSpanningTree().getWeight(),
+            new KruskalMinimumSpanningTree<>(sparse).getSpanningTree().getWeight(), 1e-9);
+    }
+
+}